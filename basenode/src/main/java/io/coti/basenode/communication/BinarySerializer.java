@@ -0,0 +1,124 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.communication.interfaces.ISerializer;
+import io.coti.basenode.data.DspConsensusResult;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionDspVote;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import io.coti.basenode.database.DspConsensusResultCodec;
+import io.coti.basenode.database.TransactionDataCodec;
+import io.coti.basenode.database.TransactionDspVoteCodec;
+import io.coti.basenode.database.interfaces.IEntityCodec;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
+public class BinarySerializer implements ISerializer {
+
+    private static final byte BINARY_MARKER = (byte) 0xB1;
+    private static final int HEADER_SIZE = 3;
+    private static final int MAXIMUM_HASH_SIZE = 0xFE;
+    private static final byte TRANSACTION_TAG = 1;
+    private static final byte DSP_CONSENSUS_RESULT_TAG = 2;
+    private static final byte TRANSACTION_DSP_VOTE_TAG = 3;
+    private final Map<Class<? extends IPropagatable>, Byte> messageTypeToTagMap = new HashMap<>();
+    private final Map<Byte, IEntityCodec<? extends IPropagatable>> tagToCodecMap = new HashMap<>();
+
+    public BinarySerializer() {
+        addMessageType(TRANSACTION_TAG, TransactionData.class, new TransactionDataCodec());
+        addMessageType(DSP_CONSENSUS_RESULT_TAG, DspConsensusResult.class, new DspConsensusResultCodec());
+        addMessageType(TRANSACTION_DSP_VOTE_TAG, TransactionDspVote.class, new TransactionDspVoteCodec());
+    }
+
+    private void addMessageType(byte tag, Class<? extends IPropagatable> messageType, IEntityCodec<? extends IPropagatable> codec) {
+        messageTypeToTagMap.put(messageType, tag);
+        tagToCodecMap.put(tag, codec);
+    }
+
+    public static boolean isBinary(byte[] bytes) {
+        return bytes != null && bytes.length > HEADER_SIZE && bytes[0] == BINARY_MARKER;
+    }
+
+    public boolean isSupported(Class<?> messageType) {
+        return messageTypeToTagMap.containsKey(messageType);
+    }
+
+    @Override
+    public byte[] serialize(IPropagatable entity) {
+        Byte tag = messageTypeToTagMap.get(entity.getClass());
+        if (tag == null) {
+            throw new IllegalArgumentException(String.format("Unsupported binary message type %s", entity.getClass().getName()));
+        }
+        byte[] hash = entity.getHash() != null ? entity.getHash().getBytes() : new byte[0];
+        if (hash.length > MAXIMUM_HASH_SIZE) {
+            throw new IllegalArgumentException(String.format("Unsupported hash size %d", hash.length));
+        }
+        IEntityCodec<IPropagatable> codec = getCodec(tag);
+        byte[] encodedEntity = codec.encode(entity);
+        if (!codec.isCurrentFormat(encodedEntity)) {
+            throw new IllegalArgumentException(String.format("Unsupported binary content of %s", entity.getClass().getName()));
+        }
+        byte[] bytes = new byte[HEADER_SIZE + hash.length + encodedEntity.length];
+        bytes[0] = BINARY_MARKER;
+        bytes[1] = tag;
+        bytes[2] = (byte) (entity.getHash() != null ? hash.length + 1 : 0);
+        System.arraycopy(hash, 0, bytes, HEADER_SIZE, hash.length);
+        System.arraycopy(encodedEntity, 0, bytes, HEADER_SIZE + hash.length, encodedEntity.length);
+        return bytes;
+    }
+
+    @Override
+    public String serializeAsString(IPropagatable entity) {
+        return Base64.getEncoder().encodeToString(serialize(entity));
+    }
+
+    @Override
+    public IPropagatable deserialize(byte[] bytes) {
+        if (!isBinary(bytes)) {
+            return null;
+        }
+        IEntityCodec<IPropagatable> codec = getCodec(bytes[1]);
+        if (codec == null) {
+            log.error("Unknown binary message type tag {}", bytes[1]);
+            return null;
+        }
+        int hashLength = Math.max((bytes[2] & 0xFF) - 1, 0);
+        if (HEADER_SIZE + hashLength >= bytes.length) {
+            log.error("Invalid binary message of type tag {}", bytes[1]);
+            return null;
+        }
+        byte[] encodedEntity = Arrays.copyOfRange(bytes, HEADER_SIZE + hashLength, bytes.length);
+        if (!codec.isCurrentFormat(encodedEntity)) {
+            log.error("Unsupported binary message format of type tag {}", bytes[1]);
+            return null;
+        }
+        try {
+            IPropagatable entity = codec.decode(encodedEntity);
+            if (entity != null && bytes[2] != 0) {
+                entity.setHash(new Hash(Arrays.copyOfRange(bytes, HEADER_SIZE, HEADER_SIZE + hashLength)));
+            }
+            return entity;
+        } catch (Exception e) {
+            log.error("Error at binary deserializer", e);
+            return null;
+        }
+    }
+
+    @Override
+    public <T extends IPropagatable> T deserialize(String string) {
+        try {
+            return (T) deserialize(Base64.getDecoder().decode(string));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private IEntityCodec<IPropagatable> getCodec(byte tag) {
+        return (IEntityCodec<IPropagatable>) tagToCodecMap.get(tag);
+    }
+}
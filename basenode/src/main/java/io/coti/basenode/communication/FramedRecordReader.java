@@ -0,0 +1,35 @@
+package io.coti.basenode.communication;
+
+import java.io.*;
+import java.util.zip.GZIPInputStream;
+
+public class FramedRecordReader {
+
+    private static final int BUFFER_SIZE = 65536;
+    private final DataInputStream input;
+    private final int maximumRecordSize;
+
+    public FramedRecordReader(InputStream inputStream, boolean compressed, int maximumRecordSize) throws IOException {
+        this.maximumRecordSize = maximumRecordSize;
+        InputStream bufferedInputStream = new BufferedInputStream(inputStream, BUFFER_SIZE);
+        input = new DataInputStream(compressed ? new GZIPInputStream(bufferedInputStream, BUFFER_SIZE) : bufferedInputStream);
+    }
+
+    public byte[] read() throws IOException {
+        int recordSize;
+        try {
+            recordSize = input.readInt();
+        } catch (EOFException e) {
+            throw new EOFException("Stream ended before end of stream frame");
+        }
+        if (recordSize == FramedRecordWriter.END_OF_STREAM) {
+            return null;
+        }
+        if (recordSize < 0 || recordSize > maximumRecordSize) {
+            throw new IOException(String.format("Invalid record size %d", recordSize));
+        }
+        byte[] record = new byte[recordSize];
+        input.readFully(record);
+        return record;
+    }
+}
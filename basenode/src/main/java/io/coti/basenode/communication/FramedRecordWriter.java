@@ -0,0 +1,50 @@
+package io.coti.basenode.communication;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class FramedRecordWriter {
+
+    public static final String FRAMED_HEADER = "X-Framed-Records";
+    public static final String COMPRESSED_HEADER = "X-Framed-Records-Compressed";
+    static final int END_OF_STREAM = 0;
+    private final DataOutputStream output;
+    private final GZIPOutputStream compressedOutput;
+    private final int flushSize;
+    private int unflushedBytes;
+
+    public FramedRecordWriter(OutputStream outputStream, boolean compressed, int flushSize) throws IOException {
+        this.flushSize = flushSize;
+        compressedOutput = compressed ? new GZIPOutputStream(outputStream, flushSize, true) : null;
+        output = new DataOutputStream(new BufferedOutputStream(compressed ? compressedOutput : outputStream, flushSize));
+    }
+
+    public void write(byte[] record) throws IOException {
+        if (record.length == 0) {
+            throw new IOException("Empty record can not be framed");
+        }
+        output.writeInt(record.length);
+        output.write(record);
+        unflushedBytes += Integer.BYTES + record.length;
+        if (unflushedBytes >= flushSize) {
+            flush();
+        }
+    }
+
+    public void flush() throws IOException {
+        output.flush();
+        unflushedBytes = 0;
+    }
+
+    public void finish() throws IOException {
+        output.writeInt(END_OF_STREAM);
+        output.flush();
+        if (compressedOutput != null) {
+            compressedOutput.finish();
+        }
+        output.flush();
+    }
+}
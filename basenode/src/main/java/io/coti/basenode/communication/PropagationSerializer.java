@@ -0,0 +1,79 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.NetworkNodeData;
+import io.coti.basenode.data.NodeType;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import io.coti.basenode.services.NodeTypeService;
+import io.coti.basenode.services.interfaces.INetworkService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Collections;
+
+@Slf4j
+@Service
+public class PropagationSerializer {
+
+    @Autowired
+    private JacksonSerializer jacksonSerializer;
+    @Autowired
+    private INetworkService networkService;
+    @Value("${zmq.binary.serialization:true}")
+    private boolean binarySerialization;
+    private final BinarySerializer binarySerializer = new BinarySerializer();
+
+    public byte[] serialize(IPropagatable entity, boolean binary) {
+        if (binary && binarySerializer.isSupported(entity.getClass())) {
+            try {
+                return binarySerializer.serialize(entity);
+            } catch (IllegalArgumentException e) {
+                log.debug("Falling back to json serialization: {}", e.getMessage());
+            }
+        }
+        return jacksonSerializer.serialize(entity);
+    }
+
+    public IPropagatable deserialize(byte[] bytes) {
+        return BinarySerializer.isBinary(bytes) ? binarySerializer.deserialize(bytes) : jacksonSerializer.deserialize(bytes);
+    }
+
+    public boolean isBinarySupported(Class<?> messageType) {
+        return binarySerialization && binarySerializer.isSupported(messageType);
+    }
+
+    public boolean isBinarySupported(NodeType nodeType) {
+        Collection<NetworkNodeData> networkNodes = getNetworkNodes(nodeType);
+        return !networkNodes.isEmpty() && networkNodes.stream().allMatch(this::isBinarySupported);
+    }
+
+    public boolean isBinarySupported(NodeType nodeType, String receivingFullAddress) {
+        return getNetworkNodes(nodeType).stream()
+                .filter(networkNodeData -> receivingFullAddress.equals(networkNodeData.getReceivingFullAddress()))
+                .findFirst()
+                .map(this::isBinarySupported)
+                .orElse(false);
+    }
+
+    private boolean isBinarySupported(NetworkNodeData networkNodeData) {
+        return networkNodeData.isBinaryPropagationSupported();
+    }
+
+    private Collection<NetworkNodeData> getNetworkNodes(NodeType nodeType) {
+        try {
+            NodeTypeService nodeTypeService = NodeTypeService.getByNodeType(nodeType);
+            if (nodeTypeService == null) {
+                return Collections.emptyList();
+            }
+            if (nodeTypeService.isMultipleNode()) {
+                return networkService.getMapFromFactory(nodeType).values();
+            }
+            NetworkNodeData networkNodeData = networkService.getSingleNodeData(nodeType);
+            return networkNodeData != null ? Collections.singletonList(networkNodeData) : Collections.emptyList();
+        } catch (IllegalArgumentException e) {
+            return Collections.emptyList();
+        }
+    }
+}
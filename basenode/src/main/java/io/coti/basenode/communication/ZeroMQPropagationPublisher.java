@@ -1,8 +1,8 @@
 package io.coti.basenode.communication;
 
-import io.coti.basenode.communication.data.ZeroMQMessageData;
+import io.coti.basenode.communication.data.PublisherMessageData;
+import io.coti.basenode.communication.data.PublisherStatisticsData;
 import io.coti.basenode.communication.interfaces.IPropagationPublisher;
-import io.coti.basenode.communication.interfaces.ISerializer;
 import io.coti.basenode.data.NodeType;
 import io.coti.basenode.data.PublisherHeartBeatData;
 import io.coti.basenode.data.interfaces.IPropagatable;
@@ -15,11 +15,13 @@ import org.zeromq.SocketType;
 import org.zeromq.ZMQ;
 import org.zeromq.ZMQException;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
@@ -27,6 +29,8 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
 
     private static final int HEARTBEAT_INTERVAL = 5000;
     private static final String ZMQ_PUBLISHER_HANDLER_ERROR = "ZeroMQ exception at publisher thread";
+    private static final int MAX_PUBLISH_BATCH_SIZE = 1000;
+    private static final double NANOS_IN_MILLI = 1_000_000d;
     private ZMQ.Context zeroMQContext;
     private ZMQ.Socket propagator;
     private String propagationPort;
@@ -37,15 +41,23 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
     private Thread publishMessageThread;
     private Thread publishHeartBeatMessageThread;
     private Thread monitorThread;
-    private BlockingQueue<ZeroMQMessageData> publishMessageQueue;
+    private BlockingQueue<PublisherMessageData> publishMessageQueue;
+    private String serverAddress;
+    private final Map<Class<?>, Map<List<NodeType>, List<byte[]>>> messageTypeToChannelsMap = new ConcurrentHashMap<>();
+    private final AtomicLong publishedMessages = new AtomicLong();
+    private final AtomicLong publishedBatches = new AtomicLong();
+    private final AtomicLong publishedEntities = new AtomicLong();
+    private final AtomicLong totalPublishLatencyNanos = new AtomicLong();
+    private final AtomicLong maxPublishLatencyNanos = new AtomicLong();
     @Autowired
-    private ISerializer serializer;
+    private PropagationSerializer propagationSerializer;
     private final AtomicBoolean monitorInitialized = new AtomicBoolean(false);
 
     public void init(String propagationPort, NodeType publisherNodeType) {
         publishMessageQueue = new LinkedBlockingQueue<>();
         this.publisherNodeType = publisherNodeType;
         this.propagationPort = propagationPort;
+        serverAddress = "tcp://" + publisherIp + ":" + propagationPort;
         init();
         log.info("ZeroMQ Publisher is up");
     }
@@ -69,16 +81,38 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
     }
 
     public <T extends IPropagatable> void propagate(T toPropagate, List<NodeType> subscriberNodeTypes) {
-        subscriberNodeTypes.forEach(subscriberNodeType -> propagateToNode(toPropagate, subscriberNodeType));
+        if (subscriberNodeTypes.isEmpty() || zeroMQContext.isClosed()) {
+            return;
+        }
+        log.debug("Propagating {} of type {} to {}", toPropagate.getHash(), toPropagate.getClass().getSimpleName(), subscriberNodeTypes);
+        List<NodeType> jsonSubscriberNodeTypes = subscriberNodeTypes;
+        if (propagationSerializer.isBinarySupported(toPropagate.getClass())) {
+            List<NodeType> binarySubscriberNodeTypes = new ArrayList<>(subscriberNodeTypes.size());
+            jsonSubscriberNodeTypes = new ArrayList<>(subscriberNodeTypes.size());
+            for (NodeType subscriberNodeType : subscriberNodeTypes) {
+                (propagationSerializer.isBinarySupported(subscriberNodeType) ? binarySubscriberNodeTypes : jsonSubscriberNodeTypes).add(subscriberNodeType);
+            }
+            propagate(toPropagate, binarySubscriberNodeTypes, true);
+        }
+        propagate(toPropagate, jsonSubscriberNodeTypes, false);
     }
 
-    private <T extends IPropagatable> void propagateToNode(T toPropagate, NodeType subscriberNodeType) {
-        String serverAddress = "tcp://" + publisherIp + ":" + propagationPort;
-        log.debug("Propagating {} to {}", toPropagate.getHash(), Channel.getChannelString(toPropagate.getClass(), serverAddress, publisherNodeType, subscriberNodeType));
-        byte[] message = serializer.serialize(toPropagate);
-        if (!zeroMQContext.isClosed()) {
-            publishMessageQueue.add(new ZeroMQMessageData(Channel.getChannelString(toPropagate.getClass(), serverAddress, publisherNodeType, subscriberNodeType), message));
+    private <T extends IPropagatable> void propagate(T toPropagate, List<NodeType> subscriberNodeTypes, boolean binary) {
+        if (subscriberNodeTypes.isEmpty()) {
+            return;
         }
+        byte[] message = propagationSerializer.serialize(toPropagate, binary);
+        publishMessageQueue.add(new PublisherMessageData(getChannels(toPropagate.getClass(), subscriberNodeTypes), message));
+    }
+
+    private List<byte[]> getChannels(Class<?> messageType, List<NodeType> subscriberNodeTypes) {
+        return messageTypeToChannelsMap.computeIfAbsent(messageType, type -> new ConcurrentHashMap<>())
+                .computeIfAbsent(new ArrayList<>(subscriberNodeTypes), nodeTypes -> {
+                    List<byte[]> channels = new ArrayList<>(nodeTypes.size());
+                    nodeTypes.forEach(subscriberNodeType ->
+                            channels.add(Channel.getChannelString(messageType, serverAddress, publisherNodeType, subscriberNodeType).getBytes(StandardCharsets.UTF_8)));
+                    return Collections.unmodifiableList(channels);
+                });
     }
 
     public void setPublishHeartBeatMessageThread() {
@@ -86,8 +120,8 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
             AtomicBoolean contextTerminated = new AtomicBoolean(false);
             while (!contextTerminated.get() && !Thread.currentThread().isInterrupted()) {
                 try {
-                    String serverAddress = "tcp://" + publisherIp + ":" + propagationPort;
-                    publish(new ZeroMQMessageData(Channel.getChannelString(PublisherHeartBeatData.class, serverAddress), serializer.serialize(new PublisherHeartBeatData(serverAddress))));
+                    byte[] channel = Channel.getChannelString(PublisherHeartBeatData.class, serverAddress).getBytes(StandardCharsets.UTF_8);
+                    publish(Collections.singletonList(new PublisherMessageData(Collections.singletonList(channel), propagationSerializer.serialize(new PublisherHeartBeatData(serverAddress), false))));
                     Thread.sleep(HEARTBEAT_INTERVAL);
                 } catch (InterruptedException e) {
                     log.info("HeartBeat Publisher thread interrupted");
@@ -109,10 +143,12 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
 
         publishMessageThread = new Thread(() -> {
             boolean contextTerminated = false;
+            List<PublisherMessageData> messageBatch = new ArrayList<>(MAX_PUBLISH_BATCH_SIZE);
             while (!contextTerminated && !Thread.currentThread().isInterrupted()) {
                 try {
-                    ZeroMQMessageData messageData = publishMessageQueue.take();
-                    publish(messageData);
+                    messageBatch.add(publishMessageQueue.take());
+                    publishMessageQueue.drainTo(messageBatch, MAX_PUBLISH_BATCH_SIZE - 1);
+                    publish(messageBatch);
                 } catch (InterruptedException e) {
                     log.info("Publisher thread interrupted");
                     Thread.currentThread().interrupt();
@@ -123,6 +159,8 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
                     } else {
                         log.error(ZMQ_PUBLISHER_HANDLER_ERROR, e);
                     }
+                } finally {
+                    messageBatch.clear();
                 }
             }
             publishRemainingMessages();
@@ -130,22 +168,58 @@ public class ZeroMQPropagationPublisher implements IPropagationPublisher {
         publishMessageThread.start();
     }
 
-    private void publish(ZeroMQMessageData messageData) {
+    private void publish(List<PublisherMessageData> messageBatch) {
+        long batchMessages = 0;
+        long batchEntities = 0;
         synchronized (this) {
-            propagator.sendMore(messageData.getChannel().getBytes());
-            propagator.send(messageData.getMessage());
+            for (PublisherMessageData messageData : messageBatch) {
+                try {
+                    for (byte[] channel : messageData.getChannels()) {
+                        propagator.sendMore(channel);
+                        propagator.send(messageData.getMessage());
+                        batchMessages++;
+                    }
+                    batchEntities++;
+                } catch (ZMQException e) {
+                    if (e.getErrorCode() == ZMQ.Error.ETERM.getCode()) {
+                        throw e;
+                    }
+                    log.error(ZMQ_PUBLISHER_HANDLER_ERROR, e);
+                }
+            }
         }
+        long now = System.nanoTime();
+        for (PublisherMessageData messageData : messageBatch) {
+            long publishLatency = now - messageData.getCreationNanos();
+            totalPublishLatencyNanos.addAndGet(publishLatency);
+            maxPublishLatencyNanos.accumulateAndGet(publishLatency, Math::max);
+        }
+        publishedMessages.addAndGet(batchMessages);
+        publishedEntities.addAndGet(batchEntities);
+        publishedBatches.incrementAndGet();
     }
 
     private void publishRemainingMessages() {
-        LinkedList<ZeroMQMessageData> remainingMessages = new LinkedList<>();
+        List<PublisherMessageData> remainingMessages = new ArrayList<>();
         publishMessageQueue.drainTo(remainingMessages);
         if (!remainingMessages.isEmpty()) {
             log.info("Please wait to publish {} remaining messages", remainingMessages.size());
-            remainingMessages.forEach(this::publish);
+            publish(remainingMessages);
         }
     }
 
+    @Override
+    public PublisherStatisticsData getStatistics() {
+        PublisherStatisticsData statisticsData = new PublisherStatisticsData();
+        statisticsData.setQueueSize(publishMessageQueue != null ? publishMessageQueue.size() : 0);
+        statisticsData.setPublishedMessages(publishedMessages.get());
+        statisticsData.setPublishedBatches(publishedBatches.get());
+        long entities = publishedEntities.get();
+        statisticsData.setAveragePublishLatencyMillis(entities > 0 ? totalPublishLatencyNanos.get() / NANOS_IN_MILLI / entities : 0);
+        statisticsData.setMaxPublishLatencyMillis(maxPublishLatencyNanos.get() / NANOS_IN_MILLI);
+        return statisticsData;
+    }
+
     private void setMonitorThread() {
         monitorThread = new Thread(() -> {
             AtomicBoolean contextTerminated = new AtomicBoolean(false);
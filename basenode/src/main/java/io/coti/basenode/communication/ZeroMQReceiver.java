@@ -2,7 +2,6 @@ package io.coti.basenode.communication;
 
 import io.coti.basenode.communication.data.ZeroMQMessageData;
 import io.coti.basenode.communication.interfaces.IReceiver;
-import io.coti.basenode.communication.interfaces.ISerializer;
 import io.coti.basenode.data.interfaces.IPropagatable;
 import io.coti.basenode.exceptions.ZeroMQReceiverException;
 import lombok.extern.slf4j.Slf4j;
@@ -33,7 +32,7 @@ public class ZeroMQReceiver implements IReceiver {
     private Thread monitorThread;
     private Thread messagesQueueHandlerThread;
     @Autowired
-    private ISerializer serializer;
+    private PropagationSerializer propagationSerializer;
     private final AtomicBoolean monitorInitialized = new AtomicBoolean(false);
 
     @Override
@@ -130,7 +129,7 @@ public class ZeroMQReceiver implements IReceiver {
                 ZeroMQMessageData zeroMQMessageData = messageQueue.take();
                 Consumer<IPropagatable> consumer = classNameToHandlerMapping.get(zeroMQMessageData.getChannel());
                 if (consumer != null) {
-                    consumer.accept(serializer.deserialize(zeroMQMessageData.getMessage()));
+                    consumer.accept(propagationSerializer.deserialize(zeroMQMessageData.getMessage()));
                 }
             } catch (InterruptedException e) {
                 log.info("ZMQ receiver message handler interrupted");
@@ -147,7 +146,7 @@ public class ZeroMQReceiver implements IReceiver {
                 try {
                     Consumer<IPropagatable> consumer = classNameToHandlerMapping.get(zeroMQMessageData.getChannel());
                     if (consumer != null) {
-                        consumer.accept(serializer.deserialize(zeroMQMessageData.getMessage()));
+                        consumer.accept(propagationSerializer.deserialize(zeroMQMessageData.getMessage()));
                     }
                 } catch (Exception e) {
                     log.error("ZMQ receiver message handler task error", e);
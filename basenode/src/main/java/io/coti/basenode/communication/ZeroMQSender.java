@@ -4,7 +4,6 @@ import io.coti.basenode.communication.data.MonitorSocketData;
 import io.coti.basenode.communication.data.ReconnectMonitorData;
 import io.coti.basenode.communication.data.SenderSocketData;
 import io.coti.basenode.communication.interfaces.ISender;
-import io.coti.basenode.communication.interfaces.ISerializer;
 import io.coti.basenode.data.NodeType;
 import io.coti.basenode.data.interfaces.IPropagatable;
 import lombok.extern.slf4j.Slf4j;
@@ -29,7 +28,7 @@ public class ZeroMQSender implements ISender {
     private SocketType socketType;
     private Map<String, SenderSocketData> receivingAddressToSenderSocketMapping;
     @Autowired
-    private ISerializer serializer;
+    private PropagationSerializer propagationSerializer;
     private final AtomicBoolean monitorInitialized = new AtomicBoolean(false);
     private Thread monitorReconnectThread;
     private final Map<String, ReconnectMonitorData> addressToReconnectMonitorMap = new ConcurrentHashMap<>();
@@ -109,10 +108,13 @@ public class ZeroMQSender implements ISender {
 
     @Override
     public <T extends IPropagatable> void send(T toSend, String address) {
-        byte[] message = serializer.serialize(toSend);
+        SenderSocketData senderSocketData = receivingAddressToSenderSocketMapping.get(address);
+        boolean binary = senderSocketData != null && propagationSerializer.isBinarySupported(toSend.getClass())
+                && propagationSerializer.isBinarySupported(senderSocketData.getNodeType(), address);
+        byte[] message = propagationSerializer.serialize(toSend, binary);
         synchronized (this) {
             try {
-                ZMQ.Socket senderSocket = receivingAddressToSenderSocketMapping.get(address).getSenderSocket();
+                ZMQ.Socket senderSocket = senderSocketData.getSenderSocket();
                 senderSocket.sendMore(toSend.getClass().getName());
                 senderSocket.send(message);
                 log.debug("Message {} was sent to {}", toSend, address);
@@ -1,17 +1,17 @@
 package io.coti.basenode.communication;
 
-import io.coti.basenode.communication.data.ConnectedNodeData;
-import io.coti.basenode.communication.data.ReconnectMonitorData;
-import io.coti.basenode.communication.data.ZeroMQMessageData;
+import io.coti.basenode.communication.data.*;
 import io.coti.basenode.communication.interfaces.IPropagationSubscriber;
-import io.coti.basenode.communication.interfaces.ISerializer;
 import io.coti.basenode.communication.interfaces.ISubscriberHandler;
+import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.NodeType;
 import io.coti.basenode.data.PublisherHeartBeatData;
+import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.data.interfaces.IPropagatable;
 import io.coti.basenode.exceptions.CotiRunTimeException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.zeromq.SocketType;
@@ -21,9 +21,11 @@ import org.zeromq.ZMQException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -44,9 +46,18 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
     private Thread monitorReconnectThread;
     private final Map<String, ReconnectMonitorData> addressToReconnectMonitorMap = new ConcurrentHashMap<>();
     @Autowired
-    private ISerializer serializer;
+    private PropagationSerializer propagationSerializer;
     private EnumMap<NodeType, List<Class<? extends IPropagatable>>> publisherNodeTypeToMessageTypesMap;
     private final Map<String, Thread> queueNameToThreadMap = new HashMap<>();
+    private final Map<ZeroMQSubscriberQueue, SubscriberQueueData<ZeroMQMessageData>> messageQueues = new ConcurrentHashMap<>();
+    private final Map<String, SubscriberChannelData> channelToChannelDataMap = new ConcurrentHashMap<>();
+    private ExecutorService transactionDeserializationExecutor;
+    @Value("${zmq.subscriber.queue.size:100000}")
+    private int subscriberQueueSize;
+    @Value("${zmq.subscriber.transaction.threads:0}")
+    private int subscriberTransactionThreads;
+    @Value("${zmq.subscriber.transaction.batch.size:100}")
+    private int subscriberTransactionBatchSize;
     private NodeType subscriberNodeType;
     @Autowired
     private ISubscriberHandler subscriberHandler;
@@ -55,11 +66,39 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
     @Override
     public void init() {
         initSockets();
-        BlockingQueue<ZeroMQMessageData> messageQueue = ZeroMQSubscriberQueue.HEARTBEAT.getQueue();
-        queueNameToThreadMap.put(ZeroMQSubscriberQueue.HEARTBEAT.name(), new Thread(() -> this.handleMessagesQueueTask(messageQueue), ZeroMQSubscriberQueue.HEARTBEAT.name() + " SUB"));
+        addMessageQueue(ZeroMQSubscriberQueue.HEARTBEAT);
         subscriberHandler.init();
     }
 
+    private void addMessageQueue(ZeroMQSubscriberQueue queueEnum) {
+        if (messageQueues.containsKey(queueEnum)) {
+            return;
+        }
+        SubscriberQueueData<ZeroMQMessageData> messageQueue = new SubscriberQueueData<>(queueEnum.name(), subscriberQueueSize);
+        if (queueEnum.equals(ZeroMQSubscriberQueue.TRANSACTION)) {
+            initTransactionDeserializationExecutor();
+            queueNameToThreadMap.put(queueEnum.name(), new Thread(() -> this.handleTransactionMessagesQueueTask(messageQueue), queueEnum.name() + " SUB"));
+        } else {
+            queueNameToThreadMap.put(queueEnum.name(), new Thread(() -> this.handleMessagesQueueTask(messageQueue, this::propagationProcess), queueEnum.name() + " SUB"));
+        }
+        messageQueues.put(queueEnum, messageQueue);
+    }
+
+    private void initTransactionDeserializationExecutor() {
+        int threads = subscriberTransactionThreads > 0 ? subscriberTransactionThreads : Runtime.getRuntime().availableProcessors();
+        if (threads <= 1) {
+            return;
+        }
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        transactionDeserializationExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(subscriberTransactionBatchSize, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, ZeroMQSubscriberQueue.TRANSACTION.name() + " SUB-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        log.info("ZMQ subscriber deserializes transaction messages with {} threads", threads);
+    }
+
     private void initSockets() {
         zeroMQContext = ZMQ.context(1);
         socketType = SocketType.SUB;
@@ -79,10 +118,8 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
     @Override
     public void setPublisherNodeTypeToMessageTypesMap(EnumMap<NodeType, List<Class<? extends IPropagatable>>> publisherNodeTypeToMessageTypesMap) {
         this.publisherNodeTypeToMessageTypesMap = publisherNodeTypeToMessageTypesMap;
-        publisherNodeTypeToMessageTypesMap.forEach(((nodeType, classes) -> classes.forEach(messageType -> {
-            ZeroMQSubscriberQueue queueEnum = ZeroMQSubscriberQueue.getQueueEnum(messageType);
-            queueNameToThreadMap.putIfAbsent(queueEnum.toString(), new Thread(() -> this.handleMessagesQueueTask(queueEnum.getQueue()), queueEnum.name() + " SUB"));
-        })));
+        publisherNodeTypeToMessageTypesMap.forEach(((nodeType, classes) -> classes.forEach(messageType ->
+                addMessageQueue(ZeroMQSubscriberQueue.getQueueEnum(messageType)))));
     }
 
     @Override
@@ -149,20 +186,55 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
         return Optional.ofNullable(connectedNodes.get(address)).map(ConnectedNodeData::getNodeType).orElse(null);
     }
 
-    private void addToMessageQueue() throws ClassNotFoundException {
+    private void addToMessageQueue() {
         try {
             String channel = propagationSubscriber.recvStr();
             log.debug("Received a new message on channel: {}", channel);
-            String[] channelArray = channel.split("-");
-            Class<? extends IPropagatable> propagatedMessageType = (Class<? extends IPropagatable>) Class.forName(channelArray[0]);
             byte[] message = propagationSubscriber.recv();
-            ZeroMQSubscriberQueue.getQueue(propagatedMessageType).put(new ZeroMQMessageData(channel, message));
+            ZeroMQSubscriberQueue queueEnum = getChannelData(channel).getQueue();
+            SubscriberQueueData<ZeroMQMessageData> messageQueue = queueEnum != null ? messageQueues.get(queueEnum) : null;
+            if (messageQueue == null) {
+                log.error("No subscriber queue for channel {}", channel);
+                return;
+            }
+            if (messageQueue.put(new ZeroMQMessageData(channel, message))) {
+                resetPublisherConnectionTimes();
+            }
         } catch (InterruptedException e) {
             log.info("ZMQ subscriber propagation receiver interrupted");
             Thread.currentThread().interrupt();
         }
     }
 
+    private SubscriberChannelData getChannelData(String channel) {
+        return channelToChannelDataMap.computeIfAbsent(channel, this::resolveChannelData);
+    }
+
+    private SubscriberChannelData resolveChannelData(String channel) {
+        String[] channelArray = channel.split("-");
+        Class<? extends IPropagatable> propagatedMessageType;
+        try {
+            propagatedMessageType = (Class<? extends IPropagatable>) Class.forName(channelArray[0]);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException(String.format("Unknown message type at channel %s", channel), e);
+        }
+        ZeroMQSubscriberQueue queueEnum = ZeroMQSubscriberQueue.getQueueEnum(propagatedMessageType);
+        if (propagatedMessageType.equals(PublisherHeartBeatData.class)) {
+            return new SubscriberChannelData(propagatedMessageType, queueEnum, null, null);
+        }
+        return new SubscriberChannelData(propagatedMessageType, queueEnum, channelArray[1], NodeType.valueOf(channelArray[2]));
+    }
+
+    private void resetPublisherConnectionTimes() {
+        // heartbeats are not received while the receiver waits for a queue to drain
+        Instant now = Instant.now();
+        connectedNodes.values().forEach(connectedNodeData -> connectedNodeData.setLastConnectionTime(now));
+    }
+
+    private boolean isReceiverPaused() {
+        return messageQueues.values().stream().anyMatch(SubscriberQueueData::isBackpressure);
+    }
+
     @Override
     public void initPropagationHandler() {
         queueNameToThreadMap.values().forEach(Thread::start);
@@ -173,12 +245,12 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
         monitorInitialized.set(true);
     }
 
-    private void handleMessagesQueueTask(BlockingQueue<ZeroMQMessageData> messageQueue) {
+    private <T> void handleMessagesQueueTask(SubscriberQueueData<T> messageQueue, Consumer<T> messageHandler) {
         while (!Thread.currentThread().isInterrupted()) {
             try {
-                ZeroMQMessageData zeroMQMessageData = messageQueue.take();
-                log.debug("ZMQ message arrived: {}", zeroMQMessageData);
-                propagationProcess(zeroMQMessageData);
+                T message = messageQueue.take();
+                log.debug("ZMQ message arrived: {}", message);
+                messageHandler.accept(message);
             } catch (InterruptedException e) {
                 log.info("ZMQ subscriber message handler interrupted");
                 Thread.currentThread().interrupt();
@@ -189,13 +261,13 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
                 log.error(ZMQ_SUBSCRIBER_HANDLER_ERROR, e);
             }
         }
-        LinkedList<ZeroMQMessageData> remainingMessages = new LinkedList<>();
+        LinkedList<T> remainingMessages = new LinkedList<>();
         messageQueue.drainTo(remainingMessages);
         if (!remainingMessages.isEmpty()) {
             log.info("Please wait to process {} remaining messages", remainingMessages.size());
-            remainingMessages.forEach(zeroMQMessageData -> {
+            remainingMessages.forEach(message -> {
                 try {
-                    propagationProcess(zeroMQMessageData);
+                    messageHandler.accept(message);
                 } catch (CotiRunTimeException e) {
                     log.error(ZMQ_SUBSCRIBER_HANDLER_ERROR);
                     e.logMessage();
@@ -207,26 +279,107 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
 
     }
 
-    private void propagationProcess(ZeroMQMessageData zeroMQMessageData) throws ClassNotFoundException {
-        String channel = zeroMQMessageData.getChannel();
-        byte[] message = zeroMQMessageData.getMessage();
-        IPropagatable messageData = serializer.deserialize(message);
-        String[] channelArray = channel.split("-");
-        Class<? extends IPropagatable> propagatedMessageType = (Class<? extends IPropagatable>) Class.forName(channelArray[0]);
+    private void handleTransactionMessagesQueueTask(SubscriberQueueData<ZeroMQMessageData> messageQueue) {
+        List<ZeroMQMessageData> messages = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                messages.add(messageQueue.take());
+                messageQueue.drainTo(messages, subscriberTransactionBatchSize - 1);
+                handleTransactionMessages(messages);
+            } catch (InterruptedException e) {
+                log.info("ZMQ subscriber message handler interrupted");
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error(ZMQ_SUBSCRIBER_HANDLER_ERROR, e);
+            } finally {
+                messages.clear();
+            }
+        }
+        messageQueue.drainTo(messages);
+        if (!messages.isEmpty()) {
+            log.info("Please wait to process {} remaining messages", messages.size());
+            try {
+                handleTransactionMessages(messages);
+            } catch (Exception e) {
+                log.error(ZMQ_SUBSCRIBER_HANDLER_ERROR, e);
+            }
+        }
+    }
+
+    private void handleTransactionMessages(List<ZeroMQMessageData> messages) {
+        List<Future<IPropagatable>> deserializationFutures = new ArrayList<>(messages.size());
+        messages.forEach(zeroMQMessageData -> deserializationFutures.add(deserializeTransactionMessage(zeroMQMessageData)));
+        List<IPropagatable> deserializedMessages = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            deserializedMessages.add(getDeserializedTransactionMessage(messages.get(i), deserializationFutures.get(i)));
+        }
+        Map<Hash, Boolean> potValidationResults = preHandleTransactionMessages(deserializedMessages);
+        for (int i = 0; i < messages.size(); i++) {
+            IPropagatable messageData = deserializedMessages.get(i);
+            if (messageData != null) {
+                try {
+                    processMessage(messageData, getChannelData(messages.get(i).getChannel()), potValidationResults);
+                } catch (CotiRunTimeException e) {
+                    log.error(ZMQ_SUBSCRIBER_HANDLER_ERROR);
+                    e.logMessage();
+                } catch (Exception e) {
+                    log.error(ZMQ_SUBSCRIBER_HANDLER_ERROR, e);
+                }
+            }
+        }
+    }
+
+    private Map<Hash, Boolean> preHandleTransactionMessages(List<IPropagatable> deserializedMessages) {
+        try {
+            Map<Hash, Boolean> potValidationResults = subscriberHandler.preHandle(deserializedMessages.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+            return potValidationResults != null ? potValidationResults : Collections.emptyMap();
+        } catch (Exception e) {
+            log.error("ZMQ subscriber transaction messages pre handler error", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private Future<IPropagatable> deserializeTransactionMessage(ZeroMQMessageData zeroMQMessageData) {
+        Callable<IPropagatable> deserializationTask = () -> propagationSerializer.deserialize(zeroMQMessageData.getMessage());
+        if (transactionDeserializationExecutor == null) {
+            FutureTask<IPropagatable> deserializationFuture = new FutureTask<>(deserializationTask);
+            deserializationFuture.run();
+            return deserializationFuture;
+        }
+        return transactionDeserializationExecutor.submit(deserializationTask);
+    }
+
+    private IPropagatable getDeserializedTransactionMessage(ZeroMQMessageData zeroMQMessageData, Future<IPropagatable> deserializedMessage) {
+        try {
+            return deserializedMessage.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return propagationSerializer.deserialize(zeroMQMessageData.getMessage());
+        } catch (ExecutionException e) {
+            log.error("Error at deserializing message of channel {}", zeroMQMessageData.getChannel(), e.getCause());
+            return null;
+        }
+    }
+
+    private void propagationProcess(ZeroMQMessageData zeroMQMessageData) {
+        SubscriberChannelData channelData = getChannelData(zeroMQMessageData.getChannel());
+        processMessage(propagationSerializer.deserialize(zeroMQMessageData.getMessage()), channelData, Collections.emptyMap());
+    }
+
+    private void processMessage(IPropagatable messageData, SubscriberChannelData channelData, Map<Hash, Boolean> potValidationResults) {
+        Class<? extends IPropagatable> propagatedMessageType = channelData.getMessageType();
         if (propagatedMessageType.equals(PublisherHeartBeatData.class)) {
             String serverAddress = ((PublisherHeartBeatData) messageData).getServerAddress();
             updatePublisherLastConnectionTime(serverAddress);
-        } else {
-            String serverAddress = channelArray[1];
-            NodeType publisherNodeType = NodeType.valueOf(channelArray[2]);
-            updatePublisherLastConnectionTime(serverAddress);
-            publisherNodeTypeToMessageTypesMap.get(publisherNodeType).forEach(messageType -> {
-
-                if (messageType.equals(propagatedMessageType)) {
-                    handleMessageData(messageData, propagatedMessageType, publisherNodeType);
-                }
-            });
+            messageQueues.get(channelData.getQueue()).handled();
+            return;
+        }
+        updatePublisherLastConnectionTime(channelData.getServerAddress());
+        if (!publisherNodeTypeToMessageTypesMap.get(channelData.getPublisherNodeType()).contains(propagatedMessageType)) {
+            return;
         }
+        handleMessageData(messageData, propagatedMessageType, channelData.getPublisherNodeType(), potValidationResults);
+        messageQueues.get(channelData.getQueue()).handled();
     }
 
     private void updatePublisherLastConnectionTime(String publisherAddressAndPort) {
@@ -236,8 +389,13 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
         }
     }
 
-    private void handleMessageData(IPropagatable messageData, Class<? extends IPropagatable> propagatedMessageType, NodeType publisherNodeType) {
+    private void handleMessageData(IPropagatable messageData, Class<? extends IPropagatable> propagatedMessageType, NodeType publisherNodeType, Map<Hash, Boolean> potValidationResults) {
         try {
+            Boolean potValidationResult = messageData instanceof TransactionData ? potValidationResults.get(((TransactionData) messageData).getHash()) : null;
+            if (potValidationResult != null) {
+                subscriberHandler.handlePropagatedTransaction((TransactionData) messageData, potValidationResult);
+                return;
+            }
             subscriberHandler.get(propagatedMessageType.getSimpleName()).apply(publisherNodeType).accept(messageData);
         } catch (ClassCastException e) {
             log.error("Invalid request received: " + e.getMessage());
@@ -305,6 +463,9 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
 
     @Scheduled(initialDelay = INITIAL_DELAY, fixedDelay = FIXED_DELAY)
     public void reconnectToPublisher() {
+        if (isReceiverPaused()) {
+            return;
+        }
         connectedNodes.forEach((serverAddress, connectedNodeData) -> {
             if (Duration.between(connectedNodeData.getLastConnectionTime(), Instant.now()).toMillis() > HEARTBEAT_INTERVAL) {
                 NodeType nodeType = connectedNodeData.getNodeType();
@@ -317,7 +478,18 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
 
     @Override
     public int getMessageQueueSize(ZeroMQSubscriberQueue zeroMQSubscriberQueue) {
-        return zeroMQSubscriberQueue.getQueue().size();
+        SubscriberQueueData<ZeroMQMessageData> messageQueue = messageQueues.get(zeroMQSubscriberQueue);
+        if (messageQueue == null) {
+            return 0;
+        }
+        return messageQueue.size();
+    }
+
+    @Override
+    public Map<ZeroMQSubscriberQueue, SubscriberQueueStatisticsData> getMessageQueueStatistics() {
+        Map<ZeroMQSubscriberQueue, SubscriberQueueStatisticsData> messageQueueStatistics = new EnumMap<>(ZeroMQSubscriberQueue.class);
+        messageQueues.forEach((queueEnum, messageQueue) -> messageQueueStatistics.put(queueEnum, messageQueue.getStatistics()));
+        return messageQueueStatistics;
     }
 
     @Override
@@ -334,15 +506,10 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
                     monitorReconnectThread.interrupt();
                     monitorReconnectThread.join();
                 }
-                queueNameToThreadMap.values().forEach(thread -> {
-                    try {
-                        thread.interrupt();
-                        thread.join();
-                    } catch (InterruptedException e) {
-                        log.error("Interrupted shutdown ZeroMQ subscriber");
-                        Thread.currentThread().interrupt();
-                    }
-                });
+                queueNameToThreadMap.values().forEach(this::interruptAndJoin);
+                if (transactionDeserializationExecutor != null) {
+                    transactionDeserializationExecutor.shutdown();
+                }
             }
         } catch (InterruptedException e) {
             log.error("Interrupted shutdown ZeroMQ subscriber");
@@ -351,4 +518,14 @@ public class ZeroMQSubscriber implements IPropagationSubscriber {
             log.error("Shutdown error ZeroMQ subscriber", e);
         }
     }
+
+    private void interruptAndJoin(Thread thread) {
+        try {
+            thread.interrupt();
+            thread.join();
+        } catch (InterruptedException e) {
+            log.error("Interrupted shutdown ZeroMQ subscriber");
+            Thread.currentThread().interrupt();
+        }
+    }
 }
@@ -1,20 +1,23 @@
 package io.coti.basenode.communication;
 
 import io.coti.basenode.communication.interfaces.ISubscriberHandler;
+import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.NodeType;
+import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.data.interfaces.IPropagatable;
 import io.coti.basenode.services.interfaces.IAddressService;
 import io.coti.basenode.services.interfaces.IDspVoteService;
 import io.coti.basenode.services.interfaces.INetworkService;
+import io.coti.basenode.services.interfaces.ITransactionHelper;
 import io.coti.basenode.services.interfaces.ITransactionService;
+import io.coti.basenode.services.interfaces.IValidationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 public class ZeroMQSubscriberHandler implements ISubscriberHandler {
@@ -28,6 +31,10 @@ public class ZeroMQSubscriberHandler implements ISubscriberHandler {
     private IDspVoteService dspVoteService;
     @Autowired
     private INetworkService networkService;
+    @Autowired
+    private IValidationService validationService;
+    @Autowired
+    private ITransactionHelper transactionHelper;
 
     @Override
     public void init() {
@@ -50,4 +57,21 @@ public class ZeroMQSubscriberHandler implements ISubscriberHandler {
         return messageTypeToSubscriberHandlerMap.get(messageType);
     }
 
+    @Override
+    public Map<Hash, Boolean> preHandle(List<IPropagatable> messages) {
+        Set<Hash> batchTransactionHashes = new HashSet<>();
+        List<TransactionData> newTransactions = messages.stream().filter(TransactionData.class::isInstance).map(TransactionData.class::cast)
+                .filter(transactionData -> batchTransactionHashes.add(transactionData.getHash()) && !transactionHelper.isTransactionHashExists(transactionData.getHash()))
+                .collect(Collectors.toList());
+        if (newTransactions.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return validationService.validatePot(newTransactions);
+    }
+
+    @Override
+    public void handlePropagatedTransaction(TransactionData transactionData, Boolean potValidationResult) {
+        transactionService.handlePropagatedTransaction(transactionData, potValidationResult);
+    }
+
 }
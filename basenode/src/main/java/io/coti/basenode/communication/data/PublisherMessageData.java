@@ -0,0 +1,19 @@
+package io.coti.basenode.communication.data;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PublisherMessageData {
+
+    private final List<byte[]> channels;
+    private final byte[] message;
+    private final long creationNanos;
+
+    public PublisherMessageData(List<byte[]> channels, byte[] message) {
+        this.channels = channels;
+        this.message = message;
+        creationNanos = System.nanoTime();
+    }
+}
@@ -0,0 +1,13 @@
+package io.coti.basenode.communication.data;
+
+import lombok.Data;
+
+@Data
+public class PublisherStatisticsData {
+
+    private int queueSize;
+    private long publishedMessages;
+    private long publishedBatches;
+    private double averagePublishLatencyMillis;
+    private double maxPublishLatencyMillis;
+}
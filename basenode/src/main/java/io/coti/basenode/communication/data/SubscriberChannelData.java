@@ -0,0 +1,15 @@
+package io.coti.basenode.communication.data;
+
+import io.coti.basenode.communication.ZeroMQSubscriberQueue;
+import io.coti.basenode.data.NodeType;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import lombok.Data;
+
+@Data
+public class SubscriberChannelData {
+
+    private final Class<? extends IPropagatable> messageType;
+    private final ZeroMQSubscriberQueue queue;
+    private final String serverAddress;
+    private final NodeType publisherNodeType;
+}
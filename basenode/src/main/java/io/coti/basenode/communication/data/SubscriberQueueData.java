@@ -0,0 +1,116 @@
+package io.coti.basenode.communication.data;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+public class SubscriberQueueData<T> {
+
+    private static final int HIGH_WATERMARK_PERCENTAGE = 90;
+    private static final int LOW_WATERMARK_PERCENTAGE = 50;
+    private static final long BACKPRESSURE_CHECK_MILLIS = 100;
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int capacity;
+    private final int highWatermark;
+    private final int lowWatermark;
+    private final AtomicInteger maxSize = new AtomicInteger();
+    private final AtomicLong receivedMessages = new AtomicLong();
+    private final AtomicLong handledMessages = new AtomicLong();
+    private final AtomicLong backpressureEvents = new AtomicLong();
+    private final AtomicLong backpressureNanos = new AtomicLong();
+    private volatile boolean backpressure;
+
+    public SubscriberQueueData(String name, int capacity) {
+        this.name = name;
+        this.capacity = Math.max(capacity, 2);
+        queue = new LinkedBlockingQueue<>(this.capacity);
+        highWatermark = Math.max(this.capacity * HIGH_WATERMARK_PERCENTAGE / 100, 1);
+        lowWatermark = Math.min(this.capacity * LOW_WATERMARK_PERCENTAGE / 100, highWatermark - 1);
+    }
+
+    /**
+     * @return true if the caller was paused until the queue drained to the low watermark
+     */
+    public boolean put(T element) throws InterruptedException {
+        boolean paused = queue.size() >= highWatermark;
+        if (paused) {
+            waitForLowWatermark();
+        }
+        queue.put(element);
+        receivedMessages.incrementAndGet();
+        maxSize.accumulateAndGet(queue.size(), Math::max);
+        return paused;
+    }
+
+    private synchronized void waitForLowWatermark() throws InterruptedException {
+        long start = System.nanoTime();
+        backpressure = true;
+        backpressureEvents.incrementAndGet();
+        log.warn("Subscriber queue {} reached high watermark {}, pausing until it drains to {}", name, highWatermark, lowWatermark);
+        try {
+            while (queue.size() > lowWatermark) {
+                wait(BACKPRESSURE_CHECK_MILLIS);
+            }
+        } finally {
+            backpressure = false;
+            long backpressureTime = System.nanoTime() - start;
+            backpressureNanos.addAndGet(backpressureTime);
+            log.debug("Subscriber queue {} resumed after {} ms", name, TimeUnit.NANOSECONDS.toMillis(backpressureTime));
+        }
+    }
+
+    public T take() throws InterruptedException {
+        T element = queue.take();
+        releaseBackpressure();
+        return element;
+    }
+
+    private void releaseBackpressure() {
+        if (backpressure && queue.size() <= lowWatermark) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    public boolean isBackpressure() {
+        return backpressure;
+    }
+
+    public void handled() {
+        handledMessages.incrementAndGet();
+    }
+
+    public int drainTo(Collection<? super T> collection) {
+        return queue.drainTo(collection);
+    }
+
+    public int drainTo(Collection<? super T> collection, int maxElements) {
+        int drainedElements = queue.drainTo(collection, maxElements);
+        releaseBackpressure();
+        return drainedElements;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public SubscriberQueueStatisticsData getStatistics() {
+        SubscriberQueueStatisticsData statisticsData = new SubscriberQueueStatisticsData();
+        statisticsData.setSize(queue.size());
+        statisticsData.setMaxSize(maxSize.get());
+        statisticsData.setCapacity(capacity);
+        statisticsData.setReceivedMessages(receivedMessages.get());
+        statisticsData.setHandledMessages(handledMessages.get());
+        statisticsData.setBackpressureEvents(backpressureEvents.get());
+        statisticsData.setBackpressureMillis(TimeUnit.NANOSECONDS.toMillis(backpressureNanos.get()));
+        return statisticsData;
+    }
+}
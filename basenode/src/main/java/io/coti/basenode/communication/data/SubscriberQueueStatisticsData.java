@@ -0,0 +1,15 @@
+package io.coti.basenode.communication.data;
+
+import lombok.Data;
+
+@Data
+public class SubscriberQueueStatisticsData {
+
+    private int size;
+    private int maxSize;
+    private int capacity;
+    private long receivedMessages;
+    private long handledMessages;
+    private long backpressureEvents;
+    private long backpressureMillis;
+}
@@ -1,5 +1,6 @@
 package io.coti.basenode.communication.interfaces;
 
+import io.coti.basenode.communication.data.PublisherStatisticsData;
 import io.coti.basenode.data.NodeType;
 import io.coti.basenode.data.interfaces.IPropagatable;
 
@@ -13,5 +14,7 @@ public interface IPropagationPublisher {
 
     <T extends IPropagatable> void propagate(T toPropagate, List<NodeType> subscriberNodeTypes);
 
+    PublisherStatisticsData getStatistics();
+
     void shutdown();
 }
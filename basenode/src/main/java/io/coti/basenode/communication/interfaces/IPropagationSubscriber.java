@@ -1,11 +1,13 @@
 package io.coti.basenode.communication.interfaces;
 
 import io.coti.basenode.communication.ZeroMQSubscriberQueue;
+import io.coti.basenode.communication.data.SubscriberQueueStatisticsData;
 import io.coti.basenode.data.NodeType;
 import io.coti.basenode.data.interfaces.IPropagatable;
 
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 public interface IPropagationSubscriber {
 
@@ -27,5 +29,7 @@ public interface IPropagationSubscriber {
 
     int getMessageQueueSize(ZeroMQSubscriberQueue zeroMQSubscriberQueue);
 
+    Map<ZeroMQSubscriberQueue, SubscriberQueueStatisticsData> getMessageQueueStatistics();
+
     void shutdown();
 }
\ No newline at end of file
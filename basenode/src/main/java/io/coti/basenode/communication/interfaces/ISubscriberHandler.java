@@ -1,8 +1,12 @@
 package io.coti.basenode.communication.interfaces;
 
+import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.NodeType;
+import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.data.interfaces.IPropagatable;
 
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -12,4 +16,13 @@ public interface ISubscriberHandler {
 
     Function<NodeType, Consumer<IPropagatable>> get(String messageType);
 
+    /**
+     * Verifies the PoT of the new transactions of a batch in parallel.
+     *
+     * @return the PoT validation result per transaction hash, to be passed to {@link #handlePropagatedTransaction}
+     */
+    Map<Hash, Boolean> preHandle(List<IPropagatable> messages);
+
+    void handlePropagatedTransaction(TransactionData transactionData, Boolean potValidationResult);
+
 }
@@ -3,6 +3,7 @@ package io.coti.basenode.controllers;
 import io.coti.basenode.http.AddressFileRequest;
 import io.coti.basenode.http.interfaces.IResponse;
 import io.coti.basenode.services.interfaces.IAddressService;
+import io.coti.basenode.services.interfaces.IMonitorService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +19,8 @@ public class BaseNodeAdminController {
 
     @Autowired
     private IAddressService addressService;
+    @Autowired
+    private IMonitorService monitorService;
 
     @GetMapping(path = "/address/batch")
     public void getAddressBatch(HttpServletResponse response) {
@@ -28,4 +31,9 @@ public class BaseNodeAdminController {
     public ResponseEntity<IResponse> uploadAddressBatch(@ModelAttribute @Valid AddressFileRequest request) {
         return addressService.uploadAddressBatch(request);
     }
+
+    @GetMapping(path = "/monitor/database")
+    public ResponseEntity<IResponse> getDatabaseStatistics() {
+        return monitorService.getDatabaseStatistics();
+    }
 }
@@ -21,8 +21,13 @@ public class TransactionBatchController {
     private ITransactionService transactionService;
 
     @GetMapping(value = "/transaction_batch")
-    public void getTransactionBatch(@RequestParam(name = "starting_index") @Valid @NotNull Long startingIndex, HttpServletResponse response) {
-        transactionService.getTransactionBatch(startingIndex, response);
+    public void getTransactionBatch(@RequestParam(name = "starting_index") @Valid @NotNull Long startingIndex, @RequestParam(name = "framed", defaultValue = "false") boolean framed,
+                                    @RequestParam(name = "compressed", defaultValue = "false") boolean compressed, HttpServletResponse response) {
+        if (framed) {
+            transactionService.getFramedTransactionBatch(startingIndex, compressed, response);
+        } else {
+            transactionService.getTransactionBatch(startingIndex, response);
+        }
     }
 
     @GetMapping(value = "/transaction_batch/reactive", produces = MediaType.APPLICATION_STREAM_JSON_VALUE)
@@ -2,8 +2,8 @@ package io.coti.basenode.crypto;
 
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.SignatureData;
-import org.bouncycastle.asn1.sec.SECNamedCurves;
 import org.bouncycastle.asn1.x9.X9ECParameters;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
 import org.bouncycastle.crypto.params.ECDomainParameters;
 import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
 import org.bouncycastle.crypto.params.ECPublicKeyParameters;
@@ -23,6 +23,8 @@ import java.security.NoSuchAlgorithmException;
 import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.zip.CRC32;
 import java.util.zip.Checksum;
 
@@ -30,9 +32,17 @@ public class CryptoHelper {
 
     private static final String EC_SPEC = "secp256k1";
     private static final String EC_ALGORITHM = "ECDSA";
-    private static final X9ECParameters curve = SECNamedCurves.getByName(EC_SPEC);
+    private static final X9ECParameters curve = CustomNamedCurves.getByName(EC_SPEC);
     private static final ECDomainParameters domain = new ECDomainParameters(curve.getCurve(), curve.getG(), curve.getN(), curve.getH());
     private static final ECParameterSpec spec = new ECParameterSpec(curve.getCurve(), curve.getG(), curve.getN(), curve.getH());
+    private static final BouncyCastleProvider provider = new BouncyCastleProvider();
+    private static final int PUBLIC_KEY_CACHE_SIZE = 4096;
+    private static final Map<String, ECPublicKeyParameters> publicKeyParametersCache = new LinkedHashMap<String, ECPublicKeyParameters>(PUBLIC_KEY_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ECPublicKeyParameters> eldest) {
+            return size() > PUBLIC_KEY_CACHE_SIZE;
+        }
+    };
     public static final int ADDRESS_SIZE_IN_BYTES = 68;
     public static final int ADDRESS_CHECKSUM_SIZE_IN_BYTES = 4;
 
@@ -41,21 +51,58 @@ public class CryptoHelper {
     }
 
     public static PublicKey getPublicKeyFromHexString(String pubKeyHex) throws NoSuchAlgorithmException, InvalidKeySpecException {
+        ECPublicKeySpec publicSpec = new ECPublicKeySpec(getPublicKeyPoint(pubKeyHex), spec);
+        KeyFactory keyfac = KeyFactory.getInstance(EC_ALGORITHM, provider);
+
+        return keyfac.generatePublic(publicSpec);
+    }
+
+    private static ECPoint getPublicKeyPoint(String pubKeyHex) {
         String pointX = pubKeyHex.substring(0, (pubKeyHex.length() / 2));
         String pointY = pubKeyHex.substring(pubKeyHex.length() / 2);
 
-        BigInteger p256X = new BigInteger(pointX, 16);
-        BigInteger p256Y = new BigInteger(pointY, 16);
-
-        ECPoint point = curve.getCurve().createPoint(p256X, p256Y);
-        ECPublicKeySpec publicSpec = new ECPublicKeySpec(point, spec);
-        KeyFactory keyfac = KeyFactory.getInstance(EC_ALGORITHM, new BouncyCastleProvider());
+        return curve.getCurve().createPoint(parseUnsignedHex(pointX), parseUnsignedHex(pointY));
+    }
 
-        return keyfac.generatePublic(publicSpec);
+    private static ECPublicKeyParameters getPublicKeyParameters(String pubKeyHex) {
+        ECPublicKeyParameters publicKeyParameters;
+        synchronized (publicKeyParametersCache) {
+            publicKeyParameters = publicKeyParametersCache.get(pubKeyHex);
+        }
+        if (publicKeyParameters == null) {
+            publicKeyParameters = new ECPublicKeyParameters(getPublicKeyPoint(pubKeyHex), domain);
+            synchronized (publicKeyParametersCache) {
+                publicKeyParametersCache.put(pubKeyHex, publicKeyParameters);
+            }
+        }
+        return publicKeyParameters;
     }
 
     public static boolean verifyByPublicKey(byte[] originalMessageToVerify, String rHex, String sHex, String publicKey) throws InvalidKeySpecException, NoSuchAlgorithmException {
-        return verifyByPublicKey(originalMessageToVerify, rHex, sHex, getPublicKeyFromHexString(publicKey));
+        return verifyByPublicKey(originalMessageToVerify, parseUnsignedHex(rHex), parseUnsignedHex(sHex), getPublicKeyParameters(publicKey));
+    }
+
+    private static boolean verifyByPublicKey(byte[] originalDataToVerify, BigInteger r, BigInteger s, ECPublicKeyParameters publicKeyParameters) {
+        ECDSASigner signer = new ECDSASigner();
+        signer.init(false, publicKeyParameters);
+        return signer.verifySignature(originalDataToVerify, r, s);
+    }
+
+    private static BigInteger parseUnsignedHex(String hex) {
+        int length = hex.length();
+        if (length == 0) {
+            throw new NumberFormatException("Zero length hex string");
+        }
+        byte[] bytes = new byte[(length + 1) / 2];
+        for (int i = length - 1, j = bytes.length - 1; i >= 0; i -= 2, j--) {
+            int low = Character.digit(hex.charAt(i), 16);
+            int high = i > 0 ? Character.digit(hex.charAt(i - 1), 16) : 0;
+            if (low < 0 || high < 0) {
+                throw new NumberFormatException(String.format("Invalid hex string %s", hex));
+            }
+            bytes[j] = (byte) (high << 4 | low);
+        }
+        return new BigInteger(1, bytes);
     }
 
     public static byte[] removeLeadingZerosFromAddress(byte[] addressBytesWithoutChecksum) {
@@ -123,11 +170,7 @@ public class CryptoHelper {
     }
 
     public static boolean verifyByPublicKey(byte[] originalDataToVerify, String rHex, String sHex, PublicKey publicKey) {
-        ECDSASigner signer = new ECDSASigner();
-        signer.init(false, new ECPublicKeyParameters(((ECPublicKey) publicKey).getQ(), domain));
-        BigInteger r = new BigInteger(rHex, 16);
-        BigInteger s = new BigInteger(sHex, 16);
-        return signer.verifySignature(originalDataToVerify, r, s);
+        return verifyByPublicKey(originalDataToVerify, parseUnsignedHex(rHex), parseUnsignedHex(sHex), new ECPublicKeyParameters(((ECPublicKey) publicKey).getQ(), domain));
     }
 
     public static boolean isAddressValid(Hash addressHash) {
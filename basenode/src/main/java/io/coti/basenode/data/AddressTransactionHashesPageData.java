@@ -0,0 +1,17 @@
+package io.coti.basenode.data;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class AddressTransactionHashesPageData {
+
+    private List<Hash> transactionHashes;
+    private Hash nextCursor;
+
+    public AddressTransactionHashesPageData(List<Hash> transactionHashes, Hash nextCursor) {
+        this.transactionHashes = transactionHashes;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,209 @@
+package io.coti.basenode.data;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class BalanceStoreData {
+
+    private static final int NUMBER_OF_STRIPES = 256;
+    private static final int INITIAL_STRIPE_CAPACITY = 256;
+    private final Stripe[] stripes;
+
+    public BalanceStoreData() {
+        stripes = new Stripe[NUMBER_OF_STRIPES];
+        for (int i = 0; i < NUMBER_OF_STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public boolean contains(Hash addressHash) {
+        byte[] address = addressHash.getBytes();
+        int hash = hash(address);
+        Stripe stripe = getStripe(hash);
+        stripe.lock.lock();
+        try {
+            return stripe.indexOf(address, hash) >= 0;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public long getBalance(Hash addressHash) {
+        return get(addressHash, false);
+    }
+
+    public long getPreBalance(Hash addressHash) {
+        return get(addressHash, true);
+    }
+
+    private long get(Hash addressHash, boolean preBalance) {
+        byte[] address = addressHash.getBytes();
+        int hash = hash(address);
+        Stripe stripe = getStripe(hash);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.indexOf(address, hash);
+            if (slot < 0) {
+                return 0;
+            }
+            return preBalance ? stripe.preBalances[slot] : stripe.balances[slot];
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void addToBalance(Hash addressHash, long amount) {
+        add(addressHash, amount, false);
+    }
+
+    public void addToPreBalance(Hash addressHash, long amount) {
+        add(addressHash, amount, true);
+    }
+
+    private void add(Hash addressHash, long amount, boolean preBalance) {
+        byte[] address = addressHash.getBytes();
+        int hash = hash(address);
+        Stripe stripe = getStripe(hash);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.getOrCreateSlot(address, hash);
+            if (preBalance) {
+                stripe.preBalances[slot] = Math.addExact(stripe.preBalances[slot], amount);
+            } else {
+                stripe.balances[slot] = Math.addExact(stripe.balances[slot], amount);
+            }
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public boolean addToPreBalanceIfPresent(Hash addressHash, long amount) {
+        byte[] address = addressHash.getBytes();
+        int hash = hash(address);
+        Stripe stripe = getStripe(hash);
+        stripe.lock.lock();
+        try {
+            int slot = stripe.indexOf(address, hash);
+            if (slot < 0) {
+                return false;
+            }
+            stripe.preBalances[slot] = Math.addExact(stripe.preBalances[slot], amount);
+            return true;
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public void copyBalancesToPreBalances() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                System.arraycopy(stripe.balances, 0, stripe.preBalances, 0, stripe.balances.length);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public void forEach(BalanceConsumer balanceConsumer) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                for (int slot = 0; slot < stripe.addresses.length; slot++) {
+                    if (stripe.addresses[slot] != null) {
+                        balanceConsumer.accept(new Hash(stripe.addresses[slot]), stripe.balances[slot], stripe.preBalances[slot]);
+                    }
+                }
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+    }
+
+    public int[] lock(List<Hash> addressHashes) {
+        int[] stripeIndexes = addressHashes.stream().mapToInt(addressHash -> getStripeIndex(hash(addressHash.getBytes()))).distinct().sorted().toArray();
+        for (int stripeIndex : stripeIndexes) {
+            stripes[stripeIndex].lock.lock();
+        }
+        return stripeIndexes;
+    }
+
+    public void unlock(int[] stripeIndexes) {
+        for (int i = stripeIndexes.length - 1; i >= 0; i--) {
+            stripes[stripeIndexes[i]].lock.unlock();
+        }
+    }
+
+    private Stripe getStripe(int hash) {
+        return stripes[getStripeIndex(hash)];
+    }
+
+    private static int getStripeIndex(int hash) {
+        return (hash >>> 24) & (NUMBER_OF_STRIPES - 1);
+    }
+
+    private static int hash(byte[] address) {
+        int hash = Arrays.hashCode(address);
+        return hash ^ (hash >>> 16) * 0x85ebca6b;
+    }
+
+    @FunctionalInterface
+    public interface BalanceConsumer {
+
+        void accept(Hash addressHash, long balance, long preBalance);
+    }
+
+    private static final class Stripe {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private byte[][] addresses = new byte[INITIAL_STRIPE_CAPACITY][];
+        private long[] balances = new long[INITIAL_STRIPE_CAPACITY];
+        private long[] preBalances = new long[INITIAL_STRIPE_CAPACITY];
+        private int size;
+
+        private int indexOf(byte[] address, int hash) {
+            int mask = addresses.length - 1;
+            int slot = hash & mask;
+            while (addresses[slot] != null) {
+                if (Arrays.equals(addresses[slot], address)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -slot - 1;
+        }
+
+        private int getOrCreateSlot(byte[] address, int hash) {
+            int slot = indexOf(address, hash);
+            if (slot >= 0) {
+                return slot;
+            }
+            if ((size + 1) * 4 > addresses.length * 3) {
+                resize();
+                slot = indexOf(address, hash);
+            }
+            slot = -slot - 1;
+            addresses[slot] = address.clone();
+            size++;
+            return slot;
+        }
+
+        private void resize() {
+            byte[][] oldAddresses = addresses;
+            long[] oldBalances = balances;
+            long[] oldPreBalances = preBalances;
+            addresses = new byte[oldAddresses.length * 2][];
+            balances = new long[oldAddresses.length * 2];
+            preBalances = new long[oldAddresses.length * 2];
+            for (int oldSlot = 0; oldSlot < oldAddresses.length; oldSlot++) {
+                if (oldAddresses[oldSlot] != null) {
+                    int slot = -indexOf(oldAddresses[oldSlot], hash(oldAddresses[oldSlot])) - 1;
+                    addresses[slot] = oldAddresses[oldSlot];
+                    balances[slot] = oldBalances[oldSlot];
+                    preBalances[slot] = oldPreBalances[oldSlot];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.coti.basenode.data;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+@Data
+public class ColumnFamilyStatisticsData implements Serializable {
+
+    private static final long serialVersionUID = 2275904129861207853L;
+    private long estimatedKeys;
+    private long memTablesSize;
+    private long liveSstFilesSize;
+    private long pendingCompactionBytes;
+    private long levelZeroFiles;
+    private int estimatedReadAmplification;
+    private boolean writeStopped;
+    private long delayedWriteRate;
+}
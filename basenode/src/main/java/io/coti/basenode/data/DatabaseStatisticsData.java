@@ -0,0 +1,26 @@
+package io.coti.basenode.data;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+public class DatabaseStatisticsData implements Serializable {
+
+    private static final long serialVersionUID = -3014470937371512327L;
+    private boolean statisticsEnabled;
+    private long blockCacheUsage;
+    private long blockCacheHits;
+    private long blockCacheMisses;
+    private double blockCacheHitRate;
+    private long bloomFilterUseful;
+    private long keysRead;
+    private long bytesRead;
+    private long bytesWritten;
+    private long compactionReadBytes;
+    private long compactionWriteBytes;
+    private long stallMicros;
+    private Map<String, ColumnFamilyStatisticsData> columnFamilies = new LinkedHashMap<>();
+}
@@ -25,6 +25,7 @@ public class NetworkNodeData implements IEntity, ISignable, ISignValidatable {
     private FeeData feeData;
     private SignatureData nodeSignature;
     private NodeRegistrationData nodeRegistrationData;
+    private boolean binaryPropagationSupported;
 
     public NetworkNodeData() {
     }
@@ -36,7 +36,6 @@ public class TransactionData implements IPropagatable, Comparable<TransactionDat
     private SignatureData nodeSignature;
     private List<Hash> childrenTransactionHashes;
     private Boolean valid;
-    private transient boolean isVisit;
     private String transactionDescription;
     private DspConsensusResult dspConsensusResult;
     private List<TransactionTrustScoreData> trustScoreResults;
@@ -0,0 +1,98 @@
+package io.coti.basenode.data;
+
+import java.util.Arrays;
+
+public final class TrustScoreSourcesData {
+
+    public static final TrustScoreSourcesData EMPTY = new TrustScoreSourcesData(new Hash[0], new long[0]);
+    private final Hash[] sourceHashes;
+    private final long[] attachmentTimes;
+    private final long[] attachmentTimePrefixSums;
+
+    private TrustScoreSourcesData(Hash[] sourceHashes, long[] attachmentTimes) {
+        this.sourceHashes = sourceHashes;
+        this.attachmentTimes = attachmentTimes;
+        attachmentTimePrefixSums = new long[attachmentTimes.length + 1];
+        for (int i = 0; i < attachmentTimes.length; i++) {
+            attachmentTimePrefixSums[i + 1] = attachmentTimePrefixSums[i] + attachmentTimes[i];
+        }
+    }
+
+    public TrustScoreSourcesData add(Hash sourceHash, long attachmentTime) {
+        int insertionIndex = getOlderSourcesCount(attachmentTime);
+        Hash[] newSourceHashes = new Hash[sourceHashes.length + 1];
+        long[] newAttachmentTimes = new long[attachmentTimes.length + 1];
+        System.arraycopy(sourceHashes, 0, newSourceHashes, 0, insertionIndex);
+        System.arraycopy(attachmentTimes, 0, newAttachmentTimes, 0, insertionIndex);
+        newSourceHashes[insertionIndex] = sourceHash;
+        newAttachmentTimes[insertionIndex] = attachmentTime;
+        System.arraycopy(sourceHashes, insertionIndex, newSourceHashes, insertionIndex + 1, sourceHashes.length - insertionIndex);
+        System.arraycopy(attachmentTimes, insertionIndex, newAttachmentTimes, insertionIndex + 1, attachmentTimes.length - insertionIndex);
+        return new TrustScoreSourcesData(newSourceHashes, newAttachmentTimes);
+    }
+
+    public TrustScoreSourcesData remove(Hash sourceHash) {
+        int removalIndex = Arrays.asList(sourceHashes).indexOf(sourceHash);
+        if (removalIndex < 0) {
+            return this;
+        }
+        if (sourceHashes.length == 1) {
+            return EMPTY;
+        }
+        Hash[] newSourceHashes = new Hash[sourceHashes.length - 1];
+        long[] newAttachmentTimes = new long[attachmentTimes.length - 1];
+        System.arraycopy(sourceHashes, 0, newSourceHashes, 0, removalIndex);
+        System.arraycopy(attachmentTimes, 0, newAttachmentTimes, 0, removalIndex);
+        System.arraycopy(sourceHashes, removalIndex + 1, newSourceHashes, removalIndex, sourceHashes.length - removalIndex - 1);
+        System.arraycopy(attachmentTimes, removalIndex + 1, newAttachmentTimes, removalIndex, attachmentTimes.length - removalIndex - 1);
+        return new TrustScoreSourcesData(newSourceHashes, newAttachmentTimes);
+    }
+
+    public int size() {
+        return sourceHashes.length;
+    }
+
+    public boolean isEmpty() {
+        return sourceHashes.length == 0;
+    }
+
+    public Hash getSourceHash(int index) {
+        return sourceHashes[index];
+    }
+
+    public int getOlderSourcesCount(long now) {
+        int low = 0;
+        int high = attachmentTimes.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (attachmentTimes[middle] <= now) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    public long getTotalWeight(int olderSourcesCount, long now) {
+        return getCumulativeWeight(olderSourcesCount, now);
+    }
+
+    public Hash getSourceHashByWeight(long weight, int olderSourcesCount, long now) {
+        int low = 0;
+        int high = olderSourcesCount - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (getCumulativeWeight(middle + 1, now) > weight) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return sourceHashes[low];
+    }
+
+    private long getCumulativeWeight(int sourcesCount, long now) {
+        return sourcesCount * now - attachmentTimePrefixSums[sourcesCount];
+    }
+}
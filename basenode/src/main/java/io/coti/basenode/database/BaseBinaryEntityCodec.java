@@ -0,0 +1,268 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.SignatureData;
+import io.coti.basenode.data.interfaces.IEntity;
+import io.coti.basenode.database.interfaces.IEntityCodec;
+import io.coti.basenode.exceptions.DataBaseException;
+import org.springframework.util.SerializationUtils;
+
+import java.io.*;
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public abstract class BaseBinaryEntityCodec<T extends IEntity> implements IEntityCodec<T> {
+
+    private static final byte FORMAT_MARKER = (byte) 0xC0;
+    private static final int INITIAL_BUFFER_SIZE = 512;
+    private static final Map<Class<?>, Constructor<?>> classToConstructorMap = new ConcurrentHashMap<>();
+
+    @Override
+    public byte[] encode(T entity) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        try (DataOutputStream output = new DataOutputStream(byteArrayOutputStream)) {
+            output.writeByte(FORMAT_MARKER);
+            output.writeByte(getVersion());
+            write(output, entity);
+        } catch (UnsupportedEntityException e) {
+            return SerializationUtils.serialize(entity);
+        } catch (IOException e) {
+            throw new DataBaseException("Error at encoding entity", e);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    @Override
+    public T decode(byte[] bytes) {
+        if (bytes.length < 2 || bytes[0] != FORMAT_MARKER) {
+            return (T) SerializationUtils.deserialize(bytes);
+        }
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes, 2, bytes.length - 2))) {
+            return read(input, bytes[1]);
+        } catch (IOException e) {
+            throw new DataBaseException("Error at decoding entity", e);
+        }
+    }
+
+    @Override
+    public boolean isCurrentFormat(byte[] bytes) {
+        return bytes.length >= 2 && bytes[0] == FORMAT_MARKER && bytes[1] == getVersion();
+    }
+
+    protected abstract void write(DataOutput output, T entity) throws IOException;
+
+    protected abstract T read(DataInput input, byte version) throws IOException;
+
+    protected static <E> E newInstance(Class<E> entityClass) {
+        try {
+            Constructor<?> constructor = classToConstructorMap.computeIfAbsent(entityClass, aClass -> {
+                try {
+                    Constructor<?> declaredConstructor = aClass.getDeclaredConstructor();
+                    declaredConstructor.setAccessible(true);
+                    return declaredConstructor;
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            });
+            return entityClass.cast(constructor.newInstance());
+        } catch (Exception e) {
+            throw new DataBaseException(String.format("Error at instantiating %s", entityClass.getSimpleName()), e);
+        }
+    }
+
+    protected static void writeVarInt(DataOutput output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    protected static int readVarInt(DataInput input) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte currentByte;
+        do {
+            currentByte = input.readByte();
+            value |= (currentByte & 0x7F) << shift;
+            shift += 7;
+        } while ((currentByte & 0x80) != 0);
+        return value;
+    }
+
+    protected static void writeBytes(DataOutput output, byte[] bytes) throws IOException {
+        if (bytes == null) {
+            writeVarInt(output, 0);
+            return;
+        }
+        writeVarInt(output, bytes.length + 1);
+        output.write(bytes);
+    }
+
+    protected static byte[] readBytes(DataInput input) throws IOException {
+        int length = readVarInt(input) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    protected static void writeHash(DataOutput output, Hash hash) throws IOException {
+        writeBytes(output, hash != null ? hash.getBytes() : null);
+    }
+
+    protected static Hash readHash(DataInput input) throws IOException {
+        byte[] bytes = readBytes(input);
+        return bytes != null ? new Hash(bytes) : null;
+    }
+
+    protected static void writeString(DataOutput output, String string) throws IOException {
+        writeBytes(output, string != null ? string.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    protected static String readString(DataInput input) throws IOException {
+        byte[] bytes = readBytes(input);
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    protected static void writeBigDecimal(DataOutput output, BigDecimal amount) throws IOException {
+        if (amount == null) {
+            writeBytes(output, null);
+            return;
+        }
+        writeBytes(output, amount.unscaledValue().toByteArray());
+        output.writeInt(amount.scale());
+    }
+
+    protected static BigDecimal readBigDecimal(DataInput input) throws IOException {
+        byte[] unscaledValue = readBytes(input);
+        if (unscaledValue == null) {
+            return null;
+        }
+        return new BigDecimal(new BigInteger(unscaledValue), input.readInt());
+    }
+
+    protected static void writeInstant(DataOutput output, Instant instant) throws IOException {
+        output.writeBoolean(instant != null);
+        if (instant != null) {
+            output.writeLong(instant.getEpochSecond());
+            writeVarInt(output, instant.getNano());
+        }
+    }
+
+    protected static Instant readInstant(DataInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        long epochSecond = input.readLong();
+        return Instant.ofEpochSecond(epochSecond, readVarInt(input));
+    }
+
+    protected static void writeNullableBoolean(DataOutput output, Boolean value) throws IOException {
+        output.writeByte(value == null ? 0 : (value ? 2 : 1));
+    }
+
+    protected static Boolean readNullableBoolean(DataInput input) throws IOException {
+        byte value = input.readByte();
+        return value == 0 ? null : value == 2;
+    }
+
+    protected static void writeNullableDouble(DataOutput output, Double value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeDouble(value);
+        }
+    }
+
+    protected static Double readNullableDouble(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readDouble() : null;
+    }
+
+    protected static <E extends Enum<E>> void writeEnum(DataOutput output, E value) throws IOException {
+        writeString(output, value != null ? value.name() : null);
+    }
+
+    protected static <E extends Enum<E>> E readEnum(DataInput input, Class<E> enumClass) throws IOException {
+        String name = readString(input);
+        return name != null ? Enum.valueOf(enumClass, name) : null;
+    }
+
+    /**
+     * Reads an enum written by its ordinal, as codec versions before enums were written by name did.
+     */
+    protected static <E extends Enum<E>> E readEnumByOrdinal(DataInput input, Class<E> enumClass) throws IOException {
+        int ordinal = readVarInt(input) - 1;
+        return ordinal >= 0 ? enumClass.getEnumConstants()[ordinal] : null;
+    }
+
+    protected static void writeSignature(DataOutput output, SignatureData signatureData) throws IOException {
+        output.writeBoolean(signatureData != null);
+        if (signatureData != null) {
+            writeString(output, signatureData.getR());
+            writeString(output, signatureData.getS());
+        }
+    }
+
+    protected static SignatureData readSignature(DataInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        String r = readString(input);
+        return new SignatureData(r, readString(input));
+    }
+
+    protected static <E> void writeList(DataOutput output, List<E> list, ElementWriter<E> elementWriter) throws IOException {
+        if (list == null) {
+            writeVarInt(output, 0);
+            return;
+        }
+        writeVarInt(output, list.size() + 1);
+        for (E element : list) {
+            elementWriter.write(output, element);
+        }
+    }
+
+    protected static <E> List<E> readList(DataInput input, ElementReader<E> elementReader) throws IOException {
+        int size = readVarInt(input) - 1;
+        if (size < 0) {
+            return null;
+        }
+        List<E> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(elementReader.read(input));
+        }
+        return list;
+    }
+
+    protected static void checkSupportedClass(Object object, Class<?> supportedClass) {
+        if (object != null && object.getClass() != supportedClass) {
+            throw new UnsupportedEntityException();
+        }
+    }
+
+    @FunctionalInterface
+    protected interface ElementWriter<E> {
+
+        void write(DataOutput output, E element) throws IOException;
+    }
+
+    @FunctionalInterface
+    protected interface ElementReader<E> {
+
+        E read(DataInput input) throws IOException;
+    }
+
+    protected static class UnsupportedEntityException extends RuntimeException {
+
+        private static final long serialVersionUID = -1316305346436735423L;
+    }
+}
@@ -1,5 +1,7 @@
 package io.coti.basenode.database;
 
+import io.coti.basenode.data.ColumnFamilyStatisticsData;
+import io.coti.basenode.data.DatabaseStatisticsData;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.interfaces.IEntity;
 import io.coti.basenode.database.interfaces.IDatabaseConnector;
@@ -11,6 +13,7 @@ import org.rocksdb.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 import org.springframework.util.SerializationUtils;
 
@@ -26,6 +29,13 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
     private static final boolean CREATE_IF_MISSING = true;
     private static final boolean CREATE_MISSING_COLUMN_FAMILIES = true;
     private static final int MAX_TOTAL_WAL_SIZE_IN_BYTES = 536870912;
+    private static final int NUMBER_OF_LEVELS = 7;
+    private static final long DEFAULT_BLOCK_CACHE_SIZE = 268435456;
+    private static final int DEFAULT_BLOOM_FILTER_BITS_PER_KEY = 10;
+    private static final CompressionType DEFAULT_COMPRESSION_TYPE = CompressionType.LZ4_COMPRESSION;
+    private static final long DEFAULT_WRITE_BUFFER_SIZE = 67108864;
+    private static final int DEFAULT_MAX_WRITE_BUFFER_NUMBER = 3;
+    private static final CompactionStyle DEFAULT_COMPACTION_STYLE = CompactionStyle.LEVEL;
     @Value("${data.path:./}")
     protected String databaseFolder;
     @Value("${database.folder.name}")
@@ -38,12 +48,21 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
     private boolean resetTransactions;
     @Autowired
     private ApplicationContext ctx;
+    @Autowired
+    private Environment environment;
     private String dbPath;
     private RocksDB db;
     protected List<String> columnFamilyClassNames;
     protected List<String> resetColumnFamilyNames = new ArrayList<>();
     private List<String> resetTransactionColumnFamilyNames;
     private final Map<String, ColumnFamilyHandle> classNameToColumnFamilyHandleMapping = new LinkedHashMap<>();
+    private final Map<String, Collection<?>> classNameToCollectionMapping = new HashMap<>();
+    private final Map<String, ColumnFamilyOptions> classNameToColumnFamilyOptionsMapping = new HashMap<>();
+    private final Map<String, BloomFilter> classNameToBloomFilterMapping = new HashMap<>();
+    private DBOptions dbOptions;
+    private Cache blockCache;
+    private Statistics statistics;
+    private WriteOptions writeOptions;
 
     @Override
     public void init() {
@@ -74,11 +93,28 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         ));
     }
 
+    /**
+     * Opens the database outside of a Spring context, with a column family for each of the given collections and the
+     * db options of the given environment.
+     */
+    public void init(String dbPath, Environment environment, Collection<?>... collections) {
+        this.environment = environment;
+        columnFamilyClassNames = new ArrayList<>(Collections.singletonList(new String(RocksDB.DEFAULT_COLUMN_FAMILY)));
+        resetTransactionColumnFamilyNames = new ArrayList<>();
+        for (Collection<?> collection : collections) {
+            collection.databaseConnector = this;
+            columnFamilyClassNames.add(collection.getClass().getName());
+            classNameToCollectionMapping.put(collection.getClass().getName(), collection);
+        }
+        init(dbPath);
+    }
+
     public void init(String dbPath) {
         this.dbPath = dbPath;
         try {
             initColumnFamilyClasses();
             loadLibrary();
+            initSharedOptions();
             createDbDirectory();
             if (dropNotListedColumnFamilies) {
                 openDBAndDropNotListedColumnFamilies();
@@ -88,6 +124,7 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
             populateResetColumnFamilyNames();
             resetColumnFamilies();
+            migrateEntityCodecs();
 
         } catch (DataBaseException e) {
             throw new DataBaseException("Error initiating Rocks DB.\n" + e.getMessage(), e);
@@ -102,6 +139,16 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         }
     }
 
+    private void migrateEntityCodecs() {
+        for (int i = 1; i < columnFamilyClassNames.size(); i++) {
+            try {
+                getCollection(columnFamilyClassNames.get(i)).migrateEntityCodec();
+            } catch (Exception e) {
+                throw new DataBaseException("Error at migrating entity codec of column family classes.", e);
+            }
+        }
+    }
+
     private void openDBAndDropNotListedColumnFamilies() {
         try {
             List<String> dbColumnFamilyNames = getColumnFamilyNamesFromDB();
@@ -159,7 +206,7 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
                     columnFamilyHandle.close();
                     classNameToColumnFamilyHandleMapping.remove(columnFamilyName);
                     if (create) {
-                        columnFamilyHandle = db.createColumnFamily(new ColumnFamilyDescriptor(columnFamilyName.getBytes()));
+                        columnFamilyHandle = db.createColumnFamily(new ColumnFamilyDescriptor(columnFamilyName.getBytes(), getColumnFamilyOptions(columnFamilyName)));
                         classNameToColumnFamilyHandleMapping.put(columnFamilyName, columnFamilyHandle);
                         log.info("Column family {} reset", columnFamilyName);
                     } else {
@@ -177,14 +224,18 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
     }
 
     private void openDB(List<String> dbColumnFamilies) {
-        try (DBOptions dbOptions = new DBOptions()) {
-
+        try {
             List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
             List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>();
             initiateColumnFamilyDescriptors(dbColumnFamilies, columnFamilyDescriptors);
+            dbOptions = new DBOptions();
             dbOptions.setCreateIfMissing(CREATE_IF_MISSING);
             dbOptions.setCreateMissingColumnFamilies(CREATE_MISSING_COLUMN_FAMILIES);
             dbOptions.setMaxTotalWalSize(MAX_TOTAL_WAL_SIZE_IN_BYTES);
+            dbOptions.setIncreaseParallelism(Runtime.getRuntime().availableProcessors());
+            if (statistics != null) {
+                dbOptions.setStatistics(statistics);
+            }
             db = RocksDB.open(dbOptions, dbPath, columnFamilyDescriptors, columnFamilyHandles);
             populateColumnFamilies(dbColumnFamilies, columnFamilyHandles);
         } catch (Exception e) {
@@ -196,16 +247,21 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
     private void initColumnFamilyClasses() {
         for (int i = 1; i < columnFamilyClassNames.size(); i++) {
             try {
-                ((Collection<?>) ctx.getBean(Class.forName(columnFamilyClassNames.get(i)))).init();
+                getCollection(columnFamilyClassNames.get(i)).init();
             } catch (Exception e) {
                 throw new DataBaseException("Error at init column family classes.", e);
             }
         }
     }
 
+    private Collection<?> getCollection(String columnFamilyClassName) throws ClassNotFoundException {
+        Collection<?> collection = classNameToCollectionMapping.get(columnFamilyClassName);
+        return collection != null ? collection : (Collection<?>) ctx.getBean(Class.forName(columnFamilyClassName));
+    }
+
     private void populateColumnFamilies(List<String> dbColumnFamilyNames, List<ColumnFamilyHandle> columnFamilyHandles) {
         List<String> columnFamilyNamesToPopulate = Optional.ofNullable(dbColumnFamilyNames).orElse(columnFamilyClassNames);
-        for (int i = 1; i < columnFamilyNamesToPopulate.size(); i++) {
+        for (int i = 0; i < columnFamilyNamesToPopulate.size(); i++) {
             classNameToColumnFamilyHandleMapping.put(
                     columnFamilyNamesToPopulate.get(i), columnFamilyHandles.get(i));
         }
@@ -213,7 +269,43 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
 
     private void initiateColumnFamilyDescriptors(List<String> dbColumnFamilies, List<ColumnFamilyDescriptor> columnFamilyDescriptors) {
         List<String> columnFamilyNamesToInit = Optional.ofNullable(dbColumnFamilies).orElse(columnFamilyClassNames);
-        columnFamilyNamesToInit.forEach(columnFamilyName -> columnFamilyDescriptors.add(new ColumnFamilyDescriptor(columnFamilyName.getBytes())));
+        columnFamilyNamesToInit.forEach(columnFamilyName -> columnFamilyDescriptors.add(new ColumnFamilyDescriptor(columnFamilyName.getBytes(), getColumnFamilyOptions(columnFamilyName))));
+    }
+
+    private void initSharedOptions() {
+        blockCache = new LRUCache(environment.getProperty("db.block.cache.size", Long.class, DEFAULT_BLOCK_CACHE_SIZE));
+        statistics = environment.getProperty("db.statistics", Boolean.class, false) ? new Statistics() : null;
+        writeOptions = new WriteOptions();
+    }
+
+    private ColumnFamilyOptions getColumnFamilyOptions(String columnFamilyName) {
+        return classNameToColumnFamilyOptionsMapping.computeIfAbsent(columnFamilyName, this::createColumnFamilyOptions);
+    }
+
+    private ColumnFamilyOptions createColumnFamilyOptions(String columnFamilyName) {
+        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig()
+                .setBlockCache(blockCache)
+                .setCacheIndexAndFilterBlocks(true)
+                .setPinL0FilterAndIndexBlocksInCache(true);
+        int columnFamilyBloomFilterBitsPerKey = getColumnFamilyProperty(columnFamilyName, "bloom.filter.bits.per.key", Integer.class, DEFAULT_BLOOM_FILTER_BITS_PER_KEY);
+        if (columnFamilyBloomFilterBitsPerKey > 0) {
+            BloomFilter bloomFilter = new BloomFilter(columnFamilyBloomFilterBitsPerKey, false);
+            classNameToBloomFilterMapping.put(columnFamilyName, bloomFilter);
+            tableConfig.setFilterPolicy(bloomFilter);
+        }
+        return new ColumnFamilyOptions()
+                .setTableFormatConfig(tableConfig)
+                .setCompressionType(getColumnFamilyProperty(columnFamilyName, "compression.type", CompressionType.class, DEFAULT_COMPRESSION_TYPE))
+                .setWriteBufferSize(getColumnFamilyProperty(columnFamilyName, "write.buffer.size", Long.class, DEFAULT_WRITE_BUFFER_SIZE))
+                .setMaxWriteBufferNumber(getColumnFamilyProperty(columnFamilyName, "max.write.buffer.number", Integer.class, DEFAULT_MAX_WRITE_BUFFER_NUMBER))
+                .setCompactionStyle(getColumnFamilyProperty(columnFamilyName, "compaction.style", CompactionStyle.class, DEFAULT_COMPACTION_STYLE))
+                .setLevelCompactionDynamicLevelBytes(getColumnFamilyProperty(columnFamilyName, "level.compaction.dynamic.level.bytes", Boolean.class, false));
+    }
+
+    private <T> T getColumnFamilyProperty(String columnFamilyName, String propertyName, Class<T> propertyClass, T defaultValue) {
+        String columnFamilySimpleName = columnFamilyName.substring(columnFamilyName.lastIndexOf('.') + 1);
+        T databaseValue = environment.getProperty("db." + propertyName, propertyClass, defaultValue);
+        return environment.getProperty(String.format("db.column.family.%s.%s", columnFamilySimpleName, propertyName), propertyClass, databaseValue);
     }
 
     @Override
@@ -265,6 +357,18 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         }
     }
 
+    @Override
+    public List<byte[]> getByKeys(String columnFamilyName, List<byte[]> keys) {
+        try {
+            ColumnFamilyHandle columnFamilyHandle = classNameToColumnFamilyHandleMapping.get(columnFamilyName);
+            Map<byte[], byte[]> keyToValueMap = db.multiGet(Collections.nCopies(keys.size(), columnFamilyHandle), keys);
+            return keys.stream().map(keyToValueMap::get).collect(Collectors.toList());
+        } catch (RocksDBException e) {
+            log.error("Error at getting by keys from db", e);
+            return new ArrayList<>(Collections.nCopies(keys.size(), null));
+        }
+    }
+
     public RocksIterator getIterator(String columnFamilyName) {
         try (ReadOptions readOptions = new ReadOptions()) {
             ColumnFamilyHandle columnFamilyHandler = classNameToColumnFamilyHandleMapping.get(columnFamilyName);
@@ -321,7 +425,7 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
     @Override
     public boolean putBatch(WriteBatch writeBatch) {
         try {
-            db.write(new WriteOptions(), writeBatch);
+            db.write(writeOptions, writeBatch);
             return true;
         } catch (RocksDBException e) {
             log.error("Error at putting by batch to db", e);
@@ -338,6 +442,15 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         }
     }
 
+    @Override
+    public void delete(String columnFamilyName, WriteBatch writeBatch, byte[] key) {
+        try {
+            writeBatch.delete(classNameToColumnFamilyHandleMapping.get(columnFamilyName), key);
+        } catch (Exception e) {
+            log.error("Error at deleting by batch from db", e);
+        }
+    }
+
     @Override
     public IEntity get(Class<?> entityClass, Hash key) {
         try {
@@ -386,12 +499,71 @@ public class BaseNodeRocksDBConnector implements IDatabaseConnector {
         }
         db.close();
         db = null;
+        dbOptions.close();
+        classNameToColumnFamilyOptionsMapping.values().forEach(ColumnFamilyOptions::close);
+        classNameToColumnFamilyOptionsMapping.clear();
+        classNameToBloomFilterMapping.values().forEach(BloomFilter::close);
+        classNameToBloomFilterMapping.clear();
+    }
+
+    @Override
+    public DatabaseStatisticsData getStatistics() {
+        DatabaseStatisticsData databaseStatisticsData = new DatabaseStatisticsData();
+        try {
+            databaseStatisticsData.setBlockCacheUsage(db.getLongProperty("rocksdb.block-cache-usage"));
+            if (statistics != null) {
+                databaseStatisticsData.setStatisticsEnabled(true);
+                long blockCacheHits = statistics.getTickerCount(TickerType.BLOCK_CACHE_HIT);
+                long blockCacheMisses = statistics.getTickerCount(TickerType.BLOCK_CACHE_MISS);
+                databaseStatisticsData.setBlockCacheHits(blockCacheHits);
+                databaseStatisticsData.setBlockCacheMisses(blockCacheMisses);
+                databaseStatisticsData.setBlockCacheHitRate(blockCacheHits + blockCacheMisses > 0 ? (double) blockCacheHits / (blockCacheHits + blockCacheMisses) : 0);
+                databaseStatisticsData.setBloomFilterUseful(statistics.getTickerCount(TickerType.BLOOM_FILTER_USEFUL));
+                databaseStatisticsData.setKeysRead(statistics.getTickerCount(TickerType.NUMBER_KEYS_READ));
+                databaseStatisticsData.setBytesRead(statistics.getTickerCount(TickerType.BYTES_READ));
+                databaseStatisticsData.setBytesWritten(statistics.getTickerCount(TickerType.BYTES_WRITTEN));
+                databaseStatisticsData.setCompactionReadBytes(statistics.getTickerCount(TickerType.COMPACT_READ_BYTES));
+                databaseStatisticsData.setCompactionWriteBytes(statistics.getTickerCount(TickerType.COMPACT_WRITE_BYTES));
+                databaseStatisticsData.setStallMicros(statistics.getTickerCount(TickerType.STALL_MICROS));
+            }
+            for (Map.Entry<String, ColumnFamilyHandle> entry : classNameToColumnFamilyHandleMapping.entrySet()) {
+                databaseStatisticsData.getColumnFamilies().put(entry.getKey(), getColumnFamilyStatistics(entry.getValue()));
+            }
+        } catch (RocksDBException e) {
+            log.error("Error at getting database statistics", e);
+        }
+        return databaseStatisticsData;
+    }
+
+    private ColumnFamilyStatisticsData getColumnFamilyStatistics(ColumnFamilyHandle columnFamilyHandle) throws RocksDBException {
+        ColumnFamilyStatisticsData columnFamilyStatisticsData = new ColumnFamilyStatisticsData();
+        columnFamilyStatisticsData.setEstimatedKeys(db.getLongProperty(columnFamilyHandle, "rocksdb.estimate-num-keys"));
+        columnFamilyStatisticsData.setMemTablesSize(db.getLongProperty(columnFamilyHandle, "rocksdb.cur-size-all-mem-tables"));
+        columnFamilyStatisticsData.setLiveSstFilesSize(db.getLongProperty(columnFamilyHandle, "rocksdb.live-sst-files-size"));
+        columnFamilyStatisticsData.setPendingCompactionBytes(db.getLongProperty(columnFamilyHandle, "rocksdb.estimate-pending-compaction-bytes"));
+        columnFamilyStatisticsData.setWriteStopped(db.getLongProperty(columnFamilyHandle, "rocksdb.is-write-stopped") != 0);
+        columnFamilyStatisticsData.setDelayedWriteRate(db.getLongProperty(columnFamilyHandle, "rocksdb.actual-delayed-write-rate"));
+        long levelZeroFiles = Long.parseLong(db.getProperty(columnFamilyHandle, "rocksdb.num-files-at-level0").trim());
+        int estimatedReadAmplification = (int) levelZeroFiles;
+        for (int level = 1; level < NUMBER_OF_LEVELS; level++) {
+            if (Long.parseLong(db.getProperty(columnFamilyHandle, "rocksdb.num-files-at-level" + level).trim()) > 0) {
+                estimatedReadAmplification++;
+            }
+        }
+        columnFamilyStatisticsData.setLevelZeroFiles(levelZeroFiles);
+        columnFamilyStatisticsData.setEstimatedReadAmplification(estimatedReadAmplification);
+        return columnFamilyStatisticsData;
     }
 
     @Override
     public void shutdown() {
         log.info("Shutting down {}", this.getClass().getSimpleName());
         closeDB();
+        writeOptions.close();
+        if (statistics != null) {
+            statistics.close();
+        }
+        blockCache.close();
     }
 
 }
\ No newline at end of file
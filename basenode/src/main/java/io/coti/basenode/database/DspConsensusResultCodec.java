@@ -0,0 +1,27 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.data.DspConsensusResult;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class DspConsensusResultCodec extends BaseBinaryEntityCodec<DspConsensusResult> {
+
+    private static final byte VERSION = 1;
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    protected void write(DataOutput output, DspConsensusResult dspConsensusResult) throws IOException {
+        TransactionDataCodec.writeDspConsensusResult(output, dspConsensusResult);
+    }
+
+    @Override
+    protected DspConsensusResult read(DataInput input, byte version) throws IOException {
+        return TransactionDataCodec.readDspConsensusResult(input);
+    }
+}
@@ -0,0 +1,30 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.data.interfaces.IEntity;
+import io.coti.basenode.database.interfaces.IEntityCodec;
+import org.springframework.util.SerializationUtils;
+
+public class JavaSerializationEntityCodec<T extends IEntity> implements IEntityCodec<T> {
+
+    public static final byte VERSION = 0;
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] encode(T entity) {
+        return SerializationUtils.serialize(entity);
+    }
+
+    @Override
+    public T decode(byte[] bytes) {
+        return (T) SerializationUtils.deserialize(bytes);
+    }
+
+    @Override
+    public boolean isCurrentFormat(byte[] bytes) {
+        return true;
+    }
+}
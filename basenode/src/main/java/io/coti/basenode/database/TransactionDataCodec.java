@@ -0,0 +1,293 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.data.*;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+
+public class TransactionDataCodec extends BaseBinaryEntityCodec<TransactionData> {
+
+    private static final byte VERSION = 2;
+    private static final byte ENUM_ORDINAL_VERSION = 1;
+    private static final byte DSP_VOTE_TAG = 0;
+    private static final byte TRANSACTION_DSP_VOTE_TAG = 1;
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    protected void write(DataOutput output, TransactionData transactionData) throws IOException {
+        checkSupportedClass(transactionData, TransactionData.class);
+        writeList(output, transactionData.getBaseTransactions(), TransactionDataCodec::writeBaseTransaction);
+        writeBigDecimal(output, transactionData.getAmount());
+        writeEnum(output, transactionData.getType());
+        writeHash(output, transactionData.getLeftParentHash());
+        writeHash(output, transactionData.getRightParentHash());
+        output.writeBoolean(transactionData.isTrustChainConsensus());
+        output.writeDouble(transactionData.getTrustChainTrustScore());
+        writeInstant(output, transactionData.getTrustChainConsensusTime());
+        writeInstant(output, transactionData.getTransactionConsensusUpdateTime());
+        writeInstant(output, transactionData.getCreateTime());
+        writeInstant(output, transactionData.getAttachmentTime());
+        output.writeDouble(transactionData.getSenderTrustScore());
+        writeHash(output, transactionData.getSenderHash());
+        writeSignature(output, transactionData.getSenderSignature());
+        writeHash(output, transactionData.getNodeHash());
+        writeSignature(output, transactionData.getNodeSignature());
+        writeList(output, transactionData.getChildrenTransactionHashes(), BaseBinaryEntityCodec::writeHash);
+        writeNullableBoolean(output, transactionData.isValid());
+        writeString(output, transactionData.getTransactionDescription());
+        writeDspConsensusResult(output, transactionData.getDspConsensusResult());
+        writeList(output, transactionData.getTrustScoreResults(), TransactionDataCodec::writeTransactionTrustScore);
+        writeNonces(output, transactionData.getNonces());
+    }
+
+    @Override
+    protected TransactionData read(DataInput input, byte version) throws IOException {
+        TransactionData transactionData = newInstance(TransactionData.class);
+        transactionData.setBaseTransactions(readList(input, baseTransactionInput -> readBaseTransaction(baseTransactionInput, version)));
+        transactionData.setAmount(readBigDecimal(input));
+        transactionData.setType(readEnum(input, TransactionType.class, version));
+        transactionData.setLeftParentHash(readHash(input));
+        transactionData.setRightParentHash(readHash(input));
+        transactionData.setTrustChainConsensus(input.readBoolean());
+        transactionData.setTrustChainTrustScore(input.readDouble());
+        transactionData.setTrustChainConsensusTime(readInstant(input));
+        transactionData.setTransactionConsensusUpdateTime(readInstant(input));
+        transactionData.setCreateTime(readInstant(input));
+        transactionData.setAttachmentTime(readInstant(input));
+        transactionData.setSenderTrustScore(input.readDouble());
+        transactionData.setSenderHash(readHash(input));
+        transactionData.setSenderSignature(readSignature(input));
+        transactionData.setNodeHash(readHash(input));
+        transactionData.setNodeSignature(readSignature(input));
+        transactionData.setChildrenTransactionHashes(readList(input, BaseBinaryEntityCodec::readHash));
+        transactionData.setValid(readNullableBoolean(input));
+        transactionData.setTransactionDescription(readString(input));
+        transactionData.setDspConsensusResult(readDspConsensusResult(input));
+        transactionData.setTrustScoreResults(readList(input, TransactionDataCodec::readTransactionTrustScore));
+        transactionData.setNonces(readNonces(input));
+        return transactionData;
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInput input, Class<E> enumClass, byte version) throws IOException {
+        return version == ENUM_ORDINAL_VERSION ? readEnumByOrdinal(input, enumClass) : readEnum(input, enumClass);
+    }
+
+    private static void writeBaseTransaction(DataOutput output, BaseTransactionData baseTransactionData) throws IOException {
+        BaseTransactionName baseTransactionName = BaseTransactionName.getName(baseTransactionData.getClass());
+        if (baseTransactionName == null) {
+            throw new UnsupportedEntityException();
+        }
+        writeEnum(output, baseTransactionName);
+        writeHash(output, baseTransactionData.getHash());
+        writeHash(output, baseTransactionData.getAddressHash());
+        writeBigDecimal(output, baseTransactionData.getAmount());
+        writeInstant(output, baseTransactionData.getCreateTime());
+        writeSignature(output, baseTransactionData.getSignatureData());
+        if (baseTransactionData instanceof OutputBaseTransactionData) {
+            writeBigDecimal(output, ((OutputBaseTransactionData) baseTransactionData).getOriginalAmount());
+        }
+        switch (baseTransactionName) {
+            case PIBT:
+                PaymentInputBaseTransactionData paymentInputBaseTransactionData = (PaymentInputBaseTransactionData) baseTransactionData;
+                writeList(output, paymentInputBaseTransactionData.getItems(), TransactionDataCodec::writePaymentItem);
+                writeString(output, paymentInputBaseTransactionData.getEncryptedMerchantName());
+                break;
+            case NFBT:
+                NetworkFeeData networkFeeData = (NetworkFeeData) baseTransactionData;
+                writeList(output, networkFeeData.getNetworkFeeTrustScoreNodeResult(), TransactionDataCodec::writeTrustScoreNodeResult);
+                writeBigDecimal(output, networkFeeData.getReducedAmount());
+                break;
+            case RRBT:
+                RollingReserveData rollingReserveData = (RollingReserveData) baseTransactionData;
+                writeList(output, rollingReserveData.getRollingReserveTrustScoreNodeResult(), TransactionDataCodec::writeTrustScoreNodeResult);
+                writeBigDecimal(output, rollingReserveData.getReducedAmount());
+                break;
+            case RBT:
+                writeHash(output, ((ReceiverBaseTransactionData) baseTransactionData).getReceiverDescription());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static BaseTransactionData readBaseTransaction(DataInput input, byte version) throws IOException {
+        BaseTransactionName baseTransactionName = readEnum(input, BaseTransactionName.class, version);
+        BaseTransactionData baseTransactionData = newInstance(baseTransactionName.getBaseTransactionClass());
+        baseTransactionData.setHash(readHash(input));
+        baseTransactionData.setAddressHash(readHash(input));
+        BigDecimal amount = readBigDecimal(input);
+        if (amount != null) {
+            baseTransactionData.setAmount(amount);
+        }
+        baseTransactionData.setCreateTime(readInstant(input));
+        baseTransactionData.setSignatureData(readSignature(input));
+        if (baseTransactionData instanceof OutputBaseTransactionData) {
+            BigDecimal originalAmount = readBigDecimal(input);
+            if (originalAmount != null) {
+                ((OutputBaseTransactionData) baseTransactionData).setOriginalAmount(originalAmount);
+            }
+        }
+        switch (baseTransactionName) {
+            case PIBT:
+                PaymentInputBaseTransactionData paymentInputBaseTransactionData = (PaymentInputBaseTransactionData) baseTransactionData;
+                paymentInputBaseTransactionData.setItems(readList(input, TransactionDataCodec::readPaymentItem));
+                paymentInputBaseTransactionData.setEncryptedMerchantName(readString(input));
+                break;
+            case NFBT:
+                NetworkFeeData networkFeeData = (NetworkFeeData) baseTransactionData;
+                networkFeeData.setNetworkFeeTrustScoreNodeResult(readList(input, TransactionDataCodec::readTrustScoreNodeResult));
+                networkFeeData.setReducedAmount(readBigDecimal(input));
+                break;
+            case RRBT:
+                RollingReserveData rollingReserveData = (RollingReserveData) baseTransactionData;
+                rollingReserveData.setRollingReserveTrustScoreNodeResult(readList(input, TransactionDataCodec::readTrustScoreNodeResult));
+                BigDecimal reducedAmount = readBigDecimal(input);
+                if (reducedAmount != null) {
+                    rollingReserveData.setReducedAmount(reducedAmount);
+                }
+                break;
+            case RBT:
+                ((ReceiverBaseTransactionData) baseTransactionData).setReceiverDescription(readHash(input));
+                break;
+            default:
+                break;
+        }
+        return baseTransactionData;
+    }
+
+    private static void writePaymentItem(DataOutput output, PaymentItemData paymentItemData) throws IOException {
+        checkSupportedClass(paymentItemData, PaymentItemData.class);
+        output.writeBoolean(paymentItemData.getItemId() != null);
+        if (paymentItemData.getItemId() != null) {
+            output.writeLong(paymentItemData.getItemId());
+        }
+        writeBigDecimal(output, paymentItemData.getItemPrice());
+        writeString(output, paymentItemData.getItemName());
+        output.writeInt(paymentItemData.getItemQuantity());
+    }
+
+    private static PaymentItemData readPaymentItem(DataInput input) throws IOException {
+        PaymentItemData paymentItemData = new PaymentItemData();
+        if (input.readBoolean()) {
+            paymentItemData.setItemId(input.readLong());
+        }
+        paymentItemData.setItemPrice(readBigDecimal(input));
+        paymentItemData.setItemName(readString(input));
+        paymentItemData.setItemQuantity(input.readInt());
+        return paymentItemData;
+    }
+
+    private static void writeTrustScoreNodeResult(DataOutput output, TrustScoreNodeResultData trustScoreNodeResultData) throws IOException {
+        checkSupportedClass(trustScoreNodeResultData, TrustScoreNodeResultData.class);
+        writeHash(output, trustScoreNodeResultData.getTrustScoreNodeHash());
+        output.writeBoolean(trustScoreNodeResultData.isValid());
+        writeSignature(output, trustScoreNodeResultData.getTrustScoreNodeSignature());
+    }
+
+    private static TrustScoreNodeResultData readTrustScoreNodeResult(DataInput input) throws IOException {
+        Hash trustScoreNodeHash = readHash(input);
+        TrustScoreNodeResultData trustScoreNodeResultData = new TrustScoreNodeResultData(trustScoreNodeHash, input.readBoolean());
+        trustScoreNodeResultData.setTrustScoreNodeSignature(readSignature(input));
+        return trustScoreNodeResultData;
+    }
+
+    private static void writeTransactionTrustScore(DataOutput output, TransactionTrustScoreData transactionTrustScoreData) throws IOException {
+        checkSupportedClass(transactionTrustScoreData, TransactionTrustScoreData.class);
+        writeNullableDouble(output, transactionTrustScoreData.getTrustScore());
+        writeHash(output, transactionTrustScoreData.getTrustScoreNodeHash());
+        writeSignature(output, transactionTrustScoreData.getTrustScoreNodeSignature());
+    }
+
+    private static TransactionTrustScoreData readTransactionTrustScore(DataInput input) throws IOException {
+        TransactionTrustScoreData transactionTrustScoreData = newInstance(TransactionTrustScoreData.class);
+        transactionTrustScoreData.setTrustScore(readNullableDouble(input));
+        transactionTrustScoreData.setTrustScoreNodeHash(readHash(input));
+        transactionTrustScoreData.setTrustScoreNodeSignature(readSignature(input));
+        return transactionTrustScoreData;
+    }
+
+    static void writeDspConsensusResult(DataOutput output, DspConsensusResult dspConsensusResult) throws IOException {
+        checkSupportedClass(dspConsensusResult, DspConsensusResult.class);
+        output.writeBoolean(dspConsensusResult != null);
+        if (dspConsensusResult == null) {
+            return;
+        }
+        writeHash(output, dspConsensusResult.getTransactionHash());
+        writeHash(output, dspConsensusResult.getZeroSpendServerHash());
+        output.writeLong(dspConsensusResult.getIndex());
+        writeInstant(output, dspConsensusResult.getIndexingTime());
+        writeSignature(output, dspConsensusResult.getZeroSpendSignature());
+        writeList(output, dspConsensusResult.getDspVotes(), TransactionDataCodec::writeDspVote);
+        output.writeBoolean(dspConsensusResult.isDspConsensus());
+    }
+
+    static DspConsensusResult readDspConsensusResult(DataInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        DspConsensusResult dspConsensusResult = new DspConsensusResult(readHash(input));
+        dspConsensusResult.setZeroSpendServerHash(readHash(input));
+        dspConsensusResult.setIndex(input.readLong());
+        dspConsensusResult.setIndexingTime(readInstant(input));
+        dspConsensusResult.setZeroSpendSignature(readSignature(input));
+        dspConsensusResult.setDspVotes(readList(input, TransactionDataCodec::readDspVote));
+        dspConsensusResult.setDspConsensus(input.readBoolean());
+        return dspConsensusResult;
+    }
+
+    static void writeDspVote(DataOutput output, DspVote dspVote) throws IOException {
+        if (dspVote.getClass() == TransactionDspVote.class) {
+            output.writeByte(TRANSACTION_DSP_VOTE_TAG);
+            writeHash(output, ((TransactionDspVote) dspVote).getTransactionHash());
+        } else {
+            checkSupportedClass(dspVote, DspVote.class);
+            output.writeByte(DSP_VOTE_TAG);
+        }
+        output.writeBoolean(dspVote.isValidTransaction());
+        writeHash(output, dspVote.getVoterDspHash());
+        writeSignature(output, dspVote.getSignature());
+    }
+
+    static DspVote readDspVote(DataInput input) throws IOException {
+        DspVote dspVote;
+        if (input.readByte() == TRANSACTION_DSP_VOTE_TAG) {
+            dspVote = newInstance(TransactionDspVote.class);
+            ((TransactionDspVote) dspVote).setTransactionHash(readHash(input));
+        } else {
+            dspVote = newInstance(DspVote.class);
+        }
+        dspVote.setValidTransaction(input.readBoolean());
+        dspVote.setVoterDspHash(readHash(input));
+        dspVote.setSignature(readSignature(input));
+        return dspVote;
+    }
+
+    private static void writeNonces(DataOutput output, int[] nonces) throws IOException {
+        if (nonces == null) {
+            writeVarInt(output, 0);
+            return;
+        }
+        writeVarInt(output, nonces.length + 1);
+        for (int nonce : nonces) {
+            output.writeInt(nonce);
+        }
+    }
+
+    private static int[] readNonces(DataInput input) throws IOException {
+        int length = readVarInt(input) - 1;
+        if (length < 0) {
+            return null;
+        }
+        int[] nonces = new int[length];
+        for (int i = 0; i < length; i++) {
+            nonces[i] = input.readInt();
+        }
+        return nonces;
+    }
+}
@@ -0,0 +1,33 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.data.DspVote;
+import io.coti.basenode.data.TransactionDspVote;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class TransactionDspVoteCodec extends BaseBinaryEntityCodec<TransactionDspVote> {
+
+    private static final byte VERSION = 1;
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    protected void write(DataOutput output, TransactionDspVote transactionDspVote) throws IOException {
+        checkSupportedClass(transactionDspVote, TransactionDspVote.class);
+        TransactionDataCodec.writeDspVote(output, transactionDspVote);
+    }
+
+    @Override
+    protected TransactionDspVote read(DataInput input, byte version) throws IOException {
+        DspVote dspVote = TransactionDataCodec.readDspVote(input);
+        if (!(dspVote instanceof TransactionDspVote)) {
+            throw new IOException("Invalid transaction dsp vote");
+        }
+        return (TransactionDspVote) dspVote;
+    }
+}
@@ -1,11 +1,14 @@
 package io.coti.basenode.database.interfaces;
 
+import io.coti.basenode.data.DatabaseStatisticsData;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.interfaces.IEntity;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
+import java.util.List;
+
 public interface IDatabaseConnector {
 
     void init();
@@ -26,14 +29,20 @@ public interface IDatabaseConnector {
 
     byte[] getByKey(String columnFamilyName, byte[] key);
 
+    List<byte[]> getByKeys(String columnFamilyName, List<byte[]> keys);
+
     void delete(String columnFamilyName, byte[] key);
 
+    void delete(String columnFamilyName, WriteBatch writeBatch, byte[] key);
+
     RocksIterator getIterator(String columnFamilyName);
 
     boolean isEmpty(String columnFamilyName);
 
     IEntity get(Class<?> entityClass, Hash key);
 
+    DatabaseStatisticsData getStatistics();
+
     void shutdown();
 
 }
@@ -0,0 +1,19 @@
+package io.coti.basenode.http;
+
+import io.coti.basenode.data.DatabaseStatisticsData;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class GetDatabaseStatisticsResponse extends BaseResponse {
+
+    private DatabaseStatisticsData databaseStatistics;
+
+    private GetDatabaseStatisticsResponse() {
+    }
+
+    public GetDatabaseStatisticsResponse(DatabaseStatisticsData databaseStatistics) {
+        this.databaseStatistics = databaseStatistics;
+    }
+}
@@ -1,9 +1,151 @@
 package io.coti.basenode.model;
 
+import io.coti.basenode.data.AddressTransactionHashesPageData;
 import io.coti.basenode.data.AddressTransactionsHistory;
+import io.coti.basenode.data.BaseTransactionData;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+
+@Slf4j
 @Service
 public class AddressTransactionsHistories extends Collection<AddressTransactionsHistory> {
 
+    private static final int TIME_KEY_LENGTH = Long.BYTES + Integer.BYTES;
+    private static final byte[] LEGACY_MIGRATED_KEY = "address.transactions.histories.legacy.migrated".getBytes();
+    @Autowired
+    private Transactions transactions;
+    private volatile boolean legacyMigrated;
+
+    @Override
+    public void migrateEntityCodec() {
+        super.migrateEntityCodec();
+        legacyMigrated = databaseConnector.getByKey(new String(RocksDB.DEFAULT_COLUMN_FAMILY), LEGACY_MIGRATED_KEY) != null;
+        if (!legacyMigrated) {
+            Thread migrationThread = new Thread(this::migrateLegacyHistories, "Address Histories Migration");
+            migrationThread.setDaemon(true);
+            migrationThread.start();
+        }
+    }
+
+    public void addTransaction(TransactionData transactionData) {
+        try (WriteBatch writeBatch = new WriteBatch()) {
+            addTransaction(writeBatch, transactionData);
+            databaseConnector.putBatch(writeBatch);
+        }
+    }
+
+    public void addTransaction(WriteBatch writeBatch, TransactionData transactionData) {
+        Instant transactionTime = getTransactionTime(transactionData);
+        Set<Hash> addressHashes = new HashSet<>();
+        for (BaseTransactionData baseTransactionData : transactionData.getBaseTransactions()) {
+            if (addressHashes.add(baseTransactionData.getAddressHash())) {
+                putKey(writeBatch, getKey(baseTransactionData.getAddressHash(), transactionTime, transactionData.getHash()));
+            }
+        }
+    }
+
+    public void forEachTransactionHash(Hash addressHash, Consumer<Hash> transactionHashConsumer) {
+        migrateLegacyHistory(addressHash);
+        byte[] prefix = addressHash.getBytes();
+        forEachKey(prefix, key -> {
+            if (!startsWith(key, prefix)) {
+                return false;
+            }
+            if (key.length > prefix.length + TIME_KEY_LENGTH) {
+                transactionHashConsumer.accept(new Hash(Arrays.copyOfRange(key, prefix.length + TIME_KEY_LENGTH, key.length)));
+            }
+            return true;
+        });
+    }
+
+    public AddressTransactionHashesPageData getTransactionHashes(Hash addressHash, Hash cursor, int limit) {
+        migrateLegacyHistory(addressHash);
+        byte[] prefix = addressHash.getBytes();
+        byte[] cursorKey = cursor != null ? ByteBuffer.allocate(prefix.length + cursor.getBytes().length).put(prefix).put(cursor.getBytes()).array() : prefix;
+        List<Hash> transactionHashes = new ArrayList<>();
+        byte[][] lastKey = new byte[1][];
+        Hash[] nextCursor = new Hash[1];
+        forEachKey(cursorKey, key -> {
+            if (!startsWith(key, prefix)) {
+                return false;
+            }
+            if (key.length <= prefix.length + TIME_KEY_LENGTH || Arrays.equals(key, cursorKey)) {
+                return true;
+            }
+            if (transactionHashes.size() == limit) {
+                nextCursor[0] = new Hash(Arrays.copyOfRange(lastKey[0], prefix.length, lastKey[0].length));
+                return false;
+            }
+            transactionHashes.add(new Hash(Arrays.copyOfRange(key, prefix.length + TIME_KEY_LENGTH, key.length)));
+            lastKey[0] = key;
+            return true;
+        });
+        return new AddressTransactionHashesPageData(transactionHashes, nextCursor[0]);
+    }
+
+    private void migrateLegacyHistories() {
+        log.info("Starting migration of legacy address transaction histories");
+        long migratedAddresses = 0;
+        try (RocksIterator iterator = databaseConnector.getIterator(columnFamilyName)) {
+            iterator.seekToFirst();
+            while (iterator.isValid()) {
+                if (iterator.value().length > 0) {
+                    migrateLegacyHistory(new Hash(iterator.key()), iterator.value());
+                    migratedAddresses++;
+                }
+                iterator.next();
+            }
+        } catch (Exception e) {
+            log.error("Error at migration of legacy address transaction histories", e);
+            return;
+        }
+        databaseConnector.put(new String(RocksDB.DEFAULT_COLUMN_FAMILY), LEGACY_MIGRATED_KEY, new byte[]{1});
+        legacyMigrated = true;
+        log.info("Finished migration of {} legacy address transaction histories", migratedAddresses);
+    }
+
+    private void migrateLegacyHistory(Hash addressHash) {
+        if (legacyMigrated) {
+            return;
+        }
+        byte[] value = databaseConnector.getByKey(columnFamilyName, addressHash.getBytes());
+        if (value != null && value.length > 0) {
+            migrateLegacyHistory(addressHash, value);
+        }
+    }
+
+    private void migrateLegacyHistory(Hash addressHash, byte[] value) {
+        AddressTransactionsHistory addressTransactionsHistory = entityCodec.decode(value);
+        List<Hash> transactionHashes = new ArrayList<>(addressTransactionsHistory.getTransactionsHistory());
+        try (WriteBatch writeBatch = new WriteBatch()) {
+            transactions.getByHashes(transactionHashes).forEach((transactionHash, transactionData) -> {
+                Instant transactionTime = transactionData != null ? getTransactionTime(transactionData) : Instant.EPOCH;
+                putKey(writeBatch, getKey(addressHash, transactionTime, transactionHash));
+            });
+            deleteKey(writeBatch, addressHash.getBytes());
+            databaseConnector.putBatch(writeBatch);
+        }
+    }
+
+    private Instant getTransactionTime(TransactionData transactionData) {
+        return transactionData.getAttachmentTime() != null ? transactionData.getAttachmentTime() : transactionData.getCreateTime();
+    }
+
+    private byte[] getKey(Hash addressHash, Instant transactionTime, Hash transactionHash) {
+        byte[] addressBytes = addressHash.getBytes();
+        byte[] transactionHashBytes = transactionHash.getBytes();
+        return ByteBuffer.allocate(addressBytes.length + TIME_KEY_LENGTH + transactionHashBytes.length)
+                .put(addressBytes).putLong(transactionTime.getEpochSecond()).putInt(transactionTime.getNano()).put(transactionHashBytes).array();
+    }
 }
@@ -2,30 +2,38 @@ package io.coti.basenode.model;
 
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.interfaces.IEntity;
+import io.coti.basenode.database.JavaSerializationEntityCodec;
 import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.database.interfaces.IEntityCodec;
 import io.coti.basenode.exceptions.DataBaseDeleteException;
 import io.coti.basenode.exceptions.DataBaseWriteException;
 import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.util.SerializationUtils;
 
-import java.util.Arrays;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Slf4j
 public abstract class Collection<T extends IEntity> {
 
-    private static final int LOCK_BYTE_ARRAY_SIZE = 2;
+    private static final int LOCK_PREFIX_SIZE = 2;
+    private static final String ENTITY_CODEC_VERSION_KEY_PREFIX = "entity.codec.version.";
+    private static final String KEY_INDEX_VERSION_KEY_PREFIX = "key.index.version.";
+    private static final byte[] KEY_INDEX_VALUE = new byte[0];
+    private static final int MIGRATION_BATCH_SIZE = 10000;
     @Autowired
     public IDatabaseConnector databaseConnector;
     protected String columnFamilyName = getClass().getName();
-    private Map<Hash, byte[]> lockByteArrayMap;
+    protected IEntityCodec<T> entityCodec = new JavaSerializationEntityCodec<>();
+    private ReentrantLock[] locks;
 
     public void init() {
         log.info("Collection init running. Class: " + columnFamilyName);
@@ -35,14 +43,14 @@ public abstract class Collection<T extends IEntity> {
         if (entity == null) {
             throw new DataBaseWriteException("Null entity to write to database");
         }
-        databaseConnector.put(columnFamilyName, entity.getHash().getBytes(), SerializationUtils.serialize(entity));
+        databaseConnector.put(columnFamilyName, entity.getHash().getBytes(), entityCodec.encode((T) entity));
     }
 
     public void put(WriteOptions writeOptions, IEntity entity) {
         if (entity == null) {
             throw new DataBaseWriteException("Null entity to write to database");
         }
-        databaseConnector.put(columnFamilyName, writeOptions, entity.getHash().getBytes(), SerializationUtils.serialize(entity));
+        databaseConnector.put(columnFamilyName, writeOptions, entity.getHash().getBytes(), entityCodec.encode((T) entity));
     }
 
     public void putBatch(Map<Hash, ? extends IEntity> entities) {
@@ -51,13 +59,117 @@ public abstract class Collection<T extends IEntity> {
                     if (entity == null) {
                         throw new DataBaseWriteException("Null entity to write from database");
                     }
-                    databaseConnector.put(columnFamilyName, writeBatch, hash.getBytes(), SerializationUtils.serialize(entity));
+                    databaseConnector.put(columnFamilyName, writeBatch, hash.getBytes(), entityCodec.encode((T) entity));
 
                 }
         );
         databaseConnector.putBatch(writeBatch);
     }
 
+    public void migrateEntityCodec() {
+        String defaultColumnFamilyName = new String(RocksDB.DEFAULT_COLUMN_FAMILY);
+        byte[] versionKey = (ENTITY_CODEC_VERSION_KEY_PREFIX + columnFamilyName).getBytes();
+        byte[] storedVersion = databaseConnector.getByKey(defaultColumnFamilyName, versionKey);
+        byte currentVersion = storedVersion != null && storedVersion.length == 1 ? storedVersion[0] : JavaSerializationEntityCodec.VERSION;
+        if (currentVersion == entityCodec.getVersion()) {
+            return;
+        }
+        log.info("Migrating column family {} from entity codec version {} to version {}", columnFamilyName, currentVersion, entityCodec.getVersion());
+        long migratedEntities = 0;
+        WriteBatch writeBatch = new WriteBatch();
+        try (RocksIterator iterator = getIterator()) {
+            iterator.seekToFirst();
+            while (iterator.isValid()) {
+                byte[] value = iterator.value();
+                if (!entityCodec.isCurrentFormat(value)) {
+                    T entity = entityCodec.decode(value);
+                    databaseConnector.put(columnFamilyName, writeBatch, iterator.key(), entityCodec.encode(entity));
+                    migratedEntities++;
+                    if (writeBatch.count() >= MIGRATION_BATCH_SIZE) {
+                        databaseConnector.putBatch(writeBatch);
+                        writeBatch.close();
+                        writeBatch = new WriteBatch();
+                    }
+                }
+                iterator.next();
+            }
+            databaseConnector.putBatch(writeBatch);
+        } finally {
+            writeBatch.close();
+        }
+        databaseConnector.put(defaultColumnFamilyName, versionKey, new byte[]{entityCodec.getVersion()});
+        log.info("Migrated {} entities of column family {}", migratedEntities, columnFamilyName);
+    }
+
+    protected void migrateToKeyIndex(BiConsumer<T, WriteBatch> keyIndexWriter) {
+        String defaultColumnFamilyName = new String(RocksDB.DEFAULT_COLUMN_FAMILY);
+        byte[] versionKey = (KEY_INDEX_VERSION_KEY_PREFIX + columnFamilyName).getBytes();
+        if (databaseConnector.getByKey(defaultColumnFamilyName, versionKey) != null) {
+            return;
+        }
+        log.info("Migrating column family {} to key index", columnFamilyName);
+        long migratedEntities = 0;
+        List<byte[]> migratedKeys = new ArrayList<>();
+        WriteBatch writeBatch = new WriteBatch();
+        try (RocksIterator iterator = getIterator()) {
+            iterator.seekToFirst();
+            while (iterator.isValid()) {
+                byte[] value = iterator.value();
+                if (value.length > 0) {
+                    keyIndexWriter.accept(entityCodec.decode(value), writeBatch);
+                    migratedKeys.add(iterator.key());
+                    migratedEntities++;
+                    if (migratedKeys.size() >= MIGRATION_BATCH_SIZE) {
+                        writeBatch = flushKeyIndexMigration(writeBatch, migratedKeys);
+                    }
+                }
+                iterator.next();
+            }
+            flushKeyIndexMigration(writeBatch, migratedKeys).close();
+        } finally {
+            writeBatch.close();
+        }
+        databaseConnector.put(defaultColumnFamilyName, versionKey, new byte[]{1});
+        log.info("Migrated {} entities of column family {} to key index", migratedEntities, columnFamilyName);
+    }
+
+    private WriteBatch flushKeyIndexMigration(WriteBatch writeBatch, List<byte[]> migratedKeys) {
+        databaseConnector.putBatch(writeBatch);
+        writeBatch.close();
+        migratedKeys.forEach(key -> databaseConnector.delete(columnFamilyName, key));
+        migratedKeys.clear();
+        return new WriteBatch();
+    }
+
+    protected void putKey(WriteBatch writeBatch, byte[] key) {
+        databaseConnector.put(columnFamilyName, writeBatch, key, KEY_INDEX_VALUE);
+    }
+
+    protected void deleteKey(WriteBatch writeBatch, byte[] key) {
+        databaseConnector.delete(columnFamilyName, writeBatch, key);
+    }
+
+    protected void forEachKey(byte[] fromKey, Predicate<byte[]> keyPredicate) {
+        try (RocksIterator iterator = getIterator()) {
+            iterator.seek(fromKey);
+            while (iterator.isValid() && keyPredicate.test(iterator.key())) {
+                iterator.next();
+            }
+        }
+    }
+
+    protected static boolean startsWith(byte[] key, byte[] prefix) {
+        if (key.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (key[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public void delete(IEntity entity) {
         if (entity == null) {
             throw new DataBaseDeleteException("Null entity to delete from database");
@@ -82,8 +194,27 @@ public abstract class Collection<T extends IEntity> {
         }
     }
 
+    public Map<Hash, T> getByHashes(List<Hash> hashes) {
+        Map<Hash, T> entities = new LinkedHashMap<>();
+        if (hashes.isEmpty()) {
+            return entities;
+        }
+        List<byte[]> values = databaseConnector.getByKeys(columnFamilyName, hashes.stream().map(Hash::getBytes).collect(Collectors.toList()));
+        for (int i = 0; i < hashes.size(); i++) {
+            Hash hash = hashes.get(i);
+            byte[] bytes = values.get(i);
+            try {
+                entities.put(hash, bytes == null || bytes.length == 0 ? null : getDeserializedValue(hash, bytes));
+            } catch (Exception e) {
+                log.error("Error at getting by hash {} from column family {}", hash, columnFamilyName, e);
+                entities.put(hash, null);
+            }
+        }
+        return entities;
+    }
+
     private T getDeserializedValue(Hash hash, byte[] serializedValue) {
-        T deserialized = (T) SerializationUtils.deserialize(serializedValue);
+        T deserialized = entityCodec.decode(serializedValue);
         if (deserialized != null) {
             deserialized.setHash(hash);
         }
@@ -128,21 +259,43 @@ public abstract class Collection<T extends IEntity> {
     }
 
     public void lockAndGetByHash(Hash hash, Consumer<T> consumer) {
-        if (lockByteArrayMap == null) {
-            throw new IllegalArgumentException(String.format("Collection %s is not lockable", columnFamilyName));
+        ReentrantLock lock = locks[getLockIndex(hash)];
+        lock.lock();
+        try {
+            T entity = getByHash(hash);
+            consumer.accept(entity);
+        } finally {
+            lock.unlock();
         }
-        if (hash.getBytes().length < LOCK_BYTE_ARRAY_SIZE) {
-            throw new IllegalArgumentException(String.format("Hash bytes should be of minimum size %s", LOCK_BYTE_ARRAY_SIZE));
+    }
+
+    public void lockAndGetByHashes(List<Hash> hashes, Consumer<Map<Hash, T>> consumer) {
+        int[] lockIndexes = hashes.stream().mapToInt(this::getLockIndex).distinct().sorted().toArray();
+        int lockedCount = 0;
+        try {
+            for (int lockIndex : lockIndexes) {
+                locks[lockIndex].lock();
+                lockedCount++;
+            }
+            Map<Hash, T> entities = new LinkedHashMap<>();
+            hashes.forEach(hash -> entities.put(hash, getByHash(hash)));
+            consumer.accept(entities);
+        } finally {
+            for (int i = lockedCount - 1; i >= 0; i--) {
+                locks[lockIndexes[i]].unlock();
+            }
         }
+    }
 
-        final byte[] lockByteArray = lockByteArrayMap.get(new Hash(Arrays.copyOfRange(hash.getBytes(), 0, LOCK_BYTE_ARRAY_SIZE)));
-        if (lockByteArray == null) {
-            throw new IllegalArgumentException("Hash lock object doesn't exist");
+    private int getLockIndex(Hash hash) {
+        if (locks == null) {
+            throw new IllegalArgumentException(String.format("Collection %s is not lockable", columnFamilyName));
         }
-        synchronized (lockByteArray) {
-            T entity = getByHash(hash);
-            consumer.accept(entity);
+        byte[] hashBytes = hash.getBytes();
+        if (hashBytes.length < LOCK_PREFIX_SIZE) {
+            throw new IllegalArgumentException(String.format("Hash bytes should be of minimum size %s", LOCK_PREFIX_SIZE));
         }
+        return ((hashBytes[0] & 0xff) << 8) | (hashBytes[1] & 0xff);
     }
 
     private RocksIterator getIterator() {
@@ -171,12 +324,9 @@ public abstract class Collection<T extends IEntity> {
     }
 
     protected void generateLockObjects() {
-        lockByteArrayMap = new LinkedHashMap<>();
-        for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
-            for (int j = Byte.MIN_VALUE; j <= Byte.MAX_VALUE; j++) {
-                byte[] byteArray = new byte[]{(byte) i, (byte) j};
-                lockByteArrayMap.put(new Hash(byteArray), byteArray);
-            }
+        locks = new ReentrantLock[1 << (Byte.SIZE * LOCK_PREFIX_SIZE)];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
         }
     }
 }
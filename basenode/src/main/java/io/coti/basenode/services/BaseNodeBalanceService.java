@@ -1,5 +1,6 @@
 package io.coti.basenode.services;
 
+import io.coti.basenode.data.BalanceStoreData;
 import io.coti.basenode.data.BaseTransactionData;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
@@ -14,47 +15,51 @@ import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static io.coti.basenode.services.TransactionHelper.CURRENCY_SCALE;
 
 @Slf4j
 @Service
 public class BaseNodeBalanceService implements IBalanceService {
 
-    protected Map<Hash, BigDecimal> balanceMap;
-    protected Map<Hash, BigDecimal> preBalanceMap;
+    protected BalanceStoreData balanceStore;
 
     public void init() {
-        balanceMap = new ConcurrentHashMap<>();
-        preBalanceMap = new ConcurrentHashMap<>();
+        balanceStore = new BalanceStoreData();
         log.info("{} is up", this.getClass().getSimpleName());
     }
 
     @Override
-    public synchronized boolean checkBalancesAndAddToPreBalance(List<BaseTransactionData> baseTransactions) {
-        Map<Hash, BigDecimal> balanceInChangeMap = new HashMap<>();
-        Map<Hash, BigDecimal> preBalanceInChangeMap = new HashMap<>();
-        for (BaseTransactionData baseTransactionData : baseTransactions) {
-
-            BigDecimal amount = baseTransactionData.getAmount();
-            Hash addressHash = baseTransactionData.getAddressHash();
-            balanceInChangeMap.putIfAbsent(addressHash, balanceMap.getOrDefault(addressHash, BigDecimal.ZERO));
-            preBalanceInChangeMap.putIfAbsent(addressHash, preBalanceMap.getOrDefault(addressHash, BigDecimal.ZERO));
-            if (amount.add(balanceInChangeMap.get(addressHash)).signum() < 0) {
-                log.error("Error in Balance check. Address {}  amount {} current Balance {} ", addressHash,
-                        amount, balanceInChangeMap.get(addressHash));
-                return false;
-            }
-            if (amount.add(preBalanceInChangeMap.get(addressHash)).signum() < 0) {
-                log.error("Error in PreBalance check. Address {}  amount {} current PreBalance {} ", addressHash,
-                        amount, preBalanceInChangeMap.get(addressHash));
-                return false;
+    public boolean checkBalancesAndAddToPreBalance(List<BaseTransactionData> baseTransactions) {
+        Map<Hash, Long> preBalanceInChangeMap = new HashMap<>();
+        int[] lockedStripes = balanceStore.lock(baseTransactions.stream().map(BaseTransactionData::getAddressHash).collect(Collectors.toList()));
+        try {
+            for (BaseTransactionData baseTransactionData : baseTransactions) {
+
+                long amount = toScaledAmount(baseTransactionData.getAmount());
+                Hash addressHash = baseTransactionData.getAddressHash();
+                long balance = balanceStore.getBalance(addressHash);
+                preBalanceInChangeMap.putIfAbsent(addressHash, balanceStore.getPreBalance(addressHash));
+                if (amount + balance < 0) {
+                    log.error("Error in Balance check. Address {}  amount {} current Balance {} ", addressHash,
+                            baseTransactionData.getAmount(), toAmount(balance));
+                    return false;
+                }
+                if (amount + preBalanceInChangeMap.get(addressHash) < 0) {
+                    log.error("Error in PreBalance check. Address {}  amount {} current PreBalance {} ", addressHash,
+                            baseTransactionData.getAmount(), toAmount(preBalanceInChangeMap.get(addressHash)));
+                    return false;
+                }
+                preBalanceInChangeMap.put(addressHash, amount + preBalanceInChangeMap.get(addressHash));
             }
-            preBalanceInChangeMap.put(addressHash, amount.add(preBalanceInChangeMap.get(addressHash)));
+            preBalanceInChangeMap.forEach((addressHash, preBalanceInChange) ->
+                    balanceStore.addToPreBalance(addressHash, preBalanceInChange - balanceStore.getPreBalance(addressHash))
+            );
+        } finally {
+            balanceStore.unlock(lockedStripes);
         }
-        preBalanceInChangeMap.forEach((addressHash, preBalanceInChange) -> {
-            preBalanceMap.put(addressHash, preBalanceInChange);
-            continueHandleBalanceChanges(addressHash);
-        });
+        preBalanceInChangeMap.keySet().forEach(this::continueHandleBalanceChanges);
         return true;
     }
 
@@ -79,20 +84,18 @@ public class BaseNodeBalanceService implements IBalanceService {
     @Override
     public void rollbackBaseTransactions(TransactionData transactionData) {
         transactionData.getBaseTransactions().forEach(baseTransactionData ->
-                preBalanceMap.computeIfPresent(baseTransactionData.getAddressHash(), (addressHash, amount) -> amount.add(baseTransactionData.getAmount().negate()))
+                balanceStore.addToPreBalanceIfPresent(baseTransactionData.getAddressHash(), -toScaledAmount(baseTransactionData.getAmount()))
         );
     }
 
     @Override
     public void validateBalances() {
-        preBalanceMap.forEach((hash, preBalance) -> {
-            if (preBalance.signum() == -1) {
+        balanceStore.forEach((hash, balance, preBalance) -> {
+            if (preBalance < 0) {
                 log.error("PreBalance Validation failed!");
                 throw new IllegalArgumentException("ClusterStamp or database are corrupted.");
             }
-        });
-        balanceMap.forEach((hash, balance) -> {
-            if (balance.signum() == -1) {
+            if (balance < 0) {
                 log.error("Balance Validation failed!");
                 throw new IllegalArgumentException("ClusterStamp or database are corrupted.");
             }
@@ -102,41 +105,50 @@ public class BaseNodeBalanceService implements IBalanceService {
 
     @Override
     public void updateBalanceFromClusterStamp(Hash addressHash, BigDecimal amount) {
-        if (balanceMap.containsKey(addressHash)) {
+        if (balanceStore.contains(addressHash)) {
             log.error("The address {} was already found in the clusterstamp", addressHash);
             throw new IllegalArgumentException(String.format("The address %s was already found in the clusterstamp", addressHash));
         }
-        balanceMap.put(addressHash, amount);
+        balanceStore.addToBalance(addressHash, toScaledAmount(amount));
         log.trace("Loading from clusterstamp into inMem balance+preBalance address {} and amount {}", addressHash, amount);
     }
 
     @Override
     public void updatePreBalanceFromClusterStamp() {
-        preBalanceMap.putAll(balanceMap);
+        balanceStore.copyBalancesToPreBalances();
     }
 
     @Override
     public void updateBalance(Hash addressHash, BigDecimal amount) {
-        balanceMap.computeIfPresent(addressHash, (currentHash, currentAmount) ->
-                currentAmount.add(amount));
-        balanceMap.putIfAbsent(addressHash, amount);
+        balanceStore.addToBalance(addressHash, toScaledAmount(amount));
     }
 
     @Override
     public void updatePreBalance(Hash addressHash, BigDecimal amount) {
-        preBalanceMap.computeIfPresent(addressHash, (currentHash, currentAmount) ->
-                currentAmount.add(amount));
-        preBalanceMap.putIfAbsent(addressHash, amount);
+        balanceStore.addToPreBalance(addressHash, toScaledAmount(amount));
     }
 
     @Override
     public BigDecimal getBalanceByAddress(Hash addressHash) {
-        return balanceMap.getOrDefault(addressHash, BigDecimal.ZERO);
+        return toAmount(balanceStore.getBalance(addressHash));
     }
 
     @Override
     public BigDecimal getPreBalanceByAddress(Hash addressHash) {
-        return preBalanceMap.getOrDefault(addressHash, BigDecimal.ZERO);
+        return toAmount(balanceStore.getPreBalance(addressHash));
+    }
+
+    private long toScaledAmount(BigDecimal amount) {
+        try {
+            return amount.setScale(CURRENCY_SCALE).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(String.format("Amount %s is not representable with currency scale %d", amount.toPlainString(), CURRENCY_SCALE), e);
+        }
+    }
+
+    private BigDecimal toAmount(long scaledAmount) {
+        BigDecimal amount = BigDecimal.valueOf(scaledAmount, CURRENCY_SCALE).stripTrailingZeros();
+        return amount.scale() < 0 ? amount.setScale(0) : amount;
     }
 
 }
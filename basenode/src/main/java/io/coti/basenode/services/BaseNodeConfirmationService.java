@@ -8,8 +8,10 @@ import io.coti.basenode.services.interfaces.IConfirmationService;
 import io.coti.basenode.services.interfaces.ITransactionHelper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
@@ -21,6 +23,8 @@ import java.util.concurrent.atomic.AtomicLong;
 @Service
 public class BaseNodeConfirmationService implements IConfirmationService {
 
+    @Value("${confirmation.batch.size:1}")
+    private int confirmationBatchSize;
     @Autowired
     private IBalanceService balanceService;
     @Autowired
@@ -89,7 +93,14 @@ public class BaseNodeConfirmationService implements IConfirmationService {
         while (!Thread.currentThread().isInterrupted()) {
             try {
                 ConfirmationData confirmationData = confirmationQueue.take();
-                updateConfirmedTransactionHandler(confirmationData);
+                if (confirmationBatchSize > 1) {
+                    List<ConfirmationData> confirmationDataBatch = new ArrayList<>();
+                    confirmationDataBatch.add(confirmationData);
+                    confirmationQueue.drainTo(confirmationDataBatch, confirmationBatchSize - 1);
+                    updateConfirmedTransactionsBatchHandler(confirmationDataBatch);
+                } else {
+                    updateConfirmedTransactionHandler(confirmationData);
+                }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -98,28 +109,23 @@ public class BaseNodeConfirmationService implements IConfirmationService {
         confirmationQueue.drainTo(remainingConfirmedTransactions);
         if (!remainingConfirmedTransactions.isEmpty()) {
             log.info("Please wait to process {} remaining confirmed transaction(s)", remainingConfirmedTransactions.size());
-            remainingConfirmedTransactions.forEach(this::updateConfirmedTransactionHandler);
+            if (confirmationBatchSize > 1) {
+                for (int i = 0; i < remainingConfirmedTransactions.size(); i += confirmationBatchSize) {
+                    updateConfirmedTransactionsBatchHandler(remainingConfirmedTransactions.subList(i, Math.min(i + confirmationBatchSize, remainingConfirmedTransactions.size())));
+                }
+            } else {
+                remainingConfirmedTransactions.forEach(this::updateConfirmedTransactionHandler);
+            }
         }
     }
 
     private void updateConfirmedTransactionHandler(ConfirmationData confirmationData) {
         transactions.lockAndGetByHash(confirmationData.getHash(), transactionData -> {
-            if (confirmationData instanceof TccInfo) {
-                transactionData.setTrustChainConsensus(true);
-                transactionData.setTrustChainConsensusTime(((TccInfo) confirmationData).getTrustChainConsensusTime());
-                transactionData.setTrustChainTrustScore(((TccInfo) confirmationData).getTrustChainTrustScore());
-                trustChainConfirmed.incrementAndGet();
-            } else if (confirmationData instanceof DspConsensusResult) {
-                transactionData.setDspConsensusResult((DspConsensusResult) confirmationData);
-                if (!insertNewTransactionIndex(transactionData)) {
-                    return;
-                }
-                if (transactionHelper.isDspConfirmed(transactionData)) {
-                    continueHandleDSPConfirmedTransaction(transactionData);
-                    dspConfirmed.incrementAndGet();
-                }
+            if (!updateConfirmationData(transactionData, confirmationData)) {
+                return;
             }
             if (transactionHelper.isConfirmed(transactionData)) {
+                setTransactionConsensusUpdateTime(transactionData);
                 processConfirmedTransaction(transactionData);
             }
             transactions.put(transactionData);
@@ -127,6 +133,62 @@ public class BaseNodeConfirmationService implements IConfirmationService {
 
     }
 
+    private void updateConfirmedTransactionsBatchHandler(List<ConfirmationData> confirmationDataBatch) {
+        Map<Hash, List<ConfirmationData>> hashToConfirmationDataMap = new LinkedHashMap<>();
+        confirmationDataBatch.forEach(confirmationData -> hashToConfirmationDataMap.computeIfAbsent(confirmationData.getHash(), hash -> new ArrayList<>()).add(confirmationData));
+        List<TransactionData> confirmedTransactions = new ArrayList<>();
+
+        transactions.lockAndGetByHashes(new ArrayList<>(hashToConfirmationDataMap.keySet()), hashToTransactionDataMap -> {
+            Map<Hash, TransactionData> updatedTransactions = new LinkedHashMap<>();
+            hashToConfirmationDataMap.forEach((hash, confirmationDataList) -> {
+                TransactionData transactionData = hashToTransactionDataMap.get(hash);
+                if (transactionData == null) {
+                    log.error("Confirmation received for transaction {} which is not in the database", hash);
+                    return;
+                }
+                boolean confirmed = false;
+                for (ConfirmationData confirmationData : confirmationDataList) {
+                    if (updateConfirmationData(transactionData, confirmationData)) {
+                        updatedTransactions.put(hash, transactionData);
+                        if (transactionHelper.isConfirmed(transactionData)) {
+                            setTransactionConsensusUpdateTime(transactionData);
+                            confirmed = true;
+                        }
+                    }
+                }
+                if (confirmed) {
+                    confirmedTransactions.add(transactionData);
+                }
+            });
+            if (!updatedTransactions.isEmpty()) {
+                transactions.putBatch(updatedTransactions);
+            }
+        });
+
+        processConfirmedTransactions(confirmedTransactions);
+    }
+
+    private boolean updateConfirmationData(TransactionData transactionData, ConfirmationData confirmationData) {
+        if (confirmationData instanceof TccInfo) {
+            transactionData.setTrustChainConsensus(true);
+            transactionData.setTrustChainConsensusTime(((TccInfo) confirmationData).getTrustChainConsensusTime());
+            transactionData.setTrustChainTrustScore(((TccInfo) confirmationData).getTrustChainTrustScore());
+            trustChainConfirmed.incrementAndGet();
+        } else if (confirmationData instanceof DspConsensusResult) {
+            DspConsensusResult previousDspConsensusResult = transactionData.getDspConsensusResult();
+            transactionData.setDspConsensusResult((DspConsensusResult) confirmationData);
+            if (!insertNewTransactionIndex(transactionData)) {
+                transactionData.setDspConsensusResult(previousDspConsensusResult);
+                return false;
+            }
+            if (transactionHelper.isDspConfirmed(transactionData)) {
+                continueHandleDSPConfirmedTransaction(transactionData);
+                dspConfirmed.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
     protected boolean insertNewTransactionIndex(TransactionData transactionData) {
         Optional<Boolean> optionalInsertNewTransactionIndex = transactionIndexService.insertNewTransactionIndex(transactionData);
         if (!optionalInsertNewTransactionIndex.isPresent()) {
@@ -148,11 +210,14 @@ public class BaseNodeConfirmationService implements IConfirmationService {
         }
     }
 
-    private void processConfirmedTransaction(TransactionData transactionData) {
+    private void setTransactionConsensusUpdateTime(TransactionData transactionData) {
         Instant trustChainConsensusTime = transactionData.getTrustChainConsensusTime();
         Instant dspConsensusTime = transactionData.getDspConsensusResult().getIndexingTime();
         Instant transactionConsensusUpdateTime = trustChainConsensusTime.isAfter(dspConsensusTime) ? trustChainConsensusTime : dspConsensusTime;
         transactionData.setTransactionConsensusUpdateTime(transactionConsensusUpdateTime);
+    }
+
+    private void processConfirmedTransaction(TransactionData transactionData) {
         transactionData.getBaseTransactions().forEach(baseTransactionData -> balanceService.updateBalance(baseTransactionData.getAddressHash(), baseTransactionData.getAmount()));
         totalConfirmed.incrementAndGet();
 
@@ -164,6 +229,24 @@ public class BaseNodeConfirmationService implements IConfirmationService {
         continueHandleAddressHistoryChanges(transactionData);
     }
 
+    private void processConfirmedTransactions(List<TransactionData> confirmedTransactions) {
+        if (confirmedTransactions.isEmpty()) {
+            return;
+        }
+        Map<Hash, BigDecimal> addressToAmountMap = new LinkedHashMap<>();
+        confirmedTransactions.forEach(transactionData ->
+                transactionData.getBaseTransactions().forEach(baseTransactionData ->
+                        addressToAmountMap.merge(baseTransactionData.getAddressHash(), baseTransactionData.getAmount(), BigDecimal::add)
+                )
+        );
+        addressToAmountMap.forEach(balanceService::updateBalance);
+        totalConfirmed.addAndGet(confirmedTransactions.size());
+
+        addressToAmountMap.keySet().forEach(balanceService::continueHandleBalanceChanges);
+
+        confirmedTransactions.forEach(this::continueHandleAddressHistoryChanges);
+    }
+
     protected void continueHandleDSPConfirmedTransaction(TransactionData transactionData) {
         // implemented by the sub classes
     }
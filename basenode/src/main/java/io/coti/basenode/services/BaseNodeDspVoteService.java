@@ -2,9 +2,8 @@ package io.coti.basenode.services;
 
 import io.coti.basenode.communication.interfaces.IPropagationPublisher;
 import io.coti.basenode.crypto.DspConsensusCrypto;
-import io.coti.basenode.data.DspConsensusResult;
-import io.coti.basenode.data.Hash;
-import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.crypto.TransactionDspVoteCrypto;
+import io.coti.basenode.data.*;
 import io.coti.basenode.exceptions.DspConsensusResultException;
 import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.interfaces.IConfirmationService;
@@ -13,10 +12,12 @@ import io.coti.basenode.services.interfaces.ITransactionHelper;
 import io.coti.basenode.services.interfaces.ITransactionPropagationCheckService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
@@ -34,38 +35,71 @@ public class BaseNodeDspVoteService implements IDspVoteService {
     private ITransactionPropagationCheckService transactionPropagationCheckService;
     @Autowired
     private Transactions transactions;
+    @Autowired
+    private TransactionDspVoteCrypto transactionDspVoteCrypto;
+    @Value("${dsp.consensus.verification.threads:0}")
+    private int dspConsensusVerificationThreads;
+    @Value("${dsp.consensus.verification.queue.size:10000}")
+    private int dspConsensusVerificationQueueSize;
     private Map<Hash, DspConsensusResult> postponedDspConsensusResultsMap;
+    private ExecutorService dspConsensusVerificationExecutor;
+    private BlockingQueue<Future<DspConsensusResult>> verifiedDspConsensusResults;
 
     public void init() {
         postponedDspConsensusResultsMap = new ConcurrentHashMap<>();
+        verifiedDspConsensusResults = new LinkedBlockingQueue<>();
+        int threads = dspConsensusVerificationThreads > 0 ? dspConsensusVerificationThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        dspConsensusVerificationExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(dspConsensusVerificationQueueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "DSP Consensus Verification-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+        Thread voteConclusionThread = new Thread(this::handleVerifiedVoteConclusions, "DSP Consensus Handler");
+        voteConclusionThread.setDaemon(true);
+        voteConclusionThread.start();
         log.info("{} is up", this.getClass().getSimpleName());
     }
 
-    public synchronized void handleVoteConclusion(DspConsensusResult dspConsensusResult) {
-        try {
-            log.debug("Received DspConsensus result for transaction: {}", dspConsensusResult.getHash());
-            handleVoteConclusionResult(dspConsensusResult);
-            confirmationService.setDspcToTrue(dspConsensusResult);
-            continueHandleVoteConclusion(dspConsensusResult);
-            postponedDspConsensusResultsMap.remove(dspConsensusResult.getHash());
-        } catch (Exception e) {
-            log.error("{}: {}", e.getClass().getName(), e.getMessage());
+    public void handleVoteConclusion(DspConsensusResult dspConsensusResult) {
+        log.debug("Received DspConsensus result for transaction: {}", dspConsensusResult.getHash());
+        verifiedDspConsensusResults.add(dspConsensusVerificationExecutor.submit(() -> verifyVoteConclusion(dspConsensusResult)));
+    }
+
+    private void handleVerifiedVoteConclusions() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                DspConsensusResult dspConsensusResult = verifiedDspConsensusResults.take().get();
+                transactionPropagationCheckService.removeTransactionHashFromUnconfirmed(dspConsensusResult.getHash());
+                confirmationService.setDspcToTrue(dspConsensusResult);
+                continueHandleVoteConclusion(dspConsensusResult);
+                postponedDspConsensusResultsMap.remove(dspConsensusResult.getHash());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                log.error("{}: {}", e.getCause().getClass().getName(), e.getCause().getMessage());
+            } catch (Exception e) {
+                log.error("{}: {}", e.getClass().getName(), e.getMessage());
+            }
         }
     }
 
-    private void handleVoteConclusionResult(DspConsensusResult dspConsensusResult) {
+    private DspConsensusResult verifyVoteConclusion(DspConsensusResult dspConsensusResult) {
         if (!dspConsensusCrypto.verifySignature(dspConsensusResult)) {
             throw new DspConsensusResultException(String.format("DspConsensus signature verification failed for transaction %s", dspConsensusResult.getHash()));
         }
+        if (dspConsensusResult.getDspVotes() != null) {
+            dspConsensusResult.getDspVotes().forEach(dspVote -> verifyDspVote(dspConsensusResult.getHash(), dspVote));
+        }
         TransactionData transactionData = transactions.getByHash(dspConsensusResult.getHash());
         if (transactionData == null) {
             postponedDspConsensusResultsMap.put(dspConsensusResult.getHash(), dspConsensusResult);
             throw new DspConsensusResultException(String.format("DspConsensus result is for a non-existing transaction %s. ", dspConsensusResult.getHash()));
         }
-        transactionPropagationCheckService.removeTransactionHashFromUnconfirmed(transactionData.getHash());
         if (transactionData.getDspConsensusResult() != null) {
             log.debug("DspConsensus result already exists for transaction {}", dspConsensusResult.getHash());
-            return;
+            return dspConsensusResult;
         }
         if (dspConsensusResult.isDspConsensus()) {
             log.debug("Valid vote conclusion received for transaction: {}", dspConsensusResult.getHash());
@@ -74,6 +108,16 @@ public class BaseNodeDspVoteService implements IDspVoteService {
         }
 
         log.debug("DspConsensus result for transaction: Hash= {}, DspVoteResult= {}, Index= {}", dspConsensusResult.getHash(), dspConsensusResult.isDspConsensus(), dspConsensusResult.getIndex());
+        return dspConsensusResult;
+    }
+
+    private void verifyDspVote(Hash transactionHash, DspVote dspVote) {
+        TransactionDspVote transactionDspVote = new TransactionDspVote(transactionHash, dspVote.isValidTransaction());
+        transactionDspVote.setVoterDspHash(dspVote.getVoterDspHash());
+        transactionDspVote.setSignature(dspVote.getSignature());
+        if (dspVote.getVoterDspHash() == null || dspVote.getSignature() == null || !transactionDspVoteCrypto.verifySignature(transactionDspVote)) {
+            throw new DspConsensusResultException(String.format("DspVote signature verification failed for transaction %s and voter %s", transactionHash, dspVote.getVoterDspHash()));
+        }
     }
 
     protected void continueHandleVoteConclusion(DspConsensusResult dspConsensusResult) {
@@ -200,7 +200,7 @@ public abstract class BaseNodeInitializationService {
     private void handleExistingTransaction(TransactionData transactionData) {
         existingTransactionExecutorMap.get(InitializationTransactionHandlerType.CLUSTER).submit(() -> clusterService.addExistingTransactionOnInit(transactionData));
         existingTransactionExecutorMap.get(InitializationTransactionHandlerType.CONFIRMATION).submit(() -> confirmationService.insertSavedTransaction(transactionData, indexToTransactionMap));
-        existingTransactionExecutorMap.get(InitializationTransactionHandlerType.TRANSACTION).submit(() -> transactionService.addToExplorerIndexes(transactionData));
+        existingTransactionExecutorMap.get(InitializationTransactionHandlerType.TRANSACTION).submit(() -> transactionService.addExistingTransactionToExplorerIndexes(transactionData));
 
         transactionHelper.incrementTotalTransactions();
     }
@@ -208,6 +208,7 @@ public abstract class BaseNodeInitializationService {
     protected void createNetworkNodeData() {
         networkService.init();
         NetworkNodeData networkNodeData = createNodeProperties();
+        networkNodeData.setBinaryPropagationSupported(true);
         NodeRegistrationData nodeRegistrationData = nodeRegistrations.getByHash(networkNodeData.getHash());
         if (nodeRegistrationData != null) {
             networkNodeData.setNodeRegistrationData(nodeRegistrationData);
@@ -1,11 +1,18 @@
 package io.coti.basenode.services;
 
 import io.coti.basenode.communication.ZeroMQSubscriberQueue;
+import io.coti.basenode.communication.data.PublisherStatisticsData;
+import io.coti.basenode.communication.interfaces.IPropagationPublisher;
 import io.coti.basenode.communication.interfaces.IPropagationSubscriber;
+import io.coti.basenode.data.DatabaseStatisticsData;
+import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.http.GetDatabaseStatisticsResponse;
+import io.coti.basenode.http.interfaces.IResponse;
 import io.coti.basenode.services.interfaces.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -25,8 +32,14 @@ public class BaseNodeMonitorService implements IMonitorService {
     private ITransactionService transactionService;
     @Autowired
     private IPropagationSubscriber propagationSubscriber;
+    @Autowired
+    private IPropagationPublisher propagationPublisher;
+    @Autowired
+    private IDatabaseConnector databaseConnector;
     @Value("${allow.transaction.monitoring}")
     private boolean allowTransactionMonitoring;
+    @Value("${allow.database.monitoring:false}")
+    private boolean allowDatabaseMonitoring;
 
     public void init() {
         log.info("{} is up", this.getClass().getSimpleName());
@@ -46,4 +59,54 @@ public class BaseNodeMonitorService implements IMonitorService {
                     propagationSubscriber.getMessageQueueSize(ZeroMQSubscriberQueue.TRANSACTION));
         }
     }
+
+    @Scheduled(initialDelay = 1000, fixedDelay = 60000)
+    public void lastPropagationQueueState() {
+        if (allowTransactionMonitoring) {
+            propagationSubscriber.getMessageQueueStatistics().forEach((queue, statisticsData) ->
+                    log.info("SubscriberQueue = {}, Size = {}, MaxSize = {}, Capacity = {}, Received = {}, Handled = {}, BackpressureEvents = {}, BackpressureMillis = {}",
+                            queue,
+                            statisticsData.getSize(),
+                            statisticsData.getMaxSize(),
+                            statisticsData.getCapacity(),
+                            statisticsData.getReceivedMessages(),
+                            statisticsData.getHandledMessages(),
+                            statisticsData.getBackpressureEvents(),
+                            statisticsData.getBackpressureMillis()));
+            PublisherStatisticsData publisherStatisticsData = propagationPublisher.getStatistics();
+            log.info("PublisherQueue = {}, PublishedMessages = {}, PublishedBatches = {}, AveragePublishLatencyMillis = {}, MaxPublishLatencyMillis = {}",
+                    publisherStatisticsData.getQueueSize(),
+                    publisherStatisticsData.getPublishedMessages(),
+                    publisherStatisticsData.getPublishedBatches(),
+                    publisherStatisticsData.getAveragePublishLatencyMillis(),
+                    publisherStatisticsData.getMaxPublishLatencyMillis());
+        }
+    }
+
+    @Scheduled(initialDelay = 1000, fixedDelay = 60000)
+    public void lastDatabaseState() {
+        if (allowDatabaseMonitoring) {
+            DatabaseStatisticsData databaseStatisticsData = databaseConnector.getStatistics();
+            log.info("BlockCacheUsage = {}, BlockCacheHitRate = {}, BloomFilterUseful = {}, StallMicros = {}, CompactionReadBytes = {}, CompactionWriteBytes = {}",
+                    databaseStatisticsData.getBlockCacheUsage(),
+                    databaseStatisticsData.getBlockCacheHitRate(),
+                    databaseStatisticsData.getBloomFilterUseful(),
+                    databaseStatisticsData.getStallMicros(),
+                    databaseStatisticsData.getCompactionReadBytes(),
+                    databaseStatisticsData.getCompactionWriteBytes());
+            databaseStatisticsData.getColumnFamilies().forEach((columnFamilyName, columnFamilyStatisticsData) ->
+                    log.info("ColumnFamily = {}, EstimatedKeys = {}, LevelZeroFiles = {}, EstimatedReadAmplification = {}, PendingCompactionBytes = {}, WriteStopped = {}",
+                            columnFamilyName,
+                            columnFamilyStatisticsData.getEstimatedKeys(),
+                            columnFamilyStatisticsData.getLevelZeroFiles(),
+                            columnFamilyStatisticsData.getEstimatedReadAmplification(),
+                            columnFamilyStatisticsData.getPendingCompactionBytes(),
+                            columnFamilyStatisticsData.isWriteStopped()));
+        }
+    }
+
+    @Override
+    public ResponseEntity<IResponse> getDatabaseStatistics() {
+        return ResponseEntity.ok(new GetDatabaseStatisticsResponse(databaseConnector.getStatistics()));
+    }
 }
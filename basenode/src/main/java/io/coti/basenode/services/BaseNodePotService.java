@@ -1,5 +1,6 @@
 package io.coti.basenode.services;
 
+import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.services.interfaces.IPotService;
 import io.coti.pot.ProofOfTrust;
@@ -7,26 +8,94 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static javax.xml.bind.DatatypeConverter.parseHexBinary;
 
 @Slf4j
 @Service
 public class BaseNodePotService implements IPotService {
 
+    private static final int MAX_TRUST_SCORE = 100;
+    private static final ThreadLocal<ProofOfTrust[]> proofOfTrustByTrustScore = ThreadLocal.withInitial(() -> new ProofOfTrust[MAX_TRUST_SCORE + 1]);
     @Value("${network.difficulty}")
     protected String difficulty;
+    @Value("${pot.verification.threads:0}")
+    private int potVerificationThreads;
+    @Value("${pot.verification.queue.size:10000}")
+    private int potVerificationQueueSize;
     protected byte[] targetDifficulty;
+    private ExecutorService potVerificationExecutor;
 
     public void init() {
         targetDifficulty = parseHexBinary(difficulty);
+        int threads = potVerificationThreads > 0 ? potVerificationThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger(0);
+        potVerificationExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(potVerificationQueueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "PoT Verification-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
         log.info("{} is up", this.getClass().getSimpleName());
     }
 
+    @PreDestroy
+    private void shutdown() {
+        if (potVerificationExecutor != null) {
+            log.info("Shutting down {}", this.getClass().getSimpleName());
+            potVerificationExecutor.shutdown();
+        }
+    }
+
     @Override
     public boolean validatePot(TransactionData transactionData) {
-        ProofOfTrust pot = new ProofOfTrust(
-                transactionData.getRoundedSenderTrustScore());
-        return pot.verify(transactionData.getHash().
+        if (transactionData.getNonces() == null) {
+            return false;
+        }
+        return getProofOfTrust(transactionData.getRoundedSenderTrustScore()).verify(transactionData.getHash().
                 getBytes(), transactionData.getNonces(), targetDifficulty);
     }
+
+    @Override
+    public Map<Hash, Boolean> validatePot(List<TransactionData> transactions) {
+        List<Future<Boolean>> futures = new ArrayList<>(transactions.size());
+        transactions.forEach(transactionData -> futures.add(potVerificationExecutor.submit(() -> validatePot(transactionData))));
+        Map<Hash, Boolean> potValidationResults = new LinkedHashMap<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            potValidationResults.put(transactions.get(i).getHash(), getPotValidationResult(transactions.get(i), futures.get(i)));
+        }
+        return potValidationResults;
+    }
+
+    private boolean getPotValidationResult(TransactionData transactionData, Future<Boolean> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            log.error("Error at pot validation of transaction {}", transactionData.getHash(), e.getCause());
+            return false;
+        }
+    }
+
+    protected ProofOfTrust getProofOfTrust(int trustScore) {
+        if (trustScore < 0 || trustScore > MAX_TRUST_SCORE) {
+            throw new IllegalArgumentException("trustScore must be between 0 and 100 inclusive");
+        }
+        ProofOfTrust[] proofOfTrusts = proofOfTrustByTrustScore.get();
+        ProofOfTrust proofOfTrust = proofOfTrusts[trustScore];
+        if (proofOfTrust == null) {
+            proofOfTrust = new ProofOfTrust(trustScore);
+            proofOfTrusts[trustScore] = proofOfTrust;
+        }
+        return proofOfTrust;
+    }
 }
@@ -1,5 +1,6 @@
 package io.coti.basenode.services;
 
+import io.coti.basenode.communication.FramedRecordWriter;
 import io.coti.basenode.communication.JacksonSerializer;
 import io.coti.basenode.data.*;
 import io.coti.basenode.http.GetTransactionsResponse;
@@ -10,7 +11,9 @@ import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.interfaces.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.FluxSink;
@@ -47,6 +50,8 @@ public class BaseNodeTransactionService implements ITransactionService {
     private JacksonSerializer jacksonSerializer;
     @Autowired
     private TransactionIndexes transactionIndexes;
+    @Value("${transaction.batch.flush.size:65536}")
+    private int transactionBatchFlushSize;
     protected Map<TransactionData, Boolean> postponedTransactions = new ConcurrentHashMap<>();  // true/false means new from full node or propagated transaction
     private final LockData transactionLockData = new LockData();
 
@@ -90,6 +95,37 @@ public class BaseNodeTransactionService implements ITransactionService {
         }
     }
 
+    @Override
+    public void getFramedTransactionBatch(long startingIndex, boolean compressed, HttpServletResponse response) {
+        AtomicLong transactionNumber = new AtomicLong(0);
+        Thread monitorTransactionBatch = monitorTransactionBatch(Thread.currentThread().getId(), transactionNumber);
+
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(FramedRecordWriter.FRAMED_HEADER, Boolean.TRUE.toString());
+        response.setHeader(FramedRecordWriter.COMPRESSED_HEADER, Boolean.toString(compressed));
+        try {
+            FramedRecordWriter writer = new FramedRecordWriter(response.getOutputStream(), compressed, transactionBatchFlushSize);
+            monitorTransactionBatch.start();
+
+            for (long i = startingIndex; i <= transactionIndexService.getLastTransactionIndexData().getIndex(); i++) {
+                writer.write(jacksonSerializer.serialize(transactions.getByHash(transactionIndexes.getByHash(new Hash(i)).getTransactionHash())));
+                transactionNumber.incrementAndGet();
+            }
+            for (Hash hash : transactionHelper.getNoneIndexedTransactionHashes()) {
+                writer.write(jacksonSerializer.serialize(transactions.getByHash(hash)));
+                transactionNumber.incrementAndGet();
+            }
+            writer.finish();
+        } catch (Exception e) {
+            log.error("Error sending framed transaction batch");
+            log.error(e.getMessage());
+        } finally {
+            if (monitorTransactionBatch.isAlive()) {
+                monitorTransactionBatch.interrupt();
+            }
+        }
+    }
+
     @Override
     public void getTransactionBatch(long startingIndex, FluxSink<byte[]> sink) {
         AtomicLong transactionNumber = new AtomicLong(0);
@@ -176,6 +212,11 @@ public class BaseNodeTransactionService implements ITransactionService {
 
     @Override
     public void handlePropagatedTransaction(TransactionData transactionData) {
+        handlePropagatedTransaction(transactionData, null);
+    }
+
+    @Override
+    public void handlePropagatedTransaction(TransactionData transactionData, Boolean potValidationResult) {
         AtomicBoolean isTransactionAlreadyPropagated = new AtomicBoolean(false);
 
         try {
@@ -185,7 +226,7 @@ public class BaseNodeTransactionService implements ITransactionService {
                 log.debug("Transaction already exists: {}", transactionData.getHash());
                 return;
             }
-            if (!validationService.validatePropagatedTransactionDataIntegrity(transactionData)) {
+            if (!validationService.validatePropagatedTransactionDataIntegrity(transactionData, potValidationResult)) {
                 log.error("Data Integrity validation failed: {}", transactionData.getHash());
                 return;
             }
@@ -308,6 +349,10 @@ public class BaseNodeTransactionService implements ITransactionService {
         log.debug("Adding the transaction {} to explorer indexes by base node", transactionData.getHash());
     }
 
+    public void addExistingTransactionToExplorerIndexes(TransactionData transactionData) {
+        addToExplorerIndexes(transactionData);
+    }
+
     protected boolean hasOneOfParentsMissing(TransactionData transactionData) {
         return (transactionData.getLeftParentHash() != null && transactions.getByHash(transactionData.getLeftParentHash()) == null) ||
                 (transactionData.getRightParentHash() != null && transactions.getByHash(transactionData.getRightParentHash()) == null);
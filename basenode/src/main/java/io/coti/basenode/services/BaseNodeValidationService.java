@@ -18,6 +18,9 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static io.coti.basenode.services.TransactionHelper.CURRENCY_SCALE;
 
@@ -62,9 +65,14 @@ public class BaseNodeValidationService implements IValidationService {
 
     @Override
     public boolean validatePropagatedTransactionDataIntegrity(TransactionData transactionData) {
+        return validatePropagatedTransactionDataIntegrity(transactionData, null);
+    }
+
+    @Override
+    public boolean validatePropagatedTransactionDataIntegrity(TransactionData transactionData, Boolean potValidationResult) {
         return validateTransactionDataIntegrity(transactionData) && validateTransactionNodeSignature(transactionData) &&
                 //validateTransactionTrustScore(transactionData) &&
-                validateBaseTransactionAmounts(transactionData) && validatePot(transactionData);
+                validateBaseTransactionAmounts(transactionData) && (potValidationResult != null ? potValidationResult : validatePot(transactionData));
     }
 
     @Override
@@ -105,7 +113,16 @@ public class BaseNodeValidationService implements IValidationService {
 
     @Override
     public boolean validatePot(TransactionData transactionData) {
-        return EnumSet.of(TransactionType.ZeroSpend, TransactionType.Initial).contains(transactionData.getType()) || potService.validatePot(transactionData);
+        return !isPotRequired(transactionData) || potService.validatePot(transactionData);
+    }
+
+    @Override
+    public Map<Hash, Boolean> validatePot(List<TransactionData> transactions) {
+        return potService.validatePot(transactions.stream().filter(this::isPotRequired).collect(Collectors.toList()));
+    }
+
+    private boolean isPotRequired(TransactionData transactionData) {
+        return !EnumSet.of(TransactionType.ZeroSpend, TransactionType.Initial).contains(transactionData.getType());
     }
 
     @Override
@@ -8,59 +8,93 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.LinkedList;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.*;
 
 @Slf4j
 @Service
 public class ClusterHelper implements IClusterHelper {
 
+    private static final int NO_PARENT = -1;
     @Autowired
     private Transactions transactions;
 
     @Override
-    public void sortByTopologicalOrder(ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster, LinkedList<TransactionData> topologicalOrderedGraph) {
-        Map<Hash, TransactionData> childrenToAdd = new ConcurrentHashMap<>();
-        trustChainConfirmationCluster.forEach((hash, transactionData) -> {
-            transactionData.setVisit(false);
-            transactionData.getChildrenTransactionHashes().forEach(childHash -> {
-                if (!trustChainConfirmationCluster.containsKey(childHash)) {
-                    TransactionData childTransaction = transactions.getByHash(childHash);
-                    if (childTransaction == null) {
-                        log.error("Child {} of transaction {} is not in cluster", childHash, transactionData.getHash());
-                    } else {
-                        childTransaction.setVisit(false);
-                        childrenToAdd.put(childHash, childTransaction);
-                    }
-                }
-            });
-        });
-        trustChainConfirmationCluster.putAll(childrenToAdd);
+    public List<TransactionData> sortByTopologicalOrder(Map<Hash, TransactionData> trustChainConfirmationCluster) {
+        List<TransactionData> vertices = new ArrayList<>(trustChainConfirmationCluster.values());
+        Map<Hash, Integer> hashToVertexIndex = new HashMap<>(vertices.size() * 2);
+        for (int i = 0; i < vertices.size(); i++) {
+            hashToVertexIndex.put(vertices.get(i).getHash(), i);
+        }
+        addChildrenOutOfCluster(trustChainConfirmationCluster, vertices, hashToVertexIndex);
 
-        //loop is for making sure that every vertex is visited since if we select only one random source
-        //all vertices might not be reachable from this source
-        //eg:1->2->3,1->3 and if we select 3 as source first then no vertex can be visited of course except for 3
-        trustChainConfirmationCluster.forEach((hash, transactionData) -> {
-            if (!transactionData.isVisit()) {
-                topologicalSortingHelper(transactionData, trustChainConfirmationCluster, topologicalOrderedGraph);
+        int numberOfVertices = vertices.size();
+        int[] leftParentIndexes = new int[numberOfVertices];
+        int[] rightParentIndexes = new int[numberOfVertices];
+        int[] remainingChildrenCounts = new int[numberOfVertices];
+        for (int i = 0; i < numberOfVertices; i++) {
+            TransactionData transactionData = vertices.get(i);
+            leftParentIndexes[i] = getVertexIndex(transactionData.getLeftParentHash(), hashToVertexIndex);
+            rightParentIndexes[i] = getVertexIndex(transactionData.getRightParentHash(), hashToVertexIndex);
+            if (rightParentIndexes[i] == leftParentIndexes[i]) {
+                rightParentIndexes[i] = NO_PARENT;
             }
-        });
-    }
+            if (leftParentIndexes[i] != NO_PARENT) {
+                remainingChildrenCounts[leftParentIndexes[i]]++;
+            }
+            if (rightParentIndexes[i] != NO_PARENT) {
+                remainingChildrenCounts[rightParentIndexes[i]]++;
+            }
+        }
 
-    private void topologicalSortingHelper(TransactionData parentTransactionData, ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster, LinkedList<TransactionData> topologicalOrderedGraph) {
-        for (Hash transactionDataHash : parentTransactionData.getChildrenTransactionHashes()) {
-            TransactionData childTransactionData = trustChainConfirmationCluster.get(transactionDataHash);
-            if (childTransactionData != null && !childTransactionData.isVisit()) {
-                topologicalSortingHelper(childTransactionData, trustChainConfirmationCluster, topologicalOrderedGraph);
+        // Kahn's algorithm over the reversed graph: a vertex is emitted only after all of its children were emitted
+        int[] vertexQueue = new int[numberOfVertices];
+        int queueTail = 0;
+        for (int i = 0; i < numberOfVertices; i++) {
+            if (remainingChildrenCounts[i] == 0) {
+                vertexQueue[queueTail++] = i;
             }
+        }
+        List<TransactionData> topologicalOrderedGraph = new ArrayList<>(numberOfVertices);
+        for (int queueHead = 0; queueHead < queueTail; queueHead++) {
+            int vertexIndex = vertexQueue[queueHead];
+            topologicalOrderedGraph.add(vertices.get(vertexIndex));
+            queueTail = releaseParent(leftParentIndexes[vertexIndex], remainingChildrenCounts, vertexQueue, queueTail);
+            queueTail = releaseParent(rightParentIndexes[vertexIndex], remainingChildrenCounts, vertexQueue, queueTail);
+        }
 
+        if (topologicalOrderedGraph.size() < numberOfVertices) {
+            log.error("Cluster contains a cycle. {} transactions are not topologically ordered", numberOfVertices - topologicalOrderedGraph.size());
         }
-        //making the vertex visited for future reference
-        parentTransactionData.setVisit(true);
+        return topologicalOrderedGraph;
+    }
+
+    private void addChildrenOutOfCluster(Map<Hash, TransactionData> trustChainConfirmationCluster, List<TransactionData> vertices, Map<Hash, Integer> hashToVertexIndex) {
+        trustChainConfirmationCluster.forEach((hash, transactionData) ->
+                transactionData.getChildrenTransactionHashes().forEach(childHash -> {
+                    if (!hashToVertexIndex.containsKey(childHash)) {
+                        TransactionData childTransaction = transactions.getByHash(childHash);
+                        if (childTransaction == null) {
+                            log.error("Child {} of transaction {} is not in cluster", childHash, transactionData.getHash());
+                        } else {
+                            hashToVertexIndex.put(childHash, vertices.size());
+                            vertices.add(childTransaction);
+                        }
+                    }
+                })
+        );
+    }
 
-        //pushing to the stack as departing
-        topologicalOrderedGraph.addLast(parentTransactionData);
+    private int getVertexIndex(Hash hash, Map<Hash, Integer> hashToVertexIndex) {
+        if (hash == null) {
+            return NO_PARENT;
+        }
+        return hashToVertexIndex.getOrDefault(hash, NO_PARENT);
+    }
+
+    private int releaseParent(int parentIndex, int[] remainingChildrenCounts, int[] vertexQueue, int queueTail) {
+        if (parentIndex != NO_PARENT && --remainingChildrenCounts[parentIndex] == 0) {
+            vertexQueue[queueTail++] = parentIndex;
+        }
+        return queueTail;
     }
 }
@@ -1,32 +1,32 @@
 package io.coti.basenode.services;
 
-import com.google.common.collect.Sets;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TccInfo;
 import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.data.TrustScoreSourcesData;
 import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.interfaces.IClusterService;
 import io.coti.basenode.services.interfaces.IConfirmationService;
 import io.coti.basenode.services.interfaces.ISourceSelector;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.SerializationUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 @Slf4j
 @Service
 public class ClusterService implements IClusterService {
 
-    private ArrayList<HashSet<Hash>> sourceSetsByTrustScore;
-    private HashMap<Hash, TransactionData> sourceMap;
+    private AtomicReferenceArray<TrustScoreSourcesData> sourcesByTrustScore;
+    private HashMap<Hash, Integer> sourceMap;
     @Autowired
     private Transactions transactions;
     @Autowired
@@ -38,15 +38,17 @@ public class ClusterService implements IClusterService {
     private boolean isStarted;
     private ConcurrentHashMap<Hash, TransactionData> trustChainConfirmationCluster;
     private final AtomicLong totalSources = new AtomicLong(0);
-    private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+    private final Object sourceLock = new Object();
+    private final Map<Hash, Long> nonZeroSpendChainTimes = new HashMap<>();
+    private final Object nonZeroSpendChainLock = new Object();
 
     @PostConstruct
     public void init() {
         trustChainConfirmationCluster = new ConcurrentHashMap<>();
-        sourceSetsByTrustScore = new ArrayList<>();
+        sourcesByTrustScore = new AtomicReferenceArray<>(101);
         sourceMap = new HashMap<>();
         for (int i = 0; i <= 100; i++) {
-            sourceSetsByTrustScore.add(Sets.newHashSet());
+            sourcesByTrustScore.set(i, TrustScoreSourcesData.EMPTY);
         }
     }
 
@@ -80,6 +82,8 @@ public class ClusterService implements IClusterService {
 
     @Override
     public void finalizeInit() {
+        initNonZeroSpendChainTimes();
+        trustChainConfirmationService.init(trustChainConfirmationCluster);
         isStarted = true;
         log.info("{} is up", this.getClass().getSimpleName());
     }
@@ -90,11 +94,14 @@ public class ClusterService implements IClusterService {
             return;
         }
 
-        trustChainConfirmationService.init(trustChainConfirmationCluster);
         List<TccInfo> transactionConsensusConfirmed = trustChainConfirmationService.getTrustChainConfirmedTransactions();
 
         transactionConsensusConfirmed.forEach(tccInfo -> {
-            trustChainConfirmationCluster.remove(tccInfo.getHash());
+            TransactionData removedTransactionData = trustChainConfirmationCluster.remove(tccInfo.getHash());
+            if (removedTransactionData != null) {
+                removeNonZeroSpendChainTime(removedTransactionData);
+            }
+            trustChainConfirmationService.removeTransaction(tccInfo.getHash());
             confirmationService.setTccToTrue(tccInfo);
             log.debug("TCC has been reached for transaction {}!!", tccInfo.getHash());
         });
@@ -105,6 +112,10 @@ public class ClusterService implements IClusterService {
         updateParents(transactionData);
 
         addTransactionToTrustChainConfirmationCluster(transactionData);
+        synchronized (nonZeroSpendChainLock) {
+            updateNonZeroSpendChainTime(transactionData);
+        }
+        trustChainConfirmationService.addTransaction(transactionData);
     }
 
     private void updateParents(TransactionData transactionData) {
@@ -139,15 +150,12 @@ public class ClusterService implements IClusterService {
     }
 
     private void removeTransactionFromSources(Hash transactionHash) {
-        try {
-            readWriteLock.writeLock().lock();
-            TransactionData transactionData = sourceMap.remove(transactionHash);
-            if (transactionData != null) {
-                sourceSetsByTrustScore.get(transactionData.getRoundedSenderTrustScore()).remove(transactionHash);
+        synchronized (sourceLock) {
+            Integer roundedSenderTrustScore = sourceMap.remove(transactionHash);
+            if (roundedSenderTrustScore != null) {
+                sourcesByTrustScore.set(roundedSenderTrustScore, sourcesByTrustScore.get(roundedSenderTrustScore).remove(transactionHash));
                 totalSources.decrementAndGet();
             }
-        } finally {
-            readWriteLock.writeLock().unlock();
         }
     }
 
@@ -155,14 +163,12 @@ public class ClusterService implements IClusterService {
         Hash transactionHash = transactionData.getHash();
         trustChainConfirmationCluster.put(transactionHash, transactionData);
 
-        try {
-            readWriteLock.writeLock().lock();
-            if (transactionData.isSource() && sourceMap.put(transactionHash, transactionData) == null) {
-                sourceSetsByTrustScore.get(transactionData.getRoundedSenderTrustScore()).add(transactionHash);
+        synchronized (sourceLock) {
+            int roundedSenderTrustScore = transactionData.getRoundedSenderTrustScore();
+            if (transactionData.isSource() && sourceMap.put(transactionHash, roundedSenderTrustScore) == null) {
+                sourcesByTrustScore.set(roundedSenderTrustScore, sourcesByTrustScore.get(roundedSenderTrustScore).add(transactionHash, transactionData.getAttachmentTime().toEpochMilli()));
                 totalSources.incrementAndGet();
             }
-        } finally {
-            readWriteLock.writeLock().unlock();
         }
 
         log.debug("Added New Transaction with hash:{}", transactionHash);
@@ -170,43 +176,42 @@ public class ClusterService implements IClusterService {
 
     private void removeTransactionFromTrustChainConfirmationCluster(TransactionData transactionData) {
         Hash transactionHash = transactionData.getHash();
-        trustChainConfirmationCluster.remove(transactionData.getHash());
+        TransactionData removedTransactionData = trustChainConfirmationCluster.remove(transactionData.getHash());
+        removeNonZeroSpendChainTime(removedTransactionData != null ? removedTransactionData : transactionData);
+        trustChainConfirmationService.removeTransaction(transactionHash);
 
-        try {
-            readWriteLock.writeLock().lock();
-            if (transactionData.isSource() && sourceMap.remove(transactionHash) != null) {
-                sourceSetsByTrustScore.get(transactionData.getRoundedSenderTrustScore()).remove(transactionHash);
-                totalSources.decrementAndGet();
-            }
-        } finally {
-            readWriteLock.writeLock().unlock();
+        if (transactionData.isSource()) {
+            removeTransactionFromSources(transactionHash);
         }
     }
 
     @Override
     public void selectSources(TransactionData transactionData) {
-        List<Set<Hash>> trustScoreToTransactionMappingSnapshot =
-                Collections.unmodifiableList(sourceSetsByTrustScore);
-        Map<Hash, TransactionData> sourceMapSnapshot = Collections.unmodifiableMap(sourceMap);
-        List<TransactionData> selectedSourcesForAttachment =
+        List<Hash> selectedSourceHashes =
                 sourceSelector.selectSourcesForAttachment(
-                        trustScoreToTransactionMappingSnapshot,
-                        sourceMapSnapshot,
-                        transactionData.getSenderTrustScore(), readWriteLock);
+                        getSourcesByTrustScoreSnapshot(),
+                        transactionData.getSenderTrustScore());
 
-        if (selectedSourcesForAttachment.isEmpty()) {
+        if (selectedSourceHashes.isEmpty()) {
             return;
         }
 
-        transactionData.setLeftParentHash(selectedSourcesForAttachment.get(0).getHash());
-        if (selectedSourcesForAttachment.size() > 1) {
-            transactionData.setRightParentHash(selectedSourcesForAttachment.get(1).getHash());
+        transactionData.setLeftParentHash(selectedSourceHashes.get(0));
+        if (selectedSourceHashes.size() > 1) {
+            transactionData.setRightParentHash(selectedSourceHashes.get(1));
         }
 
-        List<Hash> selectedSourceHashes = selectedSourcesForAttachment.stream().map(TransactionData::getHash).collect(Collectors.toList());
         log.debug("For transaction with hash: {} we found the following sources: {}", transactionData.getHash(), selectedSourceHashes);
     }
 
+    private List<TrustScoreSourcesData> getSourcesByTrustScoreSnapshot() {
+        List<TrustScoreSourcesData> sourcesByTrustScoreSnapshot = new ArrayList<>(sourcesByTrustScore.length());
+        for (int i = 0; i < sourcesByTrustScore.length(); i++) {
+            sourcesByTrustScoreSnapshot.add(sourcesByTrustScore.get(i));
+        }
+        return sourcesByTrustScoreSnapshot;
+    }
+
     @Override
     public long getTotalSources() {
         return totalSources.get();
@@ -218,13 +223,115 @@ public class ClusterService implements IClusterService {
     }
 
     @Override
-    public ConcurrentHashMap<Hash, TransactionData> getCopyTrustChainConfirmationCluster() {
-        return SerializationUtils.clone(trustChainConfirmationCluster);
+    public Map<Hash, Instant> getSourceNonZeroSpendChainTimes() {
+        List<Hash> sourceHashes;
+        synchronized (sourceLock) {
+            sourceHashes = new ArrayList<>(sourceMap.keySet());
+        }
+        Map<Hash, Instant> sourceNonZeroSpendChainTimes = new HashMap<>();
+        synchronized (nonZeroSpendChainLock) {
+            sourceHashes.forEach(sourceHash -> {
+                Long nonZeroSpendChainTime = nonZeroSpendChainTimes.get(sourceHash);
+                if (nonZeroSpendChainTime != null) {
+                    sourceNonZeroSpendChainTimes.put(sourceHash, Instant.ofEpochMilli(nonZeroSpendChainTime));
+                }
+            });
+        }
+        return sourceNonZeroSpendChainTimes;
+    }
+
+    private void initNonZeroSpendChainTimes() {
+        synchronized (nonZeroSpendChainLock) {
+            nonZeroSpendChainTimes.clear();
+            Set<Hash> visitedHashes = new HashSet<>();
+            Deque<TransactionData> stack = new ArrayDeque<>();
+            trustChainConfirmationCluster.values().forEach(transactionData -> {
+                if (visitedHashes.add(transactionData.getHash())) {
+                    stack.push(transactionData);
+                }
+                while (!stack.isEmpty()) {
+                    TransactionData currentTransactionData = stack.peek();
+                    TransactionData unvisitedParent = getUnvisitedClusterParent(currentTransactionData, visitedHashes);
+                    if (unvisitedParent != null) {
+                        visitedHashes.add(unvisitedParent.getHash());
+                        stack.push(unvisitedParent);
+                    } else {
+                        updateNonZeroSpendChainTime(stack.pop());
+                    }
+                }
+            });
+        }
+    }
+
+    private TransactionData getUnvisitedClusterParent(TransactionData transactionData, Set<Hash> visitedHashes) {
+        for (Hash parentHash : Arrays.asList(transactionData.getLeftParentHash(), transactionData.getRightParentHash())) {
+            if (parentHash != null && !visitedHashes.contains(parentHash)) {
+                TransactionData parentTransactionData = trustChainConfirmationCluster.get(parentHash);
+                if (parentTransactionData != null) {
+                    return parentTransactionData;
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean updateNonZeroSpendChainTime(TransactionData transactionData) {
+        Long nonZeroSpendChainTime = null;
+        if (!TransactionType.ZeroSpend.equals(transactionData.getType()) && transactionData.getAttachmentTime() != null) {
+            nonZeroSpendChainTime = transactionData.getAttachmentTime().toEpochMilli();
+        }
+        nonZeroSpendChainTime = getOlderNonZeroSpendChainTime(nonZeroSpendChainTime, transactionData.getLeftParentHash());
+        nonZeroSpendChainTime = getOlderNonZeroSpendChainTime(nonZeroSpendChainTime, transactionData.getRightParentHash());
+        Long previousNonZeroSpendChainTime = nonZeroSpendChainTime != null ?
+                nonZeroSpendChainTimes.put(transactionData.getHash(), nonZeroSpendChainTime) : nonZeroSpendChainTimes.remove(transactionData.getHash());
+        return !Objects.equals(nonZeroSpendChainTime, previousNonZeroSpendChainTime);
+    }
+
+    private Long getOlderNonZeroSpendChainTime(Long nonZeroSpendChainTime, Hash parentHash) {
+        Long parentNonZeroSpendChainTime = parentHash != null ? nonZeroSpendChainTimes.get(parentHash) : null;
+        if (parentNonZeroSpendChainTime == null) {
+            return nonZeroSpendChainTime;
+        }
+        return nonZeroSpendChainTime == null ? parentNonZeroSpendChainTime : Math.min(nonZeroSpendChainTime, parentNonZeroSpendChainTime);
+    }
+
+    private void removeNonZeroSpendChainTime(TransactionData removedTransactionData) {
+        synchronized (nonZeroSpendChainLock) {
+            if (nonZeroSpendChainTimes.remove(removedTransactionData.getHash()) == null) {
+                return;
+            }
+            Deque<TransactionData> transactionsToUpdate = new ArrayDeque<>();
+            addClusterChildren(removedTransactionData, transactionsToUpdate);
+            while (!transactionsToUpdate.isEmpty()) {
+                TransactionData childTransactionData = transactionsToUpdate.poll();
+                if (updateNonZeroSpendChainTime(childTransactionData)) {
+                    addClusterChildren(childTransactionData, transactionsToUpdate);
+                }
+            }
+        }
+    }
+
+    private void addClusterChildren(TransactionData transactionData, Deque<TransactionData> transactionsToUpdate) {
+        transactionData.getChildrenTransactionHashes().forEach(childHash -> {
+            TransactionData childTransactionData = trustChainConfirmationCluster.get(childHash);
+            if (childTransactionData != null) {
+                transactionsToUpdate.add(childTransactionData);
+            }
+        });
     }
 
     @Override
     public ArrayList<HashSet<Hash>> getSourceSetsByTrustScore() {
-        return SerializationUtils.clone(sourceSetsByTrustScore);
+        ArrayList<HashSet<Hash>> sourceSetsByTrustScore = new ArrayList<>(sourcesByTrustScore.length());
+        for (int i = 0; i < sourcesByTrustScore.length(); i++) {
+            TrustScoreSourcesData trustScoreSourcesData = sourcesByTrustScore.get(i);
+            HashSet<Hash> sourceSet = new HashSet<>();
+            for (int j = 0; j < trustScoreSourcesData.size(); j++) {
+                sourceSet.add(trustScoreSourcesData.getSourceHash(j));
+            }
+            sourceSetsByTrustScore.add(sourceSet);
+        }
+        return sourceSetsByTrustScore;
     }
 
 }
\ No newline at end of file
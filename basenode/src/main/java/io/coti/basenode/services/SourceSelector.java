@@ -1,22 +1,16 @@
 package io.coti.basenode.services;
 
 import io.coti.basenode.data.Hash;
-import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TrustScoreSourcesData;
 import io.coti.basenode.services.interfaces.ISourceSelector;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.SerializationUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.time.Duration;
 import java.time.Instant;
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-
-import static java.util.stream.Collectors.toList;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Slf4j
 @Component
@@ -28,96 +22,92 @@ public class SourceSelector implements ISourceSelector {
     private int maxNeighbourhoodRadius;
 
     @Override
-    public List<TransactionData> selectSourcesForAttachment(
-            List<Set<Hash>> trustScoreToTransactionMapping,
-            Map<Hash, TransactionData> sourceMap, double transactionTrustScore, ReentrantReadWriteLock readWriteLock) {
+    public List<Hash> selectSourcesForAttachment(List<TrustScoreSourcesData> sourcesByTrustScore, double transactionTrustScore) {
 
-        List<TransactionData> neighbourSources = getNeighbourSources(
-                trustScoreToTransactionMapping,
-                sourceMap,
-                transactionTrustScore, readWriteLock);
+        List<TrustScoreSourcesData> neighbourSources = getNeighbourSources(sourcesByTrustScore, transactionTrustScore);
 
         return selectTwoOptimalSources(neighbourSources);
     }
 
-    private List<TransactionData> getNeighbourSources(
-            List<Set<Hash>> trustScoreToSourceListMapping,
-            Map<Hash, TransactionData> sourceMap, double transactionTrustScore, ReentrantReadWriteLock readWriteLock) {
-
-        List<TransactionData> neighbourSources = new LinkedList<>();
-        try {
-            readWriteLock.readLock().lock();
-            int roundedTrustScore = (int) Math.round(transactionTrustScore);
-            int numberOfSources = getNumberOfSources(trustScoreToSourceListMapping);
-            if (numberOfSources > 0) {
-                int lowIndex = roundedTrustScore - 1;
-                int highIndex = roundedTrustScore + 1;
-
-                neighbourSources.addAll(trustScoreToSourceListMapping.get(roundedTrustScore).stream().map(hash -> SerializationUtils.clone(sourceMap.get(hash))).collect(toList()));
-
-                for (int trustScoreDifference = 0; trustScoreDifference < maxNeighbourhoodRadius; trustScoreDifference++) {
-                    if (lowIndex >= 0) {
-                        neighbourSources.addAll(trustScoreToSourceListMapping.get(lowIndex).stream().map(hash -> SerializationUtils.clone(sourceMap.get(hash))).collect(toList()));
-                    }
-                    if (highIndex <= 100) {
-                        neighbourSources.addAll(trustScoreToSourceListMapping.get(highIndex).stream().map(hash -> SerializationUtils.clone(sourceMap.get(hash))).collect(toList()));
-                    }
-                    if ((double) neighbourSources.size() / numberOfSources > (double) minSourcePercentage / 100) {
-                        break;
-                    }
-                    lowIndex--;
-                    highIndex++;
+    private List<TrustScoreSourcesData> getNeighbourSources(List<TrustScoreSourcesData> sourcesByTrustScore, double transactionTrustScore) {
+
+        List<TrustScoreSourcesData> neighbourSources = new ArrayList<>();
+        int roundedTrustScore = (int) Math.round(transactionTrustScore);
+        int numberOfSources = getNumberOfSources(sourcesByTrustScore);
+        if (numberOfSources > 0) {
+            int lowIndex = roundedTrustScore - 1;
+            int highIndex = roundedTrustScore + 1;
+
+            neighbourSources.add(sourcesByTrustScore.get(roundedTrustScore));
+            int numberOfNeighbourSources = sourcesByTrustScore.get(roundedTrustScore).size();
+
+            for (int trustScoreDifference = 0; trustScoreDifference < maxNeighbourhoodRadius; trustScoreDifference++) {
+                if (lowIndex >= 0) {
+                    neighbourSources.add(sourcesByTrustScore.get(lowIndex));
+                    numberOfNeighbourSources += sourcesByTrustScore.get(lowIndex).size();
+                }
+                if (highIndex <= 100) {
+                    neighbourSources.add(sourcesByTrustScore.get(highIndex));
+                    numberOfNeighbourSources += sourcesByTrustScore.get(highIndex).size();
+                }
+                if ((double) numberOfNeighbourSources / numberOfSources > (double) minSourcePercentage / 100) {
+                    break;
                 }
+                lowIndex--;
+                highIndex++;
             }
-            return neighbourSources;
-        } finally {
-            readWriteLock.readLock().unlock();
         }
+        return neighbourSources;
     }
 
-    private int getNumberOfSources(List<Set<Hash>> trustScoreToSourceListMapping) {
+    private int getNumberOfSources(List<TrustScoreSourcesData> sourcesByTrustScore) {
         int numberOfSources = 0;
-        for (Set<Hash> hashes : trustScoreToSourceListMapping) {
-            if (hashes != null) {
-                numberOfSources += hashes.size();
+        for (TrustScoreSourcesData trustScoreSourcesData : sourcesByTrustScore) {
+            if (trustScoreSourcesData != null) {
+                numberOfSources += trustScoreSourcesData.size();
             }
         }
         return numberOfSources;
     }
 
-    private List<TransactionData> selectTwoOptimalSources(List<TransactionData> transactions) {
-
-        Instant now = Instant.now();
-        List<TransactionData> olderSources =
-                transactions.stream().
-                        filter(s -> !s.getAttachmentTime().isAfter(now)).collect(toList());
+    private List<Hash> selectTwoOptimalSources(List<TrustScoreSourcesData> neighbourSources) {
+
+        long now = Instant.now().toEpochMilli();
+        int[] olderSourcesCounts = new int[neighbourSources.size()];
+        long[] totalWeights = new long[neighbourSources.size()];
+        int numberOfOlderSources = 0;
+        long totalWeight = 0;
+        for (int i = 0; i < neighbourSources.size(); i++) {
+            olderSourcesCounts[i] = neighbourSources.get(i).getOlderSourcesCount(now);
+            totalWeights[i] = neighbourSources.get(i).getTotalWeight(olderSourcesCounts[i], now);
+            numberOfOlderSources += olderSourcesCounts[i];
+            totalWeight += totalWeights[i];
+        }
 
-        if (olderSources.size() <= 2) {
+        if (numberOfOlderSources <= 2 || totalWeight == 0) {
+            List<Hash> olderSources = new ArrayList<>();
+            for (int i = 0; i < neighbourSources.size() && olderSources.size() < 2; i++) {
+                for (int j = 0; j < olderSourcesCounts[i] && olderSources.size() < 2; j++) {
+                    olderSources.add(neighbourSources.get(i).getSourceHash(j));
+                }
+            }
             return olderSources;
         }
 
-        // Calculate total timestamp differences from the transaction's timestamp
-        long totalWeight =
-                olderSources.stream().
-                        map(s -> Duration.between(s.getAttachmentTime(), now).toMillis()).mapToLong(Long::longValue).sum();
-
         // Now choose sources, randomly weighted by timestamp difference ("older" transactions have a bigger chance to be selected)
-        List<TransactionData> randomWeightedSources = new LinkedList<>();
+        List<Hash> randomWeightedSources = new ArrayList<>();
         while (randomWeightedSources.size() < 2) {
 
-            int randomIndex = -1;
-            double random = Math.random() * totalWeight;
-            for (int i = 0; i < olderSources.size(); ++i) {
-                random -= Duration.between(olderSources.get(i).getAttachmentTime(), now).toMillis();
-                if (random < 0.0d) {
-                    randomIndex = i;
-                    break;
-                }
+            long random = ThreadLocalRandom.current().nextLong(totalWeight);
+            int neighbourIndex = 0;
+            while (random >= totalWeights[neighbourIndex]) {
+                random -= totalWeights[neighbourIndex];
+                neighbourIndex++;
             }
 
-            TransactionData randomSource = olderSources.get(randomIndex);
+            Hash randomSource = neighbourSources.get(neighbourIndex).getSourceHashByWeight(random, olderSourcesCounts[neighbourIndex], now);
 
-            if (randomWeightedSources.isEmpty() || (randomWeightedSources.size() == 1 && randomSource != randomWeightedSources.iterator().next())) {
+            if (randomWeightedSources.isEmpty() || !randomSource.equals(randomWeightedSources.get(0))) {
                 randomWeightedSources.add(randomSource);
             }
         }
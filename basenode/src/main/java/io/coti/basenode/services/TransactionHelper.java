@@ -63,6 +63,11 @@ public class TransactionHelper implements ITransactionHelper {
         BigDecimal totalTransactionSum = BigDecimal.ZERO;
         for (BaseTransactionData baseTransactionData :
                 baseTransactions) {
+            if (baseTransactionData.getAmount().stripTrailingZeros().scale() > CURRENCY_SCALE) {
+                log.error("Base transaction {} amount {} has more than {} decimal places", baseTransactionData.getHash(),
+                        baseTransactionData.getAmount().toPlainString(), CURRENCY_SCALE);
+                return false;
+            }
             totalTransactionSum = totalTransactionSum.add(baseTransactionData.getAmount());
         }
         return totalTransactionSum.compareTo(BigDecimal.ZERO) == 0;
@@ -91,34 +96,7 @@ public class TransactionHelper implements ITransactionHelper {
 
     @Override
     public void updateAddressTransactionHistory(TransactionData transactionData) {
-        transactionData.getBaseTransactions().forEach(baseTransactionData -> {
-            AddressTransactionsHistory addressHistory = Optional.ofNullable(addressTransactionsHistories.getByHash(baseTransactionData.getAddressHash()))
-                    .orElse(new AddressTransactionsHistory(baseTransactionData.getAddressHash()));
-
-            if (!addressHistory.addTransactionHashToHistory(transactionData.getHash())) {
-                log.debug("Transaction {} is already in history of address {}", transactionData.getHash(), baseTransactionData.getAddressHash());
-            }
-            addressTransactionsHistories.put(addressHistory);
-        });
-    }
-
-    public void updateAddressTransactionHistory(Map<Hash, AddressTransactionsHistory> addressToTransactionsHistoryMap, TransactionData transactionData) {
-
-        transactionData.getBaseTransactions().forEach(baseTransactionData -> {
-            AddressTransactionsHistory addressHistory;
-            if (!addressToTransactionsHistoryMap.containsKey(baseTransactionData.getAddressHash())) {
-                addressHistory = addressTransactionsHistories.getByHash(baseTransactionData.getAddressHash());
-                if (addressHistory == null) {
-                    addressHistory = new AddressTransactionsHistory(baseTransactionData.getAddressHash());
-                }
-            } else {
-                addressHistory = addressToTransactionsHistoryMap.get(baseTransactionData.getAddressHash());
-            }
-            if (!addressHistory.addTransactionHashToHistory(transactionData.getHash())) {
-                log.debug("Transaction {} is already in history of address {}", transactionData.getHash(), baseTransactionData.getAddressHash());
-            }
-            addressToTransactionsHistoryMap.put(baseTransactionData.getAddressHash(), addressHistory);
-        });
+        addressTransactionsHistories.addTransaction(transactionData);
     }
 
     public boolean validateTransactionCrypto(TransactionData transactionData) {
@@ -1,19 +1,26 @@
 package io.coti.basenode.services;
 
+import io.coti.basenode.communication.FramedRecordReader;
+import io.coti.basenode.communication.FramedRecordWriter;
 import io.coti.basenode.communication.JacksonSerializer;
 import io.coti.basenode.data.*;
 import io.coti.basenode.exceptions.TransactionSyncException;
-import io.coti.basenode.model.AddressTransactionsHistories;
 import io.coti.basenode.services.interfaces.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -23,7 +30,14 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
 
     private static final String RECOVERY_NODE_GET_BATCH_ENDPOINT = "/transaction_batch";
     private static final String STARTING_INDEX_URL_PARAM_ENDPOINT = "?starting_index=";
-    private static final long MAXIMUM_BUFFER_SIZE = 300000;
+    private static final String FRAMED_URL_PARAM_ENDPOINT = "&framed=true";
+    private static final String COMPRESSED_URL_PARAM_ENDPOINT = "&compressed=";
+    private static final int MAXIMUM_RECORD_SIZE = 10 * 1024 * 1024;
+    private static final int MAXIMUM_LEGACY_BUFFER_SIZE = 300000;
+    @Value("${transaction.sync.compression:true}")
+    private boolean compressedTransactionBatch;
+    @Value("${transaction.sync.queue.size:10000}")
+    private int missingTransactionsQueueSize;
     @Autowired
     private ITransactionHelper transactionHelper;
     @Autowired
@@ -33,8 +47,6 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
     @Autowired
     private INetworkService networkService;
     @Autowired
-    private AddressTransactionsHistories addressTransactionsHistories;
-    @Autowired
     private JacksonSerializer jacksonSerializer;
     @Autowired
     private RestTemplate restTemplate;
@@ -44,7 +56,7 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
     public synchronized void requestMissingTransactions(long firstMissingTransactionIndex) {
         try {
             log.info("Starting to get missing transactions");
-            List<TransactionData> missingTransactions = new ArrayList<>();
+            BlockingQueue<TransactionData> missingTransactions = new ArrayBlockingQueue<>(missingTransactionsQueueSize);
             Set<Hash> trustChainUnconfirmedExistingTransactionHashes = clusterService.getTrustChainConfirmationTransactionHashes();
             AtomicLong completedMissingTransactionNumber = new AtomicLong(0);
             AtomicLong receivedMissingTransactionNumber = new AtomicLong(0);
@@ -53,12 +65,15 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
             Thread monitorMissingTransactionThread = transactionService.monitorTransactionThread("missing", completedMissingTransactionNumber, receivedMissingTransactionNumber, "Sync Txs Monitor");
             Thread insertMissingTransactionThread = insertMissingTransactionThread(missingTransactions, trustChainUnconfirmedExistingTransactionHashes, completedMissingTransactionNumber, monitorMissingTransactionThread, finishedToReceive, finishedToInsert);
             ResponseExtractor<Void> responseExtractor = getResponseExtractorForMissingTransactionChunks(missingTransactions, receivedMissingTransactionNumber, insertMissingTransactionThread);
-            restTemplate.execute(networkService.getRecoveryServerAddress() + RECOVERY_NODE_GET_BATCH_ENDPOINT
-                    + STARTING_INDEX_URL_PARAM_ENDPOINT + firstMissingTransactionIndex, HttpMethod.GET, null, responseExtractor);
+            try {
+                restTemplate.execute(networkService.getRecoveryServerAddress() + RECOVERY_NODE_GET_BATCH_ENDPOINT
+                        + STARTING_INDEX_URL_PARAM_ENDPOINT + firstMissingTransactionIndex + FRAMED_URL_PARAM_ENDPOINT + COMPRESSED_URL_PARAM_ENDPOINT + compressedTransactionBatch, HttpMethod.GET, null, responseExtractor);
+            } finally {
+                finishedToReceive.set(true);
+            }
             if (insertMissingTransactionThread.isAlive()) {
                 log.info("Received all {} missing transactions from recovery server", receivedMissingTransactionNumber);
                 synchronized (finishLock) {
-                    finishedToReceive.set(true);
                     while (!finishedToInsert.get()) {
                         finishLock.wait(1000);
                     }
@@ -67,49 +82,95 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
             log.info("Finished to get missing transactions");
         } catch (TransactionSyncException e) {
             throw new TransactionSyncException("Error at missing transactions from recovery Node.\n" + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionSyncException("Interrupted at missing transactions from recovery Node", e);
         } catch (Exception e) {
             throw new TransactionSyncException("Error at missing transactions from recovery Node", e);
         }
 
     }
 
-    private ResponseExtractor<Void> getResponseExtractorForMissingTransactionChunks(List<TransactionData> missingTransactions, AtomicLong receivedMissingTransactionNumber, Thread insertMissingTransactionThread) {
+    private ResponseExtractor<Void> getResponseExtractorForMissingTransactionChunks(BlockingQueue<TransactionData> missingTransactions, AtomicLong receivedMissingTransactionNumber, Thread insertMissingTransactionThread) {
         return response -> {
-            byte[] buf = new byte[Math.toIntExact(MAXIMUM_BUFFER_SIZE)];
-            int offset = 0;
-            int n;
-            while ((n = response.getBody().read(buf, offset, buf.length - offset)) > 0) {
-                try {
-                    TransactionData missingTransaction = (TransactionData) jacksonSerializer.deserialize(buf);
-                    if (missingTransaction != null) {
-                        missingTransactions.add(missingTransaction);
-                        receivedMissingTransactionNumber.incrementAndGet();
-                        if (!insertMissingTransactionThread.isAlive()) {
-                            missingTransactionExecutorMap = new EnumMap<>(InitializationTransactionHandlerType.class);
-                            EnumSet.allOf(InitializationTransactionHandlerType.class).forEach(initializationTransactionHandlerType -> missingTransactionExecutorMap.put(initializationTransactionHandlerType, new ExecutorData()));
-                            insertMissingTransactionThread.start();
-                        }
-                        Arrays.fill(buf, 0, offset + n, (byte) 0);
-                        offset = 0;
-                    } else {
-                        offset += n;
-                    }
-
-                } catch (Exception e) {
-                    throw new TransactionSyncException("Error at getting chunks", e);
+            try {
+                if (isFramedResponse(response)) {
+                    boolean compressed = Boolean.parseBoolean(response.getHeaders().getFirst(FramedRecordWriter.COMPRESSED_HEADER));
+                    readFramedMissingTransactions(response.getBody(), compressed, missingTransactions, receivedMissingTransactionNumber, insertMissingTransactionThread);
+                } else {
+                    log.warn("Recovery server did not acknowledge framed transaction batch, reading legacy format");
+                    readLegacyMissingTransactions(response.getBody(), missingTransactions, receivedMissingTransactionNumber, insertMissingTransactionThread);
                 }
+            } catch (TransactionSyncException e) {
+                throw e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransactionSyncException("Interrupted at getting chunks", e);
+            } catch (Exception e) {
+                throw new TransactionSyncException("Error at getting chunks", e);
             }
             return null;
         };
     }
 
-    private Thread insertMissingTransactionThread(List<TransactionData> missingTransactions, Set<Hash> trustChainUnconfirmedExistingTransactionHashes, AtomicLong completedMissingTransactionNumber, Thread monitorMissingTransactionThread, final AtomicBoolean finishedToReceive, final AtomicBoolean finishedToInsert) {
+    private boolean isFramedResponse(ClientHttpResponse response) {
+        return Boolean.parseBoolean(response.getHeaders().getFirst(FramedRecordWriter.FRAMED_HEADER));
+    }
+
+    private void readFramedMissingTransactions(InputStream inputStream, boolean compressed, BlockingQueue<TransactionData> missingTransactions, AtomicLong receivedMissingTransactionNumber,
+                                               Thread insertMissingTransactionThread) throws IOException, InterruptedException {
+        FramedRecordReader reader = new FramedRecordReader(inputStream, compressed, MAXIMUM_RECORD_SIZE);
+        byte[] record;
+        while ((record = reader.read()) != null) {
+            TransactionData missingTransaction = (TransactionData) jacksonSerializer.deserialize(record);
+            if (missingTransaction == null) {
+                throw new TransactionSyncException("Invalid missing transaction record");
+            }
+            addMissingTransaction(missingTransactions, missingTransaction, receivedMissingTransactionNumber, insertMissingTransactionThread);
+        }
+    }
+
+    private void readLegacyMissingTransactions(InputStream inputStream, BlockingQueue<TransactionData> missingTransactions, AtomicLong receivedMissingTransactionNumber,
+                                               Thread insertMissingTransactionThread) throws IOException, InterruptedException {
+        byte[] buf = new byte[MAXIMUM_LEGACY_BUFFER_SIZE];
+        int offset = 0;
+        int n;
+        while ((n = inputStream.read(buf, offset, buf.length - offset)) > 0) {
+            TransactionData missingTransaction = (TransactionData) jacksonSerializer.deserialize(buf);
+            if (missingTransaction != null) {
+                addMissingTransaction(missingTransactions, missingTransaction, receivedMissingTransactionNumber, insertMissingTransactionThread);
+                Arrays.fill(buf, 0, offset + n, (byte) 0);
+                offset = 0;
+            } else {
+                offset += n;
+            }
+        }
+    }
+
+    private void addMissingTransaction(BlockingQueue<TransactionData> missingTransactions, TransactionData missingTransaction, AtomicLong receivedMissingTransactionNumber,
+                                       Thread insertMissingTransactionThread) throws InterruptedException {
+        if (insertMissingTransactionThread.getState() == Thread.State.NEW) {
+            missingTransactionExecutorMap = new EnumMap<>(InitializationTransactionHandlerType.class);
+            EnumSet.allOf(InitializationTransactionHandlerType.class).forEach(initializationTransactionHandlerType -> missingTransactionExecutorMap.put(initializationTransactionHandlerType, new ExecutorData()));
+            insertMissingTransactionThread.start();
+        }
+        putMissingTransaction(missingTransactions, missingTransaction, insertMissingTransactionThread);
+        receivedMissingTransactionNumber.incrementAndGet();
+    }
+
+    private void putMissingTransaction(BlockingQueue<TransactionData> missingTransactions, TransactionData missingTransaction, Thread insertMissingTransactionThread) throws InterruptedException {
+        while (!missingTransactions.offer(missingTransaction, 1, TimeUnit.SECONDS)) {
+            if (!insertMissingTransactionThread.isAlive()) {
+                throw new TransactionSyncException("Missing transactions insertion stopped");
+            }
+        }
+    }
+
+    private Thread insertMissingTransactionThread(BlockingQueue<TransactionData> missingTransactions, Set<Hash> trustChainUnconfirmedExistingTransactionHashes, AtomicLong completedMissingTransactionNumber, Thread monitorMissingTransactionThread, final AtomicBoolean finishedToReceive, final AtomicBoolean finishedToInsert) {
         return new Thread(() -> {
-            Map<Hash, AddressTransactionsHistory> addressToTransactionsHistoryMap = new ConcurrentHashMap<>();
-            int offset = 0;
             monitorMissingTransactionThread.start();
 
-            insertMissingTransactions(missingTransactions, trustChainUnconfirmedExistingTransactionHashes, completedMissingTransactionNumber, finishedToReceive, addressToTransactionsHistoryMap, offset);
+            insertMissingTransactions(missingTransactions, trustChainUnconfirmedExistingTransactionHashes, completedMissingTransactionNumber, finishedToReceive);
             missingTransactionExecutorMap.forEach((initializationTransactionHandlerType, executorData) -> executorData.waitForTermination());
 
             monitorMissingTransactionThread.interrupt();
@@ -127,23 +188,19 @@ public class TransactionSynchronizationService implements ITransactionSynchroniz
 
     }
 
-    private void insertMissingTransactions(List<TransactionData> missingTransactions, Set<Hash> trustChainUnconfirmedExistingTransactionHashes, AtomicLong completedMissingTransactionNumber, AtomicBoolean finishedToReceive, Map<Hash, AddressTransactionsHistory> addressToTransactionsHistoryMap, int offset) {
-        int missingTransactionsSize;
-        int nextOffSet;
-        while ((missingTransactionsSize = missingTransactions.size()) > offset || !finishedToReceive.get()) {
-            if (missingTransactionsSize - 1 > offset || (missingTransactionsSize - 1 == offset && missingTransactions.get(offset) != null)) {
-                nextOffSet = offset + (finishedToReceive.get() ? missingTransactionsSize - offset : 1);
-                for (int i = offset; i < nextOffSet; i++) {
-                    TransactionData transactionData = missingTransactions.get(i);
+    private void insertMissingTransactions(BlockingQueue<TransactionData> missingTransactions, Set<Hash> trustChainUnconfirmedExistingTransactionHashes, AtomicLong completedMissingTransactionNumber, AtomicBoolean finishedToReceive) {
+        try {
+            while (!finishedToReceive.get() || !missingTransactions.isEmpty()) {
+                TransactionData transactionData = missingTransactions.poll(1, TimeUnit.SECONDS);
+                if (transactionData != null) {
                     transactionService.handleMissingTransaction(transactionData, trustChainUnconfirmedExistingTransactionHashes, missingTransactionExecutorMap);
-                    transactionHelper.updateAddressTransactionHistory(addressToTransactionsHistoryMap, transactionData);
-                    missingTransactions.set(i, null);
+                    transactionHelper.updateAddressTransactionHistory(transactionData);
                     completedMissingTransactionNumber.incrementAndGet();
                 }
-                offset = nextOffSet;
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-        addressTransactionsHistories.putBatch(addressToTransactionsHistoryMap);
     }
 
 }
@@ -11,10 +11,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.*;
 import java.util.concurrent.ConcurrentMap;
 
 @Slf4j
@@ -25,52 +22,98 @@ public class TrustChainConfirmationService {
     @Value("${cluster.trust.chain.threshold}")
     private int threshold;
     private ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster;
-    private LinkedList<TransactionData> topologicalOrderedGraph;
+    private final Map<Hash, Double> trustChainTrustScores = new HashMap<>();
+    private final Map<Hash, TccInfo> trustChainConfirmations = new LinkedHashMap<>();
     @Autowired
     private IClusterHelper clusterHelper;
 
-    public void init(ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster) {
-        this.trustChainConfirmationCluster = new ConcurrentHashMap<>(trustChainConfirmationCluster);
-        topologicalOrderedGraph = new LinkedList<>();
-        clusterHelper.sortByTopologicalOrder(trustChainConfirmationCluster, topologicalOrderedGraph);
+    public synchronized void init(ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster) {
+        this.trustChainConfirmationCluster = trustChainConfirmationCluster;
+        trustChainTrustScores.clear();
+        trustChainConfirmations.clear();
+
+        List<TransactionData> topologicalOrderedGraph = clusterHelper.sortByTopologicalOrder(trustChainConfirmationCluster);
+        Map<Hash, TransactionData> topologicalOrderedCluster = new HashMap<>(topologicalOrderedGraph.size() * 2);
+        topologicalOrderedGraph.forEach(transactionData -> topologicalOrderedCluster.put(transactionData.getHash(), transactionData));
+        topologicalOrderedGraph.forEach(transactionData -> {
+            if (trustChainConfirmationCluster.containsKey(transactionData.getHash())) {
+                setTotalTrustScore(transactionData, topologicalOrderedCluster);
+            }
+        });
     }
 
-    private void setTotalTrustScore(TransactionData parent) {
+    private void setTotalTrustScore(TransactionData parent, Map<Hash, TransactionData> topologicalOrderedCluster) {
         double maxChildrenTotalTrustScore = 0;
 
         for (Hash transactionHash : parent.getChildrenTransactionHashes()) {
-            try {
-                TransactionData child = trustChainConfirmationCluster.get(transactionHash);
-                if (child != null && child.getTrustChainTrustScore()
-                        > maxChildrenTotalTrustScore) {
-                    maxChildrenTotalTrustScore = child.getTrustChainTrustScore();
-                }
-            } catch (Exception e) {
-                log.error("in setTotalSumScore: parent: {} child: {}", parent.getHash(), transactionHash);
-                throw e;
+            double childTotalTrustScore = getTrustChainTrustScore(transactionHash, topologicalOrderedCluster.get(transactionHash));
+            if (childTotalTrustScore > maxChildrenTotalTrustScore) {
+                maxChildrenTotalTrustScore = childTotalTrustScore;
             }
         }
 
-        // updating parent trustChainTrustScore
-        if (parent.getTrustChainTrustScore() < parent.getSenderTrustScore() + maxChildrenTotalTrustScore) {
-            parent.setTrustChainTrustScore(parent.getSenderTrustScore() + maxChildrenTotalTrustScore);
+        updateTrustChainTrustScore(parent, parent.getSenderTrustScore() + maxChildrenTotalTrustScore);
+    }
+
+    private double getTrustChainTrustScore(Hash transactionHash, TransactionData transactionData) {
+        Double trustChainTrustScore = trustChainTrustScores.get(transactionHash);
+        if (trustChainTrustScore != null) {
+            return trustChainTrustScore;
         }
+        return transactionData != null ? transactionData.getTrustChainTrustScore() : 0;
+    }
 
+    private boolean updateTrustChainTrustScore(TransactionData transactionData, double trustChainTrustScore) {
+        Hash transactionHash = transactionData.getHash();
+        Double currentTrustChainTrustScore = trustChainTrustScores.get(transactionHash);
+        if (currentTrustChainTrustScore != null && currentTrustChainTrustScore >= trustChainTrustScore) {
+            return false;
+        }
+        trustChainTrustScores.put(transactionHash, trustChainTrustScore);
+
+        if (trustChainTrustScore >= threshold && !transactionData.isTrustChainConsensus()) {
+            Instant trustScoreConsensusTime = Optional.ofNullable(transactionData.getTrustChainConsensusTime()).orElse(Instant.now());
+            trustChainConfirmations.put(transactionHash, new TccInfo(transactionHash, trustChainTrustScore, trustScoreConsensusTime));
+            log.debug("transaction with hash:{} is confirmed with trustScore: {} and totalTrustScore:{} ", transactionHash, transactionData.getSenderTrustScore(), trustChainTrustScore);
+        }
+        return true;
     }
 
-    public List<TccInfo> getTrustChainConfirmedTransactions() {
-        LinkedList<TccInfo> trustChainConfirmations = new LinkedList<>();
-        for (TransactionData transactionData : topologicalOrderedGraph) {
-            setTotalTrustScore(transactionData);
-            if (transactionData.getTrustChainTrustScore() >= threshold && !transactionData.isTrustChainConsensus()) {
-                Instant trustScoreConsensusTime = Optional.ofNullable(transactionData.getTrustChainConsensusTime()).orElse(Instant.now());
-                TccInfo tccInfo = new TccInfo(transactionData.getHash(), transactionData.getTrustChainTrustScore(), trustScoreConsensusTime);
-                trustChainConfirmations.addFirst(tccInfo);
-                log.debug("transaction with hash:{} is confirmed with trustScore: {} and totalTrustScore:{} ", transactionData.getHash(), transactionData.getSenderTrustScore(), transactionData.getTrustChainTrustScore());
-            }
+    public synchronized void addTransaction(TransactionData transactionData) {
+        if (trustChainConfirmationCluster == null) {
+            return;
         }
+        setTotalTrustScore(transactionData, trustChainConfirmationCluster);
+
+        Deque<TransactionData> updatedTransactions = new ArrayDeque<>();
+        updatedTransactions.push(transactionData);
+        while (!updatedTransactions.isEmpty()) {
+            TransactionData child = updatedTransactions.pop();
+            double childTotalTrustScore = trustChainTrustScores.get(child.getHash());
+            propagateToParent(child.getLeftParentHash(), childTotalTrustScore, updatedTransactions);
+            propagateToParent(child.getRightParentHash(), childTotalTrustScore, updatedTransactions);
+        }
+    }
+
+    private void propagateToParent(Hash parentHash, double childTotalTrustScore, Deque<TransactionData> updatedTransactions) {
+        if (parentHash == null) {
+            return;
+        }
+        TransactionData parent = trustChainConfirmationCluster.get(parentHash);
+        if (parent != null && updateTrustChainTrustScore(parent, parent.getSenderTrustScore() + childTotalTrustScore)) {
+            updatedTransactions.push(parent);
+        }
+    }
+
+    public synchronized void removeTransaction(Hash transactionHash) {
+        trustChainTrustScores.remove(transactionHash);
+        trustChainConfirmations.remove(transactionHash);
+    }
 
-        return trustChainConfirmations;
+    public synchronized List<TccInfo> getTrustChainConfirmedTransactions() {
+        List<TccInfo> trustChainConfirmedTransactions = new ArrayList<>(trustChainConfirmations.values());
+        trustChainConfirmations.clear();
+        return trustChainConfirmedTransactions;
     }
 
 }
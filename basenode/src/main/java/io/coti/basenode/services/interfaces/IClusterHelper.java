@@ -3,11 +3,11 @@ package io.coti.basenode.services.interfaces;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 
-import java.util.LinkedList;
-import java.util.concurrent.ConcurrentMap;
+import java.util.List;
+import java.util.Map;
 
 public interface IClusterHelper {
 
-    void sortByTopologicalOrder(ConcurrentMap<Hash, TransactionData> trustChainConfirmationCluster, LinkedList<TransactionData> topologicalOrderedGraph);
+    List<TransactionData> sortByTopologicalOrder(Map<Hash, TransactionData> trustChainConfirmationCluster);
 
 }
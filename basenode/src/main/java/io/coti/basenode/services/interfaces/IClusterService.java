@@ -3,10 +3,11 @@ package io.coti.basenode.services.interfaces;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 public interface IClusterService {
 
@@ -24,7 +25,7 @@ public interface IClusterService {
 
     Set<Hash> getTrustChainConfirmationTransactionHashes();
 
-    ConcurrentHashMap<Hash, TransactionData> getCopyTrustChainConfirmationCluster();
+    Map<Hash, Instant> getSourceNonZeroSpendChainTimes();
 
     ArrayList<HashSet<Hash>> getSourceSetsByTrustScore();
 }
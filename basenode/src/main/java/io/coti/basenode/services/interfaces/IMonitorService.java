@@ -1,8 +1,13 @@
 package io.coti.basenode.services.interfaces;
 
+import io.coti.basenode.http.interfaces.IResponse;
+import org.springframework.http.ResponseEntity;
+
 public interface IMonitorService {
 
     void init();
 
     void lastState();
+
+    ResponseEntity<IResponse> getDatabaseStatistics();
 }
@@ -1,11 +1,22 @@
 package io.coti.basenode.services.interfaces;
 
 
+import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
 
+import java.util.List;
+import java.util.Map;
+
 public interface IPotService {
 
     void init();
 
     boolean validatePot(TransactionData transactionData);
+
+    /**
+     * Verifies the batch on the PoT verification pool.
+     *
+     * @return the PoT validation result per transaction hash, in the order of the batch
+     */
+    Map<Hash, Boolean> validatePot(List<TransactionData> transactions);
 }
@@ -18,8 +18,6 @@ public interface ITransactionHelper {
 
     void updateAddressTransactionHistory(TransactionData transactionData);
 
-    void updateAddressTransactionHistory(Map<Hash, AddressTransactionsHistory> addressToTransactionsHistoryMap, TransactionData transactionData);
-
     boolean validateTransactionCrypto(TransactionData transactionData);
 
     boolean validateTransactionType(TransactionData transactionData);
@@ -19,6 +19,8 @@ public interface ITransactionService {
 
     void getTransactionBatch(long startingIndex, HttpServletResponse response);
 
+    void getFramedTransactionBatch(long startingIndex, boolean compressed, HttpServletResponse response);
+
     void getTransactionBatch(long startingIndex, FluxSink<byte[]> sink);
 
     ResponseEntity<IResponse> getNoneIndexedTransactions();
@@ -27,6 +29,11 @@ public interface ITransactionService {
 
     void handlePropagatedTransaction(TransactionData transactionData);
 
+    /**
+     * @param potValidationResult PoT result already verified for this transaction, or null to verify it while handling
+     */
+    void handlePropagatedTransaction(TransactionData transactionData, Boolean potValidationResult);
+
     void handleMissingTransaction(TransactionData transactionData, Set<Hash> trustChainUnconfirmedExistingTransactionHashes, EnumMap<InitializationTransactionHandlerType, ExecutorData> missingTransactionExecutorMap);
 
     Thread monitorTransactionThread(String type, AtomicLong transactionNumber, AtomicLong receivedTransactionNumber, String monitorThreadName);
@@ -34,4 +41,6 @@ public interface ITransactionService {
     int totalPostponedTransactions();
 
     void addToExplorerIndexes(TransactionData transactionData);
+
+    void addExistingTransactionToExplorerIndexes(TransactionData transactionData);
 }
@@ -7,6 +7,8 @@ import io.coti.basenode.data.interfaces.ITrustScoreNodeValidatable;
 import io.coti.basenode.http.GetHistoryAddressesResponse;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 
 public interface IValidationService {
 
@@ -18,6 +20,8 @@ public interface IValidationService {
 
     boolean validatePropagatedTransactionDataIntegrity(TransactionData transactionData);
 
+    boolean validatePropagatedTransactionDataIntegrity(TransactionData transactionData, Boolean potValidationResult);
+
     boolean validateTransactionNodeSignature(TransactionData transactionData);
 
     boolean validateTransactionSenderSignature(TransactionData transactionData);
@@ -34,6 +38,8 @@ public interface IValidationService {
 
     boolean validatePot(TransactionData transactionData);
 
+    Map<Hash, Boolean> validatePot(List<TransactionData> transactions);
+
     boolean validateTransactionTimeFields(TransactionData transactionData);
 
     boolean validateAmountField(BigDecimal amount);
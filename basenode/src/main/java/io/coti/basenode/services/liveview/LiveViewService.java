@@ -5,28 +5,39 @@ import io.coti.basenode.services.liveview.data.GraphData;
 import io.coti.basenode.services.liveview.data.GraphTransactionData;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Vector;
+import java.util.Map;
 
 @Slf4j
 @Service
 public class LiveViewService {
 
+    private static final String LIVE_TRANSACTIONS_TOPIC = "/topic/live-transactions";
     @Autowired
     private SimpMessagingTemplate messagingSender;
-
-    private GraphData graphData;
-
-    public LiveViewService() {
-        this.graphData = new GraphData();
-        this.graphData.setTransactions(new Vector<>());
-    }
+    @Value("${live.view.max.transactions:10000}")
+    private int maxTransactions;
+    @Value("${live.view.window.seconds:3600}")
+    private long windowSeconds;
+    private final Map<String, GraphTransactionData> graphTransactions = new LinkedHashMap<>();
+    private Map<String, GraphTransactionData> pendingGraphTransactions = new LinkedHashMap<>();
 
     public GraphData getFullGraph() {
+        GraphData graphData = new GraphData();
+        synchronized (graphTransactions) {
+            evictExpiredTransactions();
+            graphData.setTransactions(new ArrayList<>(graphTransactions.values()));
+        }
         return graphData;
     }
 
@@ -49,9 +60,7 @@ public class LiveViewService {
             graphTransactionData.setRightParent(transactionData.getRightParentHash().toHexString());
         }
         setGraphTransactionDataDatesFromTransactionData(transactionData, graphTransactionData);
-        graphData.getTransactions().add(graphTransactionData);
-
-        sendTransaction(graphTransactionData);
+        putTransaction(graphTransactionData);
     }
 
     public void updateTransactionStatus(TransactionData transactionData, int newStatus) {
@@ -60,14 +69,7 @@ public class LiveViewService {
         graphTransactionData.setTrustScore(transactionData.getSenderTrustScore());
         graphTransactionData.setStatus(newStatus);
         setGraphTransactionDataDatesFromTransactionData(transactionData, graphTransactionData);
-        List<GraphTransactionData> transactions = graphData.getTransactions();
-        int index = transactions.indexOf(graphTransactionData);
-        if (index == -1) {
-            transactions.add(graphTransactionData);
-        } else {
-            transactions.set(index, graphTransactionData);
-        }
-        sendTransaction(graphTransactionData);
+        putTransaction(graphTransactionData);
     }
 
     public void setGraphTransactionDataDatesFromTransactionData(TransactionData transactionData, GraphTransactionData graphTransactionData) {
@@ -78,7 +80,44 @@ public class LiveViewService {
         }
     }
 
-    private void sendTransaction(GraphTransactionData graphTransactionData) {
-        messagingSender.convertAndSend("/topic/live-transactions", graphTransactionData);
+    private void putTransaction(GraphTransactionData graphTransactionData) {
+        synchronized (graphTransactions) {
+            graphTransactions.put(graphTransactionData.getId(), graphTransactionData);
+            Iterator<GraphTransactionData> iterator = graphTransactions.values().iterator();
+            while (graphTransactions.size() > maxTransactions && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+            pendingGraphTransactions.put(graphTransactionData.getId(), graphTransactionData);
+        }
+    }
+
+    private void evictExpiredTransactions() {
+        if (windowSeconds <= 0) {
+            return;
+        }
+        Instant windowStart = Instant.now().minusSeconds(windowSeconds);
+        Iterator<GraphTransactionData> iterator = graphTransactions.values().iterator();
+        while (iterator.hasNext()) {
+            Instant attachmentTime = iterator.next().getAttachmentTime();
+            if (attachmentTime == null || !attachmentTime.isBefore(windowStart)) {
+                break;
+            }
+            iterator.remove();
+        }
+    }
+
+    @Scheduled(initialDelay = 1000, fixedDelayString = "${live.view.send.interval:500}")
+    public void sendPendingTransactions() {
+        List<GraphTransactionData> graphTransactionDataList;
+        synchronized (graphTransactions) {
+            evictExpiredTransactions();
+            if (pendingGraphTransactions.isEmpty()) {
+                return;
+            }
+            graphTransactionDataList = new ArrayList<>(pendingGraphTransactions.values());
+            pendingGraphTransactions = new LinkedHashMap<>();
+        }
+        messagingSender.convertAndSend(LIVE_TRANSACTIONS_TOPIC, graphTransactionDataList);
     }
-}
\ No newline at end of file
+}
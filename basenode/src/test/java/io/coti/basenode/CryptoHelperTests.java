@@ -110,6 +110,21 @@ public class CryptoHelperTests {
     }
 
 
+    @Test
+    public void verifySignatureByHexPublicKeyTest() throws InvalidKeySpecException, NoSuchAlgorithmException {
+
+        byte[] dataToVerify = new byte[]{0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+        String publicKey = "989fc9a6b0829cd4aa83e3d7f2d24322dc6c08db80fcef988f8fba226de8f28f5a624afacb6ac328547c94f4b3407e6012f81ebcd59b1b1883037198f3088770";
+        String sHex = "c3a122626df0b7c9d731a8eb9cd42abce7fdd477c591d9f6569be8561ad27639";
+        for (int i = 0; i < 2; i++) {
+            Assert.assertTrue(CryptoHelper.verifyByPublicKey(dataToVerify, "0af936b4ddb6e33269f63d52586ffa3ce7d9358a2fed7fde9536e19a70723860", sHex, publicKey));
+            Assert.assertTrue(CryptoHelper.verifyByPublicKey(dataToVerify, "af936b4ddb6e33269f63d52586ffa3ce7d9358a2fed7fde9536e19a70723860", sHex, publicKey));
+            Assert.assertFalse(CryptoHelper.verifyByPublicKey(dataToVerify, "0af936b4ddb6e33269f63d52586ffa3ce7d9358a2fed7fde9536e19a70723849", sHex, publicKey));
+        }
+    }
+
+
     @Test
     public void extractPublicKeyFromPrivateKey() {
 
@@ -0,0 +1,69 @@
+package io.coti.basenode.communication;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.coti.basenode.data.DspConsensusResult;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionDspVote;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import io.coti.basenode.utils.HashTestUtils;
+import io.coti.basenode.utils.TransactionTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class BinarySerializerTest {
+
+    private final BinarySerializer binarySerializer = new BinarySerializer();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    public void testTransactionData() throws JsonProcessingException {
+        assertRoundTrip(TransactionTestUtils.generateRandomTransaction());
+    }
+
+    @Test
+    public void testDspConsensusResult() throws JsonProcessingException {
+        assertRoundTrip(TransactionTestUtils.generateRandomTransaction().getDspConsensusResult());
+    }
+
+    @Test
+    public void testTransactionDspVote() throws JsonProcessingException {
+        TransactionDspVote transactionDspVote = new TransactionDspVote(HashTestUtils.generateRandomHash(), true);
+        transactionDspVote.setVoterDspHash(HashTestUtils.generateRandomHash());
+        transactionDspVote.setSignature(TransactionTestUtils.generateRandomSignature());
+
+        assertRoundTrip(transactionDspVote);
+        Assert.assertEquals(objectMapper.writeValueAsString(transactionDspVote),
+                objectMapper.writeValueAsString(binarySerializer.deserialize(binarySerializer.serializeAsString(transactionDspVote))));
+    }
+
+    @Test
+    public void testNonBinaryMessage() {
+        byte[] jsonMessage = "{\"hash\":\"00\"}".getBytes(StandardCharsets.UTF_8);
+
+        Assert.assertFalse(BinarySerializer.isBinary(jsonMessage));
+        Assert.assertNull(binarySerializer.deserialize(jsonMessage));
+    }
+
+    @Test
+    public void testSmallerThanJson() throws JsonProcessingException {
+        TransactionData transactionData = TransactionTestUtils.generateRandomTransaction();
+        DspConsensusResult dspConsensusResult = transactionData.getDspConsensusResult();
+
+        Assert.assertTrue(binarySerializer.serialize(transactionData).length < objectMapper.writeValueAsBytes(transactionData).length);
+        Assert.assertTrue(binarySerializer.serialize(dspConsensusResult).length < objectMapper.writeValueAsBytes(dspConsensusResult).length);
+    }
+
+    private void assertRoundTrip(IPropagatable entity) throws JsonProcessingException {
+        byte[] serialized = binarySerializer.serialize(entity);
+        IPropagatable deserialized = binarySerializer.deserialize(serialized);
+
+        Assert.assertTrue(BinarySerializer.isBinary(serialized));
+        Assert.assertEquals(entity.getClass(), deserialized.getClass());
+        Assert.assertEquals(entity.getHash(), deserialized.getHash());
+        Assert.assertEquals(objectMapper.writeValueAsString(entity), objectMapper.writeValueAsString(deserialized));
+    }
+}
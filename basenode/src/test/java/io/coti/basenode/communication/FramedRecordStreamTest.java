@@ -0,0 +1,65 @@
+package io.coti.basenode.communication;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class FramedRecordStreamTest {
+
+    private static final int FLUSH_SIZE = 1024;
+    private static final int MAXIMUM_RECORD_SIZE = 65536;
+
+    @Test
+    public void testReadWrite() throws IOException {
+        assertRoundTrip(false);
+    }
+
+    @Test
+    public void testReadWriteCompressed() throws IOException {
+        assertRoundTrip(true);
+    }
+
+    @Test(expected = EOFException.class)
+    public void testTruncatedStream() throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        FramedRecordWriter writer = new FramedRecordWriter(byteArrayOutputStream, false, FLUSH_SIZE);
+        writer.write(generateRandomRecord());
+        writer.flush();
+
+        FramedRecordReader reader = new FramedRecordReader(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()), false, MAXIMUM_RECORD_SIZE);
+        reader.read();
+        reader.read();
+    }
+
+    private void assertRoundTrip(boolean compressed) throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        FramedRecordWriter writer = new FramedRecordWriter(byteArrayOutputStream, compressed, FLUSH_SIZE);
+        for (int i = 0; i < 100; i++) {
+            byte[] record = generateRandomRecord();
+            records.add(record);
+            writer.write(record);
+        }
+        writer.finish();
+
+        FramedRecordReader reader = new FramedRecordReader(new ByteArrayInputStream(byteArrayOutputStream.toByteArray()), compressed, MAXIMUM_RECORD_SIZE);
+        for (byte[] record : records) {
+            Assert.assertTrue(Arrays.equals(record, reader.read()));
+        }
+        Assert.assertNull(reader.read());
+    }
+
+    private byte[] generateRandomRecord() {
+        byte[] record = new byte[ThreadLocalRandom.current().nextInt(1, 4 * FLUSH_SIZE)];
+        ThreadLocalRandom.current().nextBytes(record);
+        return record;
+    }
+}
@@ -0,0 +1,84 @@
+package io.coti.basenode.communication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.NetworkNodeData;
+import io.coti.basenode.data.NetworkType;
+import io.coti.basenode.data.NodeType;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.services.interfaces.INetworkService;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+
+public class PropagationSerializerTest {
+
+    private final PropagationSerializer propagationSerializer = new PropagationSerializer();
+    private final INetworkService networkService = Mockito.mock(INetworkService.class);
+    private final Map<Hash, NetworkNodeData> dspNodes = new HashMap<>();
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(propagationSerializer, "networkService", networkService);
+        ReflectionTestUtils.setField(propagationSerializer, "binarySerialization", true);
+        when(networkService.getMapFromFactory(NodeType.DspNode)).thenReturn(dspNodes);
+    }
+
+    @Test
+    public void isBinarySupported_allNodesAdvertiseBinary_true() {
+        addDspNode("7010", true);
+        addDspNode("7020", true);
+
+        Assert.assertTrue(propagationSerializer.isBinarySupported(NodeType.DspNode));
+        Assert.assertTrue(propagationSerializer.isBinarySupported(NodeType.DspNode, "tcp://localhost:7010"));
+    }
+
+    @Test
+    public void isBinarySupported_nodeWithoutBinary_onlyJsonToNodeType() {
+        addDspNode("7010", true);
+        addDspNode("7020", false);
+
+        Assert.assertFalse(propagationSerializer.isBinarySupported(NodeType.DspNode));
+        Assert.assertTrue(propagationSerializer.isBinarySupported(NodeType.DspNode, "tcp://localhost:7010"));
+        Assert.assertFalse(propagationSerializer.isBinarySupported(NodeType.DspNode, "tcp://localhost:7020"));
+    }
+
+    @Test
+    public void isBinarySupported_sameVersionWithoutBinaryFlag_false() {
+        NetworkNodeData networkNodeData = addDspNode("7010", false);
+        networkNodeData.setVersion("1.5.0-SNAPSHOT");
+
+        Assert.assertFalse(propagationSerializer.isBinarySupported(NodeType.DspNode));
+    }
+
+    @Test
+    public void isBinarySupported_binaryTurnedOff_false() {
+        ReflectionTestUtils.setField(propagationSerializer, "binarySerialization", false);
+
+        Assert.assertFalse(propagationSerializer.isBinarySupported(TransactionData.class));
+    }
+
+    @Test
+    public void binaryPropagationSupported_missingInNodeJson_false() throws IOException {
+        NetworkNodeData networkNodeData = new ObjectMapper().readValue("{\"nodeType\":\"DspNode\",\"version\":\"1.5.0-SNAPSHOT\",\"address\":\"localhost\"}", NetworkNodeData.class);
+
+        Assert.assertFalse(networkNodeData.isBinaryPropagationSupported());
+    }
+
+    private NetworkNodeData addDspNode(String receivingPort, boolean binaryPropagationSupported) {
+        NetworkNodeData networkNodeData = new NetworkNodeData(NodeType.DspNode, "1.5.0-SNAPSHOT", "localhost", "8060", HashTestUtils.generateRandomHash(), NetworkType.TestNet);
+        networkNodeData.setReceivingPort(receivingPort);
+        networkNodeData.setBinaryPropagationSupported(binaryPropagationSupported);
+        dspNodes.put(networkNodeData.getHash(), networkNodeData);
+        return networkNodeData;
+    }
+}
@@ -0,0 +1,76 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.communication.interfaces.ISerializer;
+import io.coti.basenode.data.DspConsensusResult;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import io.coti.basenode.utils.TransactionTestUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+    @Param({"json", "binary"})
+    private String serializerType;
+    private ISerializer serializer;
+    private TransactionData transactionData;
+    private DspConsensusResult dspConsensusResult;
+    private byte[] serializedTransactionData;
+    private byte[] serializedDspConsensusResult;
+
+    @Setup
+    public void setup() {
+        if ("binary".equals(serializerType)) {
+            serializer = new BinarySerializer();
+        } else {
+            JacksonSerializer jacksonSerializer = new JacksonSerializer();
+            ReflectionTestUtils.invokeMethod(jacksonSerializer, "init");
+            serializer = jacksonSerializer;
+        }
+        transactionData = TransactionTestUtils.generateRandomTransaction();
+        dspConsensusResult = transactionData.getDspConsensusResult();
+        serializedTransactionData = serializer.serialize(transactionData);
+        serializedDspConsensusResult = serializer.serialize(dspConsensusResult);
+        log.info("{} serializer sizes: transaction {} bytes, dsp consensus result {} bytes",
+                serializerType, serializedTransactionData.length, serializedDspConsensusResult.length);
+    }
+
+    @Benchmark
+    public byte[] serializeTransaction() {
+        return serializer.serialize(transactionData);
+    }
+
+    @Benchmark
+    public IPropagatable deserializeTransaction() {
+        return serializer.deserialize(serializedTransactionData);
+    }
+
+    @Benchmark
+    public byte[] serializeDspConsensusResult() {
+        return serializer.serialize(dspConsensusResult);
+    }
+
+    @Benchmark
+    public IPropagatable deserializeDspConsensusResult() {
+        return serializer.deserialize(serializedDspConsensusResult);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(SerializerBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,64 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.communication.data.PublisherMessageData;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.*;
+
+public class ZeroMQPropagationPublisherTest {
+
+    private static final byte[] CHANNEL = "channel".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FIRST_MESSAGE = {1};
+    private static final byte[] FAILING_MESSAGE = {2};
+    private static final byte[] LAST_MESSAGE = {3};
+    private ZeroMQPropagationPublisher propagationPublisher;
+    private ZMQ.Socket propagator;
+
+    @Before
+    public void init() {
+        propagationPublisher = new ZeroMQPropagationPublisher();
+        propagator = mock(ZMQ.Socket.class);
+        ReflectionTestUtils.setField(propagationPublisher, "propagator", propagator);
+    }
+
+    @Test
+    public void publish_messageFails_restOfBatchPublished() {
+        when(propagator.send(FAILING_MESSAGE)).thenThrow(new ZMQException("send failed", ZMQ.Error.EAGAIN.getCode()));
+
+        ReflectionTestUtils.invokeMethod(propagationPublisher, "publish", generateMessageBatch());
+
+        verify(propagator).send(FIRST_MESSAGE);
+        verify(propagator).send(LAST_MESSAGE);
+        Assert.assertEquals(2, ((AtomicLong) ReflectionTestUtils.getField(propagationPublisher, "publishedEntities")).get());
+    }
+
+    @Test
+    public void publish_contextTerminated_exceptionPropagated() {
+        when(propagator.send(FAILING_MESSAGE)).thenThrow(new ZMQException("context terminated", ZMQ.Error.ETERM.getCode()));
+
+        try {
+            ReflectionTestUtils.invokeMethod(propagationPublisher, "publish", generateMessageBatch());
+            Assert.fail("Context termination was not propagated");
+        } catch (ZMQException e) {
+            Assert.assertEquals(ZMQ.Error.ETERM.getCode(), e.getErrorCode());
+        }
+        verify(propagator, never()).send(LAST_MESSAGE);
+    }
+
+    private List<PublisherMessageData> generateMessageBatch() {
+        return Arrays.asList(new PublisherMessageData(Collections.singletonList(CHANNEL), FIRST_MESSAGE),
+                new PublisherMessageData(Collections.singletonList(CHANNEL), FAILING_MESSAGE),
+                new PublisherMessageData(Collections.singletonList(CHANNEL), LAST_MESSAGE));
+    }
+}
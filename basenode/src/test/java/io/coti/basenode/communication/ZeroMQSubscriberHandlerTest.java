@@ -0,0 +1,63 @@
+package io.coti.basenode.communication;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.services.interfaces.ITransactionHelper;
+import io.coti.basenode.services.interfaces.IValidationService;
+import io.coti.basenode.utils.TransactionTestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class ZeroMQSubscriberHandlerTest {
+
+    private ZeroMQSubscriberHandler subscriberHandler;
+    private ITransactionHelper transactionHelper;
+    private IValidationService validationService;
+
+    @Before
+    public void setUp() {
+        transactionHelper = mock(ITransactionHelper.class);
+        validationService = mock(IValidationService.class);
+        when(validationService.validatePot(anyList())).thenAnswer(invocation -> {
+            Map<Hash, Boolean> potValidationResults = new LinkedHashMap<>();
+            List<TransactionData> transactions = invocation.getArgument(0);
+            transactions.forEach(transactionData -> potValidationResults.put(transactionData.getHash(), true));
+            return potValidationResults;
+        });
+        subscriberHandler = new ZeroMQSubscriberHandler();
+        ReflectionTestUtils.setField(subscriberHandler, "transactionHelper", transactionHelper);
+        ReflectionTestUtils.setField(subscriberHandler, "validationService", validationService);
+    }
+
+    @Test
+    public void preHandle_knownAndDuplicateTransactions_onlyNewTransactionsVerified() {
+        TransactionData newTransaction = TransactionTestUtils.generateRandomTransaction();
+        TransactionData knownTransaction = TransactionTestUtils.generateRandomTransaction();
+        when(transactionHelper.isTransactionHashExists(knownTransaction.getHash())).thenReturn(true);
+
+        Map<Hash, Boolean> potValidationResults = subscriberHandler.preHandle(Arrays.asList(newTransaction, knownTransaction, newTransaction, newTransaction.getDspConsensusResult()));
+
+        ArgumentCaptor<List<TransactionData>> verifiedTransactionsCaptor = ArgumentCaptor.forClass(List.class);
+        verify(validationService).validatePot(verifiedTransactionsCaptor.capture());
+        Assert.assertEquals(Collections.singletonList(newTransaction), verifiedTransactionsCaptor.getValue());
+        Assert.assertEquals(Collections.singletonMap(newTransaction.getHash(), true), potValidationResults);
+    }
+
+    @Test
+    public void preHandle_onlyKnownTransactions_notVerified() {
+        TransactionData knownTransaction = TransactionTestUtils.generateRandomTransaction();
+        when(transactionHelper.isTransactionHashExists(any(Hash.class))).thenReturn(true);
+
+        Assert.assertTrue(subscriberHandler.preHandle(Collections.singletonList(knownTransaction)).isEmpty());
+        verify(validationService, never()).validatePot(anyList());
+    }
+}
@@ -0,0 +1,177 @@
+package io.coti.basenode.communication;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.coti.basenode.communication.data.ZeroMQMessageData;
+import io.coti.basenode.communication.interfaces.ISubscriberHandler;
+import io.coti.basenode.data.DspConsensusResult;
+import io.coti.basenode.data.NodeType;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import io.coti.basenode.utils.TransactionTestUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class ZeroMQSubscriberTest {
+
+    private static final String PUBLISHER_ADDRESS = "tcp://localhost:7001";
+    private static final String DESERIALIZATION_THREAD_PREFIX = ZeroMQSubscriberQueue.TRANSACTION.name() + " SUB-";
+    private ZeroMQSubscriber zeroMQSubscriber;
+    private PropagationSerializer propagationSerializer;
+    private ISubscriberHandler subscriberHandler;
+    private List<IPropagatable> handledMessages;
+    private ListAppender<ILoggingEvent> logAppender;
+
+    @Before
+    public void setUp() {
+        propagationSerializer = mock(PropagationSerializer.class);
+        subscriberHandler = mock(ISubscriberHandler.class);
+        handledMessages = Collections.synchronizedList(new ArrayList<>());
+        when(subscriberHandler.get(TransactionData.class.getSimpleName())).thenReturn(publisherNodeType -> handledMessages::add);
+        when(subscriberHandler.get(DspConsensusResult.class.getSimpleName())).thenReturn(publisherNodeType -> handledMessages::add);
+
+        zeroMQSubscriber = new ZeroMQSubscriber();
+        ReflectionTestUtils.setField(zeroMQSubscriber, "propagationSerializer", propagationSerializer);
+        ReflectionTestUtils.setField(zeroMQSubscriber, "subscriberHandler", subscriberHandler);
+        ReflectionTestUtils.setField(zeroMQSubscriber, "subscriberQueueSize", 1000);
+        ReflectionTestUtils.setField(zeroMQSubscriber, "subscriberTransactionThreads", 4);
+        ReflectionTestUtils.setField(zeroMQSubscriber, "subscriberTransactionBatchSize", 100);
+        EnumMap<NodeType, List<Class<? extends IPropagatable>>> publisherNodeTypeToMessageTypesMap = new EnumMap<>(NodeType.class);
+        publisherNodeTypeToMessageTypesMap.put(NodeType.DspNode, Arrays.asList(TransactionData.class, DspConsensusResult.class));
+        zeroMQSubscriber.setSubscriberNodeType(NodeType.FullNode);
+        zeroMQSubscriber.setPublisherNodeTypeToMessageTypesMap(publisherNodeTypeToMessageTypesMap);
+        Assert.assertNotNull(ReflectionTestUtils.getField(zeroMQSubscriber, "transactionDeserializationExecutor"));
+
+        logAppender = new ListAppender<>();
+        logAppender.start();
+        ((Logger) LoggerFactory.getLogger(ZeroMQSubscriber.class)).addAppender(logAppender);
+    }
+
+    @After
+    public void tearDown() {
+        ((Logger) LoggerFactory.getLogger(ZeroMQSubscriber.class)).detachAppender(logAppender);
+        ((ExecutorService) ReflectionTestUtils.getField(zeroMQSubscriber, "transactionDeserializationExecutor")).shutdownNow();
+    }
+
+    @Test
+    public void handleTransactionMessages_childDeserializedFirst_parentHandledFirst() {
+        TransactionData parentTransaction = TransactionTestUtils.generateRandomTransaction();
+        TransactionData childTransaction = TransactionTestUtils.generateRandomTransaction();
+        childTransaction.setLeftParentHash(parentTransaction.getHash());
+        byte[] parentMessage = new byte[]{1};
+        byte[] childMessage = new byte[]{2};
+        Set<String> deserializationThreads = Collections.synchronizedSet(new HashSet<>());
+        when(propagationSerializer.deserialize(parentMessage)).thenAnswer(invocation -> {
+            deserializationThreads.add(Thread.currentThread().getName());
+            Thread.sleep(200);
+            return parentTransaction;
+        });
+        when(propagationSerializer.deserialize(childMessage)).thenAnswer(invocation -> {
+            deserializationThreads.add(Thread.currentThread().getName());
+            return childTransaction;
+        });
+
+        handleTransactionMessages(Arrays.asList(createMessage(TransactionData.class, parentMessage), createMessage(TransactionData.class, childMessage)));
+
+        Assert.assertEquals(Arrays.asList(parentTransaction, childTransaction), handledMessages);
+        Assert.assertTrue(deserializationThreads.stream().allMatch(threadName -> threadName.startsWith(DESERIALIZATION_THREAD_PREFIX)));
+        assertHandledMessages(2);
+        assertNoErrorsLogged();
+    }
+
+    @Test
+    public void handleTransactionMessages_transactionAndConsensusResult_handledInArrivalOrder() {
+        List<ZeroMQMessageData> messages = new ArrayList<>();
+        List<IPropagatable> expectedMessages = new ArrayList<>();
+        Random random = new Random();
+        for (int i = 0; i < 20; i++) {
+            TransactionData transactionData = TransactionTestUtils.generateRandomTransaction();
+            byte[] transactionMessage = new byte[]{(byte) (2 * i)};
+            byte[] consensusResultMessage = new byte[]{(byte) (2 * i + 1)};
+            int delay = random.nextInt(20);
+            when(propagationSerializer.deserialize(transactionMessage)).thenAnswer(invocation -> {
+                Thread.sleep(delay);
+                return transactionData;
+            });
+            when(propagationSerializer.deserialize(consensusResultMessage)).thenReturn(transactionData.getDspConsensusResult());
+            messages.add(createMessage(TransactionData.class, transactionMessage));
+            messages.add(createMessage(DspConsensusResult.class, consensusResultMessage));
+            expectedMessages.add(transactionData);
+            expectedMessages.add(transactionData.getDspConsensusResult());
+        }
+
+        handleTransactionMessages(messages);
+
+        Assert.assertEquals(expectedMessages, handledMessages);
+        assertHandledMessages(expectedMessages.size());
+        assertNoErrorsLogged();
+    }
+
+    @Test
+    public void handleTransactionMessages_deserializationFailure_nextMessagesHandled() {
+        TransactionData transactionData = TransactionTestUtils.generateRandomTransaction();
+        byte[] invalidMessage = new byte[]{1};
+        byte[] validMessage = new byte[]{2};
+        when(propagationSerializer.deserialize(invalidMessage)).thenThrow(new IllegalArgumentException("Invalid message"));
+        when(propagationSerializer.deserialize(validMessage)).thenReturn(transactionData);
+
+        handleTransactionMessages(Arrays.asList(createMessage(TransactionData.class, invalidMessage), createMessage(TransactionData.class, validMessage)));
+
+        Assert.assertEquals(Collections.singletonList(transactionData), handledMessages);
+        assertHandledMessages(1);
+        List<ILoggingEvent> errors = getLoggedErrors();
+        Assert.assertEquals(1, errors.size());
+        Assert.assertTrue(errors.get(0).getFormattedMessage().startsWith("Error at deserializing message"));
+    }
+
+    @Test
+    public void handleTransactionMessages_preHandledTransaction_potValidationResultPassed() {
+        TransactionData preHandledTransaction = TransactionTestUtils.generateRandomTransaction();
+        TransactionData transactionData = TransactionTestUtils.generateRandomTransaction();
+        byte[] preHandledMessage = new byte[]{1};
+        byte[] message = new byte[]{2};
+        when(propagationSerializer.deserialize(preHandledMessage)).thenReturn(preHandledTransaction);
+        when(propagationSerializer.deserialize(message)).thenReturn(transactionData);
+        when(subscriberHandler.preHandle(anyList())).thenReturn(Collections.singletonMap(preHandledTransaction.getHash(), false));
+
+        handleTransactionMessages(Arrays.asList(createMessage(TransactionData.class, preHandledMessage), createMessage(TransactionData.class, message)));
+
+        verify(subscriberHandler).handlePropagatedTransaction(preHandledTransaction, false);
+        Assert.assertEquals(Collections.singletonList(transactionData), handledMessages);
+        assertHandledMessages(2);
+        assertNoErrorsLogged();
+    }
+
+    private ZeroMQMessageData createMessage(Class<? extends IPropagatable> messageType, byte[] message) {
+        return new ZeroMQMessageData(Channel.getChannelString(messageType, PUBLISHER_ADDRESS, NodeType.DspNode, NodeType.FullNode), message);
+    }
+
+    private void handleTransactionMessages(List<ZeroMQMessageData> messages) {
+        ReflectionTestUtils.invokeMethod(zeroMQSubscriber, "handleTransactionMessages", messages);
+    }
+
+    private void assertHandledMessages(long expectedHandledMessages) {
+        Assert.assertEquals(expectedHandledMessages, zeroMQSubscriber.getMessageQueueStatistics().get(ZeroMQSubscriberQueue.TRANSACTION).getHandledMessages());
+    }
+
+    private void assertNoErrorsLogged() {
+        Assert.assertEquals(Collections.emptyList(), getLoggedErrors().stream().map(ILoggingEvent::getFormattedMessage).collect(Collectors.toList()));
+    }
+
+    private List<ILoggingEvent> getLoggedErrors() {
+        return logAppender.list.stream().filter(loggingEvent -> loggingEvent.getLevel().isGreaterOrEqual(Level.ERROR)).collect(Collectors.toList());
+    }
+}
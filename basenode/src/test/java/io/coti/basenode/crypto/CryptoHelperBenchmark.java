@@ -0,0 +1,54 @@
+package io.coti.basenode.crypto;
+
+import io.coti.basenode.data.SignatureData;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptoHelperBenchmark {
+
+    private static final String PRIVATE_KEY = "1731ceb7b1d3a9c78d6a3009ca7021569eeb6a4ece86f0b744afbc3fabf82f8e";
+    private byte[] message;
+    private SignatureData signatureData;
+    private String publicKey;
+
+    @Setup
+    public void setup() {
+        message = CryptoHelper.cryptoHash("benchmark message".getBytes()).getBytes();
+        signatureData = CryptoHelper.signBytes(message, PRIVATE_KEY);
+        publicKey = CryptoHelper.getPublicKeyFromPrivateKey(PRIVATE_KEY);
+    }
+
+    @Benchmark
+    public boolean verifyByDecodedPublicKey() throws InvalidKeySpecException, NoSuchAlgorithmException {
+        return CryptoHelper.verifyByPublicKey(message, signatureData.getR(), signatureData.getS(), CryptoHelper.getPublicKeyFromHexString(publicKey));
+    }
+
+    @Benchmark
+    public boolean verifyByCachedPublicKey() throws InvalidKeySpecException, NoSuchAlgorithmException {
+        return CryptoHelper.verifyByPublicKey(message, signatureData.getR(), signatureData.getS(), publicKey);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean verifyByCachedPublicKeyConcurrently() throws InvalidKeySpecException, NoSuchAlgorithmException {
+        return CryptoHelper.verifyByPublicKey(message, signatureData.getR(), signatureData.getS(), publicKey);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(CryptoHelperBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
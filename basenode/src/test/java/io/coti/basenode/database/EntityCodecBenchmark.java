@@ -0,0 +1,52 @@
+package io.coti.basenode.database;
+
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.database.interfaces.IEntityCodec;
+import io.coti.basenode.utils.TransactionTestUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityCodecBenchmark {
+
+    @Param({"java", "binary"})
+    private String codec;
+    private IEntityCodec<TransactionData> entityCodec;
+    private TransactionData transactionData;
+    private byte[] encodedTransactionData;
+
+    @Setup
+    public void setup() {
+        entityCodec = "binary".equals(codec) ? new TransactionDataCodec() : new JavaSerializationEntityCodec<>();
+        transactionData = TransactionTestUtils.generateRandomTransaction();
+        encodedTransactionData = entityCodec.encode(transactionData);
+        log.info("{} codec encoded transaction size: {} bytes", codec, encodedTransactionData.length);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return entityCodec.encode(transactionData);
+    }
+
+    @Benchmark
+    public TransactionData decode() {
+        return entityCodec.decode(encodedTransactionData);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(EntityCodecBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
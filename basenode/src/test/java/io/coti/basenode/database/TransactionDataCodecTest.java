@@ -0,0 +1,59 @@
+package io.coti.basenode.database;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.coti.basenode.data.BaseTransactionName;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.utils.TransactionTestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.util.SerializationUtils;
+
+import java.nio.charset.StandardCharsets;
+
+public class TransactionDataCodecTest {
+
+    private final TransactionDataCodec transactionDataCodec = new TransactionDataCodec();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    public void testEncodeDecode() throws JsonProcessingException {
+        TransactionData transactionData = TransactionTestUtils.generateRandomTransaction();
+
+        byte[] encoded = transactionDataCodec.encode(transactionData);
+        TransactionData decoded = transactionDataCodec.decode(encoded);
+        decoded.setHash(transactionData.getHash());
+
+        Assert.assertTrue(transactionDataCodec.isCurrentFormat(encoded));
+        Assert.assertEquals(objectMapper.writeValueAsString(transactionData), objectMapper.writeValueAsString(decoded));
+    }
+
+    @Test
+    public void testDecodeLegacyFormat() throws JsonProcessingException {
+        TransactionData transactionData = TransactionTestUtils.generateRandomTransaction();
+
+        byte[] legacyEncoded = SerializationUtils.serialize(transactionData);
+        TransactionData decoded = transactionDataCodec.decode(legacyEncoded);
+
+        Assert.assertFalse(transactionDataCodec.isCurrentFormat(legacyEncoded));
+        Assert.assertEquals(objectMapper.writeValueAsString(transactionData), objectMapper.writeValueAsString(decoded));
+    }
+
+    @Test
+    public void testEnumsEncodedByName() {
+        TransactionData transactionData = TransactionTestUtils.generateRandomTransaction();
+
+        String encoded = new String(transactionDataCodec.encode(transactionData), StandardCharsets.ISO_8859_1);
+
+        Assert.assertTrue(encoded.contains(transactionData.getType().name()));
+        Assert.assertTrue(encoded.contains(BaseTransactionName.getName(transactionData.getBaseTransactions().get(0).getClass()).name()));
+    }
+
+    @Test
+    public void testEncodedSizeSmallerThanJavaSerialization() {
+        TransactionData transactionData = TransactionTestUtils.generateRandomTransaction();
+
+        Assert.assertTrue(transactionDataCodec.encode(transactionData).length < SerializationUtils.serialize(transactionData).length);
+    }
+}
@@ -0,0 +1,153 @@
+package io.coti.basenode.model;
+
+import io.coti.basenode.data.AddressTransactionHashesPageData;
+import io.coti.basenode.data.AddressTransactionsHistory;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.database.BaseNodeRocksDBConnector;
+import io.coti.basenode.utils.HashTestUtils;
+import io.coti.basenode.utils.TransactionTestUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rocksdb.RocksDB;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.*;
+
+public class AddressTransactionsHistoriesTest {
+
+    private static final Instant ATTACHMENT_TIME = Instant.parse("2020-03-15T10:00:00Z");
+    private static final long MIGRATION_TIMEOUT = 5000;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private BaseNodeRocksDBConnector rocksDBConnector;
+    private Transactions transactions;
+    private AddressTransactionsHistories addressTransactionsHistories;
+
+    @Before
+    public void init() throws InterruptedException {
+        rocksDBConnector = new BaseNodeRocksDBConnector();
+        transactions = new Transactions();
+        addressTransactionsHistories = new AddressTransactionsHistories();
+        ReflectionTestUtils.setField(addressTransactionsHistories, "transactions", transactions);
+        rocksDBConnector.init(temporaryFolder.getRoot().getAbsolutePath(), new MockEnvironment(), transactions, addressTransactionsHistories);
+        waitForLegacyMigration();
+    }
+
+    @After
+    public void shutdown() {
+        rocksDBConnector.shutdown();
+    }
+
+    @Test
+    public void getTransactionHashes_pagedWithCursor_allHashesInAttachmentTimeOrder() {
+        Hash address = HashTestUtils.generateRandomAddressHash();
+        List<TransactionData> addressTransactions = generateAddressTransactions(address, 5);
+        List<TransactionData> shuffledTransactions = new ArrayList<>(addressTransactions);
+        Collections.shuffle(shuffledTransactions);
+        shuffledTransactions.forEach(addressTransactionsHistories::addTransaction);
+        addressTransactionsHistories.addTransaction(TransactionTestUtils.generateRandomTransaction());
+
+        List<Hash> pagedTransactionHashes = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        Hash cursor = null;
+        do {
+            AddressTransactionHashesPageData addressTransactionHashesPageData = addressTransactionsHistories.getTransactionHashes(address, cursor, 2);
+            pagedTransactionHashes.addAll(addressTransactionHashesPageData.getTransactionHashes());
+            pageSizes.add(addressTransactionHashesPageData.getTransactionHashes().size());
+            cursor = addressTransactionHashesPageData.getNextCursor() != null ? new Hash(addressTransactionHashesPageData.getNextCursor().toString()) : null;
+        } while (cursor != null);
+
+        Assert.assertEquals(Arrays.asList(2, 2, 1), pageSizes);
+        Assert.assertEquals(getTransactionHashes(addressTransactions), pagedTransactionHashes);
+    }
+
+    @Test
+    public void getTransactionHashes_lastPageExactlyFull_noNextCursor() {
+        Hash address = HashTestUtils.generateRandomAddressHash();
+        List<TransactionData> addressTransactions = generateAddressTransactions(address, 2);
+        addressTransactions.forEach(addressTransactionsHistories::addTransaction);
+
+        AddressTransactionHashesPageData addressTransactionHashesPageData = addressTransactionsHistories.getTransactionHashes(address, null, 2);
+
+        Assert.assertEquals(getTransactionHashes(addressTransactions), addressTransactionHashesPageData.getTransactionHashes());
+        Assert.assertNull(addressTransactionHashesPageData.getNextCursor());
+    }
+
+    @Test
+    public void migrateEntityCodec_legacyHistories_migratedInBackground() throws InterruptedException {
+        Hash address = HashTestUtils.generateRandomAddressHash();
+        List<TransactionData> addressTransactions = putLegacyHistory(address, 3);
+        Hash otherAddress = HashTestUtils.generateRandomAddressHash();
+        List<TransactionData> otherAddressTransactions = putLegacyHistory(otherAddress, 2);
+        rocksDBConnector.delete(new String(RocksDB.DEFAULT_COLUMN_FAMILY), "address.transactions.histories.legacy.migrated".getBytes());
+
+        addressTransactionsHistories.migrateEntityCodec();
+        waitForLegacyMigration();
+
+        Assert.assertNull(addressTransactionsHistories.getByHash(address));
+        Assert.assertNull(addressTransactionsHistories.getByHash(otherAddress));
+        Assert.assertEquals(getTransactionHashes(addressTransactions), getAllTransactionHashes(address));
+        Assert.assertEquals(getTransactionHashes(otherAddressTransactions), getAllTransactionHashes(otherAddress));
+    }
+
+    @Test
+    public void getTransactionHashes_legacyHistoryNotYetMigrated_migratedOnRead() {
+        ReflectionTestUtils.setField(addressTransactionsHistories, "legacyMigrated", false);
+        Hash address = HashTestUtils.generateRandomAddressHash();
+        List<TransactionData> addressTransactions = putLegacyHistory(address, 3);
+
+        AddressTransactionHashesPageData addressTransactionHashesPageData = addressTransactionsHistories.getTransactionHashes(address, null, 10);
+
+        Assert.assertEquals(getTransactionHashes(addressTransactions), addressTransactionHashesPageData.getTransactionHashes());
+        Assert.assertNull(addressTransactionsHistories.getByHash(address));
+    }
+
+    private List<TransactionData> generateAddressTransactions(Hash address, int numberOfTransactions) {
+        List<TransactionData> addressTransactions = new ArrayList<>();
+        for (int i = 0; i < numberOfTransactions; i++) {
+            TransactionData transactionData = TransactionTestUtils.generateRandomTransaction();
+            transactionData.getBaseTransactions().get(0).setAddressHash(address);
+            transactionData.setAttachmentTime(ATTACHMENT_TIME.plusSeconds(i));
+            addressTransactions.add(transactionData);
+        }
+        return addressTransactions;
+    }
+
+    private List<TransactionData> putLegacyHistory(Hash address, int numberOfTransactions) {
+        List<TransactionData> addressTransactions = generateAddressTransactions(address, numberOfTransactions);
+        AddressTransactionsHistory addressTransactionsHistory = new AddressTransactionsHistory(address);
+        addressTransactions.forEach(transactionData -> {
+            transactions.put(transactionData);
+            addressTransactionsHistory.addTransactionHashToHistory(transactionData.getHash());
+        });
+        addressTransactionsHistories.put(addressTransactionsHistory);
+        return addressTransactions;
+    }
+
+    private List<Hash> getAllTransactionHashes(Hash address) {
+        List<Hash> transactionHashes = new ArrayList<>();
+        addressTransactionsHistories.forEachTransactionHash(address, transactionHashes::add);
+        return transactionHashes;
+    }
+
+    private List<Hash> getTransactionHashes(List<TransactionData> transactionDataList) {
+        List<Hash> transactionHashes = new ArrayList<>();
+        transactionDataList.forEach(transactionData -> transactionHashes.add(transactionData.getHash()));
+        return transactionHashes;
+    }
+
+    private void waitForLegacyMigration() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + MIGRATION_TIMEOUT;
+        while (!(boolean) ReflectionTestUtils.getField(addressTransactionsHistories, "legacyMigrated")) {
+            Assert.assertTrue("Legacy migration did not finish", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+}
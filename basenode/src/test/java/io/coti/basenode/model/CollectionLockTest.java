@@ -0,0 +1,64 @@
+package io.coti.basenode.model;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.database.interfaces.IDatabaseConnector;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+
+public class CollectionLockTest {
+
+    private static final int NUMBER_OF_LOCK_PREFIXES = 1 << 16;
+    private Transactions transactions;
+
+    @Before
+    public void init() {
+        transactions = new Transactions();
+        transactions.databaseConnector = mock(IDatabaseConnector.class);
+        transactions.init();
+    }
+
+    @Test
+    public void lockAndGetByHashes_allLockPrefixes_lockedWithoutRecursionAndReleased() throws Exception {
+        List<Hash> hashes = new ArrayList<>(NUMBER_OF_LOCK_PREFIXES);
+        for (int prefix = 0; prefix < NUMBER_OF_LOCK_PREFIXES; prefix++) {
+            byte[] hashBytes = HashTestUtils.generateRandomHash().getBytes();
+            hashBytes[0] = (byte) (prefix >> 8);
+            hashBytes[1] = (byte) prefix;
+            hashes.add(new Hash(hashBytes));
+        }
+        AtomicInteger numberOfEntities = new AtomicInteger();
+
+        transactions.lockAndGetByHashes(hashes, hashToTransactionDataMap -> numberOfEntities.set(hashToTransactionDataMap.size()));
+
+        Assert.assertEquals(NUMBER_OF_LOCK_PREFIXES, numberOfEntities.get());
+        CompletableFuture.runAsync(() -> transactions.lockAndGetByHashes(hashes, hashToTransactionDataMap -> {
+        })).get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void lockAndGetByHashes_consumerThrows_locksReleased() throws Exception {
+        Hash hash = HashTestUtils.generateRandomHash();
+        try {
+            transactions.lockAndGetByHashes(Collections.singletonList(hash), hashToTransactionDataMap -> {
+                throw new IllegalStateException("consumer failure");
+            });
+            Assert.fail("Consumer exception was not propagated");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("consumer failure", e.getMessage());
+        }
+
+        CompletableFuture.runAsync(() -> transactions.lockAndGetByHash(hash, transactionData -> Assert.assertNull(transactionData)))
+                .get(10, TimeUnit.SECONDS);
+    }
+}
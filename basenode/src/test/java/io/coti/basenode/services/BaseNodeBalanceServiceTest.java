@@ -0,0 +1,50 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.utils.HashTestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+public class BaseNodeBalanceServiceTest {
+
+    private BaseNodeBalanceService balanceService;
+
+    @Before
+    public void init() {
+        balanceService = new BaseNodeBalanceService();
+        balanceService.init();
+    }
+
+    @Test
+    public void getBalanceByAddress_wholeAmounts_plainWithoutTrailingZeros() {
+        Hash address = HashTestUtils.generateRandomAddressHash();
+
+        balanceService.updateBalance(address, new BigDecimal("100"));
+        balanceService.updatePreBalance(address, new BigDecimal("10.50"));
+
+        Assert.assertEquals("100", balanceService.getBalanceByAddress(address).toString());
+        Assert.assertEquals("10.5", balanceService.getPreBalanceByAddress(address).toString());
+    }
+
+    @Test
+    public void getBalanceByAddress_unknownAddress_zero() {
+        Assert.assertEquals("0", balanceService.getBalanceByAddress(HashTestUtils.generateRandomAddressHash()).toString());
+    }
+
+    @Test
+    public void getBalanceByAddress_smallestUnit_keptExactly() {
+        Hash address = HashTestUtils.generateRandomAddressHash();
+
+        balanceService.updateBalance(address, new BigDecimal("0.00000001"));
+
+        Assert.assertEquals(0, new BigDecimal("0.00000001").compareTo(balanceService.getBalanceByAddress(address)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void updateBalance_amountBeyondCurrencyScale_rejected() {
+        balanceService.updateBalance(HashTestUtils.generateRandomAddressHash(), new BigDecimal("0.000000001"));
+    }
+}
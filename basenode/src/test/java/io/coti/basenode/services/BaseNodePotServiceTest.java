@@ -0,0 +1,71 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.utils.TransactionTestUtils;
+import io.coti.pot.ProofOfTrust;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static javax.xml.bind.DatatypeConverter.parseHexBinary;
+
+public class BaseNodePotServiceTest {
+
+    private static final String TARGET_DIFFICULTY = "00F00000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000";
+    private BaseNodePotService potService;
+
+    @Before
+    public void setUp() {
+        potService = new BaseNodePotService();
+        ReflectionTestUtils.setField(potService, "difficulty", TARGET_DIFFICULTY);
+        ReflectionTestUtils.setField(potService, "potVerificationThreads", 4);
+        ReflectionTestUtils.setField(potService, "potVerificationQueueSize", 100);
+        potService.init();
+    }
+
+    @After
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(potService, "shutdown");
+    }
+
+    @Test
+    public void validatePot_batchWithValidAndInvalidPot_resultPerTransaction() {
+        TransactionData validTransaction = createTransactionWithPot();
+        TransactionData otherValidTransaction = createTransactionWithPot();
+        TransactionData transactionWithoutNonces = createTransactionWithPot();
+        transactionWithoutNonces.setNonces(null);
+        TransactionData transactionWithInvalidTrustScore = createTransactionWithPot();
+        transactionWithInvalidTrustScore.setSenderTrustScore(150);
+
+        Map<Hash, Boolean> potValidationResults = potService.validatePot(Arrays.asList(validTransaction, transactionWithoutNonces, otherValidTransaction, transactionWithInvalidTrustScore));
+
+        Assert.assertEquals(Arrays.asList(validTransaction.getHash(), transactionWithoutNonces.getHash(), otherValidTransaction.getHash(), transactionWithInvalidTrustScore.getHash()),
+                Arrays.asList(potValidationResults.keySet().toArray()));
+        Assert.assertTrue(potValidationResults.get(validTransaction.getHash()));
+        Assert.assertTrue(potValidationResults.get(otherValidTransaction.getHash()));
+        Assert.assertFalse(potValidationResults.get(transactionWithoutNonces.getHash()));
+        Assert.assertFalse(potValidationResults.get(transactionWithInvalidTrustScore.getHash()));
+    }
+
+    @Test
+    public void validatePot_afterBatch_verifiedAgain() {
+        TransactionData validTransaction = createTransactionWithPot();
+        Assert.assertTrue(potService.validatePot(Collections.singletonList(validTransaction)).get(validTransaction.getHash()));
+        validTransaction.setNonces(null);
+
+        Assert.assertFalse(potService.validatePot(validTransaction));
+    }
+
+    private TransactionData createTransactionWithPot() {
+        TransactionData transactionData = TransactionTestUtils.generateRandomTransaction();
+        transactionData.setNonces(new ProofOfTrust(transactionData.getRoundedSenderTrustScore()).hash(transactionData.getHash().getBytes(), parseHexBinary(TARGET_DIFFICULTY)));
+        return transactionData;
+    }
+}
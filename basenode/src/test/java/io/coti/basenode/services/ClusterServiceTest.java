@@ -0,0 +1,171 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TccInfo;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.model.Transactions;
+import io.coti.basenode.services.interfaces.IConfirmationService;
+import io.coti.basenode.services.interfaces.ISourceSelector;
+import io.coti.basenode.utils.TransactionTestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ClusterServiceTest {
+
+    private static final Instant ATTACHMENT_TIME = Instant.parse("2020-03-15T10:00:00Z");
+    private static final int NUMBER_OF_TRANSACTIONS = 200;
+    private final Random random = new Random(42);
+    private final Map<Hash, TransactionData> transactionsByHash = new HashMap<>();
+    private final Map<Hash, TransactionData> cluster = new LinkedHashMap<>();
+    private TrustChainConfirmationService trustChainConfirmationService;
+    private ClusterService clusterService;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void init() {
+        Transactions transactions = mock(Transactions.class);
+        doAnswer(invocation -> {
+            ((Consumer<TransactionData>) invocation.getArgument(1)).accept(transactionsByHash.get(invocation.<Hash>getArgument(0)));
+            return null;
+        }).when(transactions).lockAndGetByHash(any(Hash.class), any(Consumer.class));
+        trustChainConfirmationService = mock(TrustChainConfirmationService.class);
+
+        clusterService = new ClusterService();
+        ReflectionTestUtils.setField(clusterService, "transactions", transactions);
+        ReflectionTestUtils.setField(clusterService, "confirmationService", mock(IConfirmationService.class));
+        ReflectionTestUtils.setField(clusterService, "sourceSelector", mock(ISourceSelector.class));
+        ReflectionTestUtils.setField(clusterService, "trustChainConfirmationService", trustChainConfirmationService);
+        clusterService.init();
+    }
+
+    @Test
+    public void getSourceNonZeroSpendChainTimes_sourceAttachedReplacedAndConfirmed_indexUpdated() {
+        TransactionData paymentTransaction = generateTransaction(TransactionType.Payment, 0);
+        TransactionData zeroSpendTransaction = generateTransaction(TransactionType.ZeroSpend, 10, paymentTransaction);
+        clusterService.finalizeInit();
+
+        attach(paymentTransaction);
+        Assert.assertEquals(Collections.singletonMap(paymentTransaction.getHash(), ATTACHMENT_TIME), clusterService.getSourceNonZeroSpendChainTimes());
+
+        attach(zeroSpendTransaction);
+        Assert.assertEquals(Collections.singletonMap(zeroSpendTransaction.getHash(), ATTACHMENT_TIME), clusterService.getSourceNonZeroSpendChainTimes());
+
+        confirm(Collections.singletonList(paymentTransaction));
+        Assert.assertTrue(clusterService.getSourceNonZeroSpendChainTimes().isEmpty());
+    }
+
+    @Test
+    public void getSourceNonZeroSpendChainTimes_randomAttachments_matchesFullScan() {
+        clusterService.finalizeInit();
+
+        for (TransactionData transactionData : generateRandomDag(false)) {
+            attach(transactionData);
+            Assert.assertEquals(getSourceNonZeroSpendChainTimesByFullScan(), clusterService.getSourceNonZeroSpendChainTimes());
+        }
+    }
+
+    @Test
+    public void getSourceNonZeroSpendChainTimes_randomConfirmations_matchesFullScan() {
+        clusterService.finalizeInit();
+        generateRandomDag(false).forEach(this::attach);
+
+        while (!cluster.isEmpty()) {
+            List<TransactionData> clusterTransactions = new ArrayList<>(cluster.values());
+            Collections.shuffle(clusterTransactions, random);
+            confirm(clusterTransactions.subList(0, Math.min(clusterTransactions.size(), 1 + random.nextInt(10))));
+            Assert.assertEquals(getSourceNonZeroSpendChainTimesByFullScan(), clusterService.getSourceNonZeroSpendChainTimes());
+        }
+    }
+
+    @Test
+    public void finalizeInit_existingTransactionsOutOfOrder_matchesFullScan() {
+        List<TransactionData> existingTransactions = generateRandomDag(true);
+        existingTransactions.forEach(transactionData -> cluster.put(transactionData.getHash(), transactionData));
+        Collections.shuffle(existingTransactions, random);
+
+        existingTransactions.forEach(clusterService::addExistingTransactionOnInit);
+        clusterService.finalizeInit();
+
+        Assert.assertEquals(getSourceNonZeroSpendChainTimesByFullScan(), clusterService.getSourceNonZeroSpendChainTimes());
+    }
+
+    private List<TransactionData> generateRandomDag(boolean linkChildren) {
+        List<TransactionData> dag = new ArrayList<>();
+        for (int i = 0; i < NUMBER_OF_TRANSACTIONS; i++) {
+            TransactionType type = random.nextInt(3) == 0 ? TransactionType.ZeroSpend : TransactionType.Payment;
+            List<TransactionData> parents = new ArrayList<>();
+            if (!dag.isEmpty()) {
+                parents.add(dag.get(dag.size() - 1 - random.nextInt(Math.min(dag.size(), 10))));
+                if (random.nextBoolean()) {
+                    parents.add(dag.get(random.nextInt(dag.size())));
+                }
+            }
+            TransactionData transactionData = generateTransaction(type, random.nextInt(NUMBER_OF_TRANSACTIONS), parents.toArray(new TransactionData[0]));
+            if (linkChildren) {
+                parents.forEach(parent -> parent.addToChildrenTransactions(transactionData.getHash()));
+            }
+            dag.add(transactionData);
+        }
+        return dag;
+    }
+
+    private TransactionData generateTransaction(TransactionType type, int attachmentSeconds, TransactionData... parents) {
+        TransactionData transactionData = TransactionTestUtils.generateRandomTransaction();
+        transactionData.setType(type);
+        transactionData.setAttachmentTime(ATTACHMENT_TIME.plusSeconds(attachmentSeconds));
+        transactionData.setLeftParentHash(parents.length > 0 ? parents[0].getHash() : null);
+        transactionData.setRightParentHash(parents.length > 1 ? parents[1].getHash() : null);
+        transactionData.setChildrenTransactionHashes(new ArrayList<>());
+        transactionData.setTrustChainConsensus(false);
+        transactionsByHash.put(transactionData.getHash(), transactionData);
+        return transactionData;
+    }
+
+    private void attach(TransactionData transactionData) {
+        cluster.put(transactionData.getHash(), transactionData);
+        clusterService.attachToCluster(transactionData);
+    }
+
+    private void confirm(List<TransactionData> confirmedTransactions) {
+        confirmedTransactions.forEach(transactionData -> cluster.remove(transactionData.getHash()));
+        when(trustChainConfirmationService.getTrustChainConfirmedTransactions()).thenReturn(confirmedTransactions.stream()
+                .map(transactionData -> new TccInfo(transactionData.getHash(), 100, Instant.now()))
+                .collect(Collectors.toList()));
+        clusterService.checkForTrustChainConfirmedTransaction();
+    }
+
+    private Map<Hash, Instant> getSourceNonZeroSpendChainTimesByFullScan() {
+        Map<Hash, Instant> nonZeroSpendChainTimes = new HashMap<>();
+        cluster.values().forEach(transactionData -> {
+            Instant nonZeroSpendChainTime = TransactionType.ZeroSpend.equals(transactionData.getType()) ? null : transactionData.getAttachmentTime();
+            for (Hash parentHash : Arrays.asList(transactionData.getLeftParentHash(), transactionData.getRightParentHash())) {
+                Instant parentNonZeroSpendChainTime = parentHash != null ? nonZeroSpendChainTimes.get(parentHash) : null;
+                if (parentNonZeroSpendChainTime != null && (nonZeroSpendChainTime == null || parentNonZeroSpendChainTime.isBefore(nonZeroSpendChainTime))) {
+                    nonZeroSpendChainTime = parentNonZeroSpendChainTime;
+                }
+            }
+            if (nonZeroSpendChainTime != null) {
+                nonZeroSpendChainTimes.put(transactionData.getHash(), nonZeroSpendChainTime);
+            }
+        });
+        Map<Hash, Instant> sourceNonZeroSpendChainTimes = new HashMap<>();
+        cluster.values().stream().filter(TransactionData::isSource).forEach(transactionData -> {
+            Instant nonZeroSpendChainTime = nonZeroSpendChainTimes.get(transactionData.getHash());
+            if (nonZeroSpendChainTime != null) {
+                sourceNonZeroSpendChainTimes.put(transactionData.getHash(), nonZeroSpendChainTime);
+            }
+        });
+        return sourceNonZeroSpendChainTimes;
+    }
+}
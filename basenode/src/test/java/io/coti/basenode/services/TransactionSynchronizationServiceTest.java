@@ -0,0 +1,158 @@
+package io.coti.basenode.services;
+
+import io.coti.basenode.communication.FramedRecordWriter;
+import io.coti.basenode.communication.JacksonSerializer;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.services.interfaces.IClusterService;
+import io.coti.basenode.services.interfaces.INetworkService;
+import io.coti.basenode.services.interfaces.ITransactionHelper;
+import io.coti.basenode.services.interfaces.ITransactionService;
+import io.coti.basenode.utils.TransactionTestUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TransactionSynchronizationServiceTest {
+
+    private static final int NUMBER_OF_TRANSACTIONS = 20;
+    private static final String RECOVERY_SERVER_ADDRESS = "http://recovery";
+    private final ITransactionService transactionService = mock(ITransactionService.class);
+    private final JacksonSerializer jacksonSerializer = new JacksonSerializer();
+    private TransactionSynchronizationService transactionSynchronizationService;
+    private ClientHttpResponse recoveryServerResponse;
+    private String requestedUrl;
+
+    @Before
+    public void init() {
+        ReflectionTestUtils.invokeMethod(jacksonSerializer, "init");
+        IClusterService clusterService = mock(IClusterService.class);
+        when(clusterService.getTrustChainConfirmationTransactionHashes()).thenReturn(new HashSet<>());
+        INetworkService networkService = mock(INetworkService.class);
+        when(networkService.getRecoveryServerAddress()).thenReturn(RECOVERY_SERVER_ADDRESS);
+        when(transactionService.monitorTransactionThread(anyString(), any(), any(), anyString())).thenAnswer(invocation -> new Thread(() -> {
+        }));
+        RestTemplate restTemplate = new RestTemplate() {
+            @Override
+            public <T> T execute(String url, HttpMethod method, RequestCallback requestCallback, ResponseExtractor<T> responseExtractor, Object... uriVariables) {
+                requestedUrl = url;
+                try {
+                    return responseExtractor.extractData(recoveryServerResponse);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+
+        transactionSynchronizationService = new TransactionSynchronizationService();
+        ReflectionTestUtils.setField(transactionSynchronizationService, "transactionHelper", mock(ITransactionHelper.class));
+        ReflectionTestUtils.setField(transactionSynchronizationService, "transactionService", transactionService);
+        ReflectionTestUtils.setField(transactionSynchronizationService, "clusterService", clusterService);
+        ReflectionTestUtils.setField(transactionSynchronizationService, "networkService", networkService);
+        ReflectionTestUtils.setField(transactionSynchronizationService, "jacksonSerializer", jacksonSerializer);
+        ReflectionTestUtils.setField(transactionSynchronizationService, "restTemplate", restTemplate);
+        ReflectionTestUtils.setField(transactionSynchronizationService, "compressedTransactionBatch", true);
+        ReflectionTestUtils.setField(transactionSynchronizationService, "missingTransactionsQueueSize", 4);
+    }
+
+    @Test
+    public void requestMissingTransactions_framedCompressedResponse_allTransactionsHandled() throws IOException {
+        List<TransactionData> transactions = TransactionTestUtils.generateListOfRandomTransactions(NUMBER_OF_TRANSACTIONS);
+        recoveryServerResponse = generateFramedResponse(transactions, true);
+
+        transactionSynchronizationService.requestMissingTransactions(0);
+
+        Assert.assertTrue(requestedUrl.contains("framed=true"));
+        Assert.assertTrue(requestedUrl.contains("compressed=true"));
+        Assert.assertEquals(getTransactionHashes(transactions), getHandledTransactionHashes());
+    }
+
+    @Test
+    public void requestMissingTransactions_framedUncompressedAcknowledgement_readUncompressed() throws IOException {
+        List<TransactionData> transactions = TransactionTestUtils.generateListOfRandomTransactions(NUMBER_OF_TRANSACTIONS);
+        recoveryServerResponse = generateFramedResponse(transactions, false);
+
+        transactionSynchronizationService.requestMissingTransactions(0);
+
+        Assert.assertEquals(getTransactionHashes(transactions), getHandledTransactionHashes());
+    }
+
+    @Test
+    public void requestMissingTransactions_legacyServerResponse_readUnframed() {
+        List<TransactionData> transactions = TransactionTestUtils.generateListOfRandomTransactions(NUMBER_OF_TRANSACTIONS);
+        List<byte[]> chunks = new ArrayList<>();
+        transactions.forEach(transactionData -> chunks.add(jacksonSerializer.serialize(transactionData)));
+        recoveryServerResponse = new MockClientHttpResponse(new ChunkedInputStream(chunks), HttpStatus.OK);
+
+        transactionSynchronizationService.requestMissingTransactions(0);
+
+        Assert.assertEquals(getTransactionHashes(transactions), getHandledTransactionHashes());
+    }
+
+    private ClientHttpResponse generateFramedResponse(List<TransactionData> transactions, boolean compressed) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        FramedRecordWriter writer = new FramedRecordWriter(byteArrayOutputStream, compressed, 1024);
+        for (TransactionData transactionData : transactions) {
+            writer.write(jacksonSerializer.serialize(transactionData));
+        }
+        writer.finish();
+        MockClientHttpResponse response = new MockClientHttpResponse(byteArrayOutputStream.toByteArray(), HttpStatus.OK);
+        response.getHeaders().set(FramedRecordWriter.FRAMED_HEADER, Boolean.TRUE.toString());
+        response.getHeaders().set(FramedRecordWriter.COMPRESSED_HEADER, Boolean.toString(compressed));
+        return response;
+    }
+
+    private List<Hash> getHandledTransactionHashes() {
+        ArgumentCaptor<TransactionData> transactionDataCaptor = ArgumentCaptor.forClass(TransactionData.class);
+        verify(transactionService, times(NUMBER_OF_TRANSACTIONS)).handleMissingTransaction(transactionDataCaptor.capture(), any(), any());
+        return getTransactionHashes(transactionDataCaptor.getAllValues());
+    }
+
+    private List<Hash> getTransactionHashes(List<TransactionData> transactions) {
+        List<Hash> transactionHashes = new ArrayList<>();
+        transactions.forEach(transactionData -> transactionHashes.add(transactionData.getHash()));
+        return transactionHashes;
+    }
+
+    private static class ChunkedInputStream extends InputStream {
+
+        private final Iterator<byte[]> chunks;
+
+        private ChunkedInputStream(List<byte[]> chunks) {
+            this.chunks = chunks.iterator();
+        }
+
+        @Override
+        public int read() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (!chunks.hasNext()) {
+                return -1;
+            }
+            byte[] chunk = chunks.next();
+            System.arraycopy(chunk, 0, buffer, offset, chunk.length);
+            return chunk.length;
+        }
+    }
+}
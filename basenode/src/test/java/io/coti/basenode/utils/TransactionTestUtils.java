@@ -0,0 +1,103 @@
+package io.coti.basenode.utils;
+
+import io.coti.basenode.data.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class TransactionTestUtils {
+
+    private static final int SIZE_OF_SIGNATURE_PART = 64;
+
+    public static TransactionData generateRandomTransaction() {
+        Instant createTime = Instant.now();
+        BigDecimal amount = new BigDecimal(ThreadLocalRandom.current().nextInt(1000, 100000)).setScale(8);
+        BigDecimal fullNodeFee = new BigDecimal("1.5");
+        BigDecimal networkFee = new BigDecimal("0.25");
+        BigDecimal rollingReserve = new BigDecimal("0.125");
+        BigDecimal receivedAmount = amount.subtract(fullNodeFee).subtract(networkFee).subtract(rollingReserve);
+
+        List<BaseTransactionData> baseTransactions = new ArrayList<>();
+        baseTransactions.add(generateSignedBaseTransaction(new InputBaseTransactionData(HashTestUtils.generateRandomAddressHash(), amount.negate(), createTime)));
+        baseTransactions.add(generateSignedBaseTransaction(new FullNodeFeeData(HashTestUtils.generateRandomAddressHash(), fullNodeFee, fullNodeFee, createTime)));
+        NetworkFeeData networkFeeData = new NetworkFeeData(HashTestUtils.generateRandomAddressHash(), networkFee, networkFee, networkFee, createTime);
+        networkFeeData.setNetworkFeeTrustScoreNodeResult(generateTrustScoreNodeResults());
+        baseTransactions.add(generateSignedBaseTransaction(networkFeeData));
+        RollingReserveData rollingReserveData = new RollingReserveData(HashTestUtils.generateRandomAddressHash(), rollingReserve, rollingReserve, networkFee, createTime);
+        rollingReserveData.setRollingReserveTrustScoreNodeResult(generateTrustScoreNodeResults());
+        baseTransactions.add(generateSignedBaseTransaction(rollingReserveData));
+        baseTransactions.add(generateSignedBaseTransaction(new ReceiverBaseTransactionData(HashTestUtils.generateRandomAddressHash(), receivedAmount, receivedAmount, createTime)));
+
+        TransactionTrustScoreData transactionTrustScoreData = new TransactionTrustScoreData(ThreadLocalRandom.current().nextDouble(1, 100));
+        transactionTrustScoreData.setTrustScoreNodeHash(HashTestUtils.generateRandomHash());
+        transactionTrustScoreData.setTrustScoreNodeSignature(generateRandomSignature());
+
+        List<TransactionTrustScoreData> trustScoreResults = new ArrayList<>();
+        trustScoreResults.add(transactionTrustScoreData);
+
+        TransactionData transactionData = new TransactionData(baseTransactions, HashTestUtils.generateRandomHash(), "test transaction", trustScoreResults,
+                createTime, HashTestUtils.generateRandomHash(), generateRandomSignature(), TransactionType.Payment);
+        transactionData.setSenderTrustScore(transactionTrustScoreData.getTrustScore());
+        transactionData.setLeftParentHash(HashTestUtils.generateRandomHash());
+        transactionData.setRightParentHash(HashTestUtils.generateRandomHash());
+        transactionData.setAttachmentTime(createTime.plusMillis(5));
+        transactionData.setNodeHash(HashTestUtils.generateRandomHash());
+        transactionData.setNodeSignature(generateRandomSignature());
+        transactionData.setNonces(new int[]{ThreadLocalRandom.current().nextInt(), ThreadLocalRandom.current().nextInt()});
+        transactionData.setChildrenTransactionHashes(HashTestUtils.generateListOfRandomHashes(2));
+        transactionData.setValid(true);
+        transactionData.setTrustChainConsensus(true);
+        transactionData.setTrustChainTrustScore(ThreadLocalRandom.current().nextDouble(100, 200));
+        transactionData.setTrustChainConsensusTime(createTime.plusSeconds(1));
+        transactionData.setTransactionConsensusUpdateTime(createTime.plusSeconds(2));
+        transactionData.setDspConsensusResult(generateDspConsensusResult(transactionData.getHash(), createTime));
+        return transactionData;
+    }
+
+    public static List<TransactionData> generateListOfRandomTransactions(int listSize) {
+        List<TransactionData> transactions = new ArrayList<>();
+        for (int i = 0; i < listSize; i++) {
+            transactions.add(generateRandomTransaction());
+        }
+        return transactions;
+    }
+
+    public static SignatureData generateRandomSignature() {
+        return new SignatureData(HashTestUtils.generateRandomHash(SIZE_OF_SIGNATURE_PART).toHexString(), HashTestUtils.generateRandomHash(SIZE_OF_SIGNATURE_PART).toHexString());
+    }
+
+    private static BaseTransactionData generateSignedBaseTransaction(BaseTransactionData baseTransactionData) {
+        baseTransactionData.setHash(HashTestUtils.generateRandomHash());
+        baseTransactionData.setSignatureData(generateRandomSignature());
+        return baseTransactionData;
+    }
+
+    private static List<TrustScoreNodeResultData> generateTrustScoreNodeResults() {
+        TrustScoreNodeResultData trustScoreNodeResultData = new TrustScoreNodeResultData(HashTestUtils.generateRandomHash(), true);
+        trustScoreNodeResultData.setTrustScoreNodeSignature(generateRandomSignature());
+        List<TrustScoreNodeResultData> trustScoreNodeResults = new ArrayList<>();
+        trustScoreNodeResults.add(trustScoreNodeResultData);
+        return trustScoreNodeResults;
+    }
+
+    private static DspConsensusResult generateDspConsensusResult(Hash transactionHash, Instant createTime) {
+        DspConsensusResult dspConsensusResult = new DspConsensusResult(transactionHash);
+        dspConsensusResult.setZeroSpendServerHash(HashTestUtils.generateRandomHash());
+        dspConsensusResult.setIndex(ThreadLocalRandom.current().nextLong(0, Integer.MAX_VALUE));
+        dspConsensusResult.setIndexingTime(createTime.plusSeconds(1));
+        dspConsensusResult.setZeroSpendSignature(generateRandomSignature());
+        dspConsensusResult.setDspConsensus(true);
+        List<DspVote> dspVotes = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            TransactionDspVote transactionDspVote = new TransactionDspVote(transactionHash, true);
+            transactionDspVote.setVoterDspHash(HashTestUtils.generateRandomHash());
+            transactionDspVote.setSignature(generateRandomSignature());
+            dspVotes.add(new DspVote(transactionDspVote));
+        }
+        dspConsensusResult.setDspVotes(dspVotes);
+        return dspConsensusResult;
+    }
+}
@@ -0,0 +1,29 @@
+package io.coti.dspnode.data;
+
+import io.coti.basenode.data.TransactionData;
+import lombok.Data;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Data
+public class DspValidationWorkerData {
+
+    private final int workerIndex;
+    private final BlockingQueue<TransactionData> transactionsToValidate = new PriorityBlockingQueue<>();
+    private final AtomicLong validatedTransactions = new AtomicLong();
+    private final AtomicLong totalValidationNanos = new AtomicLong();
+    private Thread validationThread;
+
+    public void addValidation(long validationNanos) {
+        validatedTransactions.incrementAndGet();
+        totalValidationNanos.addAndGet(validationNanos);
+    }
+
+    public double getAverageValidationMillis() {
+        long validated = validatedTransactions.get();
+        return validated == 0 ? 0 : (double) totalValidationNanos.get() / validated / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -11,14 +11,18 @@ import io.coti.basenode.services.BaseNodeTransactionService;
 import io.coti.basenode.services.interfaces.INetworkService;
 import io.coti.basenode.services.interfaces.ITransactionHelper;
 import io.coti.basenode.services.interfaces.IValidationService;
+import io.coti.dspnode.data.DspValidationWorkerData;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
@@ -38,17 +42,38 @@ public class TransactionService extends BaseNodeTransactionService {
     private INetworkService networkService;
     @Autowired
     private TransactionPropagationCheckService transactionPropagationCheckService;
-    private BlockingQueue<TransactionData> transactionsToValidate;
-    private Thread transactionValidationThread;
+    @Value("${dsp.validation.threads:0}")
+    private int dspValidationThreads;
+    @Value("${allow.transaction.monitoring}")
+    private boolean allowTransactionMonitoring;
+    private List<DspValidationWorkerData> dspValidationWorkers;
+    private final AtomicLong nextValidationSequence = new AtomicLong();
+    private final Map<Long, TransactionDspVote> completedDspVotes = new HashMap<>();
+    private long nextDspVoteSequence;
+    private final BlockingQueue<TransactionDspVote> dspVotesToSend = new LinkedBlockingQueue<>();
+    private Thread dspVoteSenderThread;
 
     @Override
     public void init() {
-        transactionsToValidate = new PriorityBlockingQueue<>();
-        transactionValidationThread = new Thread(this::checkAttachedTransactions, "DSP Validation");
-        transactionValidationThread.start();
+        int numberOfWorkers = dspValidationThreads > 0 ? dspValidationThreads : Runtime.getRuntime().availableProcessors();
+        dspValidationWorkers = new ArrayList<>(numberOfWorkers);
+        for (int i = 0; i < numberOfWorkers; i++) {
+            DspValidationWorkerData dspValidationWorkerData = new DspValidationWorkerData(i);
+            Thread validationThread = new Thread(() -> checkAttachedTransactions(dspValidationWorkerData), "DSP Validation-" + i);
+            dspValidationWorkerData.setValidationThread(validationThread);
+            dspValidationWorkers.add(dspValidationWorkerData);
+            validationThread.start();
+        }
+        dspVoteSenderThread = new Thread(this::sendDspVotes, "DSP Vote Sender");
+        dspVoteSenderThread.start();
         super.init();
     }
 
+    private void addTransactionToValidate(TransactionData transactionData) {
+        int workerIndex = Math.floorMod(transactionData.getHash().hashCode(), dspValidationWorkers.size());
+        dspValidationWorkers.get(workerIndex).getTransactionsToValidate().add(transactionData);
+    }
+
     public void handleNewTransactionFromFullNode(TransactionData transactionData) {
         log.debug("Running new transactions from full node handler");
         AtomicBoolean isTransactionAlreadyPropagated = new AtomicBoolean(false);
@@ -84,7 +109,7 @@ public class TransactionService extends BaseNodeTransactionService {
                     NodeType.HistoryNode));
             transactionPropagationCheckService.addNewUnconfirmedTransaction(transactionData.getHash());
             transactionHelper.setTransactionStateToFinished(transactionData);
-            transactionsToValidate.add(transactionData);
+            addTransactionToValidate(transactionData);
         } catch (Exception ex) {
             log.error("Exception while handling transaction {}", transactionData, ex);
         } finally {
@@ -107,12 +132,13 @@ public class TransactionService extends BaseNodeTransactionService {
         }
     }
 
-    private void checkAttachedTransactions() {
+    private void checkAttachedTransactions(DspValidationWorkerData dspValidationWorkerData) {
+        BlockingQueue<TransactionData> transactionsToValidate = dspValidationWorkerData.getTransactionsToValidate();
         while (!Thread.currentThread().isInterrupted()) {
             try {
                 TransactionData transactionData = transactionsToValidate.take();
                 log.debug("DSP Fully Checking transaction: {}", transactionData.getHash());
-                dspValidation(transactionData);
+                dspValidation(transactionData, dspValidationWorkerData);
             } catch (InterruptedException e) {
                 log.info("Dsp validation interrupted");
                 Thread.currentThread().interrupt();
@@ -123,10 +149,10 @@ public class TransactionService extends BaseNodeTransactionService {
         List<TransactionData> remainingValidations = new LinkedList<>();
         transactionsToValidate.drainTo(remainingValidations);
         if (!remainingValidations.isEmpty()) {
-            log.info("Please wait for dsp validation of {} remaining transactions", remainingValidations.size());
+            log.info("Please wait for dsp validation of {} remaining transactions at worker {}", remainingValidations.size(), dspValidationWorkerData.getWorkerIndex());
             remainingValidations.forEach(transactionData -> {
                 try {
-                    dspValidation(transactionData);
+                    dspValidation(transactionData, dspValidationWorkerData);
                 } catch (Exception e) {
                     log.error("Dsp validation error", e);
                 }
@@ -134,22 +160,79 @@ public class TransactionService extends BaseNodeTransactionService {
         }
     }
 
-    private void dspValidation(TransactionData transactionData) {
-        TransactionDspVote transactionDspVote = new TransactionDspVote(
-                transactionData.getHash(),
-                validationService.fullValidation(transactionData));
-        transactionDspVoteCrypto.signMessage(transactionDspVote);
-        String zeroSpendReceivingAddress = networkService.getSingleNodeData(NodeType.ZeroSpendServer).getReceivingFullAddress();
-        log.debug("Sending DSP vote to {} for transaction {}", zeroSpendReceivingAddress, transactionData.getHash());
-        sender.send(transactionDspVote, zeroSpendReceivingAddress);
-        transactionPropagationCheckService.addUnconfirmedTransactionDSPVote(transactionDspVote);
+    private void dspValidation(TransactionData transactionData, DspValidationWorkerData dspValidationWorkerData) {
+        // the sequence is taken when a worker dequeues the transaction, so votes keep the priority order of the worker queues
+        long validationSequence = nextValidationSequence.getAndIncrement();
+        long validationStartTime = System.nanoTime();
+        TransactionDspVote transactionDspVote = null;
+        try {
+            transactionDspVote = new TransactionDspVote(
+                    transactionData.getHash(),
+                    validationService.fullValidation(transactionData));
+            transactionDspVoteCrypto.signMessage(transactionDspVote);
+        } finally {
+            dspValidationWorkerData.addValidation(System.nanoTime() - validationStartTime);
+            emitDspVotes(validationSequence, transactionDspVote);
+        }
+    }
+
+    private void emitDspVotes(long validationSequence, TransactionDspVote transactionDspVote) {
+        synchronized (completedDspVotes) {
+            completedDspVotes.put(validationSequence, transactionDspVote);
+            while (completedDspVotes.containsKey(nextDspVoteSequence)) {
+                TransactionDspVote nextTransactionDspVote = completedDspVotes.remove(nextDspVoteSequence++);
+                if (nextTransactionDspVote != null) {
+                    dspVotesToSend.add(nextTransactionDspVote);
+                }
+            }
+        }
+    }
+
+    private void sendDspVotes() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                sendDspVote(dspVotesToSend.take());
+            } catch (InterruptedException e) {
+                log.info("Dsp vote sender interrupted");
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<TransactionDspVote> remainingDspVotes = new LinkedList<>();
+        dspVotesToSend.drainTo(remainingDspVotes);
+        if (!remainingDspVotes.isEmpty()) {
+            log.info("Please wait to send {} remaining dsp votes", remainingDspVotes.size());
+            remainingDspVotes.forEach(this::sendDspVote);
+        }
+    }
+
+    private void sendDspVote(TransactionDspVote transactionDspVote) {
+        try {
+            String zeroSpendReceivingAddress = networkService.getSingleNodeData(NodeType.ZeroSpendServer).getReceivingFullAddress();
+            log.debug("Sending DSP vote to {} for transaction {}", zeroSpendReceivingAddress, transactionDspVote.getTransactionHash());
+            sender.send(transactionDspVote, zeroSpendReceivingAddress);
+            transactionPropagationCheckService.addUnconfirmedTransactionDSPVote(transactionDspVote);
+        } catch (Exception e) {
+            log.error("Error sending dsp vote for transaction {}", transactionDspVote.getTransactionHash(), e);
+        }
+    }
+
+    @Scheduled(initialDelay = 1000, fixedDelay = 5000)
+    public void lastValidationState() {
+        if (allowTransactionMonitoring && dspValidationWorkers != null) {
+            dspValidationWorkers.forEach(dspValidationWorkerData ->
+                    log.info("DspValidationWorker = {}, QueueSize = {}, Validated = {}, AverageValidationMillis = {}",
+                            dspValidationWorkerData.getWorkerIndex(),
+                            dspValidationWorkerData.getTransactionsToValidate().size(),
+                            dspValidationWorkerData.getValidatedTransactions(),
+                            dspValidationWorkerData.getAverageValidationMillis()));
+        }
     }
 
     @Override
     protected void continueHandlePropagatedTransaction(TransactionData transactionData) {
         propagationPublisher.propagate(transactionData, Collections.singletonList(NodeType.FullNode));
         if (!EnumSet.of(TransactionType.ZeroSpend, TransactionType.Initial).contains(transactionData.getType())) {
-            transactionsToValidate.add(transactionData);
+            addTransactionToValidate(transactionData);
             transactionPropagationCheckService.addPropagatedUnconfirmedTransaction(transactionData.getHash());
         }
 
@@ -163,13 +246,21 @@ public class TransactionService extends BaseNodeTransactionService {
 
     public void shutdown() {
         log.info("Shutting down {}", this.getClass().getSimpleName());
-        transactionValidationThread.interrupt();
+        dspValidationWorkers.forEach(dspValidationWorkerData -> dspValidationWorkerData.getValidationThread().interrupt());
+        for (DspValidationWorkerData dspValidationWorkerData : dspValidationWorkers) {
+            try {
+                dspValidationWorkerData.getValidationThread().join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("Interrupted shutdown {}", this.getClass().getSimpleName());
+            }
+        }
+        dspVoteSenderThread.interrupt();
         try {
-            transactionValidationThread.join();
+            dspVoteSenderThread.join();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.error("Interrupted shutdown {}", this.getClass().getSimpleName());
         }
-
     }
 }
\ No newline at end of file
@@ -1,24 +1,35 @@
 package io.coti.fullnode.data;
 
 import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
 import io.coti.basenode.data.interfaces.IEntity;
 import lombok.Data;
 
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
 @Data
 public class ExplorerIndexData implements IEntity {
 
     private static final long serialVersionUID = -7618975944850993406L;
+    public static final int TIME_KEY_LENGTH = Long.BYTES + Integer.BYTES;
+    private Instant attachmentTime;
     private Hash transactionHash;
-    private long explorerIndex;
 
-    public ExplorerIndexData(long explorerIndex, Hash transactionHash) {
-        this.explorerIndex = explorerIndex;
+    public ExplorerIndexData(Instant attachmentTime, Hash transactionHash) {
+        this.attachmentTime = attachmentTime;
         this.transactionHash = transactionHash;
     }
 
+    public ExplorerIndexData(TransactionData transactionData) {
+        this(transactionData.getAttachmentTime(), transactionData.getHash());
+    }
+
     @Override
     public Hash getHash() {
-        return new Hash(explorerIndex);
+        byte[] transactionHashBytes = transactionHash.getBytes();
+        return new Hash(ByteBuffer.allocate(TIME_KEY_LENGTH + transactionHashBytes.length)
+                .putLong(attachmentTime.getEpochSecond()).putInt(attachmentTime.getNano()).put(transactionHashBytes).array());
     }
 
     @Override
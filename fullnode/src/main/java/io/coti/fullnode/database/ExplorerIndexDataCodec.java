@@ -0,0 +1,29 @@
+package io.coti.fullnode.database;
+
+import io.coti.basenode.database.BaseBinaryEntityCodec;
+import io.coti.fullnode.data.ExplorerIndexData;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class ExplorerIndexDataCodec extends BaseBinaryEntityCodec<ExplorerIndexData> {
+
+    private static final byte VERSION = 1;
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    protected void write(DataOutput output, ExplorerIndexData explorerIndexData) throws IOException {
+        writeInstant(output, explorerIndexData.getAttachmentTime());
+        writeHash(output, explorerIndexData.getTransactionHash());
+    }
+
+    @Override
+    protected ExplorerIndexData read(DataInput input, byte version) throws IOException {
+        return new ExplorerIndexData(readInstant(input), readHash(input));
+    }
+}
@@ -2,6 +2,7 @@ package io.coti.fullnode.database;
 
 import io.coti.basenode.database.BaseNodeRocksDBConnector;
 import io.coti.basenode.model.RequestedAddressHashes;
+import io.coti.basenode.model.Transactions;
 import io.coti.basenode.model.UnconfirmedReceivedTransactionHashes;
 import io.coti.fullnode.model.ExplorerIndexes;
 import org.springframework.context.annotation.Primary;
@@ -22,4 +23,12 @@ public class RocksDBConnector extends BaseNodeRocksDBConnector {
                 UnconfirmedReceivedTransactionHashes.class.getName()
         ));
     }
+
+    @Override
+    protected void populateResetColumnFamilyNames() {
+        super.populateResetColumnFamilyNames();
+        if (resetColumnFamilyNames.contains(Transactions.class.getName())) {
+            resetColumnFamilyNames.add(ExplorerIndexes.class.getName());
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package io.coti.fullnode.http;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.http.interfaces.IRequest;
+import lombok.Data;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+
+import static io.coti.fullnode.http.HttpStringConstants.ADDRESS_TRANSACTIONS_PAGE_LIMIT_INVALID;
+
+@Data
+public class GetAddressTransactionsPageRequest implements IRequest {
+
+    public static final int MAX_LIMIT = 1000;
+    public static final int DEFAULT_LIMIT = 100;
+    @NotNull(message = "Address Hash must not be blank")
+    private Hash address;
+    private Hash cursor;
+    @Positive(message = ADDRESS_TRANSACTIONS_PAGE_LIMIT_INVALID)
+    @Max(value = MAX_LIMIT, message = ADDRESS_TRANSACTIONS_PAGE_LIMIT_INVALID)
+    private Integer limit;
+}
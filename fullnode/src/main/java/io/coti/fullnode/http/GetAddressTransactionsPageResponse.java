@@ -0,0 +1,21 @@
+package io.coti.fullnode.http;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.http.GetTransactionsResponse;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class GetAddressTransactionsPageResponse extends GetTransactionsResponse {
+
+    private String nextCursor;
+
+    public GetAddressTransactionsPageResponse(List<TransactionData> transactionsData, Hash nextCursor) {
+        super(transactionsData);
+        this.nextCursor = nextCursor != null ? nextCursor.toString() : null;
+    }
+}
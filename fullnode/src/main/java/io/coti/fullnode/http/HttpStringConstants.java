@@ -6,5 +6,6 @@ public class HttpStringConstants extends BaseNodeHttpStringConstants {
 
     public static final String EXPLORER_TRANSACTION_PAGE_ERROR = "Explorer transaction page doesn't exist";
     public static final String EXPLORER_TRANSACTION_PAGE_INVALID = "Invalid explorer transaction page";
+    public static final String ADDRESS_TRANSACTIONS_PAGE_LIMIT_INVALID = "Address transactions page limit must be between 1 and 1000";
     public static final String TRANSACTION_NO_DSP_IN_THE_NETWORK = "No DSP in the network";
 }
@@ -1,10 +1,219 @@
 package io.coti.fullnode.model;
 
+import io.coti.basenode.data.Hash;
 import io.coti.basenode.model.Collection;
 import io.coti.fullnode.data.ExplorerIndexData;
+import io.coti.fullnode.database.ExplorerIndexDataCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Explorer index entries are kept under position keys (a prefix byte followed by a monotonic position), so a page
+ * counted from the last entry is read by seeking directly to its position. Existing transactions are first staged
+ * under attachment time keys and are assigned positions in attachment time order once the initial build completes;
+ * positions left by an interrupted build are dropped, since the build restages every existing transaction.
+ * Each position entry is written together with a transaction hash key, so a transaction is indexed at most once and
+ * existing transactions missing from the index can be appended on startup.
+ */
+@Slf4j
 @Service
 public class ExplorerIndexes extends Collection<ExplorerIndexData> {
 
+    private static final byte[] INITIALIZED_KEY = "explorer.indexes.position.initialized".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HASH_KEYS_INITIALIZED_KEY = "explorer.indexes.hash.initialized".getBytes(StandardCharsets.UTF_8);
+    private static final byte POSITION_KEY_PREFIX = 1;
+    private static final byte HASH_KEY_PREFIX = 2;
+    private static final int POSITION_KEY_LENGTH = 1 + Long.BYTES;
+    private static final int POSITION_BATCH_SIZE = 10000;
+    private long nextPosition;
+    private boolean staging;
+
+    @Override
+    public void init() {
+        super.init();
+        entityCodec = new ExplorerIndexDataCodec();
+    }
+
+    public synchronized void load() {
+        staging = !isInitialized();
+        try (RocksIterator iterator = databaseConnector.getIterator(columnFamilyName)) {
+            if (staging) {
+                iterator.seek(getPositionKey(0));
+                while (iterator.isValid()) {
+                    databaseConnector.delete(columnFamilyName, iterator.key());
+                    iterator.next();
+                }
+                nextPosition = 0;
+            } else {
+                seekToLastPosition(iterator);
+                nextPosition = iterator.isValid() && isPositionKey(iterator.key()) ? getPosition(iterator.key()) + 1 : 0;
+            }
+        }
+        if (!staging && !isHashKeysInitialized()) {
+            indexHashKeys();
+        }
+    }
+
+    /**
+     * @return false if the transaction is already indexed
+     */
+    public synchronized boolean add(ExplorerIndexData explorerIndexData) {
+        if (staging) {
+            put(explorerIndexData);
+            return true;
+        }
+        byte[] hashKey = getHashKey(explorerIndexData.getTransactionHash());
+        if (databaseConnector.getByKey(columnFamilyName, hashKey) != null) {
+            return false;
+        }
+        byte[] value = entityCodec.encode(explorerIndexData);
+        try (WriteBatch writeBatch = new WriteBatch()) {
+            databaseConnector.put(columnFamilyName, writeBatch, getPositionKey(nextPosition), value);
+            databaseConnector.put(columnFamilyName, writeBatch, hashKey, value);
+            databaseConnector.putBatch(writeBatch);
+        }
+        nextPosition++;
+        return true;
+    }
+
+    public synchronized void indexStaged() {
+        if (!staging) {
+            return;
+        }
+        long indexedEntries = 0;
+        WriteBatch writeBatch = new WriteBatch();
+        try (RocksIterator iterator = databaseConnector.getIterator(columnFamilyName)) {
+            iterator.seekToFirst();
+            while (iterator.isValid() && !isPositionKey(iterator.key())) {
+                databaseConnector.put(columnFamilyName, writeBatch, getPositionKey(nextPosition), iterator.value());
+                databaseConnector.put(columnFamilyName, writeBatch, getHashKey(entityCodec.decode(iterator.value()).getTransactionHash()), iterator.value());
+                databaseConnector.delete(columnFamilyName, writeBatch, iterator.key());
+                nextPosition++;
+                indexedEntries++;
+                if (writeBatch.count() >= POSITION_BATCH_SIZE) {
+                    databaseConnector.putBatch(writeBatch);
+                    writeBatch.close();
+                    writeBatch = new WriteBatch();
+                }
+                iterator.next();
+            }
+            databaseConnector.putBatch(writeBatch);
+        } finally {
+            writeBatch.close();
+        }
+        setInitialized(HASH_KEYS_INITIALIZED_KEY);
+        setInitialized(INITIALIZED_KEY);
+        staging = false;
+        log.info("Indexed {} staged explorer entries", indexedEntries);
+    }
+
+    private void indexHashKeys() {
+        long indexedEntries = 0;
+        WriteBatch writeBatch = new WriteBatch();
+        try (RocksIterator iterator = databaseConnector.getIterator(columnFamilyName)) {
+            iterator.seek(getPositionKey(0));
+            while (iterator.isValid() && isPositionKey(iterator.key())) {
+                databaseConnector.put(columnFamilyName, writeBatch, getHashKey(entityCodec.decode(iterator.value()).getTransactionHash()), iterator.value());
+                indexedEntries++;
+                if (writeBatch.count() >= POSITION_BATCH_SIZE) {
+                    databaseConnector.putBatch(writeBatch);
+                    writeBatch.close();
+                    writeBatch = new WriteBatch();
+                }
+                iterator.next();
+            }
+            databaseConnector.putBatch(writeBatch);
+        } finally {
+            writeBatch.close();
+        }
+        setInitialized(HASH_KEYS_INITIALIZED_KEY);
+        log.info("Indexed transaction hashes of {} explorer entries", indexedEntries);
+    }
+
+    public List<Hash> getTransactionHashesFromLast(long offset, int limit) {
+        List<Hash> transactionHashes = new ArrayList<>(limit);
+        long position = getNextPosition() - 1 - offset;
+        if (position < 0) {
+            return transactionHashes;
+        }
+        try (RocksIterator iterator = databaseConnector.getIterator(columnFamilyName)) {
+            iterator.seek(getPositionKey(position));
+            while (transactionHashes.size() < limit && iterator.isValid() && isPositionKey(iterator.key())) {
+                transactionHashes.add(entityCodec.decode(iterator.value()).getTransactionHash());
+                iterator.prev();
+            }
+        }
+        return transactionHashes;
+    }
+
+    public List<ExplorerIndexData> getLast(int limit) {
+        List<ExplorerIndexData> explorerIndexes = new ArrayList<>(limit);
+        try (RocksIterator iterator = databaseConnector.getIterator(columnFamilyName)) {
+            seekToLastPosition(iterator);
+            while (explorerIndexes.size() < limit && iterator.isValid() && isPositionKey(iterator.key())) {
+                explorerIndexes.add(entityCodec.decode(iterator.value()));
+                iterator.prev();
+            }
+        }
+        return explorerIndexes;
+    }
+
+    public synchronized long getNextPosition() {
+        return nextPosition;
+    }
+
+    public synchronized boolean isStaging() {
+        return staging;
+    }
+
+    private boolean isInitialized() {
+        return isInitialized(INITIALIZED_KEY);
+    }
+
+    private boolean isHashKeysInitialized() {
+        return isInitialized(HASH_KEYS_INITIALIZED_KEY);
+    }
+
+    private boolean isInitialized(byte[] initializedKey) {
+        byte[] initialized = databaseConnector.getByKey(new String(RocksDB.DEFAULT_COLUMN_FAMILY), initializedKey);
+        return initialized != null && initialized.length == 1 && initialized[0] == 1;
+    }
+
+    private void setInitialized(byte[] initializedKey) {
+        databaseConnector.put(new String(RocksDB.DEFAULT_COLUMN_FAMILY), initializedKey, new byte[]{1});
+    }
+
+    private static void seekToLastPosition(RocksIterator iterator) {
+        iterator.seek(new byte[]{HASH_KEY_PREFIX});
+        if (iterator.isValid()) {
+            iterator.prev();
+        } else {
+            iterator.seekToLast();
+        }
+    }
+
+    private static byte[] getHashKey(Hash transactionHash) {
+        byte[] transactionHashBytes = transactionHash.getBytes();
+        return ByteBuffer.allocate(1 + transactionHashBytes.length).put(HASH_KEY_PREFIX).put(transactionHashBytes).array();
+    }
+
+    private static byte[] getPositionKey(long position) {
+        return ByteBuffer.allocate(POSITION_KEY_LENGTH).put(POSITION_KEY_PREFIX).putLong(position).array();
+    }
+
+    private static boolean isPositionKey(byte[] key) {
+        return key.length == POSITION_KEY_LENGTH && key[0] == POSITION_KEY_PREFIX;
+    }
+
+    private static long getPosition(byte[] key) {
+        return ByteBuffer.wrap(key, 1, Long.BYTES).getLong();
+    }
 }
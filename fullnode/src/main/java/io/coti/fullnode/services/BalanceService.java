@@ -15,6 +15,6 @@ public class BalanceService extends BaseNodeBalanceService {
 
     @Override
     public void continueHandleBalanceChanges(Hash addressHash) {
-        webSocketSender.notifyBalanceChange(addressHash, balanceMap.get(addressHash), preBalanceMap.get(addressHash));
+        webSocketSender.notifyBalanceChange(addressHash, getBalanceByAddress(addressHash), getPreBalanceByAddress(addressHash));
     }
 }
@@ -1,7 +1,5 @@
 package io.coti.fullnode.services;
 
-import com.dictiography.collections.IndexedNavigableSet;
-import com.dictiography.collections.IndexedTreeSet;
 import io.coti.basenode.crypto.TransactionCrypto;
 import io.coti.basenode.data.*;
 import io.coti.basenode.exceptions.PotException;
@@ -20,7 +18,9 @@ import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.BaseNodeTransactionService;
 import io.coti.basenode.services.interfaces.*;
 import io.coti.fullnode.crypto.ResendTransactionRequestCrypto;
+import io.coti.fullnode.data.ExplorerIndexData;
 import io.coti.fullnode.http.*;
+import io.coti.fullnode.model.ExplorerIndexes;
 import io.coti.fullnode.websocket.WebSocketSender;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,10 +32,12 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.PrintWriter;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -71,18 +73,20 @@ public class TransactionService extends BaseNodeTransactionService {
     private PotService potService;
     @Autowired
     protected ITransactionPropagationCheckService transactionPropagationCheckService;
-    private BlockingQueue<ExplorerTransactionData> explorerIndexQueue;
-    private IndexedNavigableSet<ExplorerTransactionData> explorerIndexedTransactionSet;
+    @Autowired
+    private ExplorerIndexes explorerIndexes;
+    private final NavigableSet<ExplorerIndexData> lastExplorerIndexes = new ConcurrentSkipListSet<>(
+            Comparator.comparing(ExplorerIndexData::getAttachmentTime).thenComparing(ExplorerIndexData::getTransactionHash));
+    private volatile boolean explorerIndexesInitialized;
     @Autowired
     private ResendTransactionRequestCrypto resendTransactionRequestCrypto;
     private final LockData transactionLockData = new LockData();
 
     @Override
     public void init() {
-        explorerIndexedTransactionSet = new IndexedTreeSet<>();
-        explorerIndexQueue = new LinkedBlockingQueue<>();
-        Thread explorerIndexThread = new Thread(this::updateExplorerIndex);
-        explorerIndexThread.start();
+        explorerIndexes.load();
+        explorerIndexesInitialized = !explorerIndexes.isStaging();
+        lastExplorerIndexes.addAll(explorerIndexes.getLast(EXPLORER_LAST_TRANSACTIONS_NUMBER));
         super.init();
     }
 
@@ -314,19 +318,41 @@ public class TransactionService extends BaseNodeTransactionService {
     }
 
     public ResponseEntity<IResponse> getAddressTransactions(Hash addressHash) {
-        List<TransactionData> transactionsDataList = new ArrayList<>();
-        AddressTransactionsHistory addressTransactionsHistory = addressTransactionHistories.getByHash(addressHash);
+        try {
+            List<TransactionData> transactionsDataList = new ArrayList<>();
+            Hash cursor = null;
+            do {
+                AddressTransactionHashesPageData addressTransactionHashesPageData = addressTransactionHistories.getTransactionHashes(addressHash, cursor, GetAddressTransactionsPageRequest.MAX_LIMIT);
+                transactions.getByHashes(addressTransactionHashesPageData.getTransactionHashes()).values().forEach(transactionData -> {
+                    if (transactionData != null) {
+                        transactionsDataList.add(transactionData);
+                    }
+                });
+                cursor = addressTransactionHashesPageData.getNextCursor();
+            } while (cursor != null);
+            return ResponseEntity.status(HttpStatus.OK).body(new GetAddressTransactionHistoryResponse(transactionsDataList));
+        } catch (Exception e) {
+            return ResponseEntity
+                    .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new Response(
+                            ADDRESS_TRANSACTIONS_SERVER_ERROR,
+                            STATUS_ERROR));
+        }
+    }
 
+    public ResponseEntity<IResponse> getAddressTransactionsPage(GetAddressTransactionsPageRequest getAddressTransactionsPageRequest) {
         try {
-            if (addressTransactionsHistory == null) {
-                return ResponseEntity.status(HttpStatus.OK).body(new GetAddressTransactionHistoryResponse(transactionsDataList));
-            }
-            addressTransactionsHistory.getTransactionsHistory().forEach(transactionHash -> {
-                TransactionData transactionData = transactions.getByHash(transactionHash);
-                transactionsDataList.add(transactionData);
+            int limit = Optional.ofNullable(getAddressTransactionsPageRequest.getLimit()).orElse(GetAddressTransactionsPageRequest.DEFAULT_LIMIT);
+            AddressTransactionHashesPageData addressTransactionHashesPageData = addressTransactionHistories.getTransactionHashes(getAddressTransactionsPageRequest.getAddress(), getAddressTransactionsPageRequest.getCursor(), limit);
+            List<TransactionData> transactionsDataList = new ArrayList<>();
+            transactions.getByHashes(addressTransactionHashesPageData.getTransactionHashes()).values().forEach(transactionData -> {
+                if (transactionData != null) {
+                    transactionsDataList.add(transactionData);
+                }
             });
-            return ResponseEntity.status(HttpStatus.OK).body(new GetAddressTransactionHistoryResponse(transactionsDataList));
+            return ResponseEntity.status(HttpStatus.OK).body(new GetAddressTransactionsPageResponse(transactionsDataList, addressTransactionHashesPageData.getNextCursor()));
         } catch (Exception e) {
+            log.error("Error at getting address transactions page", e);
             return ResponseEntity
                     .status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(new Response(
@@ -342,14 +368,11 @@ public class TransactionService extends BaseNodeTransactionService {
             chunkService.startOfChunk(output);
 
             AtomicBoolean firstTransactionSent = new AtomicBoolean(false);
-            addressHashList.forEach(addressHash -> {
-                AddressTransactionsHistory addressTransactionsHistory = addressTransactionHistories.getByHash(addressHash);
-                if (addressTransactionsHistory != null) {
-                    addressTransactionsHistory.getTransactionsHistory().forEach(transactionHash ->
+            addressHashList.forEach(addressHash ->
+                    addressTransactionHistories.forEachTransactionHash(addressHash, transactionHash ->
                             sendTransactionResponse(transactionHash, firstTransactionSent, output, addressHash, reduced)
-                    );
-                }
-            });
+                    )
+            );
             chunkService.endOfChunk(output);
         } catch (Exception e) {
             log.error("Error sending address transaction batch");
@@ -380,17 +403,14 @@ public class TransactionService extends BaseNodeTransactionService {
     }
 
     public ResponseEntity<IResponse> getLastTransactions() {
-        List<TransactionData> transactionsDataList = new ArrayList<>();
-        Iterator<ExplorerTransactionData> iterator = explorerIndexedTransactionSet.descendingIterator();
-        int count = 0;
-
-        while (count < EXPLORER_LAST_TRANSACTIONS_NUMBER && iterator.hasNext()) {
-            ExplorerTransactionData explorerTransactionData = iterator.next();
-            transactionsDataList.add(transactions.getByHash(explorerTransactionData.getTransactionHash()));
-            count++;
+        List<Hash> transactionHashes = new ArrayList<>(EXPLORER_LAST_TRANSACTIONS_NUMBER);
+        Iterator<ExplorerIndexData> iterator = lastExplorerIndexes.descendingIterator();
+        while (transactionHashes.size() < EXPLORER_LAST_TRANSACTIONS_NUMBER && iterator.hasNext()) {
+            transactionHashes.add(iterator.next().getTransactionHash());
         }
 
         try {
+            List<TransactionData> transactionsDataList = getExplorerTransactions(transactionHashes);
             return ResponseEntity.status(HttpStatus.OK).body(new GetTransactionsResponse(transactionsDataList) {
             });
         } catch (Exception e) {
@@ -403,24 +423,28 @@ public class TransactionService extends BaseNodeTransactionService {
     }
 
     public ResponseEntity<IResponse> getTotalTransactions() {
-        return ResponseEntity.ok(new GetTotalTransactionsResponse(explorerIndexedTransactionSet.size()));
+        return ResponseEntity.ok(new GetTotalTransactionsResponse((int) transactionHelper.getTotalTransactions()));
     }
 
     public ResponseEntity<IResponse> getTransactionsByPage(int page) {
-        int totalTransactionsNumber = explorerIndexedTransactionSet.size();
-        int index = totalTransactionsNumber - (page - 1) * EXPLORER_TRANSACTION_NUMBER_BY_PAGE;
-        if (index < 0) {
+        if (page < 1) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new Response(EXPLORER_TRANSACTION_PAGE_ERROR, STATUS_ERROR));
         }
-        List<TransactionData> transactionDataList = new ArrayList<>();
-        int endOfIndex = index - EXPLORER_TRANSACTION_NUMBER_BY_PAGE;
-        while (index > endOfIndex && index >= 0) {
-            TransactionData transactionData = transactions.getByHash(explorerIndexedTransactionSet.exact(index).getTransactionHash());
-            transactionDataList.add(transactionData);
-            index--;
+        List<Hash> transactionHashes = explorerIndexes.getTransactionHashesFromLast((long) (page - 1) * EXPLORER_TRANSACTION_NUMBER_BY_PAGE, EXPLORER_TRANSACTION_NUMBER_BY_PAGE);
+        if (transactionHashes.isEmpty() && page > 1) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new Response(EXPLORER_TRANSACTION_PAGE_ERROR, STATUS_ERROR));
         }
-        return ResponseEntity.ok(new GetTransactionsResponse(transactionDataList));
+        return ResponseEntity.ok(new GetTransactionsResponse(getExplorerTransactions(transactionHashes)));
+    }
 
+    private List<TransactionData> getExplorerTransactions(List<Hash> transactionHashes) {
+        List<TransactionData> transactionDataList = new ArrayList<>(transactionHashes.size());
+        transactions.getByHashes(transactionHashes).values().forEach(transactionData -> {
+            if (transactionData != null) {
+                transactionDataList.add(transactionData);
+            }
+        });
+        return transactionDataList;
     }
 
     public ResponseEntity<IResponse> getTransactionDetails(Hash transactionHash) {
@@ -447,10 +471,35 @@ public class TransactionService extends BaseNodeTransactionService {
 
     @Override
     public void addToExplorerIndexes(TransactionData transactionData) {
-        try {
-            explorerIndexQueue.put(new ExplorerTransactionData(transactionData));
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        insertExplorerIndex(transactionData);
+        webSocketSender.notifyTotalTransactionsChange((int) transactionHelper.getTotalTransactions());
+    }
+
+    @Override
+    public void addExistingTransactionToExplorerIndexes(TransactionData transactionData) {
+        // once the index is built, this appends existing transactions whose index entry was lost before it was written
+        insertExplorerIndex(transactionData);
+    }
+
+    private void insertExplorerIndex(TransactionData transactionData) {
+        ExplorerIndexData explorerIndexData = new ExplorerIndexData(transactionData);
+        if (!explorerIndexes.add(explorerIndexData)) {
+            return;
+        }
+        if (lastExplorerIndexes.size() < EXPLORER_LAST_TRANSACTIONS_NUMBER || explorerIndexData.getAttachmentTime().isAfter(lastExplorerIndexes.first().getAttachmentTime())) {
+            synchronized (lastExplorerIndexes) {
+                lastExplorerIndexes.add(explorerIndexData);
+                while (lastExplorerIndexes.size() > EXPLORER_LAST_TRANSACTIONS_NUMBER) {
+                    lastExplorerIndexes.pollFirst();
+                }
+            }
+        }
+    }
+
+    public void finalizeExplorerIndexesInit() {
+        if (!explorerIndexesInitialized) {
+            explorerIndexes.indexStaged();
+            explorerIndexesInitialized = true;
         }
     }
 
@@ -461,19 +510,6 @@ public class TransactionService extends BaseNodeTransactionService {
         addToExplorerIndexes(transactionData);
     }
 
-    private void updateExplorerIndex() {
-        while (!Thread.currentThread().isInterrupted()) {
-
-            try {
-                ExplorerTransactionData explorerTransactionData = explorerIndexQueue.take();
-                explorerIndexedTransactionSet.add(explorerTransactionData);
-                webSocketSender.notifyTotalTransactionsChange(explorerIndexedTransactionSet.size());
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
-    }
-
     @Override
     public void removeTransactionHashFromUnconfirmed(TransactionData transactionData) {
         transactionPropagationCheckService.removeTransactionHashFromUnconfirmed(transactionData.getHash());
@@ -0,0 +1,112 @@
+package io.coti.fullnode.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.coti.basenode.data.AddressTransactionHashesPageData;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.model.AddressTransactionsHistories;
+import io.coti.basenode.model.Transactions;
+import io.coti.fullnode.http.GetAddressTransactionsPageRequest;
+import io.coti.fullnode.services.TransactionService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import utils.HashTestUtils;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class TransactionControllerTest {
+
+    private static final String ADDRESS_TRANSACTIONS_PAGE_URL = "/transaction/addressTransactions/page";
+    private final AddressTransactionsHistories addressTransactionsHistories = mock(AddressTransactionsHistories.class);
+    private final Transactions transactions = mock(Transactions.class);
+    private MockMvc mockMvc;
+
+    @Before
+    public void setUp() {
+        TransactionService transactionService = new TransactionService();
+        ReflectionTestUtils.setField(transactionService, "addressTransactionHistories", addressTransactionsHistories);
+        ReflectionTestUtils.setField(transactionService, "transactions", transactions);
+        TransactionController transactionController = new TransactionController();
+        ReflectionTestUtils.setField(transactionController, "transactionService", transactionService);
+        mockMvc = MockMvcBuilders.standaloneSetup(transactionController).build();
+    }
+
+    @Test
+    public void getAddressTransactionsPage_cursorAndLimit_pageWithNextCursor() throws Exception {
+        Hash address = HashTestUtils.generateRandomAddressHash();
+        Hash cursor = HashTestUtils.generateRandomHash();
+        Hash nextCursor = HashTestUtils.generateRandomHash();
+        TransactionData firstTransaction = generateTransaction();
+        TransactionData secondTransaction = generateTransaction();
+        List<Hash> transactionHashes = Arrays.asList(firstTransaction.getHash(), secondTransaction.getHash());
+        when(addressTransactionsHistories.getTransactionHashes(address, cursor, 2)).thenReturn(new AddressTransactionHashesPageData(transactionHashes, nextCursor));
+        Map<Hash, TransactionData> transactionDataMap = new LinkedHashMap<>();
+        transactionDataMap.put(firstTransaction.getHash(), firstTransaction);
+        transactionDataMap.put(secondTransaction.getHash(), secondTransaction);
+        when(transactions.getByHashes(transactionHashes)).thenReturn(transactionDataMap);
+
+        JsonNode response = postPageRequest(String.format("{\"address\":\"%s\",\"cursor\":\"%s\",\"limit\":2}", address, cursor));
+
+        Assert.assertEquals(2, response.get("transactionsData").size());
+        Assert.assertEquals(firstTransaction.getHash().toString(), response.get("transactionsData").get(0).get("hash").asText());
+        Assert.assertEquals(secondTransaction.getHash().toString(), response.get("transactionsData").get(1).get("hash").asText());
+        Assert.assertEquals(nextCursor.toString(), response.get("nextCursor").asText());
+    }
+
+    @Test
+    public void getAddressTransactionsPage_lastPageWithoutLimit_defaultLimitAndNoNextCursor() throws Exception {
+        Hash address = HashTestUtils.generateRandomAddressHash();
+        when(addressTransactionsHistories.getTransactionHashes(address, null, GetAddressTransactionsPageRequest.DEFAULT_LIMIT))
+                .thenReturn(new AddressTransactionHashesPageData(Collections.emptyList(), null));
+        when(transactions.getByHashes(Collections.emptyList())).thenReturn(new LinkedHashMap<>());
+
+        JsonNode response = postPageRequest(String.format("{\"address\":\"%s\"}", address));
+
+        Assert.assertEquals(0, response.get("transactionsData").size());
+        Assert.assertTrue(!response.has("nextCursor") || response.get("nextCursor").isNull());
+    }
+
+    @Test
+    public void getAddressTransactionsPage_limitAboveMaximum_badRequest() throws Exception {
+        Hash address = HashTestUtils.generateRandomAddressHash();
+
+        mockMvc.perform(post(ADDRESS_TRANSACTIONS_PAGE_URL).contentType(MediaType.APPLICATION_JSON)
+                .content(String.format("{\"address\":\"%s\",\"limit\":%d}", address, GetAddressTransactionsPageRequest.MAX_LIMIT + 1)))
+                .andExpect(status().isBadRequest());
+
+        verify(addressTransactionsHistories, never()).getTransactionHashes(any(), any(), anyInt());
+    }
+
+    @Test
+    public void getAddressTransactionsPage_missingAddress_badRequest() throws Exception {
+        mockMvc.perform(post(ADDRESS_TRANSACTIONS_PAGE_URL).contentType(MediaType.APPLICATION_JSON).content("{\"limit\":10}"))
+                .andExpect(status().isBadRequest());
+
+        verify(addressTransactionsHistories, never()).getTransactionHashes(any(), any(), anyInt());
+    }
+
+    private JsonNode postPageRequest(String content) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(post(ADDRESS_TRANSACTIONS_PAGE_URL).contentType(MediaType.APPLICATION_JSON).content(content))
+                .andExpect(status().isOk())
+                .andReturn();
+        return new ObjectMapper().readTree(mvcResult.getResponse().getContentAsString());
+    }
+
+    private TransactionData generateTransaction() {
+        return new TransactionData(new ArrayList<>(), HashTestUtils.generateRandomHash(), "description", 80, Instant.now(), TransactionType.Transfer);
+    }
+}
@@ -0,0 +1,149 @@
+package io.coti.fullnode.model;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.database.BaseNodeRocksDBConnector;
+import io.coti.fullnode.data.ExplorerIndexData;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rocksdb.RocksDB;
+import org.springframework.mock.env.MockEnvironment;
+import utils.HashTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ExplorerIndexesTest {
+
+    private static final Instant ATTACHMENT_TIME = Instant.parse("2020-03-15T10:00:00Z");
+    private static final byte HASH_KEY_PREFIX = 2;
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private BaseNodeRocksDBConnector rocksDBConnector;
+    private ExplorerIndexes explorerIndexes;
+
+    @Before
+    public void init() {
+        openDatabase();
+    }
+
+    @After
+    public void shutdown() {
+        rocksDBConnector.shutdown();
+    }
+
+    @Test
+    public void getTransactionHashesFromLast_stagedAndNewEntries_pagedFromLast() {
+        List<ExplorerIndexData> entries = generateEntries(5);
+        explorerIndexes.add(entries.get(2));
+        explorerIndexes.add(entries.get(0));
+        explorerIndexes.add(entries.get(1));
+        explorerIndexes.indexStaged();
+        explorerIndexes.add(entries.get(3));
+        explorerIndexes.add(entries.get(4));
+
+        Assert.assertEquals(5, explorerIndexes.getNextPosition());
+        Assert.assertEquals(getTransactionHashes(entries, 4, 3), explorerIndexes.getTransactionHashesFromLast(0, 2));
+        Assert.assertEquals(getTransactionHashes(entries, 2, 1), explorerIndexes.getTransactionHashesFromLast(2, 2));
+        Assert.assertEquals(getTransactionHashes(entries, 0), explorerIndexes.getTransactionHashesFromLast(4, 2));
+        Assert.assertTrue(explorerIndexes.getTransactionHashesFromLast(5, 2).isEmpty());
+        Assert.assertEquals(Arrays.asList(entries.get(4), entries.get(3)), explorerIndexes.getLast(2));
+    }
+
+    @Test
+    public void add_duplicateTransaction_indexedOnce() {
+        List<ExplorerIndexData> entries = generateEntries(2);
+        explorerIndexes.add(entries.get(0));
+        explorerIndexes.add(entries.get(0));
+        explorerIndexes.indexStaged();
+
+        Assert.assertFalse(explorerIndexes.add(entries.get(0)));
+        Assert.assertTrue(explorerIndexes.add(entries.get(1)));
+        Assert.assertFalse(explorerIndexes.add(entries.get(1)));
+
+        Assert.assertEquals(2, explorerIndexes.getNextPosition());
+        Assert.assertEquals(getTransactionHashes(entries, 1, 0), explorerIndexes.getTransactionHashesFromLast(0, 10));
+    }
+
+    @Test
+    public void load_afterRestart_missingEntriesAppendedOnce() {
+        List<ExplorerIndexData> entries = generateEntries(3);
+        explorerIndexes.add(entries.get(0));
+        explorerIndexes.indexStaged();
+        explorerIndexes.add(entries.get(1));
+        reopenDatabase();
+
+        Assert.assertFalse(explorerIndexes.isStaging());
+        Assert.assertEquals(2, explorerIndexes.getNextPosition());
+        entries.forEach(explorerIndexes::add);
+
+        Assert.assertEquals(getTransactionHashes(entries, 2, 1, 0), explorerIndexes.getTransactionHashesFromLast(0, 10));
+    }
+
+    @Test
+    public void load_positionsWithoutHashKeys_hashKeysRebuilt() {
+        List<ExplorerIndexData> entries = generateEntries(2);
+        explorerIndexes.indexStaged();
+        entries.forEach(explorerIndexes::add);
+        rocksDBConnector.delete(new String(RocksDB.DEFAULT_COLUMN_FAMILY), "explorer.indexes.hash.initialized".getBytes(StandardCharsets.UTF_8));
+        entries.forEach(entry -> rocksDBConnector.delete(ExplorerIndexes.class.getName(), getHashKey(entry.getTransactionHash())));
+        reopenDatabase();
+
+        entries.forEach(entry -> Assert.assertFalse(explorerIndexes.add(entry)));
+        Assert.assertEquals(2, explorerIndexes.getNextPosition());
+    }
+
+    @Test
+    public void load_interruptedBuild_positionsDroppedAndRestaged() {
+        List<ExplorerIndexData> entries = generateEntries(2);
+        explorerIndexes.indexStaged();
+        explorerIndexes.add(entries.get(0));
+        rocksDBConnector.delete(new String(RocksDB.DEFAULT_COLUMN_FAMILY), "explorer.indexes.position.initialized".getBytes(StandardCharsets.UTF_8));
+        reopenDatabase();
+
+        Assert.assertTrue(explorerIndexes.isStaging());
+        entries.forEach(explorerIndexes::add);
+        explorerIndexes.indexStaged();
+
+        Assert.assertEquals(getTransactionHashes(entries, 1, 0), explorerIndexes.getTransactionHashesFromLast(0, 10));
+    }
+
+    private void reopenDatabase() {
+        rocksDBConnector.shutdown();
+        openDatabase();
+    }
+
+    private void openDatabase() {
+        rocksDBConnector = new BaseNodeRocksDBConnector();
+        explorerIndexes = new ExplorerIndexes();
+        explorerIndexes.init();
+        rocksDBConnector.init(temporaryFolder.getRoot().getAbsolutePath(), new MockEnvironment(), explorerIndexes);
+        explorerIndexes.load();
+    }
+
+    private List<ExplorerIndexData> generateEntries(int numberOfEntries) {
+        List<ExplorerIndexData> entries = new ArrayList<>();
+        for (int i = 0; i < numberOfEntries; i++) {
+            entries.add(new ExplorerIndexData(ATTACHMENT_TIME.plusSeconds(i), HashTestUtils.generateRandomHash()));
+        }
+        return entries;
+    }
+
+    private List<Hash> getTransactionHashes(List<ExplorerIndexData> entries, int... indexes) {
+        List<Hash> transactionHashes = new ArrayList<>();
+        Arrays.stream(indexes).forEach(index -> transactionHashes.add(entries.get(index).getTransactionHash()));
+        return transactionHashes;
+    }
+
+    private byte[] getHashKey(Hash transactionHash) {
+        byte[] transactionHashBytes = transactionHash.getBytes();
+        return ByteBuffer.allocate(1 + transactionHashBytes.length).put(HASH_KEY_PREFIX).put(transactionHashBytes).array();
+    }
+}
@@ -1,10 +1,44 @@
 package io.coti.historynode.model;
 
+import io.coti.basenode.data.Hash;
 import io.coti.basenode.model.Collection;
 import io.coti.historynode.data.AddressTransactionsByAddress;
+import org.rocksdb.WriteBatch;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
 @Service
 public class AddressTransactionsByAddresses extends Collection<AddressTransactionsByAddress> {
 
+    @Override
+    public void migrateEntityCodec() {
+        super.migrateEntityCodec();
+        migrateToKeyIndex((addressTransactionsByAddress, writeBatch) ->
+                addressTransactionsByAddress.getTransactionHashesByDates().forEach((date, transactionHashes) ->
+                        transactionHashes.forEach(transactionHash -> put(writeBatch, addressTransactionsByAddress.getAddress(), date, transactionHash))));
+    }
+
+    public void put(WriteBatch writeBatch, Hash address, LocalDate date, Hash transactionHash) {
+        byte[] addressBytes = address.getBytes();
+        byte[] transactionHashBytes = transactionHash.getBytes();
+        putKey(writeBatch, ByteBuffer.allocate(addressBytes.length + Long.BYTES + transactionHashBytes.length)
+                .put(addressBytes).putLong(date.toEpochDay()).put(transactionHashBytes).array());
+    }
+
+    public void forEachTransactionHash(Hash address, LocalDate startDate, LocalDate endDate, Consumer<Hash> transactionHashConsumer) {
+        byte[] prefix = address.getBytes();
+        int transactionHashOffset = prefix.length + Long.BYTES;
+        byte[] fromKey = startDate != null ? ByteBuffer.allocate(transactionHashOffset).put(prefix).putLong(startDate.toEpochDay()).array() : prefix;
+        forEachKey(fromKey, key -> {
+            if (!startsWith(key, prefix) || key.length <= transactionHashOffset || ByteBuffer.wrap(key, prefix.length, Long.BYTES).getLong() > endDate.toEpochDay()) {
+                return false;
+            }
+            transactionHashConsumer.accept(new Hash(Arrays.copyOfRange(key, transactionHashOffset, key.length)));
+            return true;
+        });
+    }
 }
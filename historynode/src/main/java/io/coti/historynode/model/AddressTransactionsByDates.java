@@ -1,10 +1,44 @@
 package io.coti.historynode.model;
 
+import io.coti.basenode.data.Hash;
 import io.coti.basenode.model.Collection;
 import io.coti.historynode.data.AddressTransactionsByDate;
+import org.rocksdb.WriteBatch;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
 @Service
 public class AddressTransactionsByDates extends Collection<AddressTransactionsByDate> {
 
+    @Override
+    public void migrateEntityCodec() {
+        super.migrateEntityCodec();
+        migrateToKeyIndex((addressTransactionsByDate, writeBatch) -> {
+            if (addressTransactionsByDate.getTransactionHashes() != null) {
+                LocalDate date = addressTransactionsByDate.getDate().atOffset(ZoneOffset.UTC).toLocalDate();
+                addressTransactionsByDate.getTransactionHashes().forEach(transactionHash -> put(writeBatch, date, transactionHash));
+            }
+        });
+    }
+
+    public void put(WriteBatch writeBatch, LocalDate date, Hash transactionHash) {
+        byte[] transactionHashBytes = transactionHash.getBytes();
+        putKey(writeBatch, ByteBuffer.allocate(Long.BYTES + transactionHashBytes.length).putLong(date.toEpochDay()).put(transactionHashBytes).array());
+    }
+
+    public void forEachTransactionHash(LocalDate date, Consumer<Hash> transactionHashConsumer) {
+        byte[] prefix = ByteBuffer.allocate(Long.BYTES).putLong(date.toEpochDay()).array();
+        forEachKey(prefix, key -> {
+            if (!startsWith(key, prefix)) {
+                return false;
+            }
+            transactionHashConsumer.accept(new Hash(Arrays.copyOfRange(key, prefix.length, key.length)));
+            return true;
+        });
+    }
 }
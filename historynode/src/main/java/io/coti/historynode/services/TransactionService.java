@@ -1,19 +1,18 @@
 package io.coti.historynode.services;
 
-import io.coti.basenode.crypto.CryptoHelper;
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.database.interfaces.IDatabaseConnector;
 import io.coti.basenode.http.*;
 import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.BaseNodeTransactionService;
 import io.coti.historynode.crypto.GetTransactionsByAddressRequestCrypto;
-import io.coti.historynode.data.AddressTransactionsByAddress;
-import io.coti.historynode.data.AddressTransactionsByDate;
 import io.coti.historynode.http.GetTransactionsByAddressRequest;
 import io.coti.historynode.http.GetTransactionsByDateRequest;
 import io.coti.historynode.model.AddressTransactionsByAddresses;
 import io.coti.historynode.model.AddressTransactionsByDates;
 import lombok.extern.slf4j.Slf4j;
+import org.rocksdb.WriteBatch;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpMethod;
@@ -28,7 +27,11 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import static io.coti.basenode.http.BaseNodeHttpStringConstants.INVALID_SIGNATURE;
 import static io.coti.basenode.http.BaseNodeHttpStringConstants.STATUS_ERROR;
@@ -39,6 +42,7 @@ import static io.coti.basenode.http.BaseNodeHttpStringConstants.STATUS_ERROR;
 public class TransactionService extends BaseNodeTransactionService {
 
     private static final String END_POINT_RETRIEVE = "/transactions/reactive";
+    private static final int RETRIEVE_TRANSACTIONS_BATCH_SIZE = 1000;
     @Value("${storage.server.address}")
     protected String storageServerAddress;
     @Autowired
@@ -55,6 +59,8 @@ public class TransactionService extends BaseNodeTransactionService {
     private ChunkService chunkService;
     @Autowired
     private HttpJacksonSerializer jacksonSerializer;
+    @Autowired
+    private IDatabaseConnector databaseConnector;
 
     @Override
     protected void continueHandlePropagatedTransaction(TransactionData transactionData) {
@@ -69,30 +75,47 @@ public class TransactionService extends BaseNodeTransactionService {
                 customResponse.printResponse(new Response(INVALID_SIGNATURE, STATUS_ERROR), HttpStatus.UNAUTHORIZED.value());
                 return;
             }
-            List<Hash> transactionHashes = getTransactionHashesToRetrieve(getTransactionsByAddressRequest);
-            getTransactions(transactionHashes, response);
+            getTransactions(transactionHashConsumer -> forEachTransactionHashToRetrieve(getTransactionsByAddressRequest, transactionHashConsumer), response);
         } catch (Exception e) {
             log.error("{}: {}", e.getClass().getName(), e.getMessage());
         }
     }
 
     public void getTransactionsByDate(GetTransactionsByDateRequest getTransactionsByDateRequest, HttpServletResponse response) {
-
-        List<Hash> transactionHashes = getTransactionHashesByDate(getTransactionsByDateRequest.getDate());
-        getTransactions(transactionHashes, response);
+        LocalDate date = getTransactionsByDateRequest.getDate();
+        getTransactions(transactionHashConsumer -> {
+            if (date != null) {
+                addressTransactionsByDates.forEachTransactionHash(date, transactionHashConsumer);
+            }
+        }, response);
     }
 
-    private void getTransactions(List<Hash> transactionHashes, HttpServletResponse response) {
+    private void getTransactions(Consumer<Consumer<Hash>> transactionHashesProducer, HttpServletResponse response) {
         try {
             CustomHttpServletResponse customResponse = new CustomHttpServletResponse(response);
             PrintWriter output = response.getWriter();
-            if (transactionHashes.isEmpty()) {
-                customResponse.printResponse("[]", HttpStatus.OK.value());
-                return;
+            List<Hash> transactionHashes = new ArrayList<>(RETRIEVE_TRANSACTIONS_BATCH_SIZE);
+            AtomicBoolean chunkStarted = new AtomicBoolean(false);
+            transactionHashesProducer.accept(transactionHash -> {
+                transactionHashes.add(transactionHash);
+                if (transactionHashes.size() == RETRIEVE_TRANSACTIONS_BATCH_SIZE) {
+                    if (!chunkStarted.getAndSet(true)) {
+                        chunkService.startOfChunk(output);
+                    }
+                    retrieveTransactions(transactionHashes, output);
+                    transactionHashes.clear();
+                }
+            });
+            if (!chunkStarted.get()) {
+                if (transactionHashes.isEmpty()) {
+                    customResponse.printResponse("[]", HttpStatus.OK.value());
+                    return;
+                }
+                chunkService.startOfChunk(output);
+            }
+            if (!transactionHashes.isEmpty()) {
+                retrieveTransactions(transactionHashes, output);
             }
-            chunkService.startOfChunk(output);
-
-            retrieveTransactions(transactionHashes, output);
 
             chunkService.endOfChunk(output);
 
@@ -111,8 +134,7 @@ public class TransactionService extends BaseNodeTransactionService {
 
     private void getTransactionsFromLocal(List<Hash> transactionHashes, List<Hash> transactionsHashesToRetrieveFromElasticSearch, PrintWriter output) {
 
-        transactionHashes.forEach(transactionHash -> {
-            TransactionData transactionData = transactions.getByHash(transactionHash);
+        transactions.getByHashes(transactionHashes).forEach((transactionHash, transactionData) -> {
             if (transactionData != null) {
                 chunkService.transactionHandler(transactionData, output);
             } else {
@@ -131,73 +153,38 @@ public class TransactionService extends BaseNodeTransactionService {
     }
 
     public List<Hash> getTransactionHashesToRetrieve(GetTransactionsByAddressRequest getTransactionsByAddressRequest) {
+        List<Hash> transactionHashes = new ArrayList<>();
+        forEachTransactionHashToRetrieve(getTransactionsByAddressRequest, transactionHashes::add);
+        return transactionHashes;
+    }
+
+    private void forEachTransactionHashToRetrieve(GetTransactionsByAddressRequest getTransactionsByAddressRequest, Consumer<Hash> transactionHashConsumer) {
         Hash addressHash = getTransactionsByAddressRequest.getAddress();
         if (addressHash == null) {
-            return new ArrayList<>();
+            return;
         }
-        return getTransactionHashesByAddressAndDates(addressHash, getTransactionsByAddressRequest.getStartDate(), getTransactionsByAddressRequest.getEndDate());
+        LocalDate endDate = getTransactionsByAddressRequest.getEndDate();
+        endDate = (endDate != null) ? endDate : calculateInstantLocalDate(Instant.now());
+        addressTransactionsByAddresses.forEachTransactionHash(addressHash, getTransactionsByAddressRequest.getStartDate(), endDate, transactionHashConsumer);
     }
 
-
     public List<Hash> getTransactionHashesByDate(LocalDate date) {
-        if (date == null) {
-            return new ArrayList<>();
-        }
-        AddressTransactionsByDate addressTransactionsByDate = addressTransactionsByDates.getByHash(calculateHashByLocalDate(date));
-        if (addressTransactionsByDate == null || addressTransactionsByDate.getTransactionHashes() == null || addressTransactionsByDate.getTransactionHashes().isEmpty()) {
-            return new ArrayList<>();
-        }
-        return new ArrayList<>(addressTransactionsByDate.getTransactionHashes());
-    }
-
-    private List<Hash> getTransactionHashesByAddressAndDates(Hash address, LocalDate startDate, LocalDate endDate) {
         List<Hash> transactionHashes = new ArrayList<>();
-        AddressTransactionsByAddress addressTransactionsByAddress = addressTransactionsByAddresses.getByHash(address);
-        if (addressTransactionsByAddress == null) {
-            return transactionHashes;
-        }
-
-        startDate = (startDate != null) ? startDate : addressTransactionsByAddress.getStartDate();
-        endDate = (endDate != null) ? endDate : calculateInstantLocalDate(Instant.now());
-
-        Map<LocalDate, HashSet<Hash>> transactionHashesByDates = addressTransactionsByAddress.getTransactionHashesByDates();
-        while (!startDate.isAfter(endDate)) {
-            HashSet<Hash> hashesOfDate = transactionHashesByDates.get(startDate);
-            if (hashesOfDate != null) {
-                transactionHashes.addAll(hashesOfDate);
-            }
-            startDate = startDate.plusDays(1);
+        if (date != null) {
+            addressTransactionsByDates.forEachTransactionHash(date, transactionHashes::add);
         }
         return transactionHashes;
     }
 
 
     public void addToHistoryTransactionIndexes(TransactionData transactionData) {
-        Instant attachmentTime = transactionData.getAttachmentTime();
-        LocalDate attachmentLocalDate = calculateInstantLocalDate(attachmentTime);
-        Hash hashByDate = calculateHashByLocalDate(attachmentLocalDate);
-        HashSet<Hash> relatedAddressHashes = getRelatedAddresses(transactionData);
-
-        AddressTransactionsByDate transactionsByDateHash = addressTransactionsByDates.getByHash(hashByDate);
-        if (transactionsByDateHash == null) {
-            transactionsByDateHash = new AddressTransactionsByDate(attachmentTime, new HashSet<>());
+        LocalDate attachmentLocalDate = calculateInstantLocalDate(transactionData.getAttachmentTime());
+        try (WriteBatch writeBatch = new WriteBatch()) {
+            addressTransactionsByDates.put(writeBatch, attachmentLocalDate, transactionData.getHash());
+            getRelatedAddresses(transactionData).forEach(transactionAddressHash ->
+                    addressTransactionsByAddresses.put(writeBatch, transactionAddressHash, attachmentLocalDate, transactionData.getHash()));
+            databaseConnector.putBatch(writeBatch);
         }
-        transactionsByDateHash.getTransactionHashes().add(transactionData.getHash());
-        addressTransactionsByDates.put(transactionsByDateHash);
-
-        relatedAddressHashes.forEach(transactionAddressHash -> {
-            AddressTransactionsByAddress transactionsByAddress = addressTransactionsByAddresses.getByHash(transactionAddressHash);
-            if (transactionsByAddress == null) {
-                transactionsByAddress = new AddressTransactionsByAddress(transactionAddressHash, new HashMap<>(), attachmentLocalDate);
-            }
-            if (transactionsByAddress.getStartDate().isAfter(attachmentLocalDate)) {
-                transactionsByAddress.setStartDate(attachmentLocalDate);
-            }
-
-            HashSet<Hash> transactionsHashesByDate = transactionsByAddress.getTransactionHashesByDates().computeIfAbsent(attachmentLocalDate, k -> new HashSet<>());
-            transactionsHashesByDate.add(transactionData.getHash());
-            addressTransactionsByAddresses.put(transactionsByAddress);
-        });
     }
 
     private HashSet<Hash> getRelatedAddresses(TransactionData transactionData) {
@@ -206,20 +193,11 @@ public class TransactionService extends BaseNodeTransactionService {
         return hashes;
     }
 
-    protected Hash calculateHashByTime(Instant date) {
-        LocalDate localDate = calculateInstantLocalDate(date);
-        return calculateHashByLocalDate(localDate);
-    }
-
     public LocalDate calculateInstantLocalDate(Instant date) {
         LocalDateTime ldt = LocalDateTime.ofInstant(date, ZoneOffset.UTC);
         return LocalDate.of(ldt.getYear(), ldt.getMonth(), ldt.getDayOfMonth());
     }
 
-    private Hash calculateHashByLocalDate(LocalDate localDate) {
-        return CryptoHelper.cryptoHash(localDate.toString().getBytes());
-    }
-
     protected ResponseEntity<AddHistoryEntitiesResponse> storeEntitiesByType(String url, AddEntitiesBulkRequest addEntitiesBulkRequest) {
         return storageConnector.storeInStorage(url, addEntitiesBulkRequest, AddHistoryEntitiesResponse.class);
     }
@@ -0,0 +1,159 @@
+package io.coti.historynode.model;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.database.BaseNodeRocksDBConnector;
+import io.coti.historynode.data.AddressTransactionsByAddress;
+import io.coti.historynode.data.AddressTransactionsByDate;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rocksdb.RocksDB;
+import org.rocksdb.WriteBatch;
+import org.springframework.mock.env.MockEnvironment;
+import utils.HashTestUtils;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+
+public class AddressTransactionsKeyIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2020, 3, 15);
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private BaseNodeRocksDBConnector rocksDBConnector;
+    private AddressTransactionsByDates addressTransactionsByDates;
+    private AddressTransactionsByAddresses addressTransactionsByAddresses;
+
+    @Before
+    public void init() {
+        rocksDBConnector = new BaseNodeRocksDBConnector();
+        addressTransactionsByDates = new AddressTransactionsByDates();
+        addressTransactionsByAddresses = new AddressTransactionsByAddresses();
+        rocksDBConnector.init(temporaryFolder.getRoot().getAbsolutePath(), new MockEnvironment(), addressTransactionsByAddresses, addressTransactionsByDates);
+    }
+
+    @After
+    public void shutdown() {
+        rocksDBConnector.shutdown();
+    }
+
+    @Test
+    public void putByDate_dateAndTransactionHash_keyIsEpochDayFollowedByTransactionHash() {
+        Hash transactionHash = HashTestUtils.generateRandomHash();
+
+        try (WriteBatch writeBatch = new WriteBatch()) {
+            addressTransactionsByDates.put(writeBatch, DATE, transactionHash);
+            rocksDBConnector.putBatch(writeBatch);
+        }
+
+        byte[] expectedKey = ByteBuffer.allocate(Long.BYTES + transactionHash.getBytes().length).putLong(DATE.toEpochDay()).put(transactionHash.getBytes()).array();
+        Assert.assertEquals(Collections.singletonList(new Hash(expectedKey)), getKeys(addressTransactionsByDates));
+    }
+
+    @Test
+    public void putByAddress_addressDateAndTransactionHash_keyIsAddressEpochDayAndTransactionHash() {
+        Hash address = HashTestUtils.generateRandomAddressHash();
+        Hash transactionHash = HashTestUtils.generateRandomHash();
+
+        try (WriteBatch writeBatch = new WriteBatch()) {
+            addressTransactionsByAddresses.put(writeBatch, address, DATE, transactionHash);
+            rocksDBConnector.putBatch(writeBatch);
+        }
+
+        byte[] expectedKey = ByteBuffer.allocate(address.getBytes().length + Long.BYTES + transactionHash.getBytes().length)
+                .put(address.getBytes()).putLong(DATE.toEpochDay()).put(transactionHash.getBytes()).array();
+        Assert.assertEquals(Collections.singletonList(new Hash(expectedKey)), getKeys(addressTransactionsByAddresses));
+    }
+
+    @Test
+    public void forEachTransactionHash_byDate_onlyHashesOfDate() {
+        Set<Hash> transactionHashes = HashTestUtils.generateSetOfRandomHashes(5);
+        try (WriteBatch writeBatch = new WriteBatch()) {
+            transactionHashes.forEach(transactionHash -> addressTransactionsByDates.put(writeBatch, DATE, transactionHash));
+            addressTransactionsByDates.put(writeBatch, DATE.minusDays(1), HashTestUtils.generateRandomHash());
+            addressTransactionsByDates.put(writeBatch, DATE.plusDays(1), HashTestUtils.generateRandomHash());
+            rocksDBConnector.putBatch(writeBatch);
+        }
+
+        Set<Hash> scannedTransactionHashes = new HashSet<>();
+        addressTransactionsByDates.forEachTransactionHash(DATE, scannedTransactionHashes::add);
+
+        Assert.assertEquals(transactionHashes, scannedTransactionHashes);
+    }
+
+    @Test
+    public void forEachTransactionHash_byAddressAndDateRange_onlyHashesOfAddressInRange() {
+        Hash address = HashTestUtils.generateRandomAddressHash();
+        Hash otherAddress = HashTestUtils.generateRandomAddressHash();
+        Map<LocalDate, Hash> transactionHashByDate = new LinkedHashMap<>();
+        try (WriteBatch writeBatch = new WriteBatch()) {
+            for (int days = 0; days < 4; days++) {
+                LocalDate date = DATE.plusDays(days);
+                Hash transactionHash = HashTestUtils.generateRandomHash();
+                transactionHashByDate.put(date, transactionHash);
+                addressTransactionsByAddresses.put(writeBatch, address, date, transactionHash);
+                addressTransactionsByAddresses.put(writeBatch, otherAddress, date, HashTestUtils.generateRandomHash());
+            }
+            rocksDBConnector.putBatch(writeBatch);
+        }
+
+        List<Hash> scannedTransactionHashes = new ArrayList<>();
+        addressTransactionsByAddresses.forEachTransactionHash(address, DATE.plusDays(1), DATE.plusDays(2), scannedTransactionHashes::add);
+        Assert.assertEquals(Arrays.asList(transactionHashByDate.get(DATE.plusDays(1)), transactionHashByDate.get(DATE.plusDays(2))), scannedTransactionHashes);
+
+        scannedTransactionHashes.clear();
+        addressTransactionsByAddresses.forEachTransactionHash(address, null, DATE, scannedTransactionHashes::add);
+        Assert.assertEquals(Collections.singletonList(transactionHashByDate.get(DATE)), scannedTransactionHashes);
+    }
+
+    @Test
+    public void migrateToKeyIndex_legacyEntities_replacedByKeys() {
+        Set<Hash> dateTransactionHashes = HashTestUtils.generateSetOfRandomHashes(3);
+        AddressTransactionsByDate addressTransactionsByDate = new AddressTransactionsByDate(DATE.atStartOfDay().toInstant(ZoneOffset.UTC).plusSeconds(3600), dateTransactionHashes);
+        addressTransactionsByDates.put(addressTransactionsByDate);
+        Hash address = HashTestUtils.generateRandomAddressHash();
+        HashSet<Hash> firstDateTransactionHashes = new HashSet<>(HashTestUtils.generateSetOfRandomHashes(2));
+        HashSet<Hash> secondDateTransactionHashes = new HashSet<>(HashTestUtils.generateSetOfRandomHashes(2));
+        Map<LocalDate, HashSet<Hash>> transactionHashesByDates = new HashMap<>();
+        transactionHashesByDates.put(DATE, firstDateTransactionHashes);
+        transactionHashesByDates.put(DATE.plusDays(1), secondDateTransactionHashes);
+        addressTransactionsByAddresses.put(new AddressTransactionsByAddress(address, transactionHashesByDates, DATE));
+        resetKeyIndexVersion(AddressTransactionsByDates.class);
+        resetKeyIndexVersion(AddressTransactionsByAddresses.class);
+
+        addressTransactionsByDates.migrateEntityCodec();
+        addressTransactionsByAddresses.migrateEntityCodec();
+
+        Assert.assertNull(addressTransactionsByDates.getByHash(addressTransactionsByDate.getHash()));
+        Assert.assertNull(addressTransactionsByAddresses.getByHash(address));
+        Set<Hash> scannedDateTransactionHashes = new HashSet<>();
+        addressTransactionsByDates.forEachTransactionHash(DATE, scannedDateTransactionHashes::add);
+        Assert.assertEquals(dateTransactionHashes, scannedDateTransactionHashes);
+        Set<Hash> scannedFirstDateTransactionHashes = new HashSet<>();
+        addressTransactionsByAddresses.forEachTransactionHash(address, DATE, DATE, scannedFirstDateTransactionHashes::add);
+        Assert.assertEquals(firstDateTransactionHashes, scannedFirstDateTransactionHashes);
+        Set<Hash> scannedAllTransactionHashes = new HashSet<>();
+        addressTransactionsByAddresses.forEachTransactionHash(address, null, DATE.plusDays(1), scannedAllTransactionHashes::add);
+        Set<Hash> allTransactionHashes = new HashSet<>(firstDateTransactionHashes);
+        allTransactionHashes.addAll(secondDateTransactionHashes);
+        Assert.assertEquals(allTransactionHashes, scannedAllTransactionHashes);
+    }
+
+    private List<Hash> getKeys(io.coti.basenode.model.Collection<?> collection) {
+        List<Hash> keys = new ArrayList<>();
+        collection.forEach((key, value) -> {
+            Assert.assertEquals(0, value.length);
+            keys.add(new Hash(key));
+        });
+        return keys;
+    }
+
+    private void resetKeyIndexVersion(Class<?> collectionClass) {
+        rocksDBConnector.delete(new String(RocksDB.DEFAULT_COLUMN_FAMILY), ("key.index.version." + collectionClass.getName()).getBytes());
+    }
+}
@@ -18,8 +18,6 @@ import io.coti.basenode.services.interfaces.IBalanceService;
 import io.coti.basenode.services.interfaces.ITransactionHelper;
 import io.coti.basenode.services.liveview.LiveViewService;
 import io.coti.historynode.crypto.GetTransactionsByAddressRequestCrypto;
-import io.coti.historynode.data.AddressTransactionsByAddress;
-import io.coti.historynode.data.AddressTransactionsByDate;
 import io.coti.historynode.http.GetTransactionsByAddressRequest;
 import io.coti.historynode.http.GetTransactionsByDateRequest;
 import io.coti.historynode.model.AddressTransactionsByAddresses;
@@ -45,12 +43,11 @@ import java.io.UnsupportedEncodingException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.function.Consumer;
 
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static utils.TransactionTestUtils.generateRandomAddressHash;
 import static utils.TransactionTestUtils.generateRandomHash;
@@ -146,13 +143,8 @@ public class HistoryTransactionServiceTest {
         LocalDate startDate = transactionService.calculateInstantLocalDate(Instant.now().minus(amountOfDaysBack, ChronoUnit.DAYS));
         LocalDate endDate = transactionService.calculateInstantLocalDate(Instant.now());
 
-        Hash transactionAddressHash = generateRandomAddressHash();
-        HashMap<LocalDate, HashSet<Hash>> transactionHashesByDate = new HashMap<>();
-        LocalDate earliestLocalDate = transactionService.calculateInstantLocalDate(Instant.now().minus(amountOfDaysBack, ChronoUnit.DAYS));
-        // Mock -> AddressTransactionsByAddress with no entries -> Empty result
-        AddressTransactionsByAddress mockedAddressTransactionsByAddress = new AddressTransactionsByAddress(transactionAddressHash, transactionHashesByDate, earliestLocalDate);
-
-        when(addressTransactionsByAddresses.getByHash(address)).thenReturn(mockedAddressTransactionsByAddress);
+        // Mock -> address index with no entries -> Empty result
+        mockTransactionHashesByAddress(address, new HashSet<>());
         List<Hash> transactionHashesToRetrieve =
                 transactionService.getTransactionHashesToRetrieve(getGetTransactionsByAddressRequest(address, startDate, endDate));
         Assert.assertTrue(transactionHashesToRetrieve.isEmpty());
@@ -214,18 +206,37 @@ public class HistoryTransactionServiceTest {
 
 
     protected HashSet<Hash> getTransactionHashesMocked(int amountOfDaysBack, Hash address, LocalDate startDate) {
-        Hash transactionAddressHash = generateRandomAddressHash();
-        HashMap<LocalDate, HashSet<Hash>> transactionHashesByDate = new HashMap<>();
-        LocalDate earliestLocalDate = transactionService.calculateInstantLocalDate(Instant.now().minus(amountOfDaysBack, ChronoUnit.DAYS));
-
         HashSet<Hash> transactionHashes = new HashSet<>();
         transactionHashes.add(generateRandomHash());
-        transactionHashesByDate.put(startDate, transactionHashes);
-        AddressTransactionsByAddress mockedAddressTransactionsByAddress = new AddressTransactionsByAddress(transactionAddressHash, transactionHashesByDate, earliestLocalDate);
-        when(addressTransactionsByAddresses.getByHash(address)).thenReturn(mockedAddressTransactionsByAddress);
+        mockTransactionHashesByAddress(address, transactionHashes);
         return transactionHashes;
     }
 
+    protected void mockTransactionHashesByAddress(Hash address, Set<Hash> transactionHashes) {
+        doAnswer(invocation -> {
+            Consumer<Hash> transactionHashConsumer = invocation.getArgument(3);
+            transactionHashes.forEach(transactionHashConsumer);
+            return null;
+        }).when(addressTransactionsByAddresses).forEachTransactionHash(eq(address), any(), any(), any());
+    }
+
+    protected void mockTransactionHashesByDate(LocalDate date, Set<Hash> transactionHashes) {
+        doAnswer(invocation -> {
+            Consumer<Hash> transactionHashConsumer = invocation.getArgument(1);
+            transactionHashes.forEach(transactionHashConsumer);
+            return null;
+        }).when(addressTransactionsByDates).forEachTransactionHash(eq(date), any());
+    }
+
+    protected void mockLocalTransactions(TransactionData transactionData) {
+        when(transactions.getByHashes(anyList())).thenAnswer(invocation -> {
+            List<Hash> transactionHashes = invocation.getArgument(0);
+            Map<Hash, TransactionData> transactionDataByHash = new LinkedHashMap<>();
+            transactionHashes.forEach(transactionHash -> transactionDataByHash.put(transactionHash, transactionData));
+            return transactionDataByHash;
+        });
+    }
+
     protected GetTransactionsByAddressRequest getGetTransactionsByAddressRequest(Hash address, LocalDate startDate, LocalDate endDate) {
         GetTransactionsByAddressRequest request = new GetTransactionsByAddressRequest();
         request.setAddress(address);
@@ -268,7 +279,7 @@ public class HistoryTransactionServiceTest {
 
         request.setAddress(address);
         TransactionData transactionData = TransactionTestUtils.createRandomTransaction();
-        when(transactions.getByHash((transactionHashes.stream().collect(Collectors.toList())).get(0))).thenReturn(transactionData);
+        mockLocalTransactions(transactionData);
         transactionService.getTransactionsByAddress(request, response);
         Assert.assertEquals(HttpStatus.OK.value(), response.getStatus());
 
@@ -293,24 +304,12 @@ public class HistoryTransactionServiceTest {
         request.setDate(transactionService.calculateInstantLocalDate(today));
         MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(addressTransactionsByDates.getByHash(transactionService.calculateHashByTime(today))).thenReturn(null);
-
         transactionService.getTransactionsByDate(request, response);
         Assert.assertEquals(HttpStatus.OK.value(), response.getStatus());
         Assert.assertEquals(EMPTY_OUTPUT, response.getContentAsString());
 
         response = new MockHttpServletResponse();
-        AddressTransactionsByDate addressTransactionsByDate = new AddressTransactionsByDate(today, null);
-        when(addressTransactionsByDates.getByHash(transactionService.calculateHashByTime(today))).thenReturn(addressTransactionsByDate);
-
-        transactionService.getTransactionsByDate(request, response);
-        Assert.assertEquals(HttpStatus.OK.value(), response.getStatus());
-        Assert.assertEquals(EMPTY_OUTPUT, response.getContentAsString());
-
-        response = new MockHttpServletResponse();
-        HashSet<Hash> transactionHashes = new HashSet<>();
-        addressTransactionsByDate = new AddressTransactionsByDate(today, transactionHashes);
-        when(addressTransactionsByDates.getByHash(transactionService.calculateHashByTime(today))).thenReturn(addressTransactionsByDate);
+        mockTransactionHashesByDate(request.getDate(), new HashSet<>());
 
         transactionService.getTransactionsByDate(request, response);
         Assert.assertEquals(HttpStatus.OK.value(), response.getStatus());
@@ -325,16 +324,13 @@ public class HistoryTransactionServiceTest {
         request.setDate(transactionService.calculateInstantLocalDate(today));
         MockHttpServletResponse response = new MockHttpServletResponse();
 
-        when(addressTransactionsByDates.getByHash(transactionService.calculateHashByTime(today))).thenReturn(null);
-
         HashSet<Hash> transactionHashes = new HashSet<>();
         Hash transactionHashToRetrieveLocally = generateRandomHash();
         transactionHashes.add(transactionHashToRetrieveLocally);
 
-        AddressTransactionsByDate addressTransactionsByDate = new AddressTransactionsByDate(today, transactionHashes);
-        when(addressTransactionsByDates.getByHash(transactionService.calculateHashByTime(today))).thenReturn(addressTransactionsByDate);
+        mockTransactionHashesByDate(request.getDate(), transactionHashes);
         TransactionData transactionData = TransactionTestUtils.createRandomTransaction();
-        when(transactions.getByHash(any(Hash.class))).thenReturn(transactionData);
+        mockLocalTransactions(transactionData);
 
         transactionService.getTransactionsByDate(request, response);
         Assert.assertEquals(HttpStatus.OK.value(), response.getStatus());
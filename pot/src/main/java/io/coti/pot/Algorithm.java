@@ -7,6 +7,7 @@ import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import sun.security.provider.Sun;
 
 import java.lang.reflect.InvocationTargetException;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.Provider;
@@ -50,11 +51,33 @@ public class Algorithm implements IAlgorithm {
 
     @Override
     public byte[] hash(byte[] input) {
-        if (bouncyCastleAlgorithms.contains(hashingAlgorithm))
+        if (messageDigestAlgorithm != null)
             return messageDigestAlgorithm.digest(input);
         return cryptoHashAlgorithm.digest(input);
     }
 
+    @Override
+    public void hash(byte[] input, byte[] output) {
+        if (messageDigestAlgorithm != null) {
+            messageDigestAlgorithm.update(input);
+            try {
+                messageDigestAlgorithm.digest(output, 0, output.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException(String.format("Error at hashing with %s", hashingAlgorithm), e);
+            }
+            return;
+        }
+        cryptoHashAlgorithm.update(input);
+        cryptoHashAlgorithm.digest(output, 0, output.length);
+    }
+
+    @Override
+    public int getDigestLength() {
+        if (messageDigestAlgorithm != null)
+            return messageDigestAlgorithm.getDigestLength();
+        return cryptoHashAlgorithm.getDigestLength();
+    }
+
     private MessageDigest getBouncyCastle(AlgorithmType hashingAlgorithm) throws NoSuchAlgorithmException {
         return MessageDigest.getInstance(hashingAlgorithm.toString(), new BouncyCastleProvider());
     }
@@ -3,29 +3,31 @@ package io.coti.pot;
 import io.coti.pot.interfaces.IAlgorithm;
 import io.coti.pot.interfaces.IAlgorithmOrder;
 import io.coti.pot.interfaces.IAlgorithmWorker;
-import org.apache.commons.lang3.ArrayUtils;
-
-import java.math.BigInteger;
-import java.nio.ByteBuffer;
 
 class AlgorithmWorker implements IAlgorithmWorker {
 
     private final IAlgorithmOrder ordering;
+    private final int parallelism;
 
     public AlgorithmWorker(IAlgorithmOrder ordering) {
+        this(ordering, 1);
+    }
+
+    public AlgorithmWorker(IAlgorithmOrder ordering, int parallelism) {
         this.ordering = ordering;
+        this.parallelism = parallelism;
     }
 
     @Override
     public int[] hash(byte[] data, byte[] target) {
-        BigInteger targetOutput = new BigInteger(1, target);
         int[] nonces = new int[ordering.getHashingAlgorithms().size()];
         byte[] lastCorrectHash = data;
 
         for (int i = 0; i < nonces.length; i++) {
             IAlgorithm.AlgorithmType hashingAlgorithm = ordering.getHashingAlgorithms().get(i);
-            int nonce = findNonce(hashingAlgorithm, lastCorrectHash, targetOutput);
-            lastCorrectHash = concatAndHash(hashingAlgorithm, lastCorrectHash, nonce);
+            IAlgorithm algorithm = ordering.getHashingAlgorithm(hashingAlgorithm);
+            int nonce = NonceSearch.findNonce(hashingAlgorithm, algorithm, lastCorrectHash, target, parallelism);
+            lastCorrectHash = concatAndHash(algorithm, lastCorrectHash, nonce);
             nonces[i] = nonce;
         }
         return nonces;
@@ -37,14 +39,12 @@ class AlgorithmWorker implements IAlgorithmWorker {
             return false;
         }
 
-        BigInteger targetOutput = new BigInteger(1, target);
         byte[] lastCorrectHash = data;
 
         for (int i = 0; i < nonce.length; i++) {
             IAlgorithm.AlgorithmType hashingAlgorithm = ordering.getHashingAlgorithms().get(i);
-            byte[] hashedData = concatAndHash(hashingAlgorithm, lastCorrectHash, nonce[i]);
-            BigInteger currentOutput = new BigInteger(1, hashedData);
-            if (currentOutput.compareTo(targetOutput) > -1) {
+            byte[] hashedData = concatAndHash(ordering.getHashingAlgorithm(hashingAlgorithm), lastCorrectHash, nonce[i]);
+            if (NonceSearch.compareUnsigned(hashedData, target) > -1) {
                 return false;
             }
             lastCorrectHash = hashedData;
@@ -52,24 +52,11 @@ class AlgorithmWorker implements IAlgorithmWorker {
         return true;
     }
 
-    private int findNonce(IAlgorithm.AlgorithmType hashingAlgorithm, byte[] lastCorrectHash, BigInteger targetOutput) {
-        byte[] hashedData;
-        boolean validHash;
-        int nonce = 0;
-
-        do {
-            hashedData = concatAndHash(hashingAlgorithm, lastCorrectHash, nonce);
-            BigInteger currentOutput = new BigInteger(1, hashedData);
-            validHash = (currentOutput.compareTo(targetOutput) < 0);
-            nonce = nonce + 1;
-        } while (!validHash);
-        return nonce - 1;
-    }
-
-    private byte[] concatAndHash(IAlgorithm.AlgorithmType hashingAlgorithm, byte[] data, int nonce) {
-        byte[] nonceByte = ByteBuffer.allocate(4).putInt(nonce).array();
-        data = ArrayUtils.addAll(data, nonceByte);
-        data = ordering.getHashingAlgorithm(hashingAlgorithm).hash(data);
-        return data;
+    private byte[] concatAndHash(IAlgorithm algorithm, byte[] data, int nonce) {
+        byte[] input = NonceSearch.createInput(data);
+        NonceSearch.setNonce(input, data.length, nonce);
+        byte[] output = new byte[algorithm.getDigestLength()];
+        algorithm.hash(input, output);
+        return output;
     }
 }
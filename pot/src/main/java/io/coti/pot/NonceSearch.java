@@ -0,0 +1,110 @@
+package io.coti.pot;
+
+import io.coti.pot.interfaces.IAlgorithm;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class NonceSearch {
+
+    private static final int NONCE_SIZE = Integer.BYTES;
+    private static final ThreadLocal<Map<IAlgorithm.AlgorithmType, IAlgorithm>> workerAlgorithms = ThreadLocal.withInitial(() -> new EnumMap<>(IAlgorithm.AlgorithmType.class));
+    private static final ExecutorService searchExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+        Thread thread = new Thread(runnable, "PoT Nonce Search");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private NonceSearch() {
+    }
+
+    static int findNonce(IAlgorithm algorithm, byte[] data, byte[] target) {
+        return findNonce(algorithm, data, target, 0, 1, new AtomicInteger(Integer.MAX_VALUE));
+    }
+
+    static int findNonce(IAlgorithm.AlgorithmType hashingAlgorithm, IAlgorithm algorithm, byte[] data, byte[] target, int parallelism) {
+        if (parallelism <= 1) {
+            return findNonce(algorithm, data, target);
+        }
+        AtomicInteger foundNonce = new AtomicInteger(Integer.MAX_VALUE);
+        List<Future<?>> futures = new ArrayList<>(parallelism - 1);
+        for (int start = 1; start < parallelism; start++) {
+            final int workerStart = start;
+            futures.add(searchExecutor.submit(() ->
+                    findNonce(getWorkerAlgorithm(hashingAlgorithm), data, target, workerStart, parallelism, foundNonce)));
+        }
+        findNonce(algorithm, data, target, 0, parallelism, foundNonce);
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Nonce search interrupted", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Error at nonce search", e.getCause());
+            }
+        }
+        return foundNonce.get();
+    }
+
+    private static int findNonce(IAlgorithm algorithm, byte[] data, byte[] target, int start, int step, AtomicInteger foundNonce) {
+        byte[] input = createInput(data);
+        byte[] output = new byte[algorithm.getDigestLength()];
+        for (int nonce = start; nonce >= 0 && nonce < foundNonce.get(); nonce += step) {
+            setNonce(input, data.length, nonce);
+            algorithm.hash(input, output);
+            if (compareUnsigned(output, target) < 0) {
+                foundNonce.accumulateAndGet(nonce, Math::min);
+                return nonce;
+            }
+        }
+        return foundNonce.get();
+    }
+
+    static byte[] createInput(byte[] data) {
+        byte[] input = new byte[data.length + NONCE_SIZE];
+        System.arraycopy(data, 0, input, 0, data.length);
+        return input;
+    }
+
+    static void setNonce(byte[] input, int offset, int nonce) {
+        input[offset] = (byte) (nonce >>> 24);
+        input[offset + 1] = (byte) (nonce >>> 16);
+        input[offset + 2] = (byte) (nonce >>> 8);
+        input[offset + 3] = (byte) nonce;
+    }
+
+    static int compareUnsigned(byte[] value, byte[] other) {
+        int valueStart = getFirstNonZeroIndex(value);
+        int otherStart = getFirstNonZeroIndex(other);
+        int valueLength = value.length - valueStart;
+        int otherLength = other.length - otherStart;
+        if (valueLength != otherLength) {
+            return valueLength < otherLength ? -1 : 1;
+        }
+        for (int i = 0; i < valueLength; i++) {
+            int valueByte = value[valueStart + i] & 0xff;
+            int otherByte = other[otherStart + i] & 0xff;
+            if (valueByte != otherByte) {
+                return valueByte < otherByte ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    private static int getFirstNonZeroIndex(byte[] bytes) {
+        int index = 0;
+        while (index < bytes.length && bytes[index] == 0) {
+            index++;
+        }
+        return index;
+    }
+
+    private static IAlgorithm getWorkerAlgorithm(IAlgorithm.AlgorithmType hashingAlgorithm) {
+        return workerAlgorithms.get().computeIfAbsent(hashingAlgorithm, Algorithm::new);
+    }
+}
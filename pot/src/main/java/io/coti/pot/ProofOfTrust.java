@@ -10,6 +10,7 @@ import java.util.List;
 public class ProofOfTrust implements IProofOfTrust {
 
     private static final int MAX_TRUST_SCORE = 100;
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
     private final IAlgorithmOrder hashOrder;
     private final IAlgorithmWorker hashWorker;
 
@@ -19,7 +20,8 @@ public class ProofOfTrust implements IProofOfTrust {
             throw new IllegalArgumentException("trustScore must be between 0 and 100 inclusive");
         }
         hashOrder = new AlgorithmOrder(trustScore, MAX_TRUST_SCORE);
-        hashWorker = new AlgorithmWorker(hashOrder);
+        boolean allAlgorithms = hashOrder.getHashingAlgorithms().size() == IAlgorithm.AlgorithmType.values().length;
+        hashWorker = new AlgorithmWorker(hashOrder, allAlgorithms ? PARALLELISM : 1);
     }
 
     public List<IAlgorithm.AlgorithmType> getHashingAlgorithms() {
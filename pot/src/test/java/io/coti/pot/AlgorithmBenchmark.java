@@ -0,0 +1,49 @@
+package io.coti.pot;
+
+import io.coti.pot.interfaces.IAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AlgorithmBenchmark {
+
+    @Param({"SKEIN_512_512", "BMW_512", "BLAKE2B_512", "SHA_512", "ECHO_512", "KECCAK_512", "SHABAL_512", "JH_512",
+            "WHIRLPOOL", "CUBE_HASH_512", "SHA_VITE_512", "LUFFA_512", "SIMD_512", "FUGUE_512", "GROESTL_512", "HAMSI_512"})
+    private IAlgorithm.AlgorithmType algorithmType;
+    private IAlgorithm algorithm;
+    private byte[] input;
+    private byte[] output;
+    private int nonce;
+
+    @Setup
+    public void setup() {
+        algorithm = new Algorithm(algorithmType);
+        byte[] data = new byte[algorithm.getDigestLength()];
+        new Random().nextBytes(data);
+        input = NonceSearch.createInput(data);
+        output = new byte[algorithm.getDigestLength()];
+    }
+
+    @Benchmark
+    public byte[] hash() {
+        NonceSearch.setNonce(input, input.length - Integer.BYTES, nonce++);
+        algorithm.hash(input, output);
+        return output;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(AlgorithmBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
@@ -1,67 +1,68 @@
 package io.coti.pot;
 
-import java.lang.management.ManagementFactory;
-import java.lang.management.ThreadMXBean;
-import java.util.Arrays;
-import java.util.Random;
-
-public class BenchmarkBatching {
-
-    private final double _median;
-    private final double _mean;
-
-    public BenchmarkBatching(int sampleSize, byte[] targetDifficulty, int trustScore) {
-        Random rand = new Random();
-
-        byte[][] orderData = new byte[sampleSize][8];
-        byte[][] inputData = new byte[sampleSize][512];
-
-        for (int i = 0; i < sampleSize; i++) {
-            rand.nextBytes(orderData[i]);
-            rand.nextBytes(inputData[i]);
-        }
-
-        long[] durations = new long[sampleSize];
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.VerboseMode;
+import org.openjdk.jmh.util.Statistics;
 
-        for (int i = 0; i < sampleSize; i++) {
-            long startTime = getCpuTime();
-
-            ProofOfTrust pow = new ProofOfTrust(trustScore);
-            pow.hash(inputData[i], targetDifficulty);
-
-            long endTime = getCpuTime();
-            long duration = (endTime - startTime);
-
-            durations[i] = duration;
-        }
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
 
-        _mean = Arrays.stream(durations).average().getAsDouble() / 1000000000.0;
+import static javax.xml.bind.DatatypeConverter.parseHexBinary;
 
-        Arrays.sort(durations);
-        double median;
-        if (durations.length % 2 == 0) {
-            median = ((double) durations[durations.length / 2] + (double) durations[durations.length / 2 - 1]) / 2;
-        } else {
-            median = (double) durations[durations.length / 2];
-        }
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BenchmarkBatching {
 
-        _median = median / 1000000000.0;
+    private static final int WARMUP_ITERATIONS = 5;
+    private final Random random = new Random();
+    @Param({"0"})
+    private int trustScore;
+    @Param({"00F00000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000"})
+    private String targetDifficulty;
+    private ProofOfTrust proofOfTrust;
+    private byte[] difficulty;
+    private byte[] data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        proofOfTrust = new ProofOfTrust(trustScore);
+        difficulty = parseHexBinary(targetDifficulty);
+        data = new byte[512];
     }
 
-    public double getMedian() {
-        return _median;
+    @Setup(Level.Iteration)
+    public void nextData() {
+        random.nextBytes(data);
     }
 
-    public double getMean() {
-        return _mean;
+    @Benchmark
+    public int[] hash() {
+        return proofOfTrust.hash(data, difficulty);
     }
 
     /**
-     * Get CPU time in nanoseconds.
+     * Runs one single shot hash per sample in the current JVM and returns the sample times in seconds.
      */
-    public static long getCpuTime() {
-        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
-        return bean.isCurrentThreadCpuTimeSupported() ?
-                bean.getCurrentThreadCpuTime() : 0L;
+    public static Statistics run(int sampleSize, String targetDifficulty, int trustScore) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(BenchmarkBatching.class.getName() + ".hash")
+                .param("trustScore", String.valueOf(trustScore))
+                .param("targetDifficulty", targetDifficulty)
+                .warmupIterations(WARMUP_ITERATIONS)
+                .measurementIterations(sampleSize)
+                .forks(0)
+                .verbosity(VerboseMode.SILENT)
+                .build();
+        return new Runner(options).runSingle().getPrimaryResult().getStatistics();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(BenchmarkBatching.class.getSimpleName()).forks(1).build();
+        new Runner(options).run();
     }
 }
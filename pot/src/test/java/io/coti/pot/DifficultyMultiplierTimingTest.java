@@ -1,6 +1,8 @@
 package io.coti.pot;
 
 import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.util.Statistics;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
@@ -41,7 +43,7 @@ class DifficultyMultiplierTimingTest {
         }
     }
 
-    public void batchRun(String easierHexDifficulty, int trustScore, int sampleSize, int difficultyMultiplier) {
+    public void batchRun(String easierHexDifficulty, int trustScore, int sampleSize, int difficultyMultiplier) throws RunnerException {
         byte[] easierDifficulty = parseHexBinary(easierHexDifficulty);
         byte[] harderDifficulty = new BigInteger(easierDifficulty).divide(new BigInteger(String.valueOf(difficultyMultiplier))).toByteArray();
         String harderHexDifficulty = leftPad(printHexBinary(harderDifficulty), 128, "0");
@@ -52,15 +54,15 @@ class DifficultyMultiplierTimingTest {
         System.out.println("Easier difficulty: 0x" + easierHexDifficulty);
         System.out.println("Harder difficulty: 0x" + harderHexDifficulty);
 
-        BenchmarkBatching easierBatching = new BenchmarkBatching(sampleSize, easierDifficulty, trustScore);
-        double easierMedian = easierBatching.getMedian();
-        double easierMean = easierBatching.getMean();
+        Statistics easierStatistics = BenchmarkBatching.run(sampleSize, easierHexDifficulty, trustScore);
+        double easierMedian = easierStatistics.getPercentile(50);
+        double easierMean = easierStatistics.getMean();
         System.out.println("Median time for easier difficulty: " + easierMedian + "s");
         System.out.println("Mean time for easier difficulty: " + easierMean + "s");
 
-        BenchmarkBatching harderBatching = new BenchmarkBatching(sampleSize, harderDifficulty, trustScore);
-        double harderMedian = harderBatching.getMedian();
-        double harderMean = harderBatching.getMean();
+        Statistics harderStatistics = BenchmarkBatching.run(sampleSize, harderHexDifficulty, trustScore);
+        double harderMedian = harderStatistics.getPercentile(50);
+        double harderMean = harderStatistics.getMean();
         System.out.println("Median time for harder difficulty: " + harderMedian + "s");
         System.out.println("Mean time for harder difficulty: " + harderMean + "s");
 
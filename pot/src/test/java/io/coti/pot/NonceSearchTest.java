@@ -0,0 +1,70 @@
+package io.coti.pot;
+
+import io.coti.pot.interfaces.IAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static javax.xml.bind.DatatypeConverter.parseHexBinary;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NonceSearchTest {
+
+    private final byte[] targetDifficulty = parseHexBinary("00F00000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000");
+    private final Random random = new Random();
+
+    @Test
+    void compareUnsignedMatchesBigInteger() {
+        for (int i = 0; i < 10000; i++) {
+            byte[] value = new byte[1 + random.nextInt(64)];
+            byte[] other = new byte[1 + random.nextInt(64)];
+            random.nextBytes(value);
+            random.nextBytes(other);
+            value[0] = (byte) (random.nextBoolean() ? 0 : value[0]);
+            int expected = new BigInteger(1, value).compareTo(new BigInteger(1, other));
+            assertEquals(expected, Integer.signum(NonceSearch.compareUnsigned(value, other)));
+        }
+    }
+
+    @Test
+    void parallelSearchFindsSmallestNonce() {
+        IAlgorithm.AlgorithmType hashingAlgorithm = IAlgorithm.AlgorithmType.SHA_512;
+        Algorithm algorithm = new Algorithm(hashingAlgorithm);
+        for (int i = 0; i < 20; i++) {
+            byte[] data = new byte[64];
+            random.nextBytes(data);
+            int serialNonce = NonceSearch.findNonce(algorithm, data, targetDifficulty);
+            int parallelNonce = NonceSearch.findNonce(hashingAlgorithm, algorithm, data, targetDifficulty, 4);
+            assertEquals(serialNonce, parallelNonce);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(IAlgorithm.AlgorithmType.class)
+    void findNonce_everyAlgorithm_smallestNonceBelowTarget(IAlgorithm.AlgorithmType hashingAlgorithm) {
+        Algorithm algorithm = new Algorithm(hashingAlgorithm);
+        BigInteger target = new BigInteger(1, targetDifficulty);
+        for (int i = 0; i < 5; i++) {
+            byte[] data = new byte[64];
+            random.nextBytes(data);
+            int serialNonce = NonceSearch.findNonce(algorithm, data, targetDifficulty);
+            int parallelNonce = NonceSearch.findNonce(hashingAlgorithm, algorithm, data, targetDifficulty, 4);
+
+            assertEquals(serialNonce, parallelNonce);
+            assertTrue(hashWithNonce(algorithm, data, serialNonce).compareTo(target) < 0);
+            for (int nonce = 0; nonce < serialNonce; nonce++) {
+                assertTrue(hashWithNonce(algorithm, data, nonce).compareTo(target) >= 0);
+            }
+        }
+    }
+
+    private BigInteger hashWithNonce(Algorithm algorithm, byte[] data, int nonce) {
+        byte[] input = ByteBuffer.allocate(data.length + Integer.BYTES).put(data).putInt(nonce).array();
+        return new BigInteger(1, algorithm.hash(input));
+    }
+}
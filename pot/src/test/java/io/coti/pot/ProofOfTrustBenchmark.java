@@ -0,0 +1,54 @@
+package io.coti.pot;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static javax.xml.bind.DatatypeConverter.parseHexBinary;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProofOfTrustBenchmark {
+
+    private static final byte[] TARGET_DIFFICULTY = parseHexBinary("00100000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000");
+    private final Random random = new Random();
+    @Param({"0", "25", "50", "75", "100"})
+    private int trustScore;
+    private ProofOfTrust proofOfTrust;
+    private byte[] data;
+    private int[] nonces;
+
+    @Setup
+    public void setup() {
+        proofOfTrust = new ProofOfTrust(trustScore);
+        data = new byte[32];
+        random.nextBytes(data);
+        nonces = proofOfTrust.hash(data, TARGET_DIFFICULTY);
+    }
+
+    @Benchmark
+    public int[] hash() {
+        random.nextBytes(data);
+        return proofOfTrust.hash(data, TARGET_DIFFICULTY);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public boolean verify() {
+        return proofOfTrust.verify(data, nonces, TARGET_DIFFICULTY);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder().include(ProofOfTrustBenchmark.class.getSimpleName()).build();
+        new Runner(options).run();
+    }
+}
@@ -2,8 +2,9 @@ package io.coti.pot;
 
 import io.coti.pot.interfaces.IAlgorithm;
 import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.util.Statistics;
 
-import static javax.xml.bind.DatatypeConverter.parseHexBinary;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 
 class TrustScoreTimingTest {
@@ -30,7 +31,7 @@ class TrustScoreTimingTest {
         }
     }
 
-    public void batchRun(int sampleSize, String difficulty) {
+    public void batchRun(int sampleSize, String difficulty) throws RunnerException {
         System.out.println("Difficulty: 0x" + difficulty);
         System.out.println("Sample size: " + sampleSize);
 
@@ -40,11 +41,10 @@ class TrustScoreTimingTest {
 
         for (int i = IAlgorithm.AlgorithmType.values().length - 1; i >= 0; i--) {
             int trustScore = TrustScoreDifficulty.getTrustScoreFromSegment(i);
-            byte[] diff = parseHexBinary(difficulty);
             System.out.println("Trust score: " + trustScore);
-            BenchmarkBatching batching = new BenchmarkBatching(sampleSize, diff, trustScore);
-            double median = batching.getMedian();
-            double mean = batching.getMean();
+            Statistics statistics = BenchmarkBatching.run(sampleSize, difficulty, trustScore);
+            double median = statistics.getPercentile(50);
+            double mean = statistics.getMean();
             System.out.println("Median execution time: " + median + "s");
             System.out.println("Mean execution time: " + mean + "s");
             System.out.println();
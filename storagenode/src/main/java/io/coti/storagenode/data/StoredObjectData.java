@@ -0,0 +1,26 @@
+package io.coti.storagenode.data;
+
+import io.coti.basenode.crypto.CryptoHelper;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+
+@Data
+public class StoredObjectData {
+
+    private String objectAsJson;
+    private String contentHash;
+
+    public StoredObjectData(String objectAsJson, String contentHash) {
+        this.objectAsJson = objectAsJson;
+        this.contentHash = contentHash;
+    }
+
+    public boolean isContentHashValid() {
+        return objectAsJson != null && contentHash != null && contentHash.equals(calculateContentHash(objectAsJson));
+    }
+
+    public static String calculateContentHash(String objectAsJson) {
+        return CryptoHelper.cryptoHash(objectAsJson.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
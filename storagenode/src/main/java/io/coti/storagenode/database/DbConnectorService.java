@@ -2,6 +2,7 @@ package io.coti.storagenode.database;
 
 import io.coti.basenode.data.Hash;
 import io.coti.storagenode.data.MultiDbInsertionStatus;
+import io.coti.storagenode.data.StoredObjectData;
 import io.coti.storagenode.data.enums.ElasticSearchData;
 import io.coti.storagenode.database.interfaces.IDbConnectorService;
 import io.coti.storagenode.exceptions.DbConnectorException;
@@ -28,14 +29,18 @@ import org.elasticsearch.client.indices.PutMappingRequest;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentBuilder;
 import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.rest.RestStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -45,10 +50,12 @@ import static org.elasticsearch.common.xcontent.XContentFactory.jsonBuilder;
 
 @Slf4j
 @Service
+@ConditionalOnProperty(name = "storage.db.type", havingValue = "elasticsearch", matchIfMissing = true)
 public class DbConnectorService implements IDbConnectorService {
 
     public static final int INDEX_NUMBER_OF_SHARDS = 1;
     public static final int INDEX_NUMBER_OF_REPLICAS = 2;
+    public static final String CONTENT_HASH_FIELD = "contentHash";
     private final String elasticsearchHostIp;
     private final int elasticsearchHostPort1;
     private final int elasticsearchHostPort2;
@@ -91,6 +98,7 @@ public class DbConnectorService implements IDbConnectorService {
         }
     }
 
+    @Override
     public void addIndexes(boolean fromColdStorage) {
         for (ElasticSearchData data : ElasticSearchData.values()) {
             addIndex(data.getIndex(), data.getObjectName(), fromColdStorage);
@@ -104,7 +112,6 @@ public class DbConnectorService implements IDbConnectorService {
         }
     }
 
-    @Override
     public ClusterGetSettingsResponse getClusterDetails(Set<String> indexes) throws IOException {
         MainResponse mainResponse = restClient.info(RequestOptions.DEFAULT);
 
@@ -126,7 +133,7 @@ public class DbConnectorService implements IDbConnectorService {
 
 
     @Override
-    public GetResponse getObjectFromDbByHash(Hash hash, String index, boolean fromColdStorage) {
+    public String getObjectFromDbByHash(Hash hash, String index, boolean fromColdStorage, String fieldName) {
         GetRequest request = new GetRequest(index, hash.toString());
 
         try {
@@ -136,19 +143,20 @@ public class DbConnectorService implements IDbConnectorService {
             } else {
                 getResponse = restClient.get(request, RequestOptions.DEFAULT);
             }
-            return getResponse;
+            return getResponse.isExists() ? (String) getResponse.getSourceAsMap().get(fieldName) : null;
         } catch (Exception e) {
             throw new DbConnectorException(String.format("Error at get object from db by hash : %s", e.getMessage()));
         }
     }
 
-    public BulkResponse insertMultiObjectsToDb(String indexName, String objectName, Map<Hash, String> hashToObjectJsonDataMap, boolean fromColdStorage) {
+    @Override
+    public Map<Hash, RestStatus> insertMultiObjectsToDb(String indexName, String objectName, Map<Hash, String> hashToObjectJsonDataMap, boolean fromColdStorage) {
 
         try {
             BulkRequest request = new BulkRequest();
             for (Map.Entry<Hash, String> entry : hashToObjectJsonDataMap.entrySet()) {
                 request.add(new IndexRequest(indexName).id(entry.getKey().toString())
-                        .source(XContentType.JSON, objectName, entry.getValue()));
+                        .source(XContentType.JSON, objectName, entry.getValue(), CONTENT_HASH_FIELD, StoredObjectData.calculateContentHash(entry.getValue())));
             }
             BulkResponse bulkResponse;
             if (fromColdStorage) {
@@ -157,7 +165,9 @@ public class DbConnectorService implements IDbConnectorService {
                 bulkResponse = restClient.bulk(request, RequestOptions.DEFAULT);
             }
 
-            return bulkResponse;
+            Map<Hash, RestStatus> hashToRestStatusMap = new HashMap<>();
+            Arrays.asList(bulkResponse.getItems()).forEach(bulkItemResponse -> hashToRestStatusMap.put(new Hash(bulkItemResponse.getId()), bulkItemResponse.status()));
+            return hashToRestStatusMap;
         } catch (IOException e) {
             throw new DbConnectorException(String.format("Error at insert multi objects to db: %s", e.getMessage()));
         }
@@ -190,20 +200,29 @@ public class DbConnectorService implements IDbConnectorService {
     @Override
     public Map<Hash, String> getMultiObjects(List<Hash> hashes, String indexName, boolean fromColdStorage, String fieldName) {
         Map<Hash, String> hashToObjectsFromDbMap = new HashMap<>();
+        getMultiStoredObjects(hashes, indexName, fromColdStorage, fieldName).forEach((hash, storedObjectData) ->
+                hashToObjectsFromDbMap.put(hash, storedObjectData != null ? storedObjectData.getObjectAsJson() : null));
+        return hashToObjectsFromDbMap;
+    }
+
+    @Override
+    public Map<Hash, StoredObjectData> getMultiStoredObjects(List<Hash> hashes, String indexName, boolean fromColdStorage, String fieldName) {
+        Map<Hash, StoredObjectData> hashToStoredObjectsFromDbMap = new LinkedHashMap<>();
         MultiGetResponse multiGetResponse = getMultiObjectsFromDb(hashes, indexName, fromColdStorage);
         for (MultiGetItemResponse multiGetItemResponse : multiGetResponse.getResponses()) {
-            if (multiGetItemResponse.getResponse().isExists()) {
-                hashToObjectsFromDbMap.put(new Hash(multiGetItemResponse.getId()),
-                        (String) multiGetItemResponse.getResponse().getSourceAsMap().get(fieldName));
+            if (multiGetItemResponse.getResponse() != null && multiGetItemResponse.getResponse().isExists()) {
+                Map<String, Object> sourceAsMap = multiGetItemResponse.getResponse().getSourceAsMap();
+                hashToStoredObjectsFromDbMap.put(new Hash(multiGetItemResponse.getId()),
+                        new StoredObjectData((String) sourceAsMap.get(fieldName), (String) sourceAsMap.get(CONTENT_HASH_FIELD)));
             } else {
-                hashToObjectsFromDbMap.put(new Hash(multiGetItemResponse.getId()), null);
+                hashToStoredObjectsFromDbMap.put(new Hash(multiGetItemResponse.getId()), null);
             }
         }
-        return hashToObjectsFromDbMap;
+        return hashToStoredObjectsFromDbMap;
     }
 
     @Override
-    public IndexResponse insertObjectToDb(Hash hash, String objectAsJsonString, String index, String objectName, boolean fromColdStorage) {
+    public RestStatus insertObjectToDb(Hash hash, String objectAsJsonString, String index, String objectName, boolean fromColdStorage) {
         IndexResponse indexResponse;
         try {
             IndexRequest request = new IndexRequest(index);
@@ -211,13 +230,14 @@ public class DbConnectorService implements IDbConnectorService {
             request.source((jsonBuilder()
                     .startObject()
                     .field(objectName, objectAsJsonString)
+                    .field(CONTENT_HASH_FIELD, StoredObjectData.calculateContentHash(objectAsJsonString))
                     .endObject()));
             if (fromColdStorage) {
                 indexResponse = restColdStorageClient.index(request, RequestOptions.DEFAULT);
             } else {
                 indexResponse = restClient.index(request, RequestOptions.DEFAULT);
             }
-            return indexResponse;
+            return indexResponse.status();
         } catch (Exception e) {
             throw new DbConnectorException(String.format("Error at insert object to db: %s", e.getMessage()));
         }
@@ -276,6 +296,12 @@ public class DbConnectorService implements IDbConnectorService {
                 builder.field("type", "text");
             }
             builder.endObject();
+            builder.startObject(CONTENT_HASH_FIELD);
+            {
+                builder.field("type", "keyword");
+                builder.field("index", false);
+            }
+            builder.endObject();
         }
         builder.endObject();
     }
@@ -296,7 +322,8 @@ public class DbConnectorService implements IDbConnectorService {
         }
     }
 
-    public DeleteResponse deleteObject(Hash hash, String indexName, boolean fromColdStorage) {
+    @Override
+    public RestStatus deleteObject(Hash hash, String indexName, boolean fromColdStorage) {
         DeleteRequest request = new DeleteRequest(
                 indexName,
                 hash.toString());
@@ -307,7 +334,7 @@ public class DbConnectorService implements IDbConnectorService {
             else
                 deleteResponse = restClient.delete(request, RequestOptions.DEFAULT);
 
-            return deleteResponse;
+            return deleteResponse.status();
         } catch (IOException e) {
             throw new DbConnectorException(e.getMessage());
         }
@@ -0,0 +1,227 @@
+package io.coti.storagenode.database;
+
+import io.coti.basenode.data.Hash;
+import io.coti.storagenode.data.StoredObjectData;
+import io.coti.storagenode.data.enums.ElasticSearchData;
+import io.coti.storagenode.database.interfaces.IDbConnectorService;
+import io.coti.storagenode.exceptions.DbConnectorException;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.rest.RestStatus;
+import org.rocksdb.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "storage.db.type", havingValue = "rocksdb")
+public class RocksDBConnectorService implements IDbConnectorService {
+
+    private static final String HOT_COLUMN_FAMILY_SUFFIX = ".hot";
+    private static final String COLD_COLUMN_FAMILY_SUFFIX = ".cold";
+    @Value("${storage.rocksdb.path:./storageDb}")
+    private String dbPath;
+    @Value("${storage.rocksdb.block.cache.size:268435456}")
+    private long blockCacheSize;
+    @Value("${storage.rocksdb.bloom.filter.bits.per.key:10}")
+    private int bloomFilterBitsPerKey;
+    @Value("${storage.rocksdb.write.buffer.size:67108864}")
+    private long writeBufferSize;
+    private RocksDB db;
+    private DBOptions dbOptions;
+    private Cache blockCache;
+    private final List<ColumnFamilyOptions> columnFamilyOptionsList = new ArrayList<>();
+    private final List<BloomFilter> bloomFilters = new ArrayList<>();
+    private final Map<String, ColumnFamilyHandle> columnFamilyNameToHandleMapping = new HashMap<>();
+
+    @Override
+    public void init() {
+        try {
+            RocksDB.loadLibrary();
+            if (!new File(dbPath).exists() && !new File(dbPath).mkdirs()) {
+                throw new DbConnectorException(String.format("Error at creating storage db directory %s", dbPath));
+            }
+            blockCache = new LRUCache(blockCacheSize);
+            List<String> columnFamilyNames = new ArrayList<>();
+            List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
+            columnFamilyNames.add(new String(RocksDB.DEFAULT_COLUMN_FAMILY));
+            columnFamilyDescriptors.add(new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY, createColumnFamilyOptions(false)));
+            for (ElasticSearchData data : ElasticSearchData.values()) {
+                for (boolean fromColdStorage : new boolean[]{false, true}) {
+                    String columnFamilyName = getColumnFamilyName(data.getIndex(), fromColdStorage);
+                    columnFamilyNames.add(columnFamilyName);
+                    columnFamilyDescriptors.add(new ColumnFamilyDescriptor(columnFamilyName.getBytes(), createColumnFamilyOptions(fromColdStorage)));
+                }
+            }
+            dbOptions = new DBOptions()
+                    .setCreateIfMissing(true)
+                    .setCreateMissingColumnFamilies(true)
+                    .setIncreaseParallelism(Runtime.getRuntime().availableProcessors());
+            List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>();
+            db = RocksDB.open(dbOptions, dbPath, columnFamilyDescriptors, columnFamilyHandles);
+            for (int i = 0; i < columnFamilyNames.size(); i++) {
+                columnFamilyNameToHandleMapping.put(columnFamilyNames.get(i), columnFamilyHandles.get(i));
+            }
+            log.info("{} is up at {}", this.getClass().getSimpleName(), dbPath);
+        } catch (DbConnectorException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DbConnectorException(String.format("Error at opening storage db. %s: %s", e.getClass().getName(), e.getMessage()));
+        }
+    }
+
+    private ColumnFamilyOptions createColumnFamilyOptions(boolean fromColdStorage) {
+        BloomFilter bloomFilter = new BloomFilter(bloomFilterBitsPerKey, false);
+        bloomFilters.add(bloomFilter);
+        BlockBasedTableConfig tableConfig = new BlockBasedTableConfig()
+                .setBlockCache(blockCache)
+                .setCacheIndexAndFilterBlocks(true)
+                .setFilterPolicy(bloomFilter);
+        ColumnFamilyOptions columnFamilyOptions = new ColumnFamilyOptions()
+                .setTableFormatConfig(tableConfig)
+                .setWriteBufferSize(writeBufferSize);
+        if (fromColdStorage) {
+            columnFamilyOptions.setCompactionStyle(CompactionStyle.UNIVERSAL)
+                    .setCompressionType(CompressionType.ZSTD_COMPRESSION);
+        } else {
+            columnFamilyOptions.setCompactionStyle(CompactionStyle.LEVEL)
+                    .setLevelCompactionDynamicLevelBytes(true)
+                    .setCompressionType(CompressionType.LZ4_COMPRESSION);
+        }
+        columnFamilyOptionsList.add(columnFamilyOptions);
+        return columnFamilyOptions;
+    }
+
+    @Override
+    public void addIndexes(boolean fromColdStorage) {
+        log.debug("Column families of {} storage are created at init", fromColdStorage ? "cold" : "hot");
+    }
+
+    @Override
+    public String getObjectFromDbByHash(Hash hash, String index, boolean fromColdStorage, String fieldName) {
+        try {
+            byte[] value = db.get(getColumnFamilyHandle(index, fromColdStorage), hash.getBytes());
+            return value != null ? decode(value).getObjectAsJson() : null;
+        } catch (Exception e) {
+            throw new DbConnectorException(String.format("Error at get object from db by hash : %s", e.getMessage()));
+        }
+    }
+
+    @Override
+    public Map<Hash, RestStatus> insertMultiObjectsToDb(String indexName, String objectName, Map<Hash, String> hashToObjectJsonDataMap, boolean fromColdStorage) {
+        Map<Hash, RestStatus> hashToRestStatusMap = new HashMap<>();
+        ColumnFamilyHandle columnFamilyHandle = getColumnFamilyHandle(indexName, fromColdStorage);
+        try (WriteBatch writeBatch = new WriteBatch();
+             WriteOptions writeOptions = new WriteOptions()) {
+            for (Map.Entry<Hash, String> entry : hashToObjectJsonDataMap.entrySet()) {
+                writeBatch.put(columnFamilyHandle, entry.getKey().getBytes(), encode(entry.getValue()));
+            }
+            db.write(writeOptions, writeBatch);
+            hashToObjectJsonDataMap.keySet().forEach(hash -> hashToRestStatusMap.put(hash, RestStatus.CREATED));
+        } catch (RocksDBException e) {
+            log.error("Error at insert multi objects to db: {}", e.getMessage());
+            hashToObjectJsonDataMap.keySet().forEach(hash -> hashToRestStatusMap.put(hash, RestStatus.INTERNAL_SERVER_ERROR));
+        }
+        return hashToRestStatusMap;
+    }
+
+    @Override
+    public Map<Hash, String> getMultiObjects(List<Hash> hashes, String indexName, boolean fromColdStorage, String fieldName) {
+        Map<Hash, String> hashToObjectsFromDbMap = new HashMap<>();
+        getMultiStoredObjects(hashes, indexName, fromColdStorage, fieldName).forEach((hash, storedObjectData) ->
+                hashToObjectsFromDbMap.put(hash, storedObjectData != null ? storedObjectData.getObjectAsJson() : null));
+        return hashToObjectsFromDbMap;
+    }
+
+    @Override
+    public Map<Hash, StoredObjectData> getMultiStoredObjects(List<Hash> hashes, String indexName, boolean fromColdStorage, String fieldName) {
+        Map<Hash, StoredObjectData> hashToStoredObjectsFromDbMap = new LinkedHashMap<>();
+        List<byte[]> keys = new ArrayList<>();
+        hashes.forEach(hash -> keys.add(hash.getBytes()));
+        try {
+            Map<byte[], byte[]> keyToValueMap = db.multiGet(Collections.nCopies(keys.size(), getColumnFamilyHandle(indexName, fromColdStorage)), keys);
+            for (int i = 0; i < hashes.size(); i++) {
+                byte[] value = keyToValueMap.get(keys.get(i));
+                hashToStoredObjectsFromDbMap.put(hashes.get(i), value != null ? decode(value) : null);
+            }
+            return hashToStoredObjectsFromDbMap;
+        } catch (RocksDBException e) {
+            throw new DbConnectorException(String.format("Error at get multi objects from db: %s", e.getMessage()));
+        }
+    }
+
+    @Override
+    public RestStatus insertObjectToDb(Hash hash, String objectAsJsonString, String index, String objectName, boolean fromColdStorage) {
+        ColumnFamilyHandle columnFamilyHandle = getColumnFamilyHandle(index, fromColdStorage);
+        try {
+            boolean exists = db.get(columnFamilyHandle, hash.getBytes()) != null;
+            db.put(columnFamilyHandle, hash.getBytes(), encode(objectAsJsonString));
+            return exists ? RestStatus.OK : RestStatus.CREATED;
+        } catch (RocksDBException e) {
+            throw new DbConnectorException(String.format("Error at insert object to db: %s", e.getMessage()));
+        }
+    }
+
+    @Override
+    public RestStatus deleteObject(Hash hash, String indexName, boolean fromColdStorage) {
+        ColumnFamilyHandle columnFamilyHandle = getColumnFamilyHandle(indexName, fromColdStorage);
+        try {
+            if (db.get(columnFamilyHandle, hash.getBytes()) == null) {
+                return RestStatus.NOT_FOUND;
+            }
+            db.delete(columnFamilyHandle, hash.getBytes());
+            return RestStatus.OK;
+        } catch (RocksDBException e) {
+            throw new DbConnectorException(e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (db == null) {
+            return;
+        }
+        log.info("Shutting down {}", this.getClass().getSimpleName());
+        columnFamilyNameToHandleMapping.values().forEach(ColumnFamilyHandle::close);
+        db.close();
+        dbOptions.close();
+        columnFamilyOptionsList.forEach(ColumnFamilyOptions::close);
+        columnFamilyOptionsList.clear();
+        bloomFilters.forEach(BloomFilter::close);
+        bloomFilters.clear();
+        blockCache.close();
+    }
+
+    private ColumnFamilyHandle getColumnFamilyHandle(String indexName, boolean fromColdStorage) {
+        ColumnFamilyHandle columnFamilyHandle = columnFamilyNameToHandleMapping.get(getColumnFamilyName(indexName, fromColdStorage));
+        if (columnFamilyHandle == null) {
+            throw new DbConnectorException(String.format("Unknown storage index %s", indexName));
+        }
+        return columnFamilyHandle;
+    }
+
+    private String getColumnFamilyName(String indexName, boolean fromColdStorage) {
+        return indexName + (fromColdStorage ? COLD_COLUMN_FAMILY_SUFFIX : HOT_COLUMN_FAMILY_SUFFIX);
+    }
+
+    private byte[] encode(String objectAsJson) {
+        byte[] contentHashBytes = new Hash(StoredObjectData.calculateContentHash(objectAsJson)).getBytes();
+        byte[] objectBytes = objectAsJson.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Integer.BYTES + contentHashBytes.length + objectBytes.length)
+                .putInt(contentHashBytes.length).put(contentHashBytes).put(objectBytes).array();
+    }
+
+    private StoredObjectData decode(byte[] value) {
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        byte[] contentHashBytes = new byte[buffer.getInt()];
+        buffer.get(contentHashBytes);
+        String objectAsJson = new String(value, buffer.position(), buffer.remaining(), StandardCharsets.UTF_8);
+        return new StoredObjectData(objectAsJson, new Hash(contentHashBytes).toString());
+    }
+}
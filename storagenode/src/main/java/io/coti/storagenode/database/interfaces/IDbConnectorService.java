@@ -1,28 +1,28 @@
 package io.coti.storagenode.database.interfaces;
 
 import io.coti.basenode.data.Hash;
-import org.elasticsearch.action.admin.cluster.settings.ClusterGetSettingsResponse;
-import org.elasticsearch.action.bulk.BulkResponse;
-import org.elasticsearch.action.get.GetResponse;
-import org.elasticsearch.action.index.IndexResponse;
+import io.coti.storagenode.data.StoredObjectData;
+import org.elasticsearch.rest.RestStatus;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 public interface IDbConnectorService {
 
     void init();
 
-    ClusterGetSettingsResponse getClusterDetails(Set<String> indexes) throws IOException;
+    void addIndexes(boolean fromColdStorage);
 
-    GetResponse getObjectFromDbByHash(Hash hash, String index, boolean fromColdStorage);
+    String getObjectFromDbByHash(Hash hash, String index, boolean fromColdStorage, String fieldName);
 
-    BulkResponse insertMultiObjectsToDb(String indexName, String objectName, Map<Hash, String> hashToObjectJsonDataMap, boolean fromColdStorage);
+    Map<Hash, RestStatus> insertMultiObjectsToDb(String indexName, String objectName, Map<Hash, String> hashToObjectJsonDataMap, boolean fromColdStorage);
 
     Map<Hash, String> getMultiObjects(List<Hash> hashes, String indexName, boolean fromColdStorage, String fieldName);
 
-    IndexResponse insertObjectToDb(Hash hash, String objectAsJsonString, String index, String objectName, boolean fromColdStorage) throws IOException;
+    Map<Hash, StoredObjectData> getMultiStoredObjects(List<Hash> hashes, String indexName, boolean fromColdStorage, String fieldName);
+
+    RestStatus insertObjectToDb(Hash hash, String objectAsJsonString, String index, String objectName, boolean fromColdStorage);
+
+    RestStatus deleteObject(Hash hash, String indexName, boolean fromColdStorage);
 
 }
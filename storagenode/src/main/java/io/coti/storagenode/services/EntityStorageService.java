@@ -7,6 +7,7 @@ import io.coti.basenode.http.AddHistoryEntitiesResponse;
 import io.coti.basenode.http.SerializableResponse;
 import io.coti.basenode.http.data.GetHashToPropagatable;
 import io.coti.basenode.http.interfaces.IResponse;
+import io.coti.storagenode.data.StoredObjectData;
 import io.coti.storagenode.data.enums.ElasticSearchData;
 import io.coti.storagenode.services.interfaces.IEntityStorageService;
 import lombok.extern.slf4j.Slf4j;
@@ -15,10 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 import static io.coti.basenode.http.BaseNodeHttpStringConstants.STATUS_ERROR;
 import static io.coti.storagenode.http.HttpStringConstants.*;
@@ -30,6 +28,8 @@ public abstract class EntityStorageService implements IEntityStorageService {
     protected ObjectService objectService;
     @Autowired
     protected JacksonSerializer jacksonSerializer;
+    @Autowired
+    private VerifiedObjectCacheService verifiedObjectCacheService;
     protected ElasticSearchData objectType;
 
     @Override
@@ -38,37 +38,47 @@ public abstract class EntityStorageService implements IEntityStorageService {
     }
 
     private <T extends IPropagatable> T retrieveObjectFromStorage(Hash hash) {
-        boolean fromColdStorage = false;
-        String objectAsJson = objectService.getObjectByHash(hash, false, objectType);
-
+        String objectAsJson = verifiedObjectCacheService.get(objectType, hash);
         if (objectAsJson == null) {
-            fromColdStorage = true;
-            objectAsJson = objectService.getObjectByHash(hash, true, objectType);
-            if (objectAsJson == null) {
+            List<Hash> hashes = Collections.singletonList(hash);
+            boolean fromColdStorage = false;
+            StoredObjectData storedObjectData = objectService.getMultiStoredObjectsFromDb(hashes, false, objectType).get(hash);
+            if (storedObjectData == null) {
+                fromColdStorage = true;
+                storedObjectData = objectService.getMultiStoredObjectsFromDb(hashes, true, objectType).get(hash);
+            }
+            if (!verifyStoredObject(hash, storedObjectData, fromColdStorage)) {
                 return null;
             }
+            objectAsJson = storedObjectData.getObjectAsJson();
+            verifiedObjectCacheService.put(objectType, hash, objectAsJson);
         }
+        return jacksonSerializer.deserialize(objectAsJson);
+    }
 
-        if (verifyRetrievedSingleObject(hash, objectAsJson, fromColdStorage, objectType)) {
-            return jacksonSerializer.deserialize(objectAsJson);
+    protected boolean verifyStoredObject(Hash objectHash, StoredObjectData storedObjectData, boolean fromColdStorage) {
+        if (storedObjectData == null || storedObjectData.getObjectAsJson() == null) {
+            return false;
+        }
+        if (storedObjectData.getContentHash() != null) {
+            return storedObjectData.isContentHashValid();
+        }
+        if (!validateObjectDataIntegrity(objectHash, storedObjectData.getObjectAsJson())) {
+            return false;
         }
-        return null;
+        addContentHash(objectHash, storedObjectData.getObjectAsJson(), fromColdStorage);
+        return true;
     }
 
-    protected boolean verifyRetrievedSingleObject(Hash objectHash, String objectAsJson, boolean fromColdStorage, ElasticSearchData objectType) {
-
-        if (objectAsJson != null && validateObjectDataIntegrity(objectHash, objectAsJson)) {
-            if (!fromColdStorage) {
-                try {
-                    log.debug("In the future, the object will be deleted from cold storage");
-                    //    objectService.deleteObjectByHash(objectHash, true, objectType);
-                } catch (Exception e) {
-                    log.error("{}: {}", e.getClass().getName(), e.getMessage());
-                }
+    private void addContentHash(Hash objectHash, String objectAsJson, boolean fromColdStorage) {
+        try {
+            RestStatus insertStatus = objectService.insertObjectJson(objectHash, objectAsJson, fromColdStorage, objectType);
+            if (!EnumSet.of(RestStatus.CREATED, RestStatus.OK).contains(insertStatus)) {
+                log.warn("Failed to add content hash to {} {}: {}", objectType.getObjectName(), objectHash, insertStatus);
             }
-            return true;
+        } catch (Exception e) {
+            log.warn("Failed to add content hash to {} {}: {}", objectType.getObjectName(), objectHash, e.getMessage());
         }
-        return false;
     }
 
     private String replaceHotStorageObjectWithColdStorageObject(Hash objectHash, ElasticSearchData objectType) {
@@ -100,6 +110,7 @@ public abstract class EntityStorageService implements IEntityStorageService {
                 return ResponseEntity.badRequest().body(new SerializableResponse(INVALID_OBJECT, STATUS_ERROR));
             }
 
+            verifiedObjectCacheService.invalidate(objectType, Collections.singletonList(hash));
             RestStatus insertStatus = objectService.insertObjectJson(hash, objectAsJsonString, false, objectType);
             if (!insertStatus.equals(RestStatus.CREATED)) {
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new SerializableResponse(String.format(INSERT_OBJECT_ERROR, insertStatus.toString()), STATUS_ERROR));
@@ -119,6 +130,7 @@ public abstract class EntityStorageService implements IEntityStorageService {
             return ResponseEntity.badRequest().body(new AddHistoryEntitiesResponse(entityValidationMap));
         }
 
+        verifiedObjectCacheService.invalidate(objectType, hashToObjectJsonDataMap.keySet());
         Map<Hash, RestStatus> insertResponseMap = objectService.insertMultiObjects(hashToObjectJsonDataMap, false, objectType);
         Map<Hash, Boolean> hashToStoreResultMap = new HashMap<>();
         Map<Hash, String> hashToColdStorageObjectJsonDataMap = new HashMap<>();
@@ -155,25 +167,31 @@ public abstract class EntityStorageService implements IEntityStorageService {
 
     @Override
     public Map<Hash, String> retrieveMultipleObjectsFromStorage(List<Hash> hashes) {
-        Map<Hash, String> responsesMap = new HashMap<>();
-
-        Map<Hash, String> objectsFromDBMap = objectService.getMultiObjectsFromDb(hashes, false, objectType);
-
-        verifyEntitiesFromDbMap(responsesMap, objectsFromDBMap);
+        Map<Hash, String> responsesMap = new LinkedHashMap<>();
+        List<Hash> uncachedHashes = new ArrayList<>();
+        hashes.forEach(hash -> {
+            String objectAsJson = verifiedObjectCacheService.get(objectType, hash);
+            if (objectAsJson != null) {
+                responsesMap.put(hash, objectAsJson);
+            } else {
+                uncachedHashes.add(hash);
+            }
+        });
+        if (!uncachedHashes.isEmpty()) {
+            verifyEntitiesFromDbMap(responsesMap, objectService.getMultiStoredObjectsFromDb(uncachedHashes, false, objectType));
+        }
         return responsesMap;
-
     }
 
-    protected void verifyEntitiesFromDbMap(Map<Hash, String> responsesMap, Map<Hash, String> objectsFromDBMap) {
-        objectsFromDBMap.forEach((hash, objectAsJsonString) ->
-                {
-                    if (!verifyRetrievedSingleObject(hash, objectAsJsonString, false, objectType)) {
-                        responsesMap.put(hash, replaceHotStorageObjectWithColdStorageObject(hash, objectType));
-                    } else {
-                        responsesMap.put(hash, objectAsJsonString);
-                    }
-                }
-        );
+    protected void verifyEntitiesFromDbMap(Map<Hash, String> responsesMap, Map<Hash, StoredObjectData> objectsFromDBMap) {
+        objectsFromDBMap.forEach((hash, storedObjectData) -> {
+            if (verifyStoredObject(hash, storedObjectData, false)) {
+                responsesMap.put(hash, storedObjectData.getObjectAsJson());
+                verifiedObjectCacheService.put(objectType, hash, storedObjectData.getObjectAsJson());
+            } else {
+                responsesMap.put(hash, replaceHotStorageObjectWithColdStorageObject(hash, objectType));
+            }
+        });
     }
 
     protected abstract IResponse getEmptyEntitiesBulkResponse();
@@ -1,7 +1,7 @@
 package io.coti.storagenode.services;
 
 import io.coti.basenode.exceptions.CotiRunTimeException;
-import io.coti.storagenode.database.DbConnectorService;
+import io.coti.storagenode.database.interfaces.IDbConnectorService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.SpringApplication;
@@ -16,7 +16,7 @@ import javax.annotation.PostConstruct;
 public class InitializationService {
 
     @Autowired
-    private DbConnectorService dbConnectorService;
+    private IDbConnectorService dbConnectorService;
     @Autowired
     private ObjectService objectService;
     @Autowired
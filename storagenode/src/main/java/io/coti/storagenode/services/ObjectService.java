@@ -1,18 +1,16 @@
 package io.coti.storagenode.services;
 
 import io.coti.basenode.data.Hash;
+import io.coti.storagenode.data.StoredObjectData;
 import io.coti.storagenode.data.enums.ElasticSearchData;
-import io.coti.storagenode.database.DbConnectorService;
+import io.coti.storagenode.database.interfaces.IDbConnectorService;
 import io.coti.storagenode.services.interfaces.IObjectService;
 import lombok.extern.slf4j.Slf4j;
-import org.elasticsearch.action.bulk.BulkResponse;
-import org.elasticsearch.action.get.GetResponse;
 import org.elasticsearch.rest.RestStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,7 +20,7 @@ import java.util.Map;
 public class ObjectService implements IObjectService {
 
     @Autowired
-    protected DbConnectorService dbConnectorService;
+    protected IDbConnectorService dbConnectorService;
 
     @Override
     public void init() throws IOException {
@@ -32,15 +30,12 @@ public class ObjectService implements IObjectService {
 
     @Override
     public Map<Hash, RestStatus> insertMultiObjects(Map<Hash, String> hashToObjectJsonDataMap, boolean fromColdStorage, ElasticSearchData objectType) {
-        Map<Hash, RestStatus> hashToRestStatusMap = new HashMap<>();
-        BulkResponse insertResponse = dbConnectorService.insertMultiObjectsToDb(objectType.getIndex(), objectType.getObjectName(), hashToObjectJsonDataMap, fromColdStorage);
-        Arrays.asList(insertResponse.getItems()).forEach(bulkItemResponse -> hashToRestStatusMap.put(new Hash(bulkItemResponse.getId()), bulkItemResponse.status()));
-        return hashToRestStatusMap;
+        return dbConnectorService.insertMultiObjectsToDb(objectType.getIndex(), objectType.getObjectName(), hashToObjectJsonDataMap, fromColdStorage);
     }
 
     @Override
     public RestStatus insertObjectJson(Hash hash, String objectAsJson, boolean fromColdStorage, ElasticSearchData objectType) {
-        return dbConnectorService.insertObjectToDb(hash, objectAsJson, objectType.getIndex(), objectType.getObjectName(), fromColdStorage).status();
+        return dbConnectorService.insertObjectToDb(hash, objectAsJson, objectType.getIndex(), objectType.getObjectName(), fromColdStorage);
     }
 
     @Override
@@ -49,10 +44,13 @@ public class ObjectService implements IObjectService {
     }
 
     @Override
-    public String getObjectByHash(Hash hash, boolean fromColdStorage, ElasticSearchData objectType) {
-        GetResponse getResponse = dbConnectorService.getObjectFromDbByHash(hash, objectType.getIndex(), fromColdStorage);
-        return getResponse.isExists() ? (String) getResponse.getSourceAsMap().get(objectType.getObjectName()) : null;
+    public Map<Hash, StoredObjectData> getMultiStoredObjectsFromDb(List<Hash> hashes, boolean fromColdStorage, ElasticSearchData objectType) {
+        return dbConnectorService.getMultiStoredObjects(hashes, objectType.getIndex(), fromColdStorage, objectType.getObjectName());
+    }
 
+    @Override
+    public String getObjectByHash(Hash hash, boolean fromColdStorage, ElasticSearchData objectType) {
+        return dbConnectorService.getObjectFromDbByHash(hash, objectType.getIndex(), fromColdStorage, objectType.getObjectName());
     }
 
     @Override
@@ -65,7 +63,6 @@ public class ObjectService implements IObjectService {
 
     @Override
     public RestStatus deleteObjectByHash(Hash hash, boolean fromColdStorage, ElasticSearchData objectType) {
-        return dbConnectorService.deleteObject(hash, objectType.getIndex(), fromColdStorage).status();
-
+        return dbConnectorService.deleteObject(hash, objectType.getIndex(), fromColdStorage);
     }
 }
@@ -10,10 +10,12 @@ import io.coti.storagenode.data.enums.ElasticSearchData;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.ListUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.FluxSink;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -27,15 +29,36 @@ import java.util.concurrent.*;
 public class TransactionStorageService extends EntityStorageService {
 
     private static final int BLOCK_SIZE = 100;
-    private static final int POOL_MAX_SIZE = 20;
+    private static final int RETRIEVED_BLOCK_POLL_TIMEOUT = 1;
+    private static final int RETRIEVE_SHUTDOWN_TIMEOUT = 10;
+    @Value("${storage.retrieve.pool.size:20}")
+    private int retrievePoolSize;
+    @Value("${storage.retrieve.queue.size:1000}")
+    private int retrieveQueueSize;
     @Autowired
     private BaseNodeValidationService validationService;
+    private ExecutorService retrieveExecutor;
 
     @PostConstruct
     public void init() {
         super.objectType = ElasticSearchData.TRANSACTIONS;
+        retrieveExecutor = new ThreadPoolExecutor(retrievePoolSize, retrievePoolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(retrieveQueueSize), new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
+    @PreDestroy
+    public void shutdown() {
+        retrieveExecutor.shutdown();
+        try {
+            if (!retrieveExecutor.awaitTermination(RETRIEVE_SHUTDOWN_TIMEOUT, TimeUnit.SECONDS)) {
+                log.info("Transaction retrieve executor did not shut down gracefully within {} seconds. Proceeding with forceful shutdown", RETRIEVE_SHUTDOWN_TIMEOUT);
+                retrieveExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            retrieveExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
 
     public boolean validateObjectDataIntegrity(Hash objectHash, String txAsJson) {
         TransactionData transactionData = jacksonSerializer.deserialize(txAsJson);
@@ -52,7 +75,8 @@ public class TransactionStorageService extends EntityStorageService {
 
     public void retrieveMultipleObjectsInReactiveFromStorage(GetHistoryTransactionsRequest getHistoryTransactionsRequest, FluxSink<GetHashToPropagatable<TransactionData>> sink) {
         try {
-            getHistoryTransactionsRequest.getTransactionHashes().forEach(transactionHash -> sink.next(retrieveHashToObjectFromStorage(transactionHash)));
+            divideHashesToBlocks(getHistoryTransactionsRequest.getTransactionHashes()).forEach(transactionHashes ->
+                    getTransactionsDataBlock(transactionHashes).forEach(sink::next));
         } catch (Exception e) {
             log.error("{}: {}", e.getClass().getName(), e.getMessage());
         } finally {
@@ -61,57 +85,68 @@ public class TransactionStorageService extends EntityStorageService {
     }
 
     public void retrieveMultipleObjectsInBlocksFromStorage(GetHistoryTransactionsRequest getHistoryTransactionsRequest, HttpServletResponse response) {
+        List<Future<?>> blockFutures = new ArrayList<>();
         try {
-            BlockingQueue<GetHashToPropagatable<TransactionData>> retrievedTransactionQueue = new LinkedBlockingQueue<>();
-
-            List<Hash> transactionHashes = getHistoryTransactionsRequest.getTransactionHashes();
-            List<List<Hash>> blocksOfHashes = divideHashesToBlocks(transactionHashes);
+            List<List<Hash>> blocksOfHashes = divideHashesToBlocks(getHistoryTransactionsRequest.getTransactionHashes());
             if (blocksOfHashes.isEmpty()) {
                 return;
             }
-            ExecutorService executorPool = Executors.newFixedThreadPool(Math.min(blocksOfHashes.size(), POOL_MAX_SIZE));
-
-            for (int blockNumber = 0; blockNumber < blocksOfHashes.size(); blockNumber++) {
-                Runnable worker = new WorkerThread(blocksOfHashes.get(blockNumber), blockNumber, retrievedTransactionQueue);
-                executorPool.execute(worker);
-            }
-
-            int uncompletedTransactionCounter = transactionHashes.size();
-
-            OutputStream output = response.getOutputStream();
+            BlockingQueue<List<GetHashToPropagatable<TransactionData>>> retrievedBlockQueue = new LinkedBlockingQueue<>();
+            blocksOfHashes.forEach(transactionHashes -> blockFutures.add(retrieveExecutor.submit(() -> queueTransactionsDataBlock(transactionHashes, retrievedBlockQueue))));
 
-            handleRetrievedTransactionsFromElasticSearch(retrievedTransactionQueue, uncompletedTransactionCounter, output);
+            handleRetrievedTransactionBlocks(retrievedBlockQueue, blockFutures, response.getOutputStream());
+        } catch (Exception e) {
+            log.error("{}: {}", e.getClass().getName(), e.getMessage());
+            blockFutures.forEach(blockFuture -> blockFuture.cancel(true));
+        }
+    }
 
-            executorPool.shutdown();
-            awaitTerminationForExecutorPool(executorPool);
+    private void queueTransactionsDataBlock(List<Hash> transactionHashes, BlockingQueue<List<GetHashToPropagatable<TransactionData>>> retrievedBlockQueue) {
+        List<GetHashToPropagatable<TransactionData>> transactionsDataBlock = new ArrayList<>();
+        try {
+            transactionsDataBlock = getTransactionsDataBlock(transactionHashes);
         } catch (Exception e) {
             log.error("{}: {}", e.getClass().getName(), e.getMessage());
+        } finally {
+            retrievedBlockQueue.add(transactionsDataBlock);
         }
+    }
 
+    private List<GetHashToPropagatable<TransactionData>> getTransactionsDataBlock(List<Hash> transactionHashes) {
+        List<GetHashToPropagatable<TransactionData>> transactionsDataBlock = new ArrayList<>();
+        Map<Hash, String> transactionsMap = retrieveMultipleObjectsFromStorage(transactionHashes);
+        transactionsMap.forEach((hash, transactionAsJson) -> {
+            TransactionData transactionData = transactionAsJson != null ? jacksonSerializer.deserialize(transactionAsJson) : null;
+            transactionsDataBlock.add(new GetHashToPropagatable<>(hash, transactionData));
+        });
+        return transactionsDataBlock;
     }
 
-    private void handleRetrievedTransactionsFromElasticSearch(BlockingQueue<GetHashToPropagatable<TransactionData>> retrievedTransactionQueue, int uncompletedTransactionCounter, OutputStream output) throws IOException {
-        while (!Thread.currentThread().isInterrupted() && uncompletedTransactionCounter > 0) {
+    private void handleRetrievedTransactionBlocks(BlockingQueue<List<GetHashToPropagatable<TransactionData>>> retrievedBlockQueue, List<Future<?>> blockFutures, OutputStream output) throws IOException {
+        int uncompletedBlockCounter = blockFutures.size();
+        while (!Thread.currentThread().isInterrupted() && uncompletedBlockCounter > 0) {
             try {
-                GetHashToPropagatable<TransactionData> getHashToTransactionData = retrievedTransactionQueue.take();
-                output.write(jacksonSerializer.serialize(getHashToTransactionData));
+                List<GetHashToPropagatable<TransactionData>> transactionsDataBlock = retrievedBlockQueue.poll(RETRIEVED_BLOCK_POLL_TIMEOUT, TimeUnit.SECONDS);
+                if (transactionsDataBlock == null) {
+                    if (isBlockRetrievalStopped(blockFutures) && retrievedBlockQueue.isEmpty()) {
+                        log.error("Retrieval of {} transaction blocks was stopped before completion", uncompletedBlockCounter);
+                        return;
+                    }
+                    continue;
+                }
+                for (GetHashToPropagatable<TransactionData> getHashToTransactionData : transactionsDataBlock) {
+                    output.write(jacksonSerializer.serialize(getHashToTransactionData));
+                }
                 output.flush();
-                uncompletedTransactionCounter--;
+                uncompletedBlockCounter--;
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
         }
     }
 
-    private void awaitTerminationForExecutorPool(ExecutorService executorPool) {
-        try {
-            if (!executorPool.awaitTermination(500, TimeUnit.MILLISECONDS)) {
-                executorPool.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            executorPool.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+    private boolean isBlockRetrievalStopped(List<Future<?>> blockFutures) {
+        return retrieveExecutor.isTerminated() || blockFutures.stream().allMatch(Future::isDone);
     }
 
     private List<List<Hash>> divideHashesToBlocks(List<Hash> hashes) {
@@ -120,48 +155,4 @@ public class TransactionStorageService extends EntityStorageService {
         }
         return ListUtils.partition(hashes, BLOCK_SIZE);
     }
-
-    private class WorkerThread implements Runnable {
-        private final List<Hash> transactionHashes;
-        private final int blockNumber;
-        private final BlockingQueue<GetHashToPropagatable<TransactionData>> retrievedTransactionQueue;
-
-        public WorkerThread(List<Hash> transactionHashes, int blockNumber, BlockingQueue<GetHashToPropagatable<TransactionData>> retrievedTransactionQueue) {
-            this.transactionHashes = transactionHashes;
-            this.blockNumber = blockNumber;
-            this.retrievedTransactionQueue = retrievedTransactionQueue;
-        }
-
-        @Override
-        public void run() {
-            log.info("Thread {} ,Starting block number = {}", Thread.currentThread().getId(), blockNumber);
-            getTransactionsDataBlock(transactionHashes, retrievedTransactionQueue);
-            log.info("Thread {} ,Ended block number = {}", Thread.currentThread().getId(), blockNumber);
-        }
-
-        private void getTransactionsDataBlock(List<Hash> transactionHashes, BlockingQueue<GetHashToPropagatable<TransactionData>> retrievedTransactionQueue) {
-
-            try {
-                Map<Hash, String> transactionsMap = retrieveMultipleObjectsFromStorage(transactionHashes);
-
-                queueTransactionsDataBlock(transactionsMap, retrievedTransactionQueue);
-            } catch (Exception e) {
-                log.error("{}: {}", e.getClass().getName(), e.getMessage());
-            }
-
-        }
-
-        private void queueTransactionsDataBlock(Map<Hash, String> transactionMap, BlockingQueue<GetHashToPropagatable<TransactionData>> retrievedTransactionQueue) {
-
-            transactionMap.forEach((key, value) -> {
-                TransactionData transactionData = jacksonSerializer.deserialize(value);
-                GetHashToPropagatable<TransactionData> transactionDataPair = new GetHashToPropagatable<>(key, transactionData);
-                try {
-                    retrievedTransactionQueue.put(transactionDataPair);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-            });
-        }
-    }
 }
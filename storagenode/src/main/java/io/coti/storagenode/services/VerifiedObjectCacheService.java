@@ -0,0 +1,48 @@
+package io.coti.storagenode.services;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.coti.basenode.data.Hash;
+import io.coti.storagenode.data.enums.ElasticSearchData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.AbstractMap;
+import java.util.Map;
+
+/**
+ * Objects whose integrity was already verified, shared by all object types so that
+ * storage.verified.object.cache.max.weight bounds the total cached json length.
+ */
+@Service
+public class VerifiedObjectCacheService {
+
+    @Value("${storage.verified.object.cache.max.weight:67108864}")
+    private long verifiedObjectCacheMaxWeight;
+    private Cache<Map.Entry<ElasticSearchData, Hash>, String> verifiedObjectCache;
+
+    @PostConstruct
+    private void init() {
+        verifiedObjectCache = CacheBuilder.newBuilder()
+                .maximumWeight(verifiedObjectCacheMaxWeight)
+                .weigher((Map.Entry<ElasticSearchData, Hash> key, String objectAsJson) -> objectAsJson.length())
+                .build();
+    }
+
+    public String get(ElasticSearchData objectType, Hash hash) {
+        return verifiedObjectCache.getIfPresent(getKey(objectType, hash));
+    }
+
+    public void put(ElasticSearchData objectType, Hash hash, String objectAsJson) {
+        verifiedObjectCache.put(getKey(objectType, hash), objectAsJson);
+    }
+
+    public void invalidate(ElasticSearchData objectType, Iterable<Hash> hashes) {
+        hashes.forEach(hash -> verifiedObjectCache.invalidate(getKey(objectType, hash)));
+    }
+
+    private Map.Entry<ElasticSearchData, Hash> getKey(ElasticSearchData objectType, Hash hash) {
+        return new AbstractMap.SimpleImmutableEntry<>(objectType, hash);
+    }
+}
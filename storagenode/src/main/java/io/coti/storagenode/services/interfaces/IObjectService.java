@@ -1,6 +1,7 @@
 package io.coti.storagenode.services.interfaces;
 
 import io.coti.basenode.data.Hash;
+import io.coti.storagenode.data.StoredObjectData;
 import io.coti.storagenode.data.enums.ElasticSearchData;
 import org.elasticsearch.rest.RestStatus;
 
@@ -18,6 +19,8 @@ public interface IObjectService {
 
     Map<Hash, String> getMultiObjectsFromDb(List<Hash> hashes, boolean fromColdStorage, ElasticSearchData objectType);
 
+    Map<Hash, StoredObjectData> getMultiStoredObjectsFromDb(List<Hash> hashes, boolean fromColdStorage, ElasticSearchData objectType);
+
     Map<Hash, RestStatus> insertMultiObjects(Map<Hash, String> hashToObjectJsonDataMap, boolean fromColdStorage, ElasticSearchData objectType);
 
     Map<Hash, RestStatus> deleteMultiObjectsFromDb(List<Hash> hashes, boolean fromColdStorage, ElasticSearchData objectType);
@@ -0,0 +1,82 @@
+package io.coti.storagenode.database;
+
+import io.coti.basenode.data.Hash;
+import io.coti.storagenode.data.StoredObjectData;
+import io.coti.storagenode.data.enums.ElasticSearchData;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import testUtils.HashTestUtils;
+
+import java.util.*;
+
+public class RocksDBConnectorServiceTest {
+
+    private static final String INDEX = ElasticSearchData.TRANSACTIONS.getIndex();
+    private static final String OBJECT_NAME = ElasticSearchData.TRANSACTIONS.getObjectName();
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+    private RocksDBConnectorService rocksDBConnectorService;
+
+    @Before
+    public void init() {
+        rocksDBConnectorService = new RocksDBConnectorService();
+        ReflectionTestUtils.setField(rocksDBConnectorService, "dbPath", temporaryFolder.getRoot().getAbsolutePath());
+        ReflectionTestUtils.setField(rocksDBConnectorService, "blockCacheSize", 8L * 1024 * 1024);
+        ReflectionTestUtils.setField(rocksDBConnectorService, "bloomFilterBitsPerKey", 10);
+        ReflectionTestUtils.setField(rocksDBConnectorService, "writeBufferSize", 4L * 1024 * 1024);
+        rocksDBConnectorService.init();
+    }
+
+    @After
+    public void shutdown() {
+        rocksDBConnectorService.shutdown();
+    }
+
+    @Test
+    public void insertObjectToDb_newAndExistingObject_createdThenOk() {
+        Hash hash = HashTestUtils.generateRandomHash();
+
+        Assert.assertEquals(RestStatus.CREATED, rocksDBConnectorService.insertObjectToDb(hash, "{\"a\":1}", INDEX, OBJECT_NAME, false));
+        Assert.assertEquals(RestStatus.OK, rocksDBConnectorService.insertObjectToDb(hash, "{\"a\":2}", INDEX, OBJECT_NAME, false));
+        Assert.assertEquals("{\"a\":2}", rocksDBConnectorService.getObjectFromDbByHash(hash, INDEX, false, OBJECT_NAME));
+        Assert.assertNull(rocksDBConnectorService.getObjectFromDbByHash(hash, INDEX, true, OBJECT_NAME));
+    }
+
+    @Test
+    public void getMultiStoredObjects_insertedAndMissingObjects_returnsVerifiedObjectsInOrder() {
+        Map<Hash, String> hashToObjectJsonDataMap = new LinkedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            hashToObjectJsonDataMap.put(HashTestUtils.generateRandomHash(), "{\"index\":" + i + "}");
+        }
+        Map<Hash, RestStatus> insertResponseMap = rocksDBConnectorService.insertMultiObjectsToDb(INDEX, OBJECT_NAME, hashToObjectJsonDataMap, true);
+        Assert.assertTrue(insertResponseMap.values().stream().allMatch(RestStatus.CREATED::equals));
+
+        List<Hash> hashes = new ArrayList<>(hashToObjectJsonDataMap.keySet());
+        Hash missingHash = HashTestUtils.generateRandomHash();
+        hashes.add(missingHash);
+        Map<Hash, StoredObjectData> storedObjects = rocksDBConnectorService.getMultiStoredObjects(hashes, INDEX, true, OBJECT_NAME);
+
+        Assert.assertEquals(hashes, new ArrayList<>(storedObjects.keySet()));
+        Assert.assertNull(storedObjects.get(missingHash));
+        hashToObjectJsonDataMap.forEach((hash, objectAsJson) -> {
+            Assert.assertEquals(objectAsJson, storedObjects.get(hash).getObjectAsJson());
+            Assert.assertTrue(storedObjects.get(hash).isContentHashValid());
+        });
+    }
+
+    @Test
+    public void deleteObject_existingAndMissingObject_okThenNotFound() {
+        Hash hash = HashTestUtils.generateRandomHash();
+        rocksDBConnectorService.insertObjectToDb(hash, "{}", INDEX, OBJECT_NAME, false);
+
+        Assert.assertEquals(RestStatus.OK, rocksDBConnectorService.deleteObject(hash, INDEX, false));
+        Assert.assertEquals(RestStatus.NOT_FOUND, rocksDBConnectorService.deleteObject(hash, INDEX, false));
+        Assert.assertNull(rocksDBConnectorService.getObjectFromDbByHash(hash, INDEX, false, OBJECT_NAME));
+    }
+}
@@ -12,6 +12,7 @@ import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.BaseNodeValidationService;
 import io.coti.basenode.services.interfaces.IPotService;
 import io.coti.basenode.services.interfaces.ITransactionHelper;
+import io.coti.storagenode.data.StoredObjectData;
 import io.coti.storagenode.data.enums.ElasticSearchData;
 import io.coti.storagenode.database.DbConnectorService;
 import org.junit.Assert;
@@ -34,7 +35,7 @@ import static io.coti.basenode.http.BaseNodeHttpStringConstants.INVALID_SIGNATUR
 import static io.coti.basenode.http.BaseNodeHttpStringConstants.STATUS_ERROR;
 import static org.mockito.Mockito.when;
 
-@ContextConfiguration(classes = {AddressStorageService.class,
+@ContextConfiguration(classes = {AddressStorageService.class, VerifiedObjectCacheService.class,
         JacksonSerializer.class, BaseNodeValidationService.class})
 @TestPropertySource(locations = "classpath:test.properties")
 @SpringBootTest
@@ -194,14 +195,14 @@ public class AddressStorageServiceTest {
 
     private void mockGetMultiObjectsFromDb(boolean fromColdStorage, ElasticSearchData objectType, List<Boolean> inStorage, AddressData... addresses) {
         List<Hash> hashes = new ArrayList<>();
-        Map<Hash, String> objectsFromDBMap = new HashMap<>();
+        Map<Hash, StoredObjectData> objectsFromDBMap = new HashMap<>();
         AtomicInteger index = new AtomicInteger(0);
         Arrays.stream(addresses).forEach(addressData -> {
 
             hashes.add(addressData.getHash());
-            objectsFromDBMap.put(addressData.getHash(), inStorage.get(index.getAndIncrement()) == Boolean.TRUE ? jacksonSerializer.serializeAsString(addressData) : null);
+            objectsFromDBMap.put(addressData.getHash(), inStorage.get(index.getAndIncrement()) == Boolean.TRUE ? new StoredObjectData(jacksonSerializer.serializeAsString(addressData), null) : null);
         });
-        when(objectService.getMultiObjectsFromDb(hashes, false, objectType)).thenReturn(objectsFromDBMap);
+        when(objectService.getMultiStoredObjectsFromDb(hashes, false, objectType)).thenReturn(objectsFromDBMap);
     }
 
 }
\ No newline at end of file
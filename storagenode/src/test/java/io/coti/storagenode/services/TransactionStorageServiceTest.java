@@ -0,0 +1,196 @@
+package io.coti.storagenode.services;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.coti.basenode.communication.JacksonSerializer;
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.interfaces.IPropagatable;
+import io.coti.basenode.http.GetHistoryTransactionsRequest;
+import io.coti.basenode.http.data.GetHashToPropagatable;
+import io.coti.basenode.services.BaseNodeValidationService;
+import io.coti.storagenode.data.StoredObjectData;
+import io.coti.storagenode.data.enums.ElasticSearchData;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import testUtils.TestUtils;
+
+import java.io.IOException;
+import java.util.*;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ContextConfiguration(classes = {TransactionStorageService.class, VerifiedObjectCacheService.class, JacksonSerializer.class})
+@TestPropertySource(locations = "classpath:test.properties")
+@SpringBootTest
+@RunWith(SpringRunner.class)
+public class TransactionStorageServiceTest {
+
+    private static final ElasticSearchData OBJECT_TYPE = ElasticSearchData.TRANSACTIONS;
+    private static final int NUMBER_OF_STREAMED_TRANSACTIONS = 250;
+    @Autowired
+    private TransactionStorageService transactionStorageService;
+    @Autowired
+    private JacksonSerializer jacksonSerializer;
+    @MockBean
+    private ObjectService objectService;
+    @MockBean
+    private BaseNodeValidationService validationService;
+
+    @Test
+    public void retrieveMultipleObjectsFromStorage_validContentHash_returnedWithoutIntegrityValidation() {
+        Hash hash = TestUtils.generateRandomHash();
+        String transactionAsJson = generateTransactionAsJson(hash);
+        mockStoredObject(hash, new StoredObjectData(transactionAsJson, StoredObjectData.calculateContentHash(transactionAsJson)));
+
+        Map<Hash, String> retrievedObjects = transactionStorageService.retrieveMultipleObjectsFromStorage(Collections.singletonList(hash));
+
+        Assert.assertEquals(transactionAsJson, retrievedObjects.get(hash));
+        verify(validationService, never()).validateTransactionDataIntegrity(any());
+    }
+
+    @Test
+    public void retrieveMultipleObjectsFromStorage_tamperedContent_notReturnedAndNotCached() {
+        Hash hash = TestUtils.generateRandomHash();
+        String transactionAsJson = generateTransactionAsJson(hash);
+        String tamperedTransactionAsJson = transactionAsJson.replace("\"transactionDescription\":\"test\"", "\"transactionDescription\":\"tampered\"");
+        Assert.assertNotEquals(transactionAsJson, tamperedTransactionAsJson);
+        mockStoredObject(hash, new StoredObjectData(tamperedTransactionAsJson, StoredObjectData.calculateContentHash(transactionAsJson)));
+
+        Assert.assertNull(transactionStorageService.retrieveMultipleObjectsFromStorage(Collections.singletonList(hash)).get(hash));
+        Assert.assertNull(transactionStorageService.retrieveMultipleObjectsFromStorage(Collections.singletonList(hash)).get(hash));
+
+        verify(objectService, times(2)).getMultiStoredObjectsFromDb(Collections.singletonList(hash), false, OBJECT_TYPE);
+        verify(objectService, times(2)).getObjectByHash(hash, true, OBJECT_TYPE);
+    }
+
+    @Test
+    public void retrieveMultipleObjectsFromStorage_legacyObjectWithoutContentHash_validatedOnceAndContentHashAdded() {
+        Hash hash = TestUtils.generateRandomHash();
+        String transactionAsJson = generateTransactionAsJson(hash);
+        mockStoredObject(hash, new StoredObjectData(transactionAsJson, null));
+        when(validationService.validateTransactionDataIntegrity(any())).thenReturn(true);
+        when(objectService.insertObjectJson(hash, transactionAsJson, false, OBJECT_TYPE)).thenReturn(RestStatus.OK);
+
+        Map<Hash, String> retrievedObjects = transactionStorageService.retrieveMultipleObjectsFromStorage(Collections.singletonList(hash));
+
+        Assert.assertEquals(transactionAsJson, retrievedObjects.get(hash));
+        verify(objectService).insertObjectJson(hash, transactionAsJson, false, OBJECT_TYPE);
+        verify(validationService, times(1)).validateTransactionDataIntegrity(any());
+    }
+
+    @Test
+    public void retrieveMultipleObjectsFromStorage_verifiedObject_servedFromCache() {
+        Hash hash = TestUtils.generateRandomHash();
+        String transactionAsJson = generateTransactionAsJson(hash);
+        mockStoredObject(hash, new StoredObjectData(transactionAsJson, StoredObjectData.calculateContentHash(transactionAsJson)));
+
+        transactionStorageService.retrieveMultipleObjectsFromStorage(Collections.singletonList(hash));
+        Map<Hash, String> retrievedObjects = transactionStorageService.retrieveMultipleObjectsFromStorage(Collections.singletonList(hash));
+        GetHashToPropagatable<TransactionData> retrievedHashToTransaction = transactionStorageService.retrieveHashToObjectFromStorage(hash);
+
+        Assert.assertEquals(transactionAsJson, retrievedObjects.get(hash));
+        Assert.assertEquals(hash, retrievedHashToTransaction.getData().getHash());
+        verify(objectService, times(1)).getMultiStoredObjectsFromDb(anyList(), anyBoolean(), any());
+    }
+
+    @Test
+    public void storeObjectToStorage_cachedObject_cacheInvalidated() {
+        Hash hash = TestUtils.generateRandomHash();
+        String transactionAsJson = generateTransactionAsJson(hash);
+        mockStoredObject(hash, new StoredObjectData(transactionAsJson, StoredObjectData.calculateContentHash(transactionAsJson)));
+        transactionStorageService.retrieveMultipleObjectsFromStorage(Collections.singletonList(hash));
+        String updatedTransactionAsJson = generateTransactionAsJson(hash);
+        when(validationService.validateTransactionDataIntegrity(any())).thenReturn(true);
+        when(objectService.insertObjectJson(eq(hash), eq(updatedTransactionAsJson), anyBoolean(), eq(OBJECT_TYPE))).thenReturn(RestStatus.CREATED);
+
+        transactionStorageService.storeObjectToStorage(hash, updatedTransactionAsJson);
+        mockStoredObject(hash, new StoredObjectData(updatedTransactionAsJson, StoredObjectData.calculateContentHash(updatedTransactionAsJson)));
+        Map<Hash, String> retrievedObjects = transactionStorageService.retrieveMultipleObjectsFromStorage(Collections.singletonList(hash));
+
+        Assert.assertEquals(updatedTransactionAsJson, retrievedObjects.get(hash));
+        verify(objectService, times(2)).getMultiStoredObjectsFromDb(Collections.singletonList(hash), false, OBJECT_TYPE);
+    }
+
+    @Test
+    public void retrieveMultipleObjectsInBlocksFromStorage_multipleBlocks_allTransactionsStreamed() throws IOException {
+        List<Hash> transactionHashes = new ArrayList<>();
+        Map<Hash, StoredObjectData> storedObjects = new HashMap<>();
+        for (int i = 0; i < NUMBER_OF_STREAMED_TRANSACTIONS; i++) {
+            Hash hash = TestUtils.generateRandomHash();
+            String transactionAsJson = generateTransactionAsJson(hash);
+            transactionHashes.add(hash);
+            storedObjects.put(hash, new StoredObjectData(transactionAsJson, StoredObjectData.calculateContentHash(transactionAsJson)));
+        }
+        mockStoredObjects(storedObjects);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        transactionStorageService.retrieveMultipleObjectsInBlocksFromStorage(new GetHistoryTransactionsRequest(transactionHashes), response);
+
+        List<GetHashToPropagatable<TransactionData>> streamedTransactions = readStreamedTransactions(response.getContentAsByteArray());
+        Set<Hash> streamedTransactionHashes = new HashSet<>();
+        streamedTransactions.forEach(getHashToTransactionData -> {
+            Assert.assertEquals(getHashToTransactionData.getHash(), getHashToTransactionData.getData().getHash());
+            streamedTransactionHashes.add(getHashToTransactionData.getHash());
+        });
+        Assert.assertEquals(NUMBER_OF_STREAMED_TRANSACTIONS, streamedTransactions.size());
+        Assert.assertEquals(new HashSet<>(transactionHashes), streamedTransactionHashes);
+    }
+
+    @Test(timeout = 10000)
+    @DirtiesContext
+    public void retrieveMultipleObjectsInBlocksFromStorage_afterShutdown_returnsWithoutBlocking() {
+        Hash hash = TestUtils.generateRandomHash();
+        String transactionAsJson = generateTransactionAsJson(hash);
+        mockStoredObject(hash, new StoredObjectData(transactionAsJson, StoredObjectData.calculateContentHash(transactionAsJson)));
+        transactionStorageService.shutdown();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        transactionStorageService.retrieveMultipleObjectsInBlocksFromStorage(new GetHistoryTransactionsRequest(Collections.singletonList(hash)), response);
+
+        Assert.assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private String generateTransactionAsJson(Hash hash) {
+        return jacksonSerializer.serializeAsString(TestUtils.createRandomTransaction(hash));
+    }
+
+    private void mockStoredObject(Hash hash, StoredObjectData storedObjectData) {
+        mockStoredObjects(Collections.singletonMap(hash, storedObjectData));
+    }
+
+    private void mockStoredObjects(Map<Hash, StoredObjectData> storedObjects) {
+        when(objectService.getMultiStoredObjectsFromDb(anyList(), eq(false), eq(OBJECT_TYPE))).thenAnswer(invocation -> {
+            List<Hash> hashes = invocation.getArgument(0);
+            Map<Hash, StoredObjectData> storedObjectsByHash = new LinkedHashMap<>();
+            hashes.forEach(hash -> storedObjectsByHash.put(hash, storedObjects.get(hash)));
+            return storedObjectsByHash;
+        });
+    }
+
+    private List<GetHashToPropagatable<TransactionData>> readStreamedTransactions(byte[] output) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        List<GetHashToPropagatable<TransactionData>> streamedTransactions = new ArrayList<>();
+        try (MappingIterator<IPropagatable> iterator = objectMapper.readerFor(IPropagatable.class).readValues(output)) {
+            while (iterator.hasNext()) {
+                streamedTransactions.add((GetHashToPropagatable<TransactionData>) iterator.next());
+            }
+        }
+        return streamedTransactions;
+    }
+}
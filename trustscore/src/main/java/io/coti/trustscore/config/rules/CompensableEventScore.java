@@ -1,6 +1,8 @@
 package io.coti.trustscore.config.rules;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.coti.trustscore.utils.CompiledFormula;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -15,5 +17,9 @@ public class CompensableEventScore extends EventScore {
     private String contribution;
     private String fine;
     private String fineDailyChange;
+    @JsonIgnore
+    private transient CompiledFormula fineFormula;
+    @JsonIgnore
+    private transient CompiledFormula fineDailyChangeFormula;
 
 }
\ No newline at end of file
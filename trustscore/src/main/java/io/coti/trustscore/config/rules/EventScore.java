@@ -1,5 +1,7 @@
 package io.coti.trustscore.config.rules;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.coti.trustscore.utils.CompiledFormula;
 import lombok.Data;
 
 @Data
@@ -8,4 +10,6 @@ public abstract class EventScore {
     private String name;
     private double weight;
     private String decay;
+    @JsonIgnore
+    private transient CompiledFormula decayFormula;
 }
@@ -1,6 +1,8 @@
 package io.coti.trustscore.config.rules;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.coti.trustscore.utils.CompiledFormula;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -12,5 +14,7 @@ public class HighFrequencyEventScore extends EventScore {
     private String linearFunction;
     private double standardChargeBackRate;
     private String contribution;
+    @JsonIgnore
+    private transient CompiledFormula contributionFormula;
     private String term;
 }
@@ -1,6 +1,8 @@
 package io.coti.trustscore.config.rules;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.coti.trustscore.utils.CompiledFormula;
 import lombok.Data;
 
 import java.util.Objects;
@@ -11,6 +13,8 @@ public class SuspiciousEventScore extends EventScore {
 
     private int term;
     private String contribution;
+    @JsonIgnore
+    private transient CompiledFormula contributionFormula;
 
     @Override
     public boolean equals(Object o) {
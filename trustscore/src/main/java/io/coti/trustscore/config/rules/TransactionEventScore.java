@@ -1,6 +1,8 @@
 package io.coti.trustscore.config.rules;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.coti.trustscore.utils.CompiledFormula;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -10,4 +12,6 @@ import lombok.EqualsAndHashCode;
 public class TransactionEventScore extends EventScore {
 
     private String nonlinearFunction;
+    @JsonIgnore
+    private transient CompiledFormula nonlinearFormula;
 }
@@ -23,6 +23,7 @@ import io.coti.trustscore.data.TrustScoreData;
 import io.coti.trustscore.http.*;
 import io.coti.trustscore.model.BucketEvents;
 import io.coti.trustscore.model.TrustScores;
+import io.coti.trustscore.services.calculationservices.DecayCalculator;
 import io.coti.trustscore.services.interfaces.IBucketEventService;
 import io.coti.trustscore.utils.BucketBuilder;
 import io.coti.trustscore.utils.DatesCalculation;
@@ -443,6 +444,7 @@ public class TrustScoreService {
             InputStream jsonConfigStream = new ClassPathResource("trustScoreRules.json").getInputStream();
             rulesData = objectMapper.readValue(jsonConfigStream, RulesData.class);
             log.debug(rulesData.toString());
+            DecayCalculator.compileDecayFormulas(rulesData);
         } catch (IOException e) {
             log.error("Error reading from JSON file", e);
             log.error("Shutting down!");
@@ -7,6 +7,7 @@ import io.coti.trustscore.data.Buckets.BucketChargeBackEventsData;
 import io.coti.trustscore.data.Enums.HighFrequencyEventScoreType;
 import io.coti.trustscore.data.Enums.UserType;
 import io.coti.trustscore.utils.DatesCalculation;
+import io.coti.trustscore.utils.MathCalculation;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Date;
@@ -16,6 +17,13 @@ import java.util.stream.Collectors;
 
 @Slf4j
 public class BucketChargeBackEventsCalculator extends BucketCalculator {
+    private static final String CHARGE_BACKS_TODAY_AMOUNT_ARGUMENT = "chargeBacksTodayAmount";
+    private static final String PAYMENTS_TODAY_AMOUNT_ARGUMENT = "paymentsTodayAmount";
+    private static final String CHARGE_BACKS_TODAY_NUMBER_ARGUMENT = "chargeBacksTodayNumber";
+    private static final String PAYMENTS_TODAY_NUMBER_ARGUMENT = "paymentsTodayNumber";
+    private static final String STANDARD_CHARGE_BACK_RATE_ARGUMENT = "standardChargeBackRate";
+    private static final String TAIL_1_CONTRIBUTION_ARGUMENT = "tail1Contribution";
+    private static final String TAIL_2_CONTRIBUTION_ARGUMENT = "tail2Contribution";
     private static Map<UserType, BehaviorHighFrequencyEventsScore> userTypeToBehaviorHighFrequencyEventsScoreMapping;
     private BucketChargeBackEventsData bucketChargeBackEventsData;
     private BehaviorHighFrequencyEventsScore behaviorHighFrequencyEventsScore;
@@ -29,21 +37,34 @@ public class BucketChargeBackEventsCalculator extends BucketCalculator {
     public static void init(RulesData rulesData) {
         userTypeToBehaviorHighFrequencyEventsScoreMapping = rulesData.getUserTypeToUserScoreMap().entrySet().stream().
                 collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getBehaviorHighFrequencyEventsScore()));
+        userTypeToBehaviorHighFrequencyEventsScoreMapping.values().forEach(BucketChargeBackEventsCalculator::compileContributionFormulas);
+    }
+
+    private static void compileContributionFormulas(BehaviorHighFrequencyEventsScore behaviorHighFrequencyEventsScore) {
+        Map<HighFrequencyEventScoreType, HighFrequencyEventScore> highFrequencyEventScoreMap = behaviorHighFrequencyEventsScore.getHighFrequencyEventScoreMap();
+        compileContributionFormula(highFrequencyEventScoreMap.get(HighFrequencyEventScoreType.CHARGE_BACK_AMOUNT),
+                CHARGE_BACKS_TODAY_AMOUNT_ARGUMENT, PAYMENTS_TODAY_AMOUNT_ARGUMENT);
+        compileContributionFormula(highFrequencyEventScoreMap.get(HighFrequencyEventScoreType.CHARGE_BACK_NUMBER),
+                CHARGE_BACKS_TODAY_NUMBER_ARGUMENT, PAYMENTS_TODAY_NUMBER_ARGUMENT);
+    }
+
+    private static void compileContributionFormula(HighFrequencyEventScore highFrequencyEventScore, String chargeBacksTodayArgument, String paymentsTodayArgument) {
+        if (highFrequencyEventScore != null && highFrequencyEventScore.getContribution() != null) {
+            highFrequencyEventScore.setContributionFormula(MathCalculation.compileFormula(highFrequencyEventScore.getContribution(), chargeBacksTodayArgument,
+                    paymentsTodayArgument, STANDARD_CHARGE_BACK_RATE_ARGUMENT, TAIL_2_CONTRIBUTION_ARGUMENT, TAIL_1_CONTRIBUTION_ARGUMENT));
+        }
     }
 
     @Override
     public void setCurrentScores() {
-        Map<HighFrequencyEventScore, String> highFrequencyEventScoreToCalculationFormulaMap = new ConcurrentHashMap<>();
+        Map<HighFrequencyEventScore, Double> eventScoresToCalculatedScoreMap = new ConcurrentHashMap<>();
         HighFrequencyEventScore chargeBackEventScoreByEventScoreType = behaviorHighFrequencyEventsScore.getHighFrequencyEventScoreMap().get(HighFrequencyEventScoreType.CHARGE_BACK_AMOUNT);
         if (chargeBackEventScoreByEventScoreType == null) return;
-        highFrequencyEventScoreToCalculationFormulaMap.put(chargeBackEventScoreByEventScoreType, createChargeBackAmountFormula());
+        eventScoresToCalculatedScoreMap.put(chargeBackEventScoreByEventScoreType, calculateChargeBackAmountContribution());
 
-        highFrequencyEventScoreToCalculationFormulaMap.put(behaviorHighFrequencyEventsScore.getHighFrequencyEventScoreMap()
+        eventScoresToCalculatedScoreMap.put(behaviorHighFrequencyEventsScore.getHighFrequencyEventScoreMap()
                         .get(HighFrequencyEventScoreType.CHARGE_BACK_NUMBER),
-                createChargeBackNumberFormula());
-
-        ScoreCalculator<HighFrequencyEventScore> functionCalculator = new ScoreCalculator<>(highFrequencyEventScoreToCalculationFormulaMap);
-        Map<HighFrequencyEventScore, Double> eventScoresToCalculatedScoreMap = functionCalculator.calculate();
+                calculateChargeBackNumberContribution());
 
         for (Map.Entry<HighFrequencyEventScore, Double> highFrequencyEventScoreEntry : eventScoresToCalculatedScoreMap.entrySet()) {
             if (highFrequencyEventScoreEntry.getValue().isNaN()) {
@@ -157,44 +178,27 @@ public class BucketChargeBackEventsCalculator extends BucketCalculator {
         }
     }
 
-    private String createChargeBackAmountFormula() {
+    private double calculateChargeBackAmountContribution() {
         HighFrequencyEventScore highFrequencyEventScore =
                 behaviorHighFrequencyEventsScore.getHighFrequencyEventScoreMap().get(HighFrequencyEventScoreType.CHARGE_BACK_AMOUNT);
 
-        String contributionFunctionString = highFrequencyEventScore.getContribution();
-        double standardChargeBackRate = highFrequencyEventScore.getStandardChargeBackRate();
-
-        contributionFunctionString = contributionFunctionString
-                .replace("chargeBacksTodayAmount", Double.toString(bucketChargeBackEventsData.getCurrentDateChargeBacks().values().stream().mapToDouble(Number::doubleValue).sum()));
-        contributionFunctionString = contributionFunctionString
-                .replace("paymentsTodayAmount", Double.toString(bucketChargeBackEventsData.getCurrentDatePaymentTransactions().values().stream().mapToDouble(Number::doubleValue).sum()));
-        contributionFunctionString = contributionFunctionString
-                .replace("standardChargeBackRate", Double.toString(standardChargeBackRate));
-        contributionFunctionString = contributionFunctionString
-                .replace("tail2Contribution", Double.toString(bucketChargeBackEventsData.getOldDateAmountOfChargeBacksContribution()));
-        contributionFunctionString = contributionFunctionString
-                .replace("tail1Contribution", Double.toString(bucketChargeBackEventsData.getOldDateAmountOfCreditTransactionsContribution()));
-        return contributionFunctionString;
-
+        return highFrequencyEventScore.getContributionFormula().evaluate(
+                bucketChargeBackEventsData.getCurrentDateChargeBacks().values().stream().mapToDouble(Number::doubleValue).sum(),
+                bucketChargeBackEventsData.getCurrentDatePaymentTransactions().values().stream().mapToDouble(Number::doubleValue).sum(),
+                highFrequencyEventScore.getStandardChargeBackRate(),
+                bucketChargeBackEventsData.getOldDateAmountOfChargeBacksContribution(),
+                bucketChargeBackEventsData.getOldDateAmountOfCreditTransactionsContribution());
     }
 
-    private String createChargeBackNumberFormula() {
+    private double calculateChargeBackNumberContribution() {
         HighFrequencyEventScore highFrequencyEventScore = behaviorHighFrequencyEventsScore.getHighFrequencyEventScoreMap().get(HighFrequencyEventScoreType.CHARGE_BACK_NUMBER);
 
-        String contributionFunctionString = highFrequencyEventScore.getContribution();
-        double standardChargeBackRate = highFrequencyEventScore.getStandardChargeBackRate();
-
-        contributionFunctionString = contributionFunctionString
-                .replace("chargeBacksTodayNumber", Double.toString(bucketChargeBackEventsData.getCurrentDateChargeBacks().size()));
-        contributionFunctionString = contributionFunctionString
-                .replace("paymentsTodayNumber", Double.toString(bucketChargeBackEventsData.getCurrentDatePaymentTransactions().size()));
-        contributionFunctionString = contributionFunctionString
-                .replace("standardChargeBackRate", Double.toString(standardChargeBackRate));
-        contributionFunctionString = contributionFunctionString
-                .replace("tail2Contribution", Double.toString(bucketChargeBackEventsData.getOldDateNumberOfChargeBacksContribution()));
-        contributionFunctionString = contributionFunctionString
-                .replace("tail1Contribution", Double.toString(bucketChargeBackEventsData.getOldDateNumberOfCreditTransactionsContribution()));
-        return contributionFunctionString;
+        return highFrequencyEventScore.getContributionFormula().evaluate(
+                bucketChargeBackEventsData.getCurrentDateChargeBacks().size(),
+                bucketChargeBackEventsData.getCurrentDatePaymentTransactions().size(),
+                highFrequencyEventScore.getStandardChargeBackRate(),
+                bucketChargeBackEventsData.getOldDateNumberOfChargeBacksContribution(),
+                bucketChargeBackEventsData.getOldDateNumberOfCreditTransactionsContribution());
     }
 
     private double getWeightByEventScore(HighFrequencyEventScoreType eventScoreType) {
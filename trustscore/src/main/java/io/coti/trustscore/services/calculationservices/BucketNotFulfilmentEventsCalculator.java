@@ -8,13 +8,18 @@ import io.coti.trustscore.data.Buckets.BucketNotFulfilmentEventsData;
 import io.coti.trustscore.data.Enums.CompensableEventScoreType;
 import io.coti.trustscore.data.Enums.UserType;
 import io.coti.trustscore.data.Events.NotFulfilmentToClientContributionData;
-import javafx.util.Pair;
+import io.coti.trustscore.utils.CompiledFormula;
+import io.coti.trustscore.utils.MathCalculation;
 
 import java.util.Map;
 import java.util.stream.Collectors;
 
 public class BucketNotFulfilmentEventsCalculator extends BucketCalculator {
 
+    private static final String CURRENT_DEBT_ARGUMENT = "currentDebt";
+    private static final String WEIGHT_1_ARGUMENT = "weight1";
+    private static final String WEIGHT_2_ARGUMENT = "weight2";
+    private static final String FINE_ARGUMENT = "fine";
     private static Map<UserType, CompensableEventsScore> userTypeToBehaviorEventsScoreMap;
     private final BucketNotFulfilmentEventsData bucketNotFulfilmentEventsData;
     private final CompensableEventScore compensableEventScore;
@@ -28,6 +33,24 @@ public class BucketNotFulfilmentEventsCalculator extends BucketCalculator {
     public static void init(RulesData rulesData) {
         userTypeToBehaviorEventsScoreMap = rulesData.getUserTypeToUserScoreMap().entrySet().stream().
                 collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getCompensableEventsScore()));
+        userTypeToBehaviorEventsScoreMap.values().forEach(BucketNotFulfilmentEventsCalculator::compileFineFormulas);
+    }
+
+    private static void compileFineFormulas(CompensableEventsScore compensableEventsScore) {
+        CompensableEventScore compensableEventScore = compensableEventsScore.getCompensableEventScoreMap().get(CompensableEventScoreType.NON_FULFILMENT);
+        if (compensableEventScore == null) {
+            return;
+        }
+        if (compensableEventScore.getFine() != null) {
+            compensableEventScore.setFineFormula(compileFineFormula(compensableEventScore.getFine()));
+        }
+        if (compensableEventScore.getFineDailyChange() != null) {
+            compensableEventScore.setFineDailyChangeFormula(compileFineFormula(compensableEventScore.getFineDailyChange()));
+        }
+    }
+
+    private static CompiledFormula compileFineFormula(String formula) {
+        return MathCalculation.compileFormula(formula, CURRENT_DEBT_ARGUMENT, WEIGHT_1_ARGUMENT, WEIGHT_2_ARGUMENT, FINE_ARGUMENT);
     }
 
     @Override
@@ -44,18 +67,14 @@ public class BucketNotFulfilmentEventsCalculator extends BucketCalculator {
     }
 
     private void decayedFine(NotFulfilmentToClientContributionData clientNotFulfilmentToClientContributionData, int daysDiff) {
-        ScoreCalculator scoreCalculator = new ScoreCalculator<>();
         for (int i = 0; i < daysDiff; i++) {
-            String fineDailyChangeFormula = createFineFormula(clientNotFulfilmentToClientContributionData, compensableEventScore.getFineDailyChange());
             clientNotFulfilmentToClientContributionData
-                    .setFine((double) scoreCalculator.calculateEntry(new Pair<>(compensableEventScore,
-                            fineDailyChangeFormula)).getValue());
+                    .setFine(evaluateFineFormula(clientNotFulfilmentToClientContributionData, compensableEventScore.getFineDailyChangeFormula()));
         }
     }
 
     private double calculateFine(NotFulfilmentToClientContributionData notFulfilmentToClientContributionData) {
-        String fineFormula = createFineFormula(notFulfilmentToClientContributionData, compensableEventScore.getFine());
-        return new ScoreCalculator<>().calculateEntry(new Pair<>(compensableEventScore, fineFormula)).getValue();
+        return evaluateFineFormula(notFulfilmentToClientContributionData, compensableEventScore.getFineFormula());
     }
 
     public void setCurrentScoresForSpecificClient(boolean isDebtDecreasing, Hash clientHash) {
@@ -69,20 +88,9 @@ public class BucketNotFulfilmentEventsCalculator extends BucketCalculator {
         notFulfilmentToClientContributionData.setFine(calculateFine(notFulfilmentToClientContributionData));
     }
 
-    private String createFineFormula(NotFulfilmentToClientContributionData notFulfilmentToClientContributionData, String formula) {
-        formula = formula.replace("currentDebt",
-                String.valueOf(notFulfilmentToClientContributionData.getCurrentDebt()));
-
-        formula = formula.replace("weight1",
-                String.valueOf(compensableEventScore.getWeight1()));
-
-        formula = formula.replace("weight2",
-                String.valueOf(compensableEventScore.getWeight2()));
-
-        formula = formula.replace("fine",
-                String.valueOf(notFulfilmentToClientContributionData.getFine()));
-
-        return formula;
+    private double evaluateFineFormula(NotFulfilmentToClientContributionData notFulfilmentToClientContributionData, CompiledFormula formula) {
+        return formula.evaluate(notFulfilmentToClientContributionData.getCurrentDebt(), compensableEventScore.getWeight1(),
+                compensableEventScore.getWeight2(), notFulfilmentToClientContributionData.getFine());
     }
 
     public double getBucketSumScore(BucketNotFulfilmentEventsData bucketNotFulfilmentEventsData) {
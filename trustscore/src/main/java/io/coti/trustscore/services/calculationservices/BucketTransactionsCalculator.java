@@ -8,8 +8,9 @@ import io.coti.trustscore.data.Buckets.BucketTransactionEventsData;
 import io.coti.trustscore.data.Enums.TransactionEventScoreType;
 import io.coti.trustscore.data.Enums.UserType;
 import io.coti.trustscore.data.Events.BalanceCountAndContribution;
-import io.coti.trustscore.services.calculationservices.interfaces.IScoreCalculator;
+import io.coti.trustscore.utils.CompiledFormula;
 import io.coti.trustscore.utils.DatesCalculation;
+import io.coti.trustscore.utils.MathCalculation;
 import javafx.util.Pair;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -27,6 +28,9 @@ import java.util.stream.Collectors;
 public class BucketTransactionsCalculator extends BucketCalculator {
 
     private static final int MONTH_LENGTH = 30;
+    private static final String TURNOVER_ARGUMENT = "T";
+    private static final String NUMBER_OF_TRANSACTIONS_ARGUMENT = "N";
+    private static final String BALANCE_ARGUMENT = "B";
     private static Map<UserType, TransactionEventsScore> userToTransactionEventsScoreMapping;
     private BucketTransactionEventsData bucketTransactionEventsData;
     private TransactionEventsScore transactionEventsScore;
@@ -40,6 +44,20 @@ public class BucketTransactionsCalculator extends BucketCalculator {
     public static void init(RulesData rulesData) {
         userToTransactionEventsScoreMapping = rulesData.getUserTypeToUserScoreMap().entrySet().stream().
                 collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getTransactionEventScore()));
+        userToTransactionEventsScoreMapping.values().forEach(BucketTransactionsCalculator::compileNonlinearFunctions);
+    }
+
+    private static void compileNonlinearFunctions(TransactionEventsScore transactionEventsScore) {
+        Map<TransactionEventScoreType, TransactionEventScore> transactionEventScoreMap = transactionEventsScore.getTransactionEventScoreMap();
+        compileNonlinearFunction(transactionEventScoreMap.get(TransactionEventScoreType.TURNOVER), TURNOVER_ARGUMENT);
+        compileNonlinearFunction(transactionEventScoreMap.get(TransactionEventScoreType.TRANSACTION_FREQUENCY), NUMBER_OF_TRANSACTIONS_ARGUMENT);
+        compileNonlinearFunction(transactionEventScoreMap.get(TransactionEventScoreType.AVERAGE_BALANCE), BALANCE_ARGUMENT);
+    }
+
+    private static void compileNonlinearFunction(TransactionEventScore transactionEventScore, String argumentName) {
+        if (transactionEventScore != null && transactionEventScore.getNonlinearFunction() != null) {
+            transactionEventScore.setNonlinearFormula(MathCalculation.compileFormula(transactionEventScore.getNonlinearFunction(), argumentName));
+        }
     }
 
     @Override
@@ -172,29 +190,17 @@ public class BucketTransactionsCalculator extends BucketCalculator {
 
     public void setCurrentDayTransactionsScores() {
 
-        Map<TransactionEventScore, String> transactionEventScoreToCalculationFormulaMap = new ConcurrentHashMap<>();
-        transactionEventScoreToCalculationFormulaMap.put(transactionEventsScore.getTransactionEventScoreMap()
-                .get(TransactionEventScoreType.TURNOVER), createTurnOverScoreFormula(bucketTransactionEventsData));
-        transactionEventScoreToCalculationFormulaMap.put(transactionEventsScore.getTransactionEventScoreMap()
-                .get(TransactionEventScoreType.TRANSACTION_FREQUENCY), createTransactionFrequencyScoreFormula());
-
-        IScoreCalculator functionCalculator = new ScoreCalculator<>(transactionEventScoreToCalculationFormulaMap);
-        Map<TransactionEventScore, Double> eventScoresToFunctionalScoreMap = functionCalculator.calculate();
+        Map<TransactionEventScore, Double> eventScoresToFunctionalScoreMap = new ConcurrentHashMap<>();
+        eventScoresToFunctionalScoreMap.put(getEventScoreByEventScoreType(TransactionEventScoreType.TURNOVER),
+                calculateTurnOverScore(bucketTransactionEventsData));
+        eventScoresToFunctionalScoreMap.put(getEventScoreByEventScoreType(TransactionEventScoreType.TRANSACTION_FREQUENCY),
+                calculateTransactionFrequencyScore());
         updateBucketScoresByFunction(eventScoresToFunctionalScoreMap);
     }
 
     public void setCurrentMonthTransactionsScores() {
-        Map<TransactionEventScore, Map<Date, String>> eventScoresToDatesScoreFormulaMap = new ConcurrentHashMap<>();
-        eventScoresToDatesScoreFormulaMap.put(transactionEventsScore.getTransactionEventScoreMap()
-                .get(TransactionEventScoreType.AVERAGE_BALANCE), createLastDaysAverageBalanceScoreFormula());
         // Calculate every day from the last days balance score.
-        VectorScoreCalculator<TransactionEventScore> vectorScoreCalculator = new VectorScoreCalculator<>(eventScoresToDatesScoreFormulaMap);
-        Map<TransactionEventScore, Map<Date, Double>> latestTransactionEventScoreToCalculationFormulaMap =
-                vectorScoreCalculator.calculateVectorScore();
-        Map<Date, Double> latestBalanceTransactionEventScoreToCalculationFormulaMap =
-                latestTransactionEventScoreToCalculationFormulaMap.get(transactionEventsScore.getTransactionEventScoreMap()
-                        .get(TransactionEventScoreType.AVERAGE_BALANCE));
-        updateCurrentMonthBalance(bucketTransactionEventsData, latestBalanceTransactionEventScoreToCalculationFormulaMap);
+        updateCurrentMonthBalance(bucketTransactionEventsData, calculateLastDaysAverageBalanceScores());
         updateCurrentMonthBalanceContribution();
     }
 
@@ -223,15 +229,14 @@ public class BucketTransactionsCalculator extends BucketCalculator {
     }
 
 
-    public Map<Date, String> createLastDaysAverageBalanceScoreFormula() {
+    public Map<Date, Double> calculateLastDaysAverageBalanceScores() {
 
-        String nonlinearFormula = transactionEventsScore.getTransactionEventScoreMap()
-                .get(TransactionEventScoreType.AVERAGE_BALANCE).getNonlinearFunction();
+        CompiledFormula nonlinearFormula = getEventScoreByEventScoreType(TransactionEventScoreType.AVERAGE_BALANCE).getNonlinearFormula();
         Map<Date, BalanceCountAndContribution> currentMonthBalanceByDayMap
                 = bucketTransactionEventsData.getCurrentMonthDayToBalanceCountAndContribution();
         return currentMonthBalanceByDayMap.entrySet().stream()
                 .filter(x -> x.getValue().getContribution() == 0)
-                .collect(Collectors.toMap(Map.Entry::getKey, e -> nonlinearFormula.replace("B", String.valueOf(e.getValue().getCount()))));//.concat(
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> nonlinearFormula.evaluate(e.getValue().getCount())));
     }
 
     private void updateCurrentMonthBalanceContribution() {
@@ -283,19 +288,13 @@ public class BucketTransactionsCalculator extends BucketCalculator {
     }
 
 
-    public String createTransactionFrequencyScoreFormula() {
-        String nonlinearFunctionformulaString = transactionEventsScore.getTransactionEventScoreMap()
-                .get(TransactionEventScoreType.TRANSACTION_FREQUENCY).getNonlinearFunction();
-
-        double numberOfTransactions = bucketTransactionEventsData.getCurrentDateNumberOfTransactions();
-        return nonlinearFunctionformulaString.replace("N", String.valueOf(numberOfTransactions));
+    public double calculateTransactionFrequencyScore() {
+        return getEventScoreByEventScoreType(TransactionEventScoreType.TRANSACTION_FREQUENCY).getNonlinearFormula().evaluate(bucketTransactionEventsData.getCurrentDateNumberOfTransactions());
     }
 
 
-    public String createTurnOverScoreFormula(BucketTransactionEventsData bucketTransactionEventsData) {
-        String nonlinearFunctionString = transactionEventsScore.getTransactionEventScoreMap().get(TransactionEventScoreType.TURNOVER).getNonlinearFunction();
-        double turnover = bucketTransactionEventsData.getCurrentDateTurnOver();
-        return nonlinearFunctionString.replace("T", String.valueOf(turnover));
+    public double calculateTurnOverScore(BucketTransactionEventsData bucketTransactionEventsData) {
+        return getEventScoreByEventScoreType(TransactionEventScoreType.TURNOVER).getNonlinearFormula().evaluate(bucketTransactionEventsData.getCurrentDateTurnOver());
     }
 
     public double getBucketSumScore(BucketTransactionEventsData bucketTransactionEventsData) {
@@ -1,16 +1,22 @@
 package io.coti.trustscore.services.calculationservices;
 
 import io.coti.trustscore.config.rules.EventScore;
+import io.coti.trustscore.config.rules.RulesData;
+import io.coti.trustscore.config.rules.User;
 import io.coti.trustscore.services.calculationservices.interfaces.IDecayCalculator;
 import io.coti.trustscore.services.calculationservices.interfaces.IEventDecay;
+import io.coti.trustscore.utils.CompiledFormula;
 import io.coti.trustscore.utils.MathCalculation;
 import javafx.util.Pair;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 public class DecayCalculator<T extends EventScore> implements IDecayCalculator {
 
+    public static final String DECAY_ARGUMENT = "T";
     private Map<T, Double> eventScoresToOldValueMap;
 
     public DecayCalculator() {
@@ -20,16 +26,51 @@ public class DecayCalculator<T extends EventScore> implements IDecayCalculator {
         this.eventScoresToOldValueMap = eventScoresToOldValueMap;
     }
 
+    public static void compileDecayFormulas(RulesData rulesData) {
+        for (User user : rulesData.getUserList()) {
+            List<EventScore> eventScores = new ArrayList<>();
+            if (user.getInitialTrustScore() != null) {
+                eventScores.addAll(user.getInitialTrustScore().getInitialTrustScoreEventScoreList());
+            }
+            if (user.getTransactionEventScore() != null) {
+                eventScores.addAll(user.getTransactionEventScore().getTransactionEventScoreList());
+            }
+            if (user.getBehaviorEventsScore() != null) {
+                eventScores.addAll(user.getBehaviorEventsScore().getSuspiciousEventScoreList());
+            }
+            if (user.getBehaviorHighFrequencyEventsScore() != null) {
+                eventScores.addAll(user.getBehaviorHighFrequencyEventsScore().getHighFrequencyEventsScoreList());
+            }
+            if (user.getCompensableEventsScore() != null) {
+                eventScores.addAll(user.getCompensableEventsScore().getCompensableEventScoreList());
+            }
+            eventScores.stream().filter(eventScore -> eventScore.getDecay() != null).forEach(DecayCalculator::compileDecayFormula);
+        }
+    }
+
+    private static CompiledFormula compileDecayFormula(EventScore eventScore) {
+        CompiledFormula decayFormula = MathCalculation.compileFormula(eventScore.getDecay(), DECAY_ARGUMENT);
+        eventScore.setDecayFormula(decayFormula);
+        return decayFormula;
+    }
+
+    private static double getDecayFactor(EventScore eventScore, int numberOfDecays) {
+        CompiledFormula decayFormula = eventScore.getDecayFormula();
+        if (decayFormula == null) {
+            decayFormula = compileDecayFormula(eventScore);
+        }
+        return decayFormula.evaluateMemoized(numberOfDecays);
+    }
+
     @Override
     public Map<T, Double> calculate(int numberOfDecays) {
         return eventScoresToOldValueMap.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e ->
-                MathCalculation.evaluateExpression(e.getKey().getDecay().replace("T", String.valueOf(numberOfDecays))) * e.getValue()));
+                getDecayFactor(e.getKey(), numberOfDecays) * e.getValue()));
     }
 
     public Pair<T, Double> calculateEntry(IEventDecay decayEvent, int numberOfDecays) {
         return new Pair(decayEvent.getEventScore(),
-                MathCalculation.evaluateExpression(decayEvent.getEventScore().getDecay().replace("T", String.valueOf(numberOfDecays)))
-                        * decayEvent.getEventContributionValue());
+                getDecayFactor(decayEvent.getEventScore(), numberOfDecays) * decayEvent.getEventContributionValue());
     }
 }
 
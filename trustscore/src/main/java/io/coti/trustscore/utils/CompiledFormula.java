@@ -0,0 +1,65 @@
+package io.coti.trustscore.utils;
+
+import org.mariuszgromada.math.mxparser.Argument;
+import org.mariuszgromada.math.mxparser.Expression;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CompiledFormula {
+
+    private static final int MAX_MEMOIZED_VALUES = 10000;
+    private final String formula;
+    private final String[] argumentNames;
+    private final ThreadLocal<Expression> threadExpression;
+    private final Map<Integer, Double> memoizedValues = new ConcurrentHashMap<>();
+
+    public CompiledFormula(String formula, String... argumentNames) {
+        this.formula = formula;
+        this.argumentNames = argumentNames.clone();
+        Expression expression = compile();
+        if (!expression.checkSyntax()) {
+            throw new IllegalArgumentException(String.format("Invalid formula %s: %s", formula, expression.getErrorMessage()));
+        }
+        threadExpression = ThreadLocal.withInitial(this::compile);
+    }
+
+    private Expression compile() {
+        Expression expression = new Expression(formula);
+        for (String argumentName : argumentNames) {
+            expression.addArguments(new Argument(argumentName, 0));
+        }
+        return expression;
+    }
+
+    public double evaluate(double... argumentValues) {
+        if (argumentValues.length != argumentNames.length) {
+            throw new IllegalArgumentException(String.format("Formula %s expects %d arguments", formula, argumentNames.length));
+        }
+        Expression expression = threadExpression.get();
+        for (int i = 0; i < argumentNames.length; i++) {
+            expression.setArgumentValue(argumentNames[i], argumentValues[i]);
+        }
+        return expression.calculate();
+    }
+
+    public double evaluateMemoized(int argumentValue) {
+        Double value = memoizedValues.get(argumentValue);
+        if (value == null) {
+            value = evaluate(argumentValue);
+            if (memoizedValues.size() < MAX_MEMOIZED_VALUES) {
+                memoizedValues.put(argumentValue, value);
+            }
+        }
+        return value;
+    }
+
+    public String getFormula() {
+        return formula;
+    }
+
+    @Override
+    public String toString() {
+        return formula;
+    }
+}
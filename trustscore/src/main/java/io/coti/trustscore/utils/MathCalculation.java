@@ -3,15 +3,22 @@ package io.coti.trustscore.utils;
 import org.mariuszgromada.math.mxparser.Argument;
 import org.mariuszgromada.math.mxparser.Expression;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MathCalculation {
 
     private static final double DIFFERENCE_EQUALITY_COMPARE = 0.000001;
+    private static final Map<String, CompiledFormula> compiledFormulas = new ConcurrentHashMap<>();
 
     private MathCalculation() {
 
     }
 
+    public static CompiledFormula compileFormula(String stringFormula, String... argumentNames) {
+        return compiledFormulas.computeIfAbsent(String.join(",", argumentNames) + ":" + stringFormula, key -> new CompiledFormula(stringFormula, argumentNames));
+    }
+
     public static double evaluateExpression(String stringFormula) {
         Expression expression = new Expression(stringFormula);
         return expression.calculate();
@@ -0,0 +1,58 @@
+package io.coti.trustscore.benchmark;
+
+import io.coti.trustscore.config.rules.RulesData;
+import io.coti.trustscore.data.Buckets.BucketTransactionEventsData;
+import io.coti.trustscore.data.Enums.UserType;
+import io.coti.trustscore.services.calculationservices.BucketTransactionsCalculator;
+import io.coti.trustscore.services.calculationservices.DecayCalculator;
+import io.coti.trustscore.testutils.BucketUtil;
+import io.coti.trustscore.utils.DatesCalculation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TrustScoreFormulaBenchmark {
+
+    private BucketTransactionEventsData bucketTransactionEventsData;
+    private BucketTransactionsCalculator bucketTransactionsCalculator;
+
+    @Setup
+    public void setUp() {
+        RulesData rulesData = BucketUtil.generateRulesDataObject();
+        DecayCalculator.compileDecayFormulas(rulesData);
+        BucketTransactionsCalculator.init(rulesData);
+        bucketTransactionEventsData = new BucketTransactionEventsData();
+        bucketTransactionEventsData.setUserType(UserType.CONSUMER);
+        bucketTransactionsCalculator = new BucketTransactionsCalculator(bucketTransactionEventsData);
+    }
+
+    @Benchmark
+    public double setCurrentDayTransactionsScores() {
+        bucketTransactionEventsData.setCurrentDateTurnOver(1250);
+        bucketTransactionEventsData.setCurrentDateNumberOfTransactions(7);
+        bucketTransactionsCalculator.setCurrentDayTransactionsScores();
+        return bucketTransactionEventsData.getCurrentDateTurnOverContribution();
+    }
+
+    @Benchmark
+    public double decayDailyTransactionsEventScores() {
+        bucketTransactionEventsData.setLastUpdate(DatesCalculation.decreaseTodayDateByDays(3));
+        bucketTransactionEventsData.setCurrentDateNumberOfTransactionsContribution(8);
+        bucketTransactionEventsData.setCurrentDateTurnOverContribution(5);
+        bucketTransactionsCalculator.decayDailyTransactionsEventScoresType(3);
+        return bucketTransactionEventsData.getOldDateTurnOverContribution();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(TrustScoreFormulaBenchmark.class.getSimpleName()).build()).run();
+    }
+}
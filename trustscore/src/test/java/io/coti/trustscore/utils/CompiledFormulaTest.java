@@ -0,0 +1,69 @@
+package io.coti.trustscore.utils;
+
+import io.coti.trustscore.config.rules.RulesData;
+import io.coti.trustscore.config.rules.TransactionEventScore;
+import io.coti.trustscore.config.rules.TransactionEventsScore;
+import io.coti.trustscore.data.Enums.TransactionEventScoreType;
+import io.coti.trustscore.data.Enums.UserType;
+import io.coti.trustscore.services.calculationservices.BucketTransactionsCalculator;
+import io.coti.trustscore.services.calculationservices.DecayCalculator;
+import io.coti.trustscore.testutils.BucketUtil;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class CompiledFormulaTest {
+
+    private static final double DELTA = 1e-12;
+    private static final String DECAY_ARGUMENT = "T";
+    private static final String NUMBER_OF_TRANSACTIONS_ARGUMENT = "N";
+    private static final int[] ARGUMENT_VALUES = {-30, -3, -1, 0, 1, 2, 7, 30, 400, 1000, 10000};
+    private Map<TransactionEventScoreType, TransactionEventScore> transactionEventScoreMap;
+
+    @Before
+    public void setUp() {
+        RulesData rulesData = BucketUtil.generateRulesDataObject();
+        DecayCalculator.compileDecayFormulas(rulesData);
+        BucketTransactionsCalculator.init(rulesData);
+        TransactionEventsScore transactionEventsScore = rulesData.getUserTypeToUserScoreMap().get(UserType.CONSUMER).getTransactionEventScore();
+        transactionEventScoreMap = transactionEventsScore.getTransactionEventScoreMap();
+    }
+
+    @Test
+    public void evaluate_decayRule_matchesReplaceAndParse() {
+        TransactionEventScore transactionFrequencyScore = transactionEventScoreMap.get(TransactionEventScoreType.TRANSACTION_FREQUENCY);
+        String decayFormula = transactionFrequencyScore.getDecay();
+        CompiledFormula compiledFormula = transactionFrequencyScore.getDecayFormula();
+
+        Assert.assertNotNull(compiledFormula);
+        Assert.assertEquals(decayFormula, compiledFormula.getFormula());
+        assertMatchesReplaceAndParse(compiledFormula, decayFormula, DECAY_ARGUMENT);
+    }
+
+    @Test
+    public void evaluate_tanhRule_matchesReplaceAndParse() {
+        TransactionEventScore transactionFrequencyScore = transactionEventScoreMap.get(TransactionEventScoreType.TRANSACTION_FREQUENCY);
+        CompiledFormula compiledFormula = transactionFrequencyScore.getNonlinearFormula();
+
+        Assert.assertNotNull(compiledFormula);
+        Assert.assertEquals(transactionFrequencyScore.getNonlinearFunction(), compiledFormula.getFormula());
+        assertMatchesReplaceAndParse(compiledFormula, transactionFrequencyScore.getNonlinearFunction(), NUMBER_OF_TRANSACTIONS_ARGUMENT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compiledFormula_undeclaredArgument_rejectedAtCompile() {
+        new CompiledFormula("tanh(N/400*1.098612289)", DECAY_ARGUMENT);
+    }
+
+    private void assertMatchesReplaceAndParse(CompiledFormula compiledFormula, String formula, String argumentName) {
+        for (int argumentValue : ARGUMENT_VALUES) {
+            double expected = MathCalculation.evaluateExpression(formula.replace(argumentName, "(" + argumentValue + ")"));
+
+            Assert.assertEquals(formula + " at " + argumentValue, expected, compiledFormula.evaluate(argumentValue), DELTA);
+            Assert.assertEquals(formula + " at " + argumentValue, expected, compiledFormula.evaluateMemoized(argumentValue), DELTA);
+            Assert.assertEquals(formula + " at " + argumentValue, expected, compiledFormula.evaluateMemoized(argumentValue), DELTA);
+        }
+    }
+}
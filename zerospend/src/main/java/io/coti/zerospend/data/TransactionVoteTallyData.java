@@ -0,0 +1,34 @@
+package io.coti.zerospend.data;
+
+import io.coti.basenode.data.DspVote;
+import io.coti.basenode.data.TransactionVoteData;
+import lombok.Data;
+
+@Data
+public class TransactionVoteTallyData {
+
+    private final TransactionVoteData transactionVoteData;
+    private int positiveVotes;
+    private int negativeVotes;
+    private boolean decided;
+
+    public boolean addVote(DspVote dspVote) {
+        if (transactionVoteData.getDspHashToVoteMapping().putIfAbsent(dspVote.getVoterDspHash(), dspVote) != null) {
+            return false;
+        }
+        if (dspVote.isValidTransaction()) {
+            positiveVotes++;
+        } else {
+            negativeVotes++;
+        }
+        return true;
+    }
+
+    public boolean isPositiveMajorityAchieved() {
+        return positiveVotes > transactionVoteData.getLegalVoterDspHashes().size() / 2;
+    }
+
+    public boolean isNegativeMajorityAchieved() {
+        return negativeVotes > transactionVoteData.getLegalVoterDspHashes().size() / 2;
+    }
+}
@@ -9,20 +9,26 @@ import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.BaseNodeDspVoteService;
 import io.coti.basenode.services.TransactionIndexService;
 import io.coti.basenode.services.interfaces.INetworkService;
+import io.coti.zerospend.data.TransactionVoteTallyData;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PreDestroy;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
 
 @Slf4j
 @Service
 public class DspVoteService extends BaseNodeDspVoteService {
 
+    private static final long PUBLISH_DECISION_THREAD_JOIN_TIMEOUT = 5000;
+
     @Autowired
     private TransactionIndexService transactionIndexService;
     @Autowired
@@ -35,17 +41,44 @@ public class DspVoteService extends BaseNodeDspVoteService {
     private DspConsensusCrypto dspConsensusCrypto;
     @Autowired
     private INetworkService networkService;
-    private ConcurrentMap<Hash, List<DspVote>> transactionHashToVotesListMapping;
+    private ConcurrentMap<Hash, TransactionVoteTallyData> transactionHashToVoteTallyMapping;
+    private ConcurrentMap<Hash, TransactionVoteData> transactionVotesToPersist;
+    private volatile Map<Hash, TransactionVoteData> transactionVotesBeingSaved = Collections.emptyMap();
+    private BlockingQueue<TransactionVoteTallyData> decidedTransactionVotes;
     private final LockData transactionHashLockData = new LockData();
     private Map<Hash, HashSet<TransactionDspVote>> missingTransactionsAwaitingHandling;
+    private Thread publishDecisionThread;
 
     @Override
     public void init() {
-        transactionHashToVotesListMapping = new ConcurrentHashMap<>();
+        transactionHashToVoteTallyMapping = new ConcurrentHashMap<>();
+        transactionVotesToPersist = new ConcurrentHashMap<>();
+        decidedTransactionVotes = new LinkedBlockingQueue<>();
         missingTransactionsAwaitingHandling = new ConcurrentHashMap<>();
+        publishDecisionThread = new Thread(this::publishDecisions, "DSP Decision Publisher");
+        publishDecisionThread.setDaemon(true);
+        publishDecisionThread.start();
         super.init();
     }
 
+    @PreDestroy
+    private void shutdown() {
+        if (publishDecisionThread != null) {
+            log.info("Shutting down {}", this.getClass().getSimpleName());
+            publishDecisionThread.interrupt();
+            try {
+                publishDecisionThread.join(PUBLISH_DECISION_THREAD_JOIN_TIMEOUT);
+            } catch (InterruptedException e) {
+                log.error("Interrupted while waiting for dsp decision publisher to stop");
+                Thread.currentThread().interrupt();
+            }
+            if (!decidedTransactionVotes.isEmpty()) {
+                log.warn("{} dsp decisions were not published", decidedTransactionVotes.size());
+            }
+            saveTransactionVotes();
+        }
+    }
+
     public void preparePropagatedTransactionForVoting(TransactionData transactionData) {
         List<Hash> dspHashList = new LinkedList<>();
         networkService.getMapFromFactory(NodeType.DspNode).forEach((hash, node) ->
@@ -54,14 +87,15 @@ public class DspVoteService extends BaseNodeDspVoteService {
         log.debug("Received new transaction. Live DSP Nodes: {}", dspHashList);
         Hash transactionHash = transactionData.getHash();
         TransactionVoteData transactionVoteData = new TransactionVoteData(transactionHash, dspHashList);
+        TransactionVoteTallyData transactionVoteTallyData = new TransactionVoteTallyData(transactionVoteData);
         try {
             synchronized (transactionHashLockData.addLockToLockMap(transactionHash)) {
-                transactionVotes.put(transactionVoteData);
-                transactionHashToVotesListMapping.put(transactionHash, new LinkedList<>());
+                transactionVotesToPersist.put(transactionHash, transactionVoteData);
+                transactionHashToVoteTallyMapping.put(transactionHash, transactionVoteTallyData);
 
                 HashSet<TransactionDspVote> transactionDspVotesAwaitingHandling = missingTransactionsAwaitingHandling.get(transactionHash);
                 if (transactionDspVotesAwaitingHandling != null && !transactionDspVotesAwaitingHandling.isEmpty()) {
-                    transactionDspVotesAwaitingHandling.forEach(transactionDspVote -> handlePostponedTransactionDspVote(transactionDspVote, transactionVoteData));
+                    transactionDspVotesAwaitingHandling.forEach(transactionDspVote -> handlePostponedTransactionDspVote(transactionDspVote, transactionVoteTallyData));
                     missingTransactionsAwaitingHandling.remove(transactionHash);
                 }
             }
@@ -71,30 +105,46 @@ public class DspVoteService extends BaseNodeDspVoteService {
 
     }
 
-    private void handlePostponedTransactionDspVote(TransactionDspVote transactionDspVote, TransactionVoteData transactionVoteData) {
+    private void handlePostponedTransactionDspVote(TransactionDspVote transactionDspVote, TransactionVoteTallyData transactionVoteTallyData) {
         try {
             Hash transactionHash = transactionDspVote.getHash();
             Hash voterDspHash = transactionDspVote.getVoterDspHash();
             log.debug("Handling postponed Dsp Vote: Sender = {} , Transaction = {}", voterDspHash, transactionHash);
-            handleDspVote(transactionDspVote, transactionVoteData, voterDspHash, transactionHash);
+            handleDspVote(transactionDspVote, transactionVoteTallyData, voterDspHash, transactionHash);
         } catch (Exception e) {
             log.error(e.getMessage());
         }
     }
 
-    private void handleDspVote(TransactionDspVote transactionDspVote, TransactionVoteData transactionVoteData, Hash voterDspHash, Hash transactionHash) {
+    private void handleDspVote(TransactionDspVote transactionDspVote, TransactionVoteTallyData transactionVoteTallyData, Hash voterDspHash, Hash transactionHash) {
+        TransactionVoteData transactionVoteData = transactionVoteTallyData.getTransactionVoteData();
         if (!transactionVoteData.getLegalVoterDspHashes().contains(voterDspHash)) {
             throw new DspVoteException(String.format("Unauthorized Dsp vote received. Sender =  %s, Transaction =  %s", voterDspHash, transactionHash));
         }
         if (!transactionDspVoteCrypto.verifySignature(transactionDspVote)) {
             throw new DspVoteException(String.format("Invalid vote signature. Sender =  %s, Transaction = %s", voterDspHash, transactionHash));
         }
-        if (transactionHashToVotesListMapping.get(transactionHash) == null) {
+        if (transactionVoteTallyData.isDecided()) {
             log.debug("Dsp vote result already published");
             return;
         }
         log.debug("Adding new vote: {}", transactionDspVote);
-        transactionHashToVotesListMapping.get(transactionHash).add(new DspVote(transactionDspVote));
+        if (!transactionVoteTallyData.addVote(new DspVote(transactionDspVote))) {
+            log.debug("Dsp vote already received. Sender = {}, Transaction = {}", voterDspHash, transactionHash);
+            return;
+        }
+        transactionVotesToPersist.put(transactionHash, transactionVoteData);
+        if (transactionVoteTallyData.isPositiveMajorityAchieved()) {
+            log.debug("Valid vote majority achieved for transaction {}", transactionHash);
+        } else if (transactionVoteTallyData.isNegativeMajorityAchieved()) {
+            log.debug("Invalid vote majority achieved for transaction {}", transactionHash);
+        } else {
+            log.debug("Undecided majority for transaction {}", transactionHash);
+            return;
+        }
+        transactionVoteTallyData.setDecided(true);
+        transactionHashToVoteTallyMapping.remove(transactionHash);
+        decidedTransactionVotes.add(transactionVoteTallyData);
     }
 
     public void receiveDspVote(TransactionDspVote transactionDspVote) {
@@ -103,14 +153,18 @@ public class DspVoteService extends BaseNodeDspVoteService {
         log.debug("Received new Dsp Vote: Sender = {} , Transaction = {}", voterDspHash, transactionHash);
         try {
             synchronized (transactionHashLockData.addLockToLockMap(transactionHash)) {
-                TransactionVoteData transactionVoteData = transactionVotes.getByHash(transactionHash);
-                if (transactionVoteData == null) {
+                TransactionVoteTallyData transactionVoteTallyData = transactionHashToVoteTallyMapping.get(transactionHash);
+                if (transactionVoteTallyData == null) {
+                    if (isTransactionVoteDataSaved(transactionHash)) {
+                        log.debug("Dsp vote result already published");
+                        return;
+                    }
                     missingTransactionsAwaitingHandling.computeIfAbsent(transactionHash, key -> new HashSet<>()).add(transactionDspVote);
                     log.debug("Transaction {} does not exist for dsp vote. Vote processing is delayed.", transactionHash);
                     return;
                 }
 
-                handleDspVote(transactionDspVote, transactionVoteData, voterDspHash, transactionHash);
+                handleDspVote(transactionDspVote, transactionVoteTallyData, voterDspHash, transactionHash);
             }
         } finally {
             transactionHashLockData.removeLockFromLocksMap(transactionHash);
@@ -118,46 +172,53 @@ public class DspVoteService extends BaseNodeDspVoteService {
 
     }
 
-    @Scheduled(fixedDelay = 1000)
-    private void sumAndSaveVotes() {
-        for (Map.Entry<Hash, List<DspVote>> transactionHashToVotesListEntrySet :
-                transactionHashToVotesListMapping.entrySet()) {
-            Hash transactionHash = transactionHashToVotesListEntrySet.getKey();
+    private boolean isTransactionVoteDataSaved(Hash transactionHash) {
+        return transactionVotesToPersist.containsKey(transactionHash) || transactionVotesBeingSaved.containsKey(transactionHash) || transactionVotes.getByHash(transactionHash) != null;
+    }
+
+    private void publishDecisions() {
+        while (!Thread.currentThread().isInterrupted()) {
             try {
-                synchronized (transactionHashLockData.addLockToLockMap(transactionHash)) {
-                    List<DspVote> dspVotes = transactionHashToVotesListEntrySet.getValue();
-                    if (dspVotes != null && !dspVotes.isEmpty()) {
-                        TransactionVoteData currentTransactionVoteData = transactionVotes.getByHash(transactionHash);
-                        Map<Hash, DspVote> mapHashToDspVote = currentTransactionVoteData.getDspHashToVoteMapping();
-                        dspVotes.forEach(dspVote -> mapHashToDspVote.putIfAbsent(dspVote.getVoterDspHash(), dspVote));
-                        if (isPositiveMajorityAchieved(currentTransactionVoteData)) {
-                            publishDecision(transactionHash, mapHashToDspVote, true);
-                            log.debug("Valid vote majority achieved for transaction {}", currentTransactionVoteData.getHash());
-                        } else if (isNegativeMajorityAchieved(currentTransactionVoteData)) {
-                            publishDecision(transactionHash, mapHashToDspVote, false);
-                            log.debug("Invalid vote majority achieved for transaction {}", currentTransactionVoteData.getHash());
-                        } else {
-                            log.debug("Undecided majority for transaction {}", currentTransactionVoteData.getHash());
-                        }
-                    }
-                }
-            } finally {
-                transactionHashLockData.removeLockFromLocksMap(transactionHash);
+                TransactionVoteTallyData transactionVoteTallyData = decidedTransactionVotes.take();
+                TransactionVoteData transactionVoteData = transactionVoteTallyData.getTransactionVoteData();
+                publishDecision(transactionVoteData.getHash(), transactionVoteData.getDspHashToVoteMapping(), transactionVoteTallyData.isPositiveMajorityAchieved());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("Error at publishing dsp decision", e);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    private void saveTransactionVotes() {
+        if (transactionVotesToPersist.isEmpty()) {
+            return;
+        }
+        Map<Hash, TransactionVoteData> transactionVotesBatch = new ConcurrentHashMap<>();
+        transactionVotesBeingSaved = transactionVotesBatch;
+        for (Hash transactionHash : transactionVotesToPersist.keySet()) {
+            TransactionVoteData transactionVoteData = transactionVotesToPersist.remove(transactionHash);
+            if (transactionVoteData != null) {
+                transactionVotesBatch.put(transactionHash, transactionVoteData);
             }
         }
+        transactionVotes.putBatch(transactionVotesBatch);
+        transactionVotesBeingSaved = Collections.emptyMap();
     }
 
-    private synchronized void publishDecision(Hash transactionHash, Map<Hash, DspVote> mapHashToDspVote, boolean isLegalTransaction) {
+    private void publishDecision(Hash transactionHash, Map<Hash, DspVote> mapHashToDspVote, boolean isLegalTransaction) {
         TransactionData transactionData = transactions.getByHash(transactionHash);
         DspConsensusResult dspConsensusResult = new DspConsensusResult(transactionData.getHash());
         dspConsensusResult.setDspConsensus(isLegalTransaction);
         List<DspVote> dspVotes = new LinkedList<>();
         mapHashToDspVote.forEach((hash, dspVote) -> dspVotes.add(dspVote));
         dspConsensusResult.setDspVotes(dspVotes);
-        setIndexForDspResult(transactionData, dspConsensusResult);
-        confirmationService.setDspcToTrue(dspConsensusResult);
+        synchronized (this) {
+            setIndexForDspResult(transactionData, dspConsensusResult);
+            confirmationService.setDspcToTrue(dspConsensusResult);
+        }
         propagationPublisher.propagate(dspConsensusResult, Arrays.asList(NodeType.DspNode, NodeType.TrustScoreNode, NodeType.FinancialServer, NodeType.HistoryNode));
-        transactionHashToVotesListMapping.remove(transactionHash);
     }
 
     public synchronized void setIndexForDspResult(TransactionData transactionData, DspConsensusResult dspConsensusResult) {
@@ -171,26 +232,4 @@ public class DspVoteService extends BaseNodeDspVoteService {
     public void publishDecision(Hash transactionHash) {
         publishDecision(transactionHash, new HashMap<>(), true);
     }
-
-    private boolean isPositiveMajorityAchieved(TransactionVoteData currentVotes) {
-        long positiveVotersCount = currentVotes
-                .getDspHashToVoteMapping()
-                .values()
-                .stream()
-                .filter(DspVote::isValidTransaction)
-                .count();
-        long totalVotersCount = currentVotes.getLegalVoterDspHashes().size();
-        return positiveVotersCount > totalVotersCount / 2;
-    }
-
-    private boolean isNegativeMajorityAchieved(TransactionVoteData currentVotes) {
-        long negativeVotersCount = currentVotes
-                .getDspHashToVoteMapping()
-                .values()
-                .stream()
-                .filter(vote -> !vote.isValidTransaction())
-                .count();
-        long totalVotersCount = currentVotes.getLegalVoterDspHashes().size();
-        return negativeVotersCount > totalVotersCount / 2;
-    }
 }
\ No newline at end of file
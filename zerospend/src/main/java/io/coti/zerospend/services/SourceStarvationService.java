@@ -2,8 +2,7 @@ package io.coti.zerospend.services;
 
 import io.coti.basenode.data.Hash;
 import io.coti.basenode.data.TransactionData;
-import io.coti.basenode.data.TransactionType;
-import io.coti.basenode.services.interfaces.IClusterHelper;
+import io.coti.basenode.model.Transactions;
 import io.coti.basenode.services.interfaces.IClusterService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,8 +15,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashSet;
-import java.util.LinkedList;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -28,7 +26,7 @@ public class SourceStarvationService {
     @Autowired
     private IClusterService clusterService;
     @Autowired
-    private IClusterHelper clusterHelper;
+    private Transactions transactions;
     @Autowired
     private TransactionCreationService transactionCreationService;
 
@@ -36,13 +34,9 @@ public class SourceStarvationService {
     public void checkSourcesStarvation() {
         log.debug("Checking Source Starvation");
         Instant now = Instant.now();
-        ConcurrentHashMap<Hash, TransactionData> trustChainConfirmationCluster = clusterService.getCopyTrustChainConfirmationCluster();
-        LinkedList<TransactionData> topologicalOrderedGraph = new LinkedList<>();
-        ConcurrentHashMap<Hash, Instant> nonZeroSpendChainTransactions = new ConcurrentHashMap<>();
+        Map<Hash, Instant> sourceNonZeroSpendChainTimes = clusterService.getSourceNonZeroSpendChainTimes();
 
-        clusterHelper.sortByTopologicalOrder(trustChainConfirmationCluster, topologicalOrderedGraph);
-
-        createNewStarvationZeroSpendTransactions(now, topologicalOrderedGraph, nonZeroSpendChainTransactions);
+        createNewStarvationZeroSpendTransactions(now, sourceNonZeroSpendChainTimes);
 
         createNewGenesisZeroSpendTransactions();
     }
@@ -63,39 +57,25 @@ public class SourceStarvationService {
         }
     }
 
-    private void createNewStarvationZeroSpendTransactions(Instant now, LinkedList<TransactionData> topologicalOrderedGraph, ConcurrentHashMap<Hash, Instant> nonZeroSpendChainTransactions) {
-        for (int i = topologicalOrderedGraph.size() - 1; i >= 0; i--) {
-            TransactionData transactionData = topologicalOrderedGraph.get(i);
-            if (!transactionData.getType().equals(TransactionType.ZeroSpend)) {
-                nonZeroSpendChainTransactions.put(transactionData.getHash(), transactionData.getAttachmentTime());
+    private void createNewStarvationZeroSpendTransactions(Instant now, Map<Hash, Instant> sourceNonZeroSpendChainTimes) {
+        sourceNonZeroSpendChainTimes.forEach((sourceHash, nonZeroSpendChainTime) -> {
+            long actualWaitingTimeInMilliseconds = Duration.between(nonZeroSpendChainTime, now).toMillis();
+            if (actualWaitingTimeInMilliseconds <= MINIMUM_WAIT_TIME_IN_SECONDS * 1000) {
+                return;
             }
-            parentInNonZeroChain(transactionData.getLeftParentHash(), transactionData.getHash(), nonZeroSpendChainTransactions);
-            parentInNonZeroChain(transactionData.getRightParentHash(), transactionData.getHash(), nonZeroSpendChainTransactions);
-
-            if (transactionData.getChildrenTransactionHashes().isEmpty() && nonZeroSpendChainTransactions.containsKey(transactionData.getHash())) {
-                long minimumWaitingTimeInMilliseconds = (long) (100 - transactionData.getSenderTrustScore() + MINIMUM_WAIT_TIME_IN_SECONDS) * 1000;
-                long actualWaitingTimeInMilliseconds = Duration.between(nonZeroSpendChainTransactions.get(transactionData.getHash()), now).toMillis();
-                log.debug("Waiting transaction: {}. Time without attachment: {}, Minimum wait time: {}", transactionData.getHash(), millisecondsToMinutes(actualWaitingTimeInMilliseconds), millisecondsToMinutes(minimumWaitingTimeInMilliseconds));
-                if (actualWaitingTimeInMilliseconds > minimumWaitingTimeInMilliseconds) {
-                    transactionCreationService.createNewStarvationZeroSpendTransaction(transactionData);
-                }
+            TransactionData transactionData = transactions.getByHash(sourceHash);
+            if (transactionData == null || !transactionData.getChildrenTransactionHashes().isEmpty()) {
+                return;
             }
-        }
-    }
-
-    private void parentInNonZeroChain(Hash parentHash, Hash transactionHash, ConcurrentHashMap<Hash, Instant> nonZeroSpendChainTransactions) {
-        if (parentHash != null) {
-            Instant parentAttachmentTime = nonZeroSpendChainTransactions.get(parentHash);
-            if (parentAttachmentTime != null) {
-                nonZeroSpendChainTransactions.computeIfPresent(transactionHash, (transactionHashKey, transactionAttachmentTime) ->
-                        transactionAttachmentTime.isAfter(parentAttachmentTime) ? parentAttachmentTime : transactionAttachmentTime
-                );
-                nonZeroSpendChainTransactions.putIfAbsent(transactionHash, parentAttachmentTime);
+            long minimumWaitingTimeInMilliseconds = (long) (100 - transactionData.getSenderTrustScore() + MINIMUM_WAIT_TIME_IN_SECONDS) * 1000;
+            log.debug("Waiting transaction: {}. Time without attachment: {}, Minimum wait time: {}", sourceHash, millisecondsToMinutes(actualWaitingTimeInMilliseconds), millisecondsToMinutes(minimumWaitingTimeInMilliseconds));
+            if (actualWaitingTimeInMilliseconds > minimumWaitingTimeInMilliseconds) {
+                transactionCreationService.createNewStarvationZeroSpendTransaction(transactionData);
             }
-        }
+        });
     }
 
     private String millisecondsToMinutes(long milliseconds) {
         return new SimpleDateFormat("mm:ss").format(new Date(milliseconds));
     }
-}
\ No newline at end of file
+}
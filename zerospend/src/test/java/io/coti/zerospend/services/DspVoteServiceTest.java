@@ -0,0 +1,165 @@
+package io.coti.zerospend.services;
+
+import io.coti.basenode.communication.interfaces.IPropagationPublisher;
+import io.coti.basenode.crypto.DspConsensusCrypto;
+import io.coti.basenode.crypto.TransactionDspVoteCrypto;
+import io.coti.basenode.data.*;
+import io.coti.basenode.model.TransactionVotes;
+import io.coti.basenode.model.Transactions;
+import io.coti.basenode.services.TransactionIndexService;
+import io.coti.basenode.services.interfaces.IConfirmationService;
+import io.coti.basenode.services.interfaces.INetworkService;
+import io.coti.zerospend.data.TransactionVoteTallyData;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class DspVoteServiceTest {
+
+    private static final int NUMBER_OF_DSP_NODES = 3;
+    private static final long PUBLISH_TIMEOUT = 5000;
+    private final List<Hash> dspHashes = new ArrayList<>();
+    private Transactions transactions;
+    private TransactionVotes transactionVotes;
+    private IConfirmationService confirmationService;
+    private IPropagationPublisher propagationPublisher;
+    private DspVoteService dspVoteService;
+
+    @Before
+    public void init() {
+        Map<Hash, NetworkNodeData> dspNodes = new HashMap<>();
+        for (int i = 1; i <= NUMBER_OF_DSP_NODES; i++) {
+            NetworkNodeData dspNode = new NetworkNodeData();
+            dspNode.setNodeHash(new Hash(i));
+            dspNodes.put(dspNode.getNodeHash(), dspNode);
+            dspHashes.add(dspNode.getNodeHash());
+        }
+        INetworkService networkService = mock(INetworkService.class);
+        when(networkService.getMapFromFactory(NodeType.DspNode)).thenReturn(dspNodes);
+        TransactionDspVoteCrypto transactionDspVoteCrypto = mock(TransactionDspVoteCrypto.class);
+        when(transactionDspVoteCrypto.verifySignature(any(TransactionDspVote.class))).thenReturn(true);
+        TransactionIndexService transactionIndexService = mock(TransactionIndexService.class);
+        when(transactionIndexService.getLastTransactionIndexData()).thenReturn(new TransactionIndexData(new Hash(0), 0, new byte[0]));
+        transactions = mock(Transactions.class);
+        transactionVotes = mock(TransactionVotes.class);
+        confirmationService = mock(IConfirmationService.class);
+        propagationPublisher = mock(IPropagationPublisher.class);
+
+        dspVoteService = new DspVoteService();
+        ReflectionTestUtils.setField(dspVoteService, "networkService", networkService);
+        ReflectionTestUtils.setField(dspVoteService, "transactionDspVoteCrypto", transactionDspVoteCrypto);
+        ReflectionTestUtils.setField(dspVoteService, "dspConsensusCrypto", mock(DspConsensusCrypto.class));
+        ReflectionTestUtils.setField(dspVoteService, "transactionIndexService", transactionIndexService);
+        ReflectionTestUtils.setField(dspVoteService, "transactions", transactions);
+        ReflectionTestUtils.setField(dspVoteService, "transactionVotes", transactionVotes);
+        ReflectionTestUtils.setField(dspVoteService, "confirmationService", confirmationService);
+        ReflectionTestUtils.setField(dspVoteService, "propagationPublisher", propagationPublisher);
+        dspVoteService.init();
+    }
+
+    @After
+    public void tearDown() {
+        shutdown();
+    }
+
+    @Test
+    public void receiveDspVote_minorityAndDuplicateVotes_tallyCountsEachVoterOnce() {
+        TransactionData transactionData = generateTransaction(100);
+        dspVoteService.preparePropagatedTransactionForVoting(transactionData);
+
+        dspVoteService.receiveDspVote(generateVote(transactionData, dspHashes.get(0), true));
+        dspVoteService.receiveDspVote(generateVote(transactionData, dspHashes.get(0), true));
+        dspVoteService.receiveDspVote(generateVote(transactionData, dspHashes.get(1), false));
+
+        TransactionVoteTallyData transactionVoteTallyData = getVoteTally(transactionData.getHash());
+        Assert.assertEquals(1, transactionVoteTallyData.getPositiveVotes());
+        Assert.assertEquals(1, transactionVoteTallyData.getNegativeVotes());
+        Assert.assertFalse(transactionVoteTallyData.isDecided());
+        verify(propagationPublisher, after(200).never()).propagate(any(DspConsensusResult.class), anyList());
+    }
+
+    @Test
+    public void receiveDspVote_positiveMajority_validDecisionPublished() {
+        TransactionData transactionData = generateTransaction(100);
+        dspVoteService.preparePropagatedTransactionForVoting(transactionData);
+
+        dspVoteService.receiveDspVote(generateVote(transactionData, dspHashes.get(0), true));
+        dspVoteService.receiveDspVote(generateVote(transactionData, dspHashes.get(1), true));
+
+        DspConsensusResult dspConsensusResult = getPublishedDecision();
+        Assert.assertTrue(dspConsensusResult.isDspConsensus());
+        Assert.assertEquals(transactionData.getHash(), dspConsensusResult.getHash());
+        Assert.assertEquals(2, dspConsensusResult.getDspVotes().size());
+        Assert.assertNull(getVoteTally(transactionData.getHash()));
+        verify(confirmationService).setDspcToTrue(dspConsensusResult);
+    }
+
+    @Test
+    public void receiveDspVote_negativeMajority_invalidDecisionPublished() {
+        TransactionData transactionData = generateTransaction(100);
+        dspVoteService.preparePropagatedTransactionForVoting(transactionData);
+
+        dspVoteService.receiveDspVote(generateVote(transactionData, dspHashes.get(0), false));
+        dspVoteService.receiveDspVote(generateVote(transactionData, dspHashes.get(1), true));
+        dspVoteService.receiveDspVote(generateVote(transactionData, dspHashes.get(2), false));
+
+        Assert.assertFalse(getPublishedDecision().isDspConsensus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shutdown_pendingVotes_publisherStoppedAndVotesSaved() {
+        TransactionData transactionData = generateTransaction(100);
+        dspVoteService.preparePropagatedTransactionForVoting(transactionData);
+        dspVoteService.receiveDspVote(generateVote(transactionData, dspHashes.get(0), true));
+
+        shutdown();
+
+        Assert.assertFalse(((Thread) ReflectionTestUtils.getField(dspVoteService, "publishDecisionThread")).isAlive());
+        ArgumentCaptor<Map<Hash, TransactionVoteData>> savedTransactionVotes = ArgumentCaptor.forClass(Map.class);
+        verify(transactionVotes).putBatch(savedTransactionVotes.capture());
+        TransactionVoteData transactionVoteData = savedTransactionVotes.getValue().get(transactionData.getHash());
+        Assert.assertNotNull(transactionVoteData);
+        Assert.assertTrue(transactionVoteData.getDspHashToVoteMapping().containsKey(dspHashes.get(0)));
+    }
+
+    private TransactionData generateTransaction(int hashIndex) {
+        TransactionData transactionData = new TransactionData(new ArrayList<>(), new Hash(hashIndex), "transaction", 50, Instant.now(), TransactionType.Payment);
+        when(transactions.getByHash(transactionData.getHash())).thenReturn(transactionData);
+        return transactionData;
+    }
+
+    private TransactionDspVote generateVote(TransactionData transactionData, Hash voterDspHash, boolean validTransaction) {
+        TransactionDspVote transactionDspVote = new TransactionDspVote(transactionData.getHash(), validTransaction);
+        transactionDspVote.setVoterDspHash(voterDspHash);
+        return transactionDspVote;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransactionVoteTallyData getVoteTally(Hash transactionHash) {
+        return ((Map<Hash, TransactionVoteTallyData>) ReflectionTestUtils.getField(dspVoteService, "transactionHashToVoteTallyMapping")).get(transactionHash);
+    }
+
+    private DspConsensusResult getPublishedDecision() {
+        ArgumentCaptor<DspConsensusResult> dspConsensusResult = ArgumentCaptor.forClass(DspConsensusResult.class);
+        verify(propagationPublisher, timeout(PUBLISH_TIMEOUT)).propagate(dspConsensusResult.capture(), anyList());
+        return dspConsensusResult.getValue();
+    }
+
+    private void shutdown() {
+        ReflectionTestUtils.invokeMethod(dspVoteService, "shutdown");
+    }
+}
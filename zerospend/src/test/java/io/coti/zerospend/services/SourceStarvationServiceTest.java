@@ -0,0 +1,98 @@
+package io.coti.zerospend.services;
+
+import io.coti.basenode.data.Hash;
+import io.coti.basenode.data.TransactionData;
+import io.coti.basenode.data.TransactionType;
+import io.coti.basenode.model.Transactions;
+import io.coti.basenode.services.interfaces.IClusterService;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SourceStarvationServiceTest {
+
+    private static final double SENDER_TRUST_SCORE = 50;
+    private IClusterService clusterService;
+    private Transactions transactions;
+    private TransactionCreationService transactionCreationService;
+    private SourceStarvationService sourceStarvationService;
+
+    @Before
+    public void init() {
+        clusterService = mock(IClusterService.class);
+        ArrayList<HashSet<Hash>> sourceSetsByTrustScore = new ArrayList<>();
+        for (int i = 0; i <= 100; i++) {
+            sourceSetsByTrustScore.add(new HashSet<>(Collections.singleton(new Hash(i))));
+        }
+        when(clusterService.getSourceSetsByTrustScore()).thenReturn(sourceSetsByTrustScore);
+        transactions = mock(Transactions.class);
+        transactionCreationService = mock(TransactionCreationService.class);
+
+        sourceStarvationService = new SourceStarvationService();
+        ReflectionTestUtils.setField(sourceStarvationService, "clusterService", clusterService);
+        ReflectionTestUtils.setField(sourceStarvationService, "transactions", transactions);
+        ReflectionTestUtils.setField(sourceStarvationService, "transactionCreationService", transactionCreationService);
+    }
+
+    @Test
+    public void checkSourcesStarvation_sourceWaitedLongerThanTrustScoreWaitTime_starvationZeroSpendCreated() {
+        TransactionData sourceTransaction = generateSource(1);
+        setSourceNonZeroSpendChainTimes(Collections.singletonMap(sourceTransaction.getHash(), Instant.now().minusSeconds(120)));
+
+        sourceStarvationService.checkSourcesStarvation();
+
+        verify(transactionCreationService).createNewStarvationZeroSpendTransaction(sourceTransaction);
+    }
+
+    @Test
+    public void checkSourcesStarvation_sourceWaitedShorterThanTrustScoreWaitTime_noStarvationZeroSpend() {
+        TransactionData sourceTransaction = generateSource(1);
+        setSourceNonZeroSpendChainTimes(Collections.singletonMap(sourceTransaction.getHash(), Instant.now().minusSeconds(30)));
+
+        sourceStarvationService.checkSourcesStarvation();
+
+        verify(transactions).getByHash(sourceTransaction.getHash());
+        verify(transactionCreationService, never()).createNewStarvationZeroSpendTransaction(any());
+    }
+
+    @Test
+    public void checkSourcesStarvation_sourceWaitedShorterThanMinimumWaitTime_sourceNotLoaded() {
+        TransactionData sourceTransaction = generateSource(1);
+        setSourceNonZeroSpendChainTimes(Collections.singletonMap(sourceTransaction.getHash(), Instant.now().minusSeconds(5)));
+
+        sourceStarvationService.checkSourcesStarvation();
+
+        verify(transactions, never()).getByHash(any(Hash.class));
+        verify(transactionCreationService, never()).createNewStarvationZeroSpendTransaction(any());
+    }
+
+    @Test
+    public void checkSourcesStarvation_sourceAttachedToSinceIndexed_noStarvationZeroSpend() {
+        TransactionData sourceTransaction = generateSource(1);
+        sourceTransaction.addToChildrenTransactions(new Hash(2));
+        setSourceNonZeroSpendChainTimes(Collections.singletonMap(sourceTransaction.getHash(), Instant.now().minusSeconds(120)));
+
+        sourceStarvationService.checkSourcesStarvation();
+
+        verify(transactionCreationService, never()).createNewStarvationZeroSpendTransaction(any());
+    }
+
+    private TransactionData generateSource(int hashIndex) {
+        TransactionData transactionData = new TransactionData(new ArrayList<>(), new Hash(hashIndex), "source", SENDER_TRUST_SCORE, Instant.now(), TransactionType.Payment);
+        when(transactions.getByHash(transactionData.getHash())).thenReturn(transactionData);
+        return transactionData;
+    }
+
+    private void setSourceNonZeroSpendChainTimes(Map<Hash, Instant> sourceNonZeroSpendChainTimes) {
+        when(clusterService.getSourceNonZeroSpendChainTimes()).thenReturn(sourceNonZeroSpendChainTimes);
+    }
+}